@@ -97,6 +97,10 @@ public class Editor extends DebugTextEditor implements KeyListener, MouseListene
 	}
 	public void dispose() {
 		ConfigurationManager.getInstance(getProject()).reload();
+		if (null != itemSet) {
+			itemSet.dispose();
+			itemSet = null;
+		}
 		super.dispose();
 		if(matchingCharacterPainter!=null) {
 			matchingCharacterPainter.dispose();
@@ -265,11 +269,12 @@ public class Editor extends DebugTextEditor implements KeyListener, MouseListene
 		return getSourceViewer().getTextWidget().getCaretOffset();
 	}
 
-	private void clearCache () {
-		this.itemSet = null;
-	}
-
 	public ItemSet getItemSet () {
+		// the item set follows the edits of its document, it is only replaced with the document
+		if (null != this.itemSet && this.itemSet.getDocument() != getSourceViewer().getDocument()) {
+			this.itemSet.dispose();
+			this.itemSet = null;
+		}
 		if (null == this.itemSet) {
 			IResource resource = null;
 			if (getEditorInput() instanceof IFileEditorInput) {
@@ -405,7 +410,6 @@ public class Editor extends DebugTextEditor implements KeyListener, MouseListene
 					highlightRelatedRegions(null, item);
 				}
 			}
-			clearCache();
 			validateContents();
 			if (null != fOutlinePage)
 				fOutlinePage.update(getSelectedItem());
@@ -30,6 +30,7 @@ import java.util.Stack;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TypedRegion;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.jboss.ide.eclipse.freemarker.Plugin;
@@ -411,6 +412,14 @@ public abstract class AbstractItem implements Item {
 		}
 	}
 
+	/**
+	 * Moves the item after an edit before it, the contents are unchanged.
+	 */
+	void shift (int delta) {
+		if (delta != 0)
+			region = new TypedRegion(region.getOffset() + delta, region.getLength(), region.getType());
+	}
+
 	public int getOffset () {
 		return getRegion().getOffset();
 	}
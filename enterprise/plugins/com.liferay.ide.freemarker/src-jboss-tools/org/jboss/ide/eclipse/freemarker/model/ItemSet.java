@@ -23,157 +23,284 @@ package org.jboss.ide.eclipse.freemarker.model;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Stack;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TypedRegion;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.jboss.ide.eclipse.freemarker.Plugin;
 
-public class ItemSet {
+/**
+ * Items of a template, kept in sync with the document. Edits are recorded as
+ * they happen and reconciled on the next lookup: only the top level block that
+ * contains the edit is partitioned and parsed again, the items after it are
+ * shifted and reused once the parse is back at the top level. Offset lookups
+ * go through an interval index and are O(log n).
+ */
+public class ItemSet implements IDocumentListener {
 
 	private ISourceViewer viewer;
-	private List regions;
-	private List directives;
+	private IResource resource;
+	private IDocument document;
+
+	// partitions of the document and the item of each of them, or null
+	private List regions = new ArrayList();
+	private List regionItems = new ArrayList();
+	// regions that were parsed with an empty stack, a block can be reparsed from any of them
+	private BitSet topLevelRegions = new BitSet();
+	// number of regions covered by the last parse, it stops on an invalid stack
+	private int parsedRegions;
+
 	private List topLevelDirectives;
-	private Map directiveRegions;
 	private List macroDefinitions = new ArrayList();
+	private ItemIndex index;
+
+	// pending edits, in current document coordinates
+	private int dirtyStart = -1;
+	private int dirtyEnd;
+	private int dirtyDelta;
 
 	public ItemSet (ISourceViewer viewer, IResource resource) {
 		this.viewer = viewer;
-		regions = new ArrayList();
-		// get all regions
-		int index = 0;
-		while (true) {
+		this.resource = resource;
+		this.document = viewer.getDocument();
+		reparse(0, 0, 0);
+		document.addDocumentListener(this);
+	}
+
+	public void dispose () {
+		document.removeDocumentListener(this);
+	}
+
+	public IDocument getDocument () {
+		return document;
+	}
+
+	public void documentAboutToBeChanged (DocumentEvent event) {
+	}
+
+	public synchronized void documentChanged (DocumentEvent event) {
+		int offset = event.getOffset();
+		int textLength = (null == event.getText()) ? 0 : event.getText().length();
+		int editEnd = offset + textLength;
+		if (dirtyStart == -1) {
+			dirtyStart = offset;
+			dirtyEnd = editEnd;
+			dirtyDelta = 0;
+		}
+		else {
+			if (dirtyEnd >= offset + event.getLength())
+				dirtyEnd += textLength - event.getLength();
+			else if (dirtyEnd > offset)
+				dirtyEnd = editEnd;
+			dirtyStart = Math.min(dirtyStart, offset);
+			dirtyEnd = Math.max(dirtyEnd, editEnd);
+		}
+		dirtyDelta += textLength - event.getLength();
+	}
+
+	private synchronized ItemIndex getIndex () {
+		if (dirtyStart != -1) {
+			reparse(dirtyStart, dirtyEnd, dirtyDelta);
+			dirtyStart = -1;
+		}
+		if (null == index) {
+			index = new ItemIndex(regionItems, parsedRegions);
+		}
+		return index;
+	}
+
+	/**
+	 * Partitions and parses the document again from the start of the top
+	 * level block that contains <code>start</code>. Once past
+	 * <code>end</code> the remaining regions and items of the previous parse
+	 * are reused as soon as the parse is back at the top level on the same
+	 * region boundary.
+	 */
+	private void reparse (int start, int end, int delta) {
+		List oldRegions = regions;
+		List oldItems = regionItems;
+		BitSet oldTopLevelRegions = topLevelRegions;
+		int oldParsedRegions = parsedRegions;
+
+		// the partitioner may also change the partition just before the edit
+		int first = 0;
+		for (int i = findRegion(oldRegions, start) - 1; i > 0; i--) {
+			if (i < oldParsedRegions && oldTopLevelRegions.get(i)) {
+				first = i;
+				break;
+			}
+		}
+
+		regions = new ArrayList(oldRegions.subList(0, first));
+		regionItems = new ArrayList(oldItems.subList(0, first));
+		topLevelRegions = oldTopLevelRegions.get(0, first);
+		parsedRegions = first;
+		index = null;
+
+		int position = (first < oldRegions.size()) ? ((ITypedRegion) oldRegions.get(first)).getOffset() : 0;
+		int length = document.getLength();
+		Stack stackDirectives = new Stack();
+		boolean valid = true;
+
+		while (position < length || regions.size() == 0) {
+			ITypedRegion region;
 			try {
-				ITypedRegion region = viewer.getDocument().getPartition(index);
-				regions.add(region);
-				index = region.getOffset() + region.getLength() + 1;
+				region = document.getPartition(position);
 			}
 			catch (BadLocationException e) {
 				break;
 			}
-		}
-		parse(viewer, resource);
-	}
 
-	private void parse (ISourceViewer viewer, IResource resource) {
-		try {
-			this.directives = new ArrayList();
-			this.directiveRegions = new HashMap();
-			this.topLevelDirectives = new ArrayList();
-			
-			Stack stackDirectives = new Stack();
-			List fullDirectives = new ArrayList();
-			for (Iterator i=regions.iterator(); i.hasNext(); ) {
-				ITypedRegion region = (ITypedRegion) i.next();
-				Item directive = ItemFactory.getItem(region, viewer, resource);
+			if (valid && stackDirectives.size() == 0 && region.getOffset() >= end && region.getOffset() > 0) {
+				int reuse = findRegion(oldRegions, region.getOffset() - delta);
+				if (reuse < oldParsedRegions && oldTopLevelRegions.get(reuse)
+						&& sameRegion((ITypedRegion) oldRegions.get(reuse), region, delta)) {
+					for (int i = reuse; i < oldRegions.size(); i++) {
+						ITypedRegion oldRegion = (ITypedRegion) oldRegions.get(i);
+						Item item = (Item) oldItems.get(i);
+						if (null != item) ((AbstractItem) item).shift(delta);
+						if (oldTopLevelRegions.get(i)) topLevelRegions.set(regions.size());
+						regions.add((null != item) ? item.getRegion() : shift(oldRegion, delta));
+						regionItems.add(item);
+					}
+					parsedRegions += oldParsedRegions - reuse;
+					break;
+				}
+			}
+
+			Item directive = null;
+			if (valid) {
+				if (stackDirectives.size() == 0) topLevelRegions.set(regions.size());
+				directive = ItemFactory.getItem(region, viewer, resource);
 				if (null != directive) {
 					directive.setItemSet(this);
-					if (directive instanceof MacroDirective) {
-						macroDefinitions.add(directive);
+					try {
+						valid = nest(directive, stackDirectives);
 					}
-					if (stackDirectives.size() == 0) {
-						topLevelDirectives.add(directive);
+					catch (Exception e) {
+						Plugin.log(e);
+						valid = false;
 					}
-					directiveRegions.put(new Integer(region.getOffset()), directive);
-					if (!directive.isEndItem()) directives.add(directive);
-					if (!directive.isStartItem()) {
-						Item directiveCheck = getFirstNestableItem(stackDirectives);
-						if (directive.isStartAndEndItem()) {
-							// not a true nestable but sub items will be nested
-							if (null != directiveCheck && directiveCheck.isStartAndEndItem()) {
-								if (directiveCheck.relatesToItem(directive)) {
-									directiveCheck.relateItem(directive);
-									directive.relateItem(directiveCheck);
-								}
-								stackDirectives.pop();
-								directiveCheck = getFirstNestableItem(stackDirectives);
-							}
-							directiveCheck = getFirstNestableItem(stackDirectives);
-							if (null != directiveCheck) {
-								directiveCheck.addSubDirective(directive);
-								directiveCheck.relateItem(directive);
-								directive.relateItem(directiveCheck);
-							}
-							stackDirectives.push(directive);
-						}
-						else {
-							if (null != directiveCheck && directive.isEndItem() && directiveCheck.isStartAndEndItem()) {
-								if (directiveCheck.relatesToItem(directive)) {
-									directiveCheck.relateItem(directive);
-									directive.relateItem(directiveCheck);
-								}
+				}
+				parsedRegions++;
+			}
+			regions.add(region);
+			regionItems.add(directive);
+
+			if (region.getLength() == 0) break;
+			position = region.getOffset() + region.getLength();
+		}
+
+		topLevelDirectives = new ArrayList();
+		macroDefinitions = new ArrayList();
+		for (int i = 0; i < parsedRegions; i++) {
+			Item directive = (Item) regionItems.get(i);
+			if (null == directive) continue;
+			if (directive instanceof MacroDirective) macroDefinitions.add(directive);
+			if (topLevelRegions.get(i)) topLevelDirectives.add(directive);
+		}
+		Collections.sort(macroDefinitions);
+	}
+
+	/**
+	 * Links the directive to the items on the stack, returns false if the
+	 * stack turns out to be invalid.
+	 */
+	private boolean nest (Item directive, Stack stackDirectives) {
+		if (!directive.isStartItem()) {
+			Item directiveCheck = getFirstNestableItem(stackDirectives);
+			if (directive.isStartAndEndItem()) {
+				// not a true nestable but sub items will be nested
+				if (null != directiveCheck && directiveCheck.isStartAndEndItem()) {
+					if (directiveCheck.relatesToItem(directive)) {
+						directiveCheck.relateItem(directive);
+						directive.relateItem(directiveCheck);
+					}
+					stackDirectives.pop();
+					directiveCheck = getFirstNestableItem(stackDirectives);
+				}
+				directiveCheck = getFirstNestableItem(stackDirectives);
+				if (null != directiveCheck) {
+					directiveCheck.addSubDirective(directive);
+					directiveCheck.relateItem(directive);
+					directive.relateItem(directiveCheck);
+				}
+				stackDirectives.push(directive);
+			}
+			else {
+				if (null != directiveCheck && directive.isEndItem() && directiveCheck.isStartAndEndItem()) {
+					if (directiveCheck.relatesToItem(directive)) {
+						directiveCheck.relateItem(directive);
+						directive.relateItem(directiveCheck);
+					}
+					stackDirectives.pop();
+					directiveCheck = getFirstNestableItem(stackDirectives);
+				}
+				if (null != directiveCheck && directiveCheck.relatesToItem(directive)) {
+					directiveCheck.relateItem(directive);
+					directive.relateItem(directiveCheck);
+					if (directive.isEndItem()) {
+						Item peek = (Item) stackDirectives.peek();
+						while (null != peek && peek.relatesToItem(directive)) {
+							if (peek.isStartItem()) {
 								stackDirectives.pop();
-								directiveCheck = getFirstNestableItem(stackDirectives);
-							}
-							if (null != directiveCheck && directiveCheck.relatesToItem(directive)) {
-								directiveCheck.relateItem(directive);
-								directive.relateItem(directiveCheck);
-								if (directive.isEndItem()) {
-									Item peek = (Item) stackDirectives.peek();
-									while (null != peek && peek.relatesToItem(directive)) {
-										if (peek.isStartItem()) {
-											stackDirectives.pop();
-											break;
-										}
-										else {
-											stackDirectives.pop();
-											peek = (Item) ((stackDirectives.size()>0) ? stackDirectives.peek() : null);
-										}
-									}
-								}
-								else {
-									directiveCheck.addSubDirective(directive);
-									stackDirectives.push(directive);
-								}
-							}
-							else if (!directive.isNestable() && !directive.isEndItem()) {
-								if (null != directiveCheck) {
-									directiveCheck.addSubDirective(directive);
-								}
-							}
-							else if (directive.isNestable() && !directive.isEndItem()) {
-								if (null != directiveCheck) {
-									directiveCheck.addSubDirective(directive);
-									stackDirectives.push(directive);
-								}
+								break;
 							}
 							else {
-								// we have an invalid stack
-								// FIXME come up with a better way to handle this
-								return;
+								stackDirectives.pop();
+								peek = (Item) ((stackDirectives.size()>0) ? stackDirectives.peek() : null);
 							}
 						}
 					}
 					else {
-						if (stackDirectives.size() > 0) {
-							((Item) stackDirectives.peek()).addSubDirective(directive);
-						}
-						if (directive.isNestable())
-							stackDirectives.push(directive);
+						directiveCheck.addSubDirective(directive);
+						stackDirectives.push(directive);
+					}
+				}
+				else if (!directive.isNestable() && !directive.isEndItem()) {
+					if (null != directiveCheck) {
+						directiveCheck.addSubDirective(directive);
 					}
 				}
+				else if (directive.isNestable() && !directive.isEndItem()) {
+					if (null != directiveCheck) {
+						directiveCheck.addSubDirective(directive);
+						stackDirectives.push(directive);
+					}
+				}
+				else {
+					// we have an invalid stack
+					// FIXME come up with a better way to handle this
+					return false;
+				}
 			}
 		}
-		catch (Exception e) {
-			Plugin.log(e);
+		else {
+			if (stackDirectives.size() > 0) {
+				((Item) stackDirectives.peek()).addSubDirective(directive);
+			}
+			if (directive.isNestable())
+				stackDirectives.push(directive);
 		}
-		Collections.sort(macroDefinitions);
+		return true;
 	}
 
 	private Item getFirstNestableItem (Stack directives) {
 		if (directives.size() == 0) return null;
 		else {
 			Item directiveCheck = null;
-			for (int i=directives.size()-1; i>=0; i++){
+			for (int i=directives.size()-1; i>=0; i--){
 				directiveCheck = (Item) directives.get(i);
 				if (directiveCheck.isNestable()) return directiveCheck;
 			}
@@ -181,7 +308,36 @@ public class ItemSet {
 		}
 	}
 
-	public Item[] getRootItems () {
+	/**
+	 * Returns the index of the region that contains the offset, or the
+	 * number of regions if the offset is past the last one.
+	 */
+	private static int findRegion (List regions, int offset) {
+		int low = 0;
+		int high = regions.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			ITypedRegion region = (ITypedRegion) regions.get(mid);
+			if (offset < region.getOffset()) high = mid - 1;
+			else if (offset >= region.getOffset() + region.getLength()) low = mid + 1;
+			else return mid;
+		}
+		return low;
+	}
+
+	private static boolean sameRegion (ITypedRegion oldRegion, ITypedRegion region, int delta) {
+		return oldRegion.getOffset() + delta == region.getOffset()
+				&& oldRegion.getLength() == region.getLength()
+				&& oldRegion.getType().equals(region.getType());
+	}
+
+	private static ITypedRegion shift (ITypedRegion region, int delta) {
+		if (delta == 0) return region;
+		return new TypedRegion(region.getOffset() + delta, region.getLength(), region.getType());
+	}
+
+	public synchronized Item[] getRootItems () {
+		getIndex();
 		return (Item[]) topLevelDirectives.toArray(
 				new Item[topLevelDirectives.size()]);
 	}
@@ -189,77 +345,167 @@ public class ItemSet {
 	public Item getSelectedItem (int offset) {
 		ITypedRegion region = getRegion(offset);
 		if (null == region) return null;
-		else return (Item) directiveRegions.get(new Integer(region.getOffset()));
+		else return getIndex().getItemStartingAt(region.getOffset());
 	}
 
 	public Item getContextItem (int offset) {
 		Item directive = getSelectedItem(offset);
-		if (null == directive && null != directives) {
-			Item dt = null;
-			for (Iterator i=directives.iterator(); i.hasNext(); ) {
-				Item t = (Item) i.next();
-				if (t.isNestable() && t.getRegion().getOffset() < offset)
-					dt = t;
-				else if (t.isEndItem() && t.getRegion().getOffset() < offset)
-					dt = null;
-			}
-			return dt;
-		}
+		if (null == directive) return getIndex().getContextItem(offset);
 		else return directive;
 	}
 
 	private ITypedRegion getRegion (int offset) {
 		try {
-			return viewer.getDocument().getPartition(offset);
+			return document.getPartition(offset);
 		}
 		catch (BadLocationException e) {
 			return null;
 		}
 	}
 
-	public List getMacroDefinitions() {
+	public synchronized List getMacroDefinitions() {
+		getIndex();
 		return macroDefinitions;
 	}
 
 	public Item getPreviousItem (int offset) {
 		Item item = getContextItem(offset);
-		if (null == item) {
-			for (Iterator i=directives.iterator(); i.hasNext(); ) {
-				Item itemSub = (Item) i.next();
-				if (itemSub.getRegion().getOffset() + itemSub.getRegion().getOffset() < offset)
-					item = itemSub;
-				else
-					break;
-			}
-		}
+		if (null == item) item = getIndex().getItemEndingBefore(offset);
 		return item;
 	}
 
 	public Item getPreviousStartItem (int offset) {
-		Item item = null;
-		for (Iterator i=directives.iterator(); i.hasNext(); ) {
-			Item itemSub = (Item) i.next();
-			if (itemSub.getRegion().getOffset() > offset) break;
-			if (itemSub.isStartItem()) {
-				Item itemSub2 = itemSub.getEndItem();
-				if (null == itemSub2 || itemSub2.getRegion().getOffset() > offset)
-					item = itemSub;
-			}
-		}
-		return item;
+		return getIndex().getEnclosingStartItem(offset);
 	}
 
 	public Item getItem (IRegion region) {
-		if (null == directiveRegions) return null;
-		else return (Item) directiveRegions.get(region);
+		if (null == region) return null;
+		Item item = getIndex().getItemStartingAt(region.getOffset());
+		if (null != item && item.getRegion().equals(region)) return item;
+		else return null;
 	}
 
 	public Item getItem (int offset) {
-		for (Iterator i=directives.iterator(); i.hasNext(); ) {
-			Item item = (Item) i.next();
-			if (item.getRegion().getOffset() <= offset && item.getRegion().getOffset() + item.getRegion().getLength() >= offset)
-				return item;
+		return getIndex().getItem(offset);
+	}
+
+	/**
+	 * Interval index over the parsed items. Items are sorted by offset so
+	 * position lookups are binary searches. The span of every start item, up
+	 * to its end item, is kept in an implicit segment tree that stores the
+	 * largest span end of each range, which answers innermost enclosing item
+	 * queries in O(log n).
+	 */
+	private static class ItemIndex {
+
+		private final int[] itemOffsets;
+		private final Item[] items;
+		private final int[] directiveEnds;
+		private final int[] directiveOffsets;
+		private final Item[] directives;
+		private final Item[] contextItems;
+		private final int leaves;
+		private final int[] spanEnds;
+
+		ItemIndex (List regionItems, int count) {
+			List all = new ArrayList();
+			List nonEnd = new ArrayList();
+			for (int i = 0; i < count; i++) {
+				Item item = (Item) regionItems.get(i);
+				if (null == item) continue;
+				all.add(item);
+				if (!item.isEndItem()) nonEnd.add(item);
+			}
+
+			items = (Item[]) all.toArray(new Item[all.size()]);
+			itemOffsets = new int[items.length];
+			for (int i = 0; i < items.length; i++) {
+				itemOffsets[i] = items[i].getRegion().getOffset();
+			}
+
+			directives = (Item[]) nonEnd.toArray(new Item[nonEnd.size()]);
+			directiveOffsets = new int[directives.length];
+			directiveEnds = new int[directives.length];
+			contextItems = new Item[directives.length];
+
+			int size = 1;
+			while (size < directives.length) size <<= 1;
+			leaves = size;
+			spanEnds = new int[2 * leaves];
+			Arrays.fill(spanEnds, Integer.MIN_VALUE);
+
+			Item context = null;
+			for (int i = 0; i < directives.length; i++) {
+				Item item = directives[i];
+				directiveOffsets[i] = item.getRegion().getOffset();
+				directiveEnds[i] = directiveOffsets[i] + item.getRegion().getLength();
+
+				// the innermost nestable item that was opened before, reset by items that also end a block
+				if (item.isNestable()) context = item;
+				else if (item.isEndItem()) context = null;
+				contextItems[i] = context;
+
+				if (item.isStartItem()) {
+					Item endItem = item.getEndItem();
+					spanEnds[leaves + i] = (null == endItem) ? Integer.MAX_VALUE : endItem.getRegion().getOffset();
+				}
+			}
+			for (int node = leaves - 1; node > 0; node--) {
+				spanEnds[node] = Math.max(spanEnds[2 * node], spanEnds[2 * node + 1]);
+			}
+		}
+
+		Item getItemStartingAt (int offset) {
+			int i = Arrays.binarySearch(itemOffsets, offset);
+			return (i >= 0) ? items[i] : null;
+		}
+
+		Item getContextItem (int offset) {
+			int i = lastIndexBefore(directiveOffsets, offset);
+			return (i >= 0) ? contextItems[i] : null;
+		}
+
+		Item getItemEndingBefore (int offset) {
+			int i = lastIndexBefore(directiveEnds, offset);
+			return (i >= 0) ? directives[i] : null;
+		}
+
+		Item getItem (int offset) {
+			int i = lastIndexBefore(directiveOffsets, offset + 1);
+			// an item ending where the next one starts matches first
+			for (int j = Math.max(0, i - 1); j <= i; j++) {
+				if (offset <= directiveEnds[j]) return directives[j];
+			}
+			return null;
+		}
+
+		Item getEnclosingStartItem (int offset) {
+			int last = lastIndexBefore(directiveOffsets, offset + 1);
+			if (last < 0) return null;
+			int i = rightmostSpanAfter(1, 0, leaves - 1, last, offset);
+			return (i >= 0) ? directives[i] : null;
+		}
+
+		// the rightmost index up to last whose span ends after the offset
+		private int rightmostSpanAfter (int node, int low, int high, int last, int offset) {
+			if (low > last || spanEnds[node] <= offset) return -1;
+			if (low == high) return low;
+			int mid = (low + high) >>> 1;
+			int i = rightmostSpanAfter(2 * node + 1, mid + 1, high, last, offset);
+			if (i >= 0) return i;
+			return rightmostSpanAfter(2 * node, low, mid, last, offset);
+		}
+
+		// the last index whose value is lower than the given one, values are sorted
+		private static int lastIndexBefore (int[] values, int value) {
+			int low = 0;
+			int high = values.length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (values[mid] < value) low = mid + 1;
+				else high = mid - 1;
+			}
+			return low - 1;
 		}
-		return null;
 	}
-}
\ No newline at end of file
+}
@@ -97,7 +97,7 @@ public class KaleoConnection extends RemoteConnection implements IKaleoConnectio
 		Object response = null;
 
 		try {
-			response = getJSONAPI(getKaleoDefinitionsAPI() + "/start/-1/end/-1");
+			response = getCachedJSONAPI(DEFAULT_CACHE_TTL, getKaleoDefinitionsAPI() + "/start/-1/end/-1");
 
 			if ((response != null) && (response instanceof JSONArray)) {
 				definitions = (JSONArray)response;
@@ -15,12 +15,12 @@
 package com.liferay.ide.kaleo.core;
 
 import com.liferay.ide.kaleo.core.util.IWorkflowValidation;
-import com.liferay.ide.kaleo.core.util.WorkflowValidationProxy;
+import com.liferay.ide.kaleo.core.util.WorkflowValidation;
 import com.liferay.ide.server.core.ILiferayServer;
 
-import java.lang.reflect.Proxy;
-
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
@@ -29,6 +29,7 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.wst.server.core.IRuntime;
+import org.eclipse.wst.server.core.IRuntimeLifecycleListener;
 import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.IServerLifecycleListener;
 import org.eclipse.wst.server.core.ServerCore;
@@ -113,22 +114,7 @@ public class KaleoCore extends Plugin {
 	}
 
 	public static IWorkflowValidation getWorkflowValidation(IRuntime runtime) {
-		if (_workflowValidators == null) {
-			_workflowValidators = new HashMap<>();
-		}
-
-		IWorkflowValidation validator = _workflowValidators.get(runtime.getId());
-
-		if (validator == null) {
-			Class<?>[] interfaces = new Class<?>[] {IWorkflowValidation.class};
-
-			validator = (IWorkflowValidation)Proxy.newProxyInstance(
-				IWorkflowValidation.class.getClassLoader(), interfaces, new WorkflowValidationProxy(runtime));
-
-			_workflowValidators.put(runtime.getId(), validator);
-		}
-
-		return validator;
+		return _workflowValidators.computeIfAbsent(runtime.getId(), id -> new WorkflowValidation(runtime));
 	}
 
 	public static void logError(Exception e) {
@@ -167,16 +153,49 @@ public class KaleoCore extends Plugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		_plugin = this;
+
+		ServerCore.addRuntimeLifecycleListener(_runtimeLifecycleListener);
 	}
 
 	public void stop(BundleContext context) throws Exception {
+		ServerCore.removeRuntimeLifecycleListener(_runtimeLifecycleListener);
+
+		for (WorkflowValidation validation : _workflowValidators.values()) {
+			validation.dispose();
+		}
+
+		_workflowValidators.clear();
+
 		_plugin = null;
 		super.stop(context);
 	}
 
+	private static void _disposeWorkflowValidation(IRuntime runtime) {
+		WorkflowValidation validation = _workflowValidators.remove(runtime.getId());
+
+		if (validation != null) {
+			validation.dispose();
+		}
+	}
+
 	private static HashMap<String, IKaleoConnection> _kaleoConnections;
 	private static KaleoCore _plugin;
-	private static HashMap<String, IWorkflowValidation> _workflowValidators;
+	private static final Map<String, WorkflowValidation> _workflowValidators = new ConcurrentHashMap<>();
+
+	private final IRuntimeLifecycleListener _runtimeLifecycleListener = new IRuntimeLifecycleListener() {
+
+		public void runtimeAdded(IRuntime runtime) {
+		}
+
+		public void runtimeChanged(IRuntime runtime) {
+			_disposeWorkflowValidation(runtime);
+		}
+
+		public void runtimeRemoved(IRuntime runtime) {
+			_disposeWorkflowValidation(runtime);
+		}
+
+	};
 
 	private WorkflowSupportManager _workflowSupportManager;
 
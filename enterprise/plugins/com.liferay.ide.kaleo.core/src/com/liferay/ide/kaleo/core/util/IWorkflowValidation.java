@@ -23,4 +23,10 @@ public interface IWorkflowValidation {
 
 	public Exception validate(InputStream input);
 
+	/**
+	 * Validates several definitions in one call. The result at each index
+	 * belongs to the input at the same index.
+	 */
+	public Exception[] validate(InputStream[] inputs);
+
 }
\ No newline at end of file
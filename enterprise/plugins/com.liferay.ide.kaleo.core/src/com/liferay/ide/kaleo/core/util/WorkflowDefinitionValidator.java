@@ -21,19 +21,27 @@ import com.liferay.ide.project.core.BaseValidator;
 import com.liferay.ide.project.core.ProjectCore;
 import com.liferay.ide.server.util.ServerUtil;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.wst.server.core.IRuntime;
 import org.eclipse.wst.sse.core.StructuredModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
@@ -79,7 +87,7 @@ public class WorkflowDefinitionValidator extends BaseValidator {
 					IWorkflowValidation workflowValidation = KaleoCore.getWorkflowValidation(
 						ServerUtil.getRuntime(workflowDefinitionXml.getProject()));
 
-					Exception error = workflowValidation.validate(workflowDefinitionXml.getContents());
+					Exception error = _validate(workflowValidation, workflowDefinitionXml);
 
 					if ((error != null) && !CoreUtil.isNullOrEmpty(error.getMessage())) {
 						Map<String, Object> problem = createMarkerValues(
@@ -155,4 +163,159 @@ public class WorkflowDefinitionValidator extends BaseValidator {
 		return result;
 	}
 
+	@Override
+	public void validationFinishing(IProject project, ValidationState state, IProgressMonitor monitor) {
+		if (project != null) {
+			_batchResults.keySet().removeIf(file -> project.equals(file.getProject()));
+		}
+	}
+
+	/**
+	 * Validates the workflow definitions of the project that changed since
+	 * they were last validated in one batch, so the script runtime is set up
+	 * once for all of them. {@link #validate(IResource, int, ValidationState,
+	 * IProgressMonitor)} picks up the results.
+	 */
+	@Override
+	public void validationStarting(IProject project, ValidationState state, IProgressMonitor monitor) {
+		if ((project == null) || !project.isAccessible() || !CoreUtil.isLiferayProject(project)) {
+			return;
+		}
+
+		List<IFile> files = new ArrayList<>();
+
+		try {
+			project.accept(
+				proxy -> {
+					if ((proxy.getType() != IResource.FILE) || !proxy.getName().endsWith(".xml")) {
+						return true;
+					}
+
+					IFile file = (IFile)proxy.requestResource();
+
+					Long validatedStamp = _validatedStamps.get(file);
+
+					if ((validatedStamp != null) && (validatedStamp == file.getModificationStamp())) {
+						return true;
+					}
+
+					try {
+						IContentDescription description = file.getContentDescription();
+
+						if ((description != null) &&
+							_WORKFLOW_DEFINITION_CONTENT_TYPE.equals(description.getContentType().getId())) {
+
+							files.add(file);
+						}
+					}
+					catch (CoreException ce) {
+
+						// files out of sync are left to the single validation
+
+					}
+
+					return true;
+				},
+				IContainer.EXCLUDE_DERIVED);
+		}
+		catch (CoreException ce) {
+			KaleoCore.logError(ce);
+
+			return;
+		}
+
+		// a single definition is validated on its own
+
+		if (files.size() > 1) {
+			_validateAll(project, files);
+		}
+	}
+
+	private Exception _validate(IWorkflowValidation workflowValidation, IFile workflowDefinitionXml)
+		throws CoreException, IOException {
+
+		long stamp = workflowDefinitionXml.getModificationStamp();
+
+		DefinitionResult result = _batchResults.remove(workflowDefinitionXml);
+
+		Exception error = null;
+
+		if ((result != null) && (result.stamp == stamp)) {
+			error = result.error;
+		}
+		else {
+			try (InputStream input = workflowDefinitionXml.getContents()) {
+				error = workflowValidation.validate(input);
+			}
+		}
+
+		_validatedStamps.put(workflowDefinitionXml, stamp);
+
+		return error;
+	}
+
+	private void _validateAll(IProject project, List<IFile> files) {
+		InputStream[] inputs = new InputStream[files.size()];
+
+		try {
+			IRuntime runtime = ServerUtil.getRuntime(project);
+
+			if (runtime == null) {
+				return;
+			}
+
+			long[] stamps = new long[files.size()];
+
+			for (int i = 0; i < inputs.length; i++) {
+				IFile file = files.get(i);
+
+				stamps[i] = file.getModificationStamp();
+				inputs[i] = file.getContents();
+			}
+
+			IWorkflowValidation workflowValidation = KaleoCore.getWorkflowValidation(runtime);
+
+			Exception[] errors = workflowValidation.validate(inputs);
+
+			for (int i = 0; i < errors.length; i++) {
+				_batchResults.put(files.get(i), new DefinitionResult(errors[i], stamps[i]));
+			}
+		}
+		catch (Exception e) {
+
+			// the definitions are validated one by one instead
+
+			KaleoCore.logError("Unable to validate the workflow definitions of " + project.getName(), e);
+		}
+		finally {
+			for (InputStream input : inputs) {
+				if (input != null) {
+					try {
+						input.close();
+					}
+					catch (IOException ioe) {
+					}
+				}
+			}
+		}
+	}
+
+	private static final String _WORKFLOW_DEFINITION_CONTENT_TYPE =
+		"com.liferay.ide.kaleo.core.workflowdefinitioncontent";
+
+	private final Map<IFile, DefinitionResult> _batchResults = new ConcurrentHashMap<>();
+	private final Map<IFile, Long> _validatedStamps = new ConcurrentHashMap<>();
+
+	private static class DefinitionResult {
+
+		public DefinitionResult(Exception error, long stamp) {
+			this.error = error;
+			this.stamp = stamp;
+		}
+
+		public final Exception error;
+		public final long stamp;
+
+	}
+
 }
\ No newline at end of file
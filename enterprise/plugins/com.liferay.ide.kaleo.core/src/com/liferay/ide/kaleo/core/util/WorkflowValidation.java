@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.kaleo.core.util;
+
+import java.io.InputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.wst.server.core.IRuntime;
+
+/**
+ * @author agent
+ */
+public class WorkflowValidation implements IWorkflowValidation {
+
+	public WorkflowValidation(IRuntime runtime) {
+		_proxy = new WorkflowValidationProxy(runtime);
+	}
+
+	public void dispose() {
+		_proxy.reset();
+	}
+
+	public Exception validate(InputStream input) {
+		return (Exception)_proxy.invokeMethod("validate", _VALIDATE_PARAMETER_TYPES, new Object[] {input});
+	}
+
+	public Exception[] validate(InputStream[] inputs) {
+		List<Object[]> argsList = new ArrayList<>(inputs.length);
+
+		for (InputStream input : inputs) {
+			argsList.add(new Object[] {input});
+		}
+
+		List<Object> results = _proxy.invokeAll("validate", _VALIDATE_PARAMETER_TYPES, argsList);
+
+		return results.toArray(new Exception[0]);
+	}
+
+	private static final Class<?>[] _VALIDATE_PARAMETER_TYPES = {InputStream.class};
+
+	private final WorkflowValidationProxy _proxy;
+
+}
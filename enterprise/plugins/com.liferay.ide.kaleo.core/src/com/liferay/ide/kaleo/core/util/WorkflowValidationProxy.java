@@ -155,6 +155,38 @@ public class WorkflowValidationProxy extends GroovyScriptProxy {
 		return scriptUrlList.toArray(new URL[0]);
 	}
 
+	@Override
+	protected long getProxyClasspathStamp() throws CoreException {
+		IRuntime serverRuntime = _runtime;
+
+		if (serverRuntime == null) {
+			throw new CoreException(KaleoCore.createErrorStatus("Could not get server runtime."));
+		}
+
+		ILiferayRuntime liferayRuntime = (ILiferayRuntime)serverRuntime.loadAdapter(ILiferayRuntime.class, null);
+
+		if (liferayRuntime == null) {
+			throw new CoreException(KaleoCore.createErrorStatus("Could not get liferay runtime."));
+		}
+
+		IPath runtimePath = _runtime.getLocation();
+
+		File[] files = {
+			liferayRuntime.getAppServerPortalDir().append("WEB-INF/lib").toFile(),
+			runtimePath.append("webapps/kaleo-designer-portlet/WEB-INF/lib/kaleo-web-service.jar").toFile(),
+			runtimePath.append("lib/ext/portal-service.jar").toFile(),
+			runtimePath.append("webapps/kaleo-web/WEB-INF/classes/").toFile()
+		};
+
+		long stamp = runtimePath.hashCode();
+
+		for (File file : files) {
+			stamp = (stamp * 31) + file.lastModified();
+		}
+
+		return stamp;
+	}
+
 	private String _getGroovyWorkflowValidationScript(Version runtimeVersion) {
 		int result = runtimeVersion.compareTo(new Version(6, 1, 30));
 
@@ -30,8 +30,11 @@ import com.liferay.ide.kaleo.core.model.WorkflowNodeMetadata;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.sapphire.Element;
 import org.eclipse.sapphire.ElementHandle;
@@ -100,6 +103,8 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 	protected void handleConnectionAddEvent(ConnectionAddEvent event) {
 		DiagramConnectionPart connPart = event.part();
 
+		_connectionParts.put(connPart.getLocalModelElement(), connPart);
+
 		connPart.attach(_connectionPartListener);
 
 		DiagramConnectionInfo connectionInfo = read(connPart);
@@ -110,6 +115,11 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 	}
 
 	protected void handleConnectionDeleteEvent(ConnectionDeleteEvent event) {
+		DiagramConnectionPart connPart = event.part();
+
+		_connectionParts.remove(connPart.getLocalModelElement());
+		_changedConnections.remove(connPart);
+
 		_refreshDirtyState();
 	}
 
@@ -121,6 +131,10 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		_connectionBendPoints = new HashMap<>();
 		_connectionLabelPositions = new HashMap<>();
 		_unconnectedTransitions = new HashMap<>();
+		_connectionParts = new HashMap<>();
+		_nodeParts = new HashMap<>();
+		_changedConnections = new HashSet<>();
+		_changedNodes = new HashSet<>();
 		_dirty = false;
 
 		_connectionPartListener = new FilteredListener<ConnectionBendpointsEvent>() {
@@ -129,7 +143,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 				if (event.reset()) {
 					if (_autoLayout) {
 						_addConnectionToPersistenceCache(event.part());
-						_refreshDirtyState();
+						_updateDirtyState(event.part());
 					}
 					else {
 						_write(event.part());
@@ -142,6 +156,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 
 		};
 
+		_indexParts();
 		_load();
 		_refreshPersistedPartsCache();
 		_addDiagramPartListener();
@@ -281,14 +296,22 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		return localModelElement.nearest(WorkflowDefinition.class);
 	}
 
-	private DiagramConnectionPart _getConnectionPart(ConnectionService connService, Element element) {
-		for (DiagramConnectionPart connPart : connService.list()) {
-			if (connPart.getLocalModelElement() == element) {
-				return connPart;
+	private DiagramConnectionPart _getConnectionPart(Element element) {
+		return _connectionParts.get(element);
+	}
+
+	private DiagramNodePart _getNodePart(WorkflowNode workflowNode) {
+		DiagramNodePart nodePart = _nodeParts.get(workflowNode);
+
+		if (nodePart == null) {
+			nodePart = _part().getDiagramNodePart(workflowNode);
+
+			if (nodePart != null) {
+				_nodeParts.put(workflowNode, nodePart);
 			}
 		}
 
-		return null;
+		return nodePart;
 	}
 
 	private TransitionMetadata _getTransitionMetadata(Transition transition, WorkflowNodeMetadata nodeMetadata) {
@@ -302,15 +325,14 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 
 		ElementList<TransitionMetadata> transitionsData = nodeMetadata.getTransitionsMetadata();
 
-		for (TransitionMetadata transitionData : transitionsData) {
-			if (transition.getName().content() != null) {
-				String transitionName = transition.getName().content();
+		String transitionName = transition.getName().content();
 
+		if (transitionName != null) {
+			for (TransitionMetadata transitionData : transitionsData) {
 				if (transitionName.equals(transitionData.getName().content())) {
+					retval = transitionData;
+					break;
 				}
-
-				retval = transitionData;
-				break;
 			}
 		}
 
@@ -322,9 +344,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 	}
 
 	private void _handleConnectionBendpointChange(Transition transition) {
-		ConnectionService connService = _part().service(ConnectionService.class);
-
-		DiagramConnectionPart connPart = _getConnectionPart(connService, transition);
+		DiagramConnectionPart connPart = _getConnectionPart(transition);
 
 		if (connPart != null) {
 			List<Point> bendpoints = new ArrayList<>();
@@ -349,9 +369,14 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		DiagramNodePart nodePart = event.part();
 
 		if (event instanceof DiagramNodeAddEvent) {
+			_nodeParts.put(nodePart.getLocalModelElement(), nodePart);
+
 			_read(nodePart);
 		}
 		else if (event instanceof DiagramNodeDeleteEvent) {
+			_nodeParts.remove(nodePart.getLocalModelElement());
+			_changedNodes.remove(nodePart);
+
 			_refreshDirtyState();
 		}
 		else if (event instanceof DiagramNodeMoveEvent) {
@@ -364,7 +389,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 				 */
 				_addNodeToPersistenceCache(nodePart);
 
-				_refreshDirtyState();
+				_updateDirtyState(nodePart);
 			}
 			else if (!nodeBounds.isDefaultPosition()) {
 				DiagramNodePart diagramNodePart = event.part();
@@ -396,7 +421,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 	}
 
 	private void _handleNodeLayoutChange(WorkflowNode workflowNode) {
-		DiagramNodePart nodePart = _part().getDiagramNodePart(workflowNode);
+		DiagramNodePart nodePart = _getNodePart(workflowNode);
 
 		WorkflowNodeMetadata metadata = workflowNode.getMetadata().content();
 
@@ -418,7 +443,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 			return;
 		}
 
-		DiagramNodePart nodePart = _part().getDiagramNodePart(workflowNode);
+		DiagramNodePart nodePart = _getNodePart(workflowNode);
 
 		if (nodePart != null) {
 			Position position = workflowNodeMetadata.getPosition();
@@ -434,8 +459,6 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 			}
 		}
 
-		ConnectionService connService = _part().service(ConnectionService.class);
-
 		if (workflowNode instanceof CanTransition) {
 			CanTransition canTransition = (CanTransition)workflowNode;
 
@@ -444,7 +467,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 			for (Transition transition : transitions) {
 				List<Point> bendpoints = new ArrayList<>();
 
-				DiagramConnectionPart connPart = _getConnectionPart(connService, transition);
+				DiagramConnectionPart connPart = _getConnectionPart(transition);
 
 				if (connPart != null) {
 					TransitionMetadata transitionMetadata = _getTransitionMetadata(transition, workflowNodeMetadata);
@@ -510,30 +533,18 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		return changed;
 	}
 
-	private boolean _isDiagramLayoutChanged() {
-		boolean changed = false;
-
+	private void _indexParts() {
 		SapphireDiagramEditorPagePart part = _part();
 
-		if (!part.disposed()) {
-			ConnectionService connService = part.service(ConnectionService.class);
+		for (DiagramNodePart nodePart : part.getNodes()) {
+			_nodeParts.put(nodePart.getLocalModelElement(), nodePart);
+		}
 
-			for (DiagramNodePart nodePart : part.getNodes()) {
-				if (!nodePart.getLocalModelElement().disposed() && _isNodeLayoutChanged(nodePart)) {
-					changed = true;
-					break;
-				}
-			}
+		ConnectionService connService = part.service(ConnectionService.class);
 
-			for (DiagramConnectionPart connPart : connService.list()) {
-				if (!connPart.getLocalModelElement().disposed() && _isConnectionLayoutChanged(connPart)) {
-					changed = true;
-					break;
-				}
-			}
+		for (DiagramConnectionPart connPart : connService.list()) {
+			_connectionParts.put(connPart.getLocalModelElement(), connPart);
 		}
-
-		return changed;
 	}
 
 	private boolean _isNodeLayoutChanged(DiagramNodePart nodePart) {
@@ -561,10 +572,8 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		part.setGridVisible(part.adapt(WorkflowDefinitionEditor.class).isGridVisible());
 		part.setShowGuides(part.adapt(WorkflowDefinitionEditor.class).isShowGuides());
 
-		ConnectionService connService = part.service(ConnectionService.class);
-
 		for (WorkflowNode workflowNode : _definition().getDiagramNodes()) {
-			DiagramNodePart nodePart = part.getDiagramNodePart(workflowNode);
+			DiagramNodePart nodePart = _getNodePart(workflowNode);
 
 			if (nodePart != null) {
 				WorkflowNodeMetadata metadata = workflowNode.getMetadata().content(false);
@@ -589,7 +598,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 				List<Transition> transitions = transitionsList.result();
 
 				for (Transition transition : transitions) {
-					DiagramConnectionPart connPart = _getConnectionPart(connService, transition);
+					DiagramConnectionPart connPart = _getConnectionPart(transition);
 
 					if (connPart != null) {
 						TransitionMetadata transitionMetadata = _getTransitionMetadata(transition, metadata);
@@ -621,7 +630,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 
 		// Listen on existing connection parts
 
-		for (DiagramConnectionPart connPart : connService.list()) {
+		for (DiagramConnectionPart connPart : _connectionParts.values()) {
 			connPart.attach(_connectionPartListener);
 		}
 	}
@@ -662,10 +671,6 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		 * is added, check if it is a target of unconnected transitions,
 		 * reconnect the DiagramConnectionPart
 		 */
-		SapphireDiagramEditorPagePart part = _part();
-
-		ConnectionService connService = part.service(ConnectionService.class);
-
 		if (workflowNode instanceof CanTransition) {
 			CanTransition canTransition = (CanTransition)workflowNode;
 
@@ -686,10 +691,14 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 			List<Transition> transitions = _unconnectedTransitions.get(workflowNode.getName().content());
 
 			for (Transition transition : transitions) {
-				DiagramConnectionPart connPart = _getConnectionPart(connService, transition);
+				DiagramConnectionPart connPart = _getConnectionPart(transition);
 
-				DiagramNodePart nodePart1 = part.getDiagramNodePart(transition.nearest(WorkflowNode.class));
-				DiagramNodePart nodePart2 = part.getDiagramNodePart(workflowNode);
+				if (connPart == null) {
+					continue;
+				}
+
+				DiagramNodePart nodePart1 = _getNodePart(transition.nearest(WorkflowNode.class));
+				DiagramNodePart nodePart2 = _getNodePart(workflowNode);
 
 				connPart.reconnect(nodePart1, nodePart2);
 
@@ -707,7 +716,11 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 	}
 
 	private void _refreshDirtyState() {
-		boolean after = _isDiagramLayoutChanged();
+		boolean after = false;
+
+		if (!_part().disposed()) {
+			after = !_changedNodes.isEmpty() || !_changedConnections.isEmpty();
+		}
 
 		if (_dirty != after) {
 			boolean before = _dirty;
@@ -720,9 +733,10 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 	private void _refreshPersistedPartsCache() {
 		_nodeBounds.clear();
 		_connectionBendPoints.clear();
-		ConnectionService connService = _part().service(ConnectionService.class);
+		_changedNodes.clear();
+		_changedConnections.clear();
 
-		for (DiagramConnectionPart connPart : connService.list()) {
+		for (DiagramConnectionPart connPart : _connectionParts.values()) {
 			_addConnectionToPersistenceCache(connPart);
 		}
 
@@ -798,6 +812,32 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 		workflowEditor.setShowGuides(showGuides);
 	}
 
+	/**
+	 * Compares only the given connection with its persisted layout, the
+	 * diagram is dirty as long as any part differs.
+	 */
+	private void _updateDirtyState(DiagramConnectionPart connPart) {
+		if (!connPart.getLocalModelElement().disposed() && _isConnectionLayoutChanged(connPart)) {
+			_changedConnections.add(connPart);
+		}
+		else {
+			_changedConnections.remove(connPart);
+		}
+
+		_refreshDirtyState();
+	}
+
+	private void _updateDirtyState(DiagramNodePart nodePart) {
+		if (!nodePart.getLocalModelElement().disposed() && _isNodeLayoutChanged(nodePart)) {
+			_changedNodes.add(nodePart);
+		}
+		else {
+			_changedNodes.remove(nodePart);
+		}
+
+		_refreshDirtyState();
+	}
+
 	private void _write(DiagramConnectionPart connPart) {
 		Transition transition = connPart.getLocalModelElement().nearest(Transition.class);
 
@@ -808,7 +848,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 				_addBendpointListeners();
 			}
 
-			_refreshDirtyState();
+			_updateDirtyState(connPart);
 		}
 	}
 
@@ -822,7 +862,7 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 				_addWorkflowNodeListeners();
 			}
 
-			_refreshDirtyState();
+			_updateDirtyState(nodePart);
 		}
 	}
 
@@ -913,12 +953,16 @@ public class WorkflowDefinitionLayoutPersistenceService extends DiagramLayoutPer
 
 	private boolean _autoLayout = false;
 	private Listener _bendpointListener;
+	private Set<DiagramConnectionPart> _changedConnections;
+	private Set<DiagramNodePart> _changedNodes;
 	private HashMap<ConnectionHashKey, List<Point>> _connectionBendPoints;
 	private HashMap<ConnectionHashKey, Point> _connectionLabelPositions;
+	private Map<Element, DiagramConnectionPart> _connectionParts;
 	private Listener _connectionPartListener;
 	private Listener _diagramPartListener;
 	private boolean _dirty;
 	private HashMap<String, DiagramNodeBounds> _nodeBounds;
+	private Map<Element, DiagramNodePart> _nodeParts;
 	private HashMap<String, List<Transition>> _unconnectedTransitions;
 	private Listener _workflowNodeListener;
 	private Listener _workflowNodeMetadataListener;
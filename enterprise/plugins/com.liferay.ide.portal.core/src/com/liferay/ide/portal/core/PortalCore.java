@@ -45,6 +45,8 @@ public class PortalCore extends Plugin
     public static final String PREF_FM_DEBUG_PASSWORD = "fm-debug-password"; //$NON-NLS-1$
     public static final String PREF_FM_DEBUG_PORT = "fm-debug-port"; //$NON-NLS-1$
 
+    public static final String DEBUG_FM_TIMING = PLUGIN_ID + "/debug/fm/timing"; //$NON-NLS-1$
+
     public static IStatus createErrorStatus( String msg )
     {
         return createErrorStatus( msg, null );
@@ -88,6 +90,11 @@ public class PortalCore extends Plugin
         return InstanceScope.INSTANCE.getNode( PLUGIN_ID );
     }
 
+    public static boolean isDebugging( String option )
+    {
+        return "true".equalsIgnoreCase( Platform.getDebugOption( option ) ); //$NON-NLS-1$
+    }
+
     public static void logError( String msg )
     {
         logError( msg, null );
@@ -103,6 +110,11 @@ public class PortalCore extends Plugin
         getDefault().getLog().log( new Status( IStatus.ERROR, PLUGIN_ID, t.getMessage(), t ) );
     }
 
+    public static void logInfo( String msg )
+    {
+        getDefault().getLog().log( new Status( IStatus.INFO, PLUGIN_ID, msg ) );
+    }
+
     /**
      * The constructor
      */
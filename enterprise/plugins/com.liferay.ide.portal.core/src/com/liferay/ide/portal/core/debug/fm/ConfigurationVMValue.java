@@ -14,13 +14,12 @@
  *******************************************************************************/
 package com.liferay.ide.portal.core.debug.fm;
 
+import com.liferay.ide.portal.core.PortalCore;
+
 import freemarker.debug.DebugModel;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IVariable;
 
 
@@ -30,35 +29,24 @@ import org.eclipse.debug.core.model.IVariable;
 public class ConfigurationVMValue extends FMValue
 {
 
-    private IVariable[] variables;
-
     public ConfigurationVMValue( FMStackFrame stackFrame, DebugModel debugModel )
     {
         super( stackFrame, debugModel );
     }
 
     @Override
-    public IVariable[] getVariables() throws DebugException
+    protected void addVariables( List<IVariable> vars )
     {
-        if( this.variables == null )
+        try
         {
-            List<IVariable> vars = new ArrayList<IVariable>();
-
-            try
-            {
-                vars.add( new FMVariable( this.stackFrame, "sharedVariables", this.debugModel.get( "sharedVariables" ) ) );
-            }
-            catch( Exception e )
-            {
-                e.printStackTrace();
-            }
-
-            Collections.addAll( vars, super.getVariables() );
-
-            this.variables = vars.toArray( new IVariable[ vars.size() ] );
+            vars.add( new FMVariable( this.stackFrame, "sharedVariables", this.debugModel.get( "sharedVariables" ) ) );
+        }
+        catch( Exception e )
+        {
+            PortalCore.logError( "Unable to get freemarker configuration variables", e );
         }
 
-        return this.variables;
+        super.addVariables( vars );
     }
 
 }
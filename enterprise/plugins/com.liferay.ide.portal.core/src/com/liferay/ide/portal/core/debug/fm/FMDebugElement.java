@@ -135,6 +135,11 @@ public class FMDebugElement extends PlatformObject implements IDebugElement
 
     protected String getReferenceTypeName( DebugModel model ) throws DebugException
     {
+        if( model == null )
+        {
+            return "var";
+        }
+
         try
         {
             switch( model.getModelTypes() )
@@ -23,17 +23,22 @@ import com.sun.jdi.ThreadReference;
 import com.sun.jdi.Value;
 
 import freemarker.debug.Breakpoint;
+import freemarker.debug.DebugModel;
 import freemarker.debug.DebuggedEnvironment;
 import freemarker.debug.Debugger;
 import freemarker.debug.DebuggerClient;
 import freemarker.debug.DebuggerListener;
 import freemarker.debug.EnvironmentSuspendedEvent;
+import freemarker.template.TemplateModelException;
 
 import java.net.Inet4Address;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -89,6 +94,14 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
 
     private IThread[] threads = new IThread[0];
 
+    /*
+     * Remote keys and values resolved while the environment is suspended. Everything is dropped on the next
+     * suspend or resume, so a value is fetched over RMI at most once per suspension.
+     */
+    private final Map<DebugModel, String[]> keysCache = new HashMap<DebugModel, String[]>();
+    private final Map<DebugModel, Map<String, DebugModel>> valuesCache =
+        new HashMap<DebugModel, Map<String, DebugModel>>();
+
     class EventDispatchJob extends Job implements DebuggerListener
     {
         private boolean setup;
@@ -580,6 +593,83 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
         return this.process;
     }
 
+    /**
+     * Returns the key names of the given hash model, fetched once per suspension.
+     */
+    String[] getKeys( DebugModel model ) throws RemoteException, TemplateModelException
+    {
+        synchronized( this.valuesCache )
+        {
+            String[] keys = this.keysCache.get( model );
+
+            if( keys == null )
+            {
+                final long start = System.nanoTime();
+
+                keys = model.keys();
+
+                this.keysCache.put( model, keys );
+
+                traceTiming( "Fetched " + keys.length + " keys", start );
+            }
+
+            return keys;
+        }
+    }
+
+    /**
+     * Returns the values of the given keys of a hash model. Keys that were not resolved yet during this suspension
+     * are fetched with a single batched remote call.
+     */
+    DebugModel[] getValues( DebugModel model, String[] keys ) throws RemoteException, TemplateModelException
+    {
+        synchronized( this.valuesCache )
+        {
+            Map<String, DebugModel> values = this.valuesCache.get( model );
+
+            if( values == null )
+            {
+                values = new HashMap<String, DebugModel>();
+
+                this.valuesCache.put( model, values );
+            }
+
+            final List<String> missingKeys = new ArrayList<String>();
+
+            for( String key : keys )
+            {
+                if( ! values.containsKey( key ) )
+                {
+                    missingKeys.add( key );
+                }
+            }
+
+            if( missingKeys.size() > 0 )
+            {
+                final long start = System.nanoTime();
+
+                final String[] fetchKeys = missingKeys.toArray( new String[0] );
+                final DebugModel[] fetched = model.get( fetchKeys );
+
+                for( int i = 0; i < fetchKeys.length; i++ )
+                {
+                    values.put( fetchKeys[i], fetched[i] );
+                }
+
+                traceTiming( "Resolved " + fetchKeys.length + " values", start );
+            }
+
+            final DebugModel[] retval = new DebugModel[keys.length];
+
+            for( int i = 0; i < keys.length; i++ )
+            {
+                retval[i] = values.get( keys[i] );
+            }
+
+            return retval;
+        }
+    }
+
     FMStackFrame[] getStackFrames()
     {
         return this.fmStackFrames;
@@ -646,6 +736,15 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
         }
     }
 
+    private void newSuspendEpoch()
+    {
+        synchronized( this.valuesCache )
+        {
+            this.keysCache.clear();
+            this.valuesCache.clear();
+        }
+    }
+
     private void removeRemoteBreakpoints( final IBreakpoint[] breakpoints )
     {
         final List<Breakpoint> remoteBreakpoints = new ArrayList<Breakpoint>();
@@ -783,6 +882,7 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
     private void resumed( int detail )
     {
         this.suspended = false;
+        newSuspendEpoch();
         this.fmStackFrames = EMPTY_STACK_FRAMES;
         this.fmThread.fireResumeEvent( detail );
         this.fireResumeEvent( detail );
@@ -800,6 +900,21 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
      */
     @SuppressWarnings( { "rawtypes" } )
     void step( FMThread thread ) throws DebugException
+    {
+        final long start = System.nanoTime();
+
+        try
+        {
+            stepThread( thread );
+        }
+        finally
+        {
+            traceTiming( "Step", start );
+        }
+    }
+
+    @SuppressWarnings( { "rawtypes" } )
+    private void stepThread( FMThread thread ) throws DebugException
     {
         int currentLineNumber = -1;
         String templateName = null;
@@ -953,6 +1068,7 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
     private void suspended( int detail )
     {
         this.suspended = true;
+        newSuspendEpoch();
         this.fmThread.fireSuspendEvent( detail );
     }
 
@@ -1003,6 +1119,16 @@ public class FMDebugTarget extends FMDebugElement implements IDebugTarget, IDebu
         terminated();
     }
 
+    void traceTiming( String operation, long startNanos )
+    {
+        if( PortalCore.isDebugging( PortalCore.DEBUG_FM_TIMING ) )
+        {
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startNanos );
+
+            PortalCore.logInfo( operation + " in " + elapsed + "ms" );
+        }
+    }
+
     /**
      * Called when this debug target terminates.
      */
@@ -17,15 +17,25 @@ package com.liferay.ide.portal.core.debug.fm;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.portal.core.PortalCore;
 
+import freemarker.debug.DebugModel;
 import freemarker.debug.DebuggedEnvironment;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.ILineBreakpoint;
@@ -46,10 +56,44 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
     final static Pattern liferaySpringClasses = Pattern.compile( "^com\\.liferay\\..*@[a-z0-9]+$" );
     final static Pattern classDefs = Pattern.compile( "^public void com\\.liferay.*$" );
 
+    final static String[] TOP_LEVEL_NAMES =
+        { "currentNamespace", "dataModel", "globalNamespace", "knownVariables", "mainNamespace", "template" };
+
+    /*
+     * Delay used to collect the variables dropped by the filters while the view resolves a page, so the frame is
+     * only refreshed once for all of them.
+     */
+    final static long REFRESH_DELAY = 100;
+
     private String name;
 
+    private final Job refreshJob = new Job( "refresh freemarker variables" )
+    {
+        @Override
+        protected IStatus run( IProgressMonitor monitor )
+        {
+            synchronized( FMStackFrame.this )
+            {
+                refreshPending = false;
+            }
+
+            fireEvent( new DebugEvent( FMStackFrame.this, DebugEvent.CHANGE, DebugEvent.CONTENT ) );
+
+            return Status.OK_STATUS;
+        }
+    };
+
+    private boolean refreshPending;
+
     private FMThread thread;
 
+    /*
+     * Variables of the merged view whose value has not been resolved yet, they are checked against the filters
+     * once their value is known.
+     */
+    private final Set<IVariable> unfilteredVariables =
+        Collections.newSetFromMap( new IdentityHashMap<IVariable, Boolean>() );
+
     private IVariable[] variables;
 
     public FMStackFrame( FMThread thread, String name )
@@ -57,6 +101,7 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
         super( thread.getDebugTarget() );
         this.thread = thread;
         this.name = name;
+        this.refreshJob.setSystem( true );
     }
 
     public boolean canResume()
@@ -89,20 +134,19 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
         return getThread().canTerminate();
     }
 
-    void clearVariables()
+    synchronized void clearVariables()
     {
         this.variables = null;
+        this.unfilteredVariables.clear();
     }
 
-    private boolean filter( IVariable var )
+    private boolean filter( FMValue value )
     {
         try
         {
-            final String name = var.getName();
-
-            if( filterVariableName( name ) )
+            if( value.isValidValue() )
             {
-                final String valueString = var.getValue().getValueString();
+                final String valueString = value.getValueString();
 
                 if( filterVariableValueString( valueString) )
                 {
@@ -126,23 +170,6 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
         return retval;
     }
 
-    private IVariable[] filterVariables( IVariable[] variables )
-    {
-        List<IVariable> filtered = new ArrayList<IVariable>();
-
-        for( IVariable var : variables )
-        {
-            if( filter( var ) )
-            {
-                filtered.add( var );
-            }
-        }
-
-        IVariable[] retval = filtered.toArray( new IVariable[0] );
-
-        return retval;
-    }
-
     private boolean filterVariableValueString( String valueString )
     {
         if( liferaySpringClasses.matcher( valueString ).matches() || freemarkerClasses.matcher( valueString ).matches() ||
@@ -214,7 +241,7 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
         return this.thread;
     }
 
-    public IVariable[] getVariables() throws DebugException
+    public synchronized IVariable[] getVariables() throws DebugException
     {
         if( this.variables == null )
         {
@@ -233,69 +260,187 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
              * setting keys of freemarker.core.Configurable objects.
              */
 
+            final long start = System.nanoTime();
+
             boolean advancedView =
                 PortalCore.getPrefs().getBoolean( PortalCore.PREF_ADVANCED_VARIABLES_VIEW, false );
 
             final DebuggedEnvironment env = this.thread.getEnvironment();
 
-            FMVariable[] topLevelVars = null;
-
             try
             {
-                topLevelVars = new FMVariable[]
+                final DebugModel[] topLevelModels = env.get( TOP_LEVEL_NAMES );
+
+                if( advancedView )
                 {
-                    new FMVariable( this, "currentNamespace", env.get("currentNamespace") ),
-                    new FMVariable( this, "dataModel", env.get( "dataModel" ) ),
-                    new FMVariable( this, "globalNamespace", env.get( "globalNamespace" ) ),
-                    new FMVariable( this, "knownVariables", env.get( "knownVariables" ) ),
-                    new FMVariable( this, "mainNamespace", env.get( "mainNamespace" ) ),
-                    new FMVariable( this, "template", env.get( "template" ) )
-                    {
-                        @Override
-                        public IValue getValue() throws DebugException
-                        {
-                            return new TemplateVMValue( stackFrame, debugModel );
-                        }
-                    },
-                };
+                    this.variables = createTopLevelVariables( topLevelModels );
+                }
+                else
+                {
+                    this.variables = createMergedVariables( topLevelModels );
+                }
             }
             catch( Exception e )
             {
                 PortalCore.logError( "Unable to create freemarker variables", e );
             }
 
-            if( topLevelVars != null )
+            getDebugTarget().traceTiming( "Loaded variables of " + this.name, start );
+        }
+
+        return this.variables;
+    }
+
+    private IVariable[] createTopLevelVariables( DebugModel[] topLevelModels )
+    {
+        final int templateIndex = TOP_LEVEL_NAMES.length - 1;
+
+        final IVariable[] retval = new IVariable[TOP_LEVEL_NAMES.length];
+
+        for( int i = 0; i < templateIndex; i++ )
+        {
+            retval[i] = new FMVariable( this, TOP_LEVEL_NAMES[i], topLevelModels[i] );
+        }
+
+        retval[templateIndex] = createTemplateVariable( TOP_LEVEL_NAMES[templateIndex], topLevelModels[templateIndex] );
+
+        return retval;
+    }
+
+    /*
+     * Collapses all the top level variables into one list and removes duplicates. Only the key names are fetched
+     * here, values are resolved page by page when the variables view asks for them.
+     */
+    private IVariable[] createMergedVariables( DebugModel[] topLevelModels ) throws Exception
+    {
+        final Map<String, IVariable> vars = new LinkedHashMap<String, IVariable>();
+
+        for( int i = 0; i < topLevelModels.length; i++ )
+        {
+            final DebugModel model = topLevelModels[i];
+
+            if( model == null )
             {
-                if( advancedView )
+                continue;
+            }
+
+            final boolean template = i == TOP_LEVEL_NAMES.length - 1;
+
+            final List<String> keys = new ArrayList<String>( Arrays.asList( getDebugTarget().getKeys( model ) ) );
+
+            if( template )
+            {
+                for( String templateKey : new String[] { "configuration", "name" } )
                 {
-                    this.variables = topLevelVars;
+                    if( ! keys.contains( templateKey ) )
+                    {
+                        keys.add( templateKey );
+                    }
                 }
-                else
+            }
+
+            for( int pageStart = 0; pageStart < keys.size(); pageStart += FMValue.PAGE_SIZE )
+            {
+                final List<String> page =
+                    keys.subList( pageStart, Math.min( pageStart + FMValue.PAGE_SIZE, keys.size() ) );
+
+                final String[] pageKeys = page.toArray( new String[page.size()] );
+
+                for( String key : pageKeys )
                 {
-                    // collapse all the variables into one list and remove duplicates
-                    Map<String, IVariable> vars = new HashMap<String, IVariable>();
+                    if( vars.containsKey( key ) || ! filterVariableName( key ) )
+                    {
+                        continue;
+                    }
+
+                    final IVariable var;
 
-                    for( FMVariable topLevelVar : topLevelVars )
+                    if( template && "configuration".equals( key ) )
                     {
-                        for( IVariable nestedVar : topLevelVar.getValue().getVariables() )
+                        var = new FMVariable( this, key, model, pageKeys )
                         {
-                            IVariable existingVar = vars.get( nestedVar.getName() );
-
-                            if( existingVar == null )
+                            @Override
+                            public IValue getValue() throws DebugException
                             {
-                                vars.put( nestedVar.getName(), nestedVar );
+                                return new ConfigurationVMValue( stackFrame, getDebugModel() );
                             }
-                        }
+                        };
                     }
+                    else
+                    {
+                        var = new FMVariable( this, key, model, pageKeys );
 
-                    this.variables = filterVariables( vars.values().toArray( new IVariable[0] ) );
+                        this.unfilteredVariables.add( var );
+                    }
 
-                    sortVariables( this.variables );
+                    vars.put( key, var );
                 }
             }
         }
 
-        return this.variables;
+        final IVariable[] retval = vars.values().toArray( new IVariable[0] );
+
+        sortVariables( retval );
+
+        return retval;
+    }
+
+    private FMVariable createTemplateVariable( String name, DebugModel model )
+    {
+        return new FMVariable( this, name, model )
+        {
+            @Override
+            public IValue getValue() throws DebugException
+            {
+                return new TemplateVMValue( stackFrame, getDebugModel() );
+            }
+        };
+    }
+
+    /**
+     * Called once the value of a variable has been resolved, variables of the merged view that turn out to be
+     * filtered are removed and the view is asked to refresh the frame once for all the variables removed within
+     * {@link #REFRESH_DELAY} milliseconds.
+     */
+    void variableResolved( IVariable variable, FMValue value )
+    {
+        synchronized( this )
+        {
+            if( this.variables == null || ! this.unfilteredVariables.remove( variable ) )
+            {
+                return;
+            }
+        }
+
+        // the filter needs the value string, keep the remote call outside of the lock
+
+        if( filter( value ) )
+        {
+            return;
+        }
+
+        synchronized( this )
+        {
+            if( this.variables == null )
+            {
+                return;
+            }
+
+            final List<IVariable> remaining = new ArrayList<IVariable>( Arrays.asList( this.variables ) );
+
+            remaining.remove( variable );
+
+            this.variables = remaining.toArray( new IVariable[remaining.size()] );
+
+            if( this.refreshPending )
+            {
+                return;
+            }
+
+            this.refreshPending = true;
+        }
+
+        this.refreshJob.schedule( REFRESH_DELAY );
     }
 
     public boolean hasRegisterGroups() throws DebugException
@@ -303,7 +448,7 @@ public class FMStackFrame extends FMDebugElement implements IStackFrame
         return false;
     }
 
-    public boolean hasVariables() throws DebugException
+    public synchronized boolean hasVariables() throws DebugException
     {
         return this.variables != null && this.variables.length > 0;
     }
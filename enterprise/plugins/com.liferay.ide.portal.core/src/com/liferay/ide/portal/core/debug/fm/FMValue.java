@@ -14,29 +14,41 @@
  *******************************************************************************/
 package com.liferay.ide.portal.core.debug.fm;
 
+import com.liferay.ide.portal.core.PortalCore;
+
 import freemarker.debug.DebugModel;
 import freemarker.template.TemplateModelException;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.debug.core.DebugException;
-import org.eclipse.debug.core.model.IValue;
+import org.eclipse.debug.core.model.IIndexedValue;
 import org.eclipse.debug.core.model.IVariable;
 
 
 /**
  * @author Gregory Amerson
  */
-public class FMValue extends FMDebugElement implements IValue
+public class FMValue extends FMDebugElement implements IIndexedValue
 {
+    /**
+     * Number of children resolved with one remote call. The variables view also splits larger hashes and sequences
+     * into partitions and only renders the values of the partitions that are expanded.
+     */
+    static final int PAGE_SIZE = 100;
+
     private static final int VALID_VARIBLE_TYPES = DebugModel.TYPE_BOOLEAN | DebugModel.TYPE_COLLECTION |
         DebugModel.TYPE_CONFIGURATION | DebugModel.TYPE_DATE | DebugModel.TYPE_HASH | DebugModel.TYPE_HASH_EX |
         DebugModel.TYPE_NUMBER | DebugModel.TYPE_SCALAR | DebugModel.TYPE_SEQUENCE | DebugModel.TYPE_TEMPLATE;
 
     protected DebugModel debugModel;
     protected FMStackFrame stackFrame;
+    private String[] keys;
+    private int modelTypes = -1;
+    private String valueString;
     private IVariable[] variables;
 
     public FMValue( FMStackFrame stackFrame, DebugModel debugModel )
@@ -47,13 +59,52 @@ public class FMValue extends FMDebugElement implements IValue
         this.debugModel = debugModel;
     }
 
+    public int getInitialOffset()
+    {
+        return 0;
+    }
+
+    int getModelTypes() throws RemoteException
+    {
+        if( this.modelTypes == -1 )
+        {
+            this.modelTypes = this.debugModel.getModelTypes();
+        }
+
+        return this.modelTypes;
+    }
+
+    public int getSize() throws DebugException
+    {
+        return getVariables().length;
+    }
+
+    private String[] getKeys() throws Exception
+    {
+        if( this.keys == null )
+        {
+            final String[] remoteKeys = getDebugTarget().getKeys( this.debugModel );
+
+            this.keys = Arrays.copyOf( remoteKeys, remoteKeys.length );
+
+            Arrays.sort( this.keys );
+        }
+
+        return this.keys;
+    }
+
     public String getValueString() throws DebugException
     {
+        if( this.valueString != null )
+        {
+            return this.valueString;
+        }
+
         String retval = null;
 
         try
         {
-            int types = this.debugModel.getModelTypes();
+            int types = getModelTypes();
 
             if( ( DebugModel.TYPE_BOOLEAN & types ) > 0 )
             {
@@ -125,6 +176,8 @@ public class FMValue extends FMDebugElement implements IValue
             retval = "";
         }
 
+        this.valueString = retval;
+
         return retval;
     }
 
@@ -241,7 +294,7 @@ public class FMValue extends FMDebugElement implements IValue
 
         try
         {
-            int types = this.debugModel.getModelTypes();
+            int types = getModelTypes();
 
             if( ( DebugModel.TYPE_BOOLEAN & types ) > 0 )
             {
@@ -352,6 +405,13 @@ public class FMValue extends FMDebugElement implements IValue
         return true;
     }
 
+    public IVariable getVariable( int offset ) throws DebugException
+    {
+        final IVariable[] vars = getVariables( offset, 1 );
+
+        return vars.length > 0 ? vars[0] : null;
+    }
+
     public IVariable[] getVariables() throws DebugException
     {
         /*
@@ -371,78 +431,116 @@ public class FMValue extends FMDebugElement implements IValue
 
         if( this.variables == null )
         {
+            final long start = System.nanoTime();
+
             List<IVariable> vars = new ArrayList<IVariable>();
 
-            try
-            {
-                int types = this.debugModel.getModelTypes();
+            addVariables( vars );
+
+            this.variables = vars.toArray( new IVariable[vars.size()] );
+
+            getDebugTarget().traceTiming( "Expanded " + this.variables.length + " variables", start );
+        }
+
+        return this.variables;
+    }
+
+    /**
+     * Returns one partition of the children. Children that can not be shown are already left out of
+     * {@link #getVariables()}, so offsets and {@link #getSize()} always refer to the same list.
+     */
+    public IVariable[] getVariables( int offset, int length ) throws DebugException
+    {
+        final IVariable[] vars = getVariables();
+
+        final int end = Math.min( offset + length, vars.length );
 
-                if( isHashType( types) )
+        if( offset >= end )
+        {
+            return new IVariable[0];
+        }
+
+        return Arrays.copyOfRange( vars, offset, end );
+    }
+
+    /**
+     * Adds the children that can be shown, hash values are fetched with one batched remote call per page of keys
+     * and sequence items with one ranged call per page.
+     */
+    protected void addVariables( List<IVariable> vars )
+    {
+        try
+        {
+            int types = getModelTypes();
+
+            if( isHashType( types ) )
+            {
+                try
                 {
-                    try
+                    String[] allKeys = getKeys();
+
+                    for( int pageStart = 0; pageStart < allKeys.length; pageStart += PAGE_SIZE )
                     {
-                        String[] keys = this.debugModel.keys();
+                        String[] pageKeys =
+                            Arrays.copyOfRange( allKeys, pageStart, Math.min( pageStart + PAGE_SIZE, allKeys.length ) );
 
-                        DebugModel[] vals = this.debugModel.get( keys );
+                        DebugModel[] vals = getDebugTarget().getValues( this.debugModel, pageKeys );
 
-                        for( int i = 0; i < keys.length; i++ )
+                        for( int i = 0; i < pageKeys.length; i++ )
                         {
                             DebugModel hashValue = vals[i];
 
                             if( isValidVariable( hashValue ) )
                             {
-                                vars.add( new FMVariable( stackFrame, keys[i] , hashValue ) );
+                                vars.add( new FMVariable( stackFrame, pageKeys[i] , hashValue ) );
                             }
                         }
                     }
-                    catch( ClassCastException cce )
-                    {
-                        // ignore IDE-1082
-                    }
                 }
-                else if( isCollectionType( types ) )
+                catch( ClassCastException cce )
                 {
-//                    String[] keys = this.debugModel.keys();
-
-//                    if( isValidVariable( hashValue ) )
-//                    {
-//                        vars.add( new FMVariable( stackFrame, key , debugModel ) );
-//                    }
+                    // ignore IDE-1082
                 }
-                else if( isSequenceType( types ) && isValidSequence( this.debugModel ) )
-                {
-                    int length = this.debugModel.size();
+            }
+            else if( isCollectionType( types ) )
+            {
+//                String[] keys = this.debugModel.keys();
 
-                    DebugModel[] vals = this.debugModel.get( 0, length );
+//                if( isValidVariable( hashValue ) )
+//                {
+//                    vars.add( new FMVariable( stackFrame, key , debugModel ) );
+//                }
+            }
+            else if( isSequenceType( types ) && isValidSequence( this.debugModel ) )
+            {
+                int length = this.debugModel.size();
+
+                for( int pageStart = 0; pageStart < length; pageStart += PAGE_SIZE )
+                {
+                    DebugModel[] vals = this.debugModel.get( pageStart, Math.min( pageStart + PAGE_SIZE, length ) );
 
-                    for( int i = 0; i < length; i++ )
+                    for( int i = 0; i < vals.length; i++ )
                     {
                         if( isValidVariable( vals[i] ) )
                         {
-                            vars.add( new FMVariable( stackFrame, Integer.toString( i ), vals[i] ) );
+                            vars.add( new FMVariable( stackFrame, Integer.toString( pageStart + i ), vals[i] ) );
                         }
                     }
                 }
-                else if( isStringType( types ) || isNumberType( types ) || isBooleanType( types ) || isDateType( types )  )
-                {
-                    // no variables
-                }
-                else
-                {
-                    System.out.println( "Unknown value: " + getReferenceTypeName( this.debugModel ) );
-                }
             }
-            catch( Exception e )
+            else if( isStringType( types ) || isNumberType( types ) || isBooleanType( types ) || isDateType( types )  )
             {
-                e.printStackTrace();
+                // no variables
+            }
+            else
+            {
+                PortalCore.logInfo( "Unknown value: " + getReferenceTypeName( this.debugModel ) );
             }
-
-            this.variables = vars.toArray( new IVariable[vars.size()] );
-
-            sortVariables( this.variables );
         }
-
-        return this.variables;
+        catch( Exception e )
+        {
+            PortalCore.logError( "Unable to get freemarker variables", e );
+        }
     }
 
     private boolean isValidSequence( DebugModel model )
@@ -530,14 +628,12 @@ public class FMValue extends FMDebugElement implements IValue
 
     public boolean hasVariables() throws DebugException
     {
-        try{
-            return getVariables().length > 0;
-        }
-        catch (NullPointerException e)
-        {
-            return false;
-        }
+        return getSize() > 0;
+    }
 
+    boolean isValidValue()
+    {
+        return isValidVariable( this.debugModel );
     }
 
     public String getReferenceTypeName() throws DebugException
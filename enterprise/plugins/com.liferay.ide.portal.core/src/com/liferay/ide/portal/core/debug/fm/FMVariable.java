@@ -14,6 +14,8 @@
  *******************************************************************************/
 package com.liferay.ide.portal.core.debug.fm;
 
+import com.liferay.ide.portal.core.PortalCore;
+
 import freemarker.debug.DebugModel;
 
 import org.eclipse.debug.core.DebugException;
@@ -30,6 +32,8 @@ public class FMVariable extends FMDebugElement implements IVariable
     protected FMStackFrame stackFrame;
     private String name;
     protected DebugModel debugModel;
+    private DebugModel parentModel;
+    private String[] pageKeys;
     private IValue value;
 
     public FMVariable( FMStackFrame stackFrame, String name, DebugModel debugModel )
@@ -41,8 +45,44 @@ public class FMVariable extends FMDebugElement implements IVariable
         this.debugModel = debugModel;
     }
 
-    public DebugModel getDebugModel()
+    /**
+     * Creates a variable whose value is resolved on first access. The value is fetched from the parent hash
+     * together with the values of all the page keys, in one remote call.
+     */
+    public FMVariable( FMStackFrame stackFrame, String name, DebugModel parentModel, String[] pageKeys )
+    {
+        this( stackFrame, name, null );
+
+        this.parentModel = parentModel;
+        this.pageKeys = pageKeys;
+    }
+
+    public synchronized DebugModel getDebugModel()
     {
+        if( this.debugModel == null && this.parentModel != null )
+        {
+            try
+            {
+                final DebugModel[] values = getDebugTarget().getValues( this.parentModel, this.pageKeys );
+
+                for( int i = 0; i < this.pageKeys.length; i++ )
+                {
+                    if( this.pageKeys[i].equals( this.name ) )
+                    {
+                        this.debugModel = values[i];
+                        break;
+                    }
+                }
+            }
+            catch( Exception e )
+            {
+                PortalCore.logError( "Unable to resolve freemarker variable " + this.name, e );
+            }
+
+            this.parentModel = null;
+            this.pageKeys = null;
+        }
+
         return this.debugModel;
     }
 
@@ -73,7 +113,11 @@ public class FMVariable extends FMDebugElement implements IVariable
     {
         if( this.value == null )
         {
-            this.value = new FMValue( this.stackFrame, this.debugModel );
+            final FMValue fmValue = new FMValue( this.stackFrame, getDebugModel() );
+
+            this.value = fmValue;
+
+            this.stackFrame.variableResolved( this, fmValue );
         }
 
         return this.value;
@@ -86,7 +130,7 @@ public class FMVariable extends FMDebugElement implements IVariable
 
     public String getReferenceTypeName() throws DebugException
     {
-        return getReferenceTypeName( debugModel );
+        return getReferenceTypeName( getDebugModel() );
     }
 
     public boolean hasValueChanged() throws DebugException
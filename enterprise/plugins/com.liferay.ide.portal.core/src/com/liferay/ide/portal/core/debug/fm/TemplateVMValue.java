@@ -14,10 +14,10 @@
  *******************************************************************************/
 package com.liferay.ide.portal.core.debug.fm;
 
+import com.liferay.ide.portal.core.PortalCore;
+
 import freemarker.debug.DebugModel;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.debug.core.DebugException;
@@ -31,44 +31,33 @@ import org.eclipse.debug.core.model.IVariable;
 public class TemplateVMValue extends FMValue
 {
 
-    private IVariable[] variables;
-
     public TemplateVMValue( FMStackFrame stackFrame, DebugModel debugModel )
     {
         super( stackFrame, debugModel );
     }
 
     @Override
-    public IVariable[] getVariables() throws DebugException
+    protected void addVariables( List<IVariable> vars )
     {
-        if( this.variables == null )
+        try
         {
-            List<IVariable> vars = new ArrayList<IVariable>();
-
-            try
-            {
-                vars.add( new FMVariable( this.stackFrame, "name", this.debugModel.get( "name" ) ) );
-                vars.add
-                (
-                    new FMVariable( this.stackFrame, "configuration", this.debugModel.get( "configuration" ) )
+            vars.add( new FMVariable( this.stackFrame, "name", this.debugModel.get( "name" ) ) );
+            vars.add
+            (
+                new FMVariable( this.stackFrame, "configuration", this.debugModel.get( "configuration" ) )
+                {
+                    public IValue getValue() throws DebugException
                     {
-                        public IValue getValue() throws DebugException
-                        {
-                            return new ConfigurationVMValue( this.stackFrame, this.debugModel );
-                        };
-                    }
-                );
-            }
-            catch( Exception e )
-            {
-                e.printStackTrace();
-            }
-
-            Collections.addAll( vars, super.getVariables() );
-
-            this.variables = vars.toArray( new IVariable[ vars.size() ] );
+                        return new ConfigurationVMValue( this.stackFrame, this.debugModel );
+                    };
+                }
+            );
+        }
+        catch( Exception e )
+        {
+            PortalCore.logError( "Unable to get freemarker template variables", e );
         }
 
-        return this.variables;
+        super.addVariables( vars );
     }
 }
@@ -15,45 +15,130 @@
 package com.liferay.ide.scripting.core;
 
 import java.io.File;
+import java.io.IOException;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Platform;
 
 /**
+ * Invokes methods of a groovy script inside a classloader built from the
+ * proxy classpath. The script is compiled once and its methods are looked up
+ * once; both are rebuilt only when the classpath stamp changes. Calls from
+ * several threads may run concurrently, rebuilding or resetting the script
+ * waits until they are done.
+ *
  * @author Gregory Amerson
  */
 public abstract class GroovyScriptProxy implements InvocationHandler {
 
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		return invokeMethod(method.getName(), method.getParameterTypes(), args);
+	}
+
+	/**
+	 * Invokes the named script method once for every argument array, swapping
+	 * the context classloader only once for the whole batch. An invocation
+	 * that fails gets its exception as result, the other results are kept.
+	 */
+	public List<Object> invokeAll(String methodName, Class<?>[] parameterTypes, List<Object[]> argsList) {
+		List<Object> retval = new ArrayList<>(argsList.size());
+		Throwable error = null;
+
+		Thread currentThread = Thread.currentThread();
+
+		ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+
+		try {
+			ScriptState state = _acquireScriptState();
+
+			try {
+				currentThread.setContextClassLoader(state.classLoader);
+
+				Object serviceObject = state.getServiceObject();
+
+				Method serviceMethod = state.getServiceMethod(methodName, parameterTypes);
+
+				for (Object[] args : argsList) {
+					try {
+						retval.add(serviceMethod.invoke(serviceObject, args));
+					}
+					catch (InvocationTargetException ite) {
+						Throwable cause = ite.getCause();
+
+						ScriptingCore.logError("Error in script method " + methodName, cause);
+
+						retval.add((cause instanceof Exception) ? cause : new RuntimeException(cause));
+					}
+				}
+			}
+			finally {
+				_lock.readLock().unlock();
+			}
+		}
+		catch (Throwable t) {
+			ScriptingCore.logError("Error in script method " + methodName, t);
+			error = t;
+		}
+		finally {
+			currentThread.setContextClassLoader(previousClassLoader);
+		}
+
+		if (error != null) {
+			throw new RuntimeException("Error in workflow validation proxy.", error);
+		}
+
+		return retval;
+	}
+
+	public Object invokeMethod(String methodName, Class<?>[] parameterTypes, Object[] args) {
 		Object retval = null;
 		Throwable error = null;
 
-		configureClassloader();
+		Thread currentThread = Thread.currentThread();
+
+		ClassLoader previousClassLoader = currentThread.getContextClassLoader();
 
 		try {
-			Object serviceObject = getServiceObject();
+			ScriptState state = _acquireScriptState();
 
-			Class<?> serviceClass = serviceObject.getClass();
+			// the read lock keeps reset() from closing the classloader while the script runs
 
-			Method serviceMethod = serviceClass.getMethod(method.getName(), method.getParameterTypes());
+			try {
+				currentThread.setContextClassLoader(state.classLoader);
 
-			retval = serviceMethod.invoke(serviceObject, args);
+				Object serviceObject = state.getServiceObject();
+
+				Method serviceMethod = state.getServiceMethod(methodName, parameterTypes);
+
+				retval = serviceMethod.invoke(serviceObject, args);
+			}
+			finally {
+				_lock.readLock().unlock();
+			}
 		}
 		catch (Throwable t) {
-			ScriptingCore.logError("Error in script method " + method.getName(), t);
+			ScriptingCore.logError("Error in script method " + methodName, t);
 			error = t;
 		}
 		finally {
-			unconfigureClassloader();
+			currentThread.setContextClassLoader(previousClassLoader);
 		}
 
 		if (error != null) {
@@ -63,19 +148,24 @@ public abstract class GroovyScriptProxy implements InvocationHandler {
 		return retval;
 	}
 
-	protected void configureClassloader() throws CoreException {
-		if (proxyClassLoader == null) {
-			proxyClassLoader = createClassLoader();
-		}
+	/**
+	 * Closes the script classloader, the next invocation recompiles the script.
+	 * Waits for running invocations to finish first.
+	 */
+	public void reset() {
+		Lock writeLock = _lock.writeLock();
 
-		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		writeLock.lock();
+
+		try {
+			if (_scriptState != null) {
+				_scriptState.close();
 
-		if (currentClassLoader.equals(proxyClassLoader)) {
-			return;
+				_scriptState = null;
+			}
 		}
-		else {
-			previousClassLoader = currentClassLoader;
-			Thread.currentThread().setContextClassLoader(proxyClassLoader);
+		finally {
+			writeLock.unlock();
 		}
 	}
 
@@ -95,27 +185,125 @@ public abstract class GroovyScriptProxy implements InvocationHandler {
 
 	protected abstract URL[] getProxyClasspath() throws CoreException;
 
-	protected Object getServiceObject() throws Exception {
-		if (serviceObject == null) {
-			serviceObject = ScriptingCore.getGroovyScriptingSupport().newInstanceFromFile(getGroovyFile());
+	/**
+	 * Returns a value that changes whenever the set of jars on the proxy
+	 * classpath changes. Subclasses may override with something cheaper than
+	 * computing the whole classpath.
+	 */
+	protected long getProxyClasspathStamp() throws CoreException {
+		long stamp = 17;
+
+		for (URL url : getProxyClasspath()) {
+			stamp = (stamp * 31) + url.hashCode();
+
+			try {
+				File file = new File(url.toURI());
+
+				stamp = (stamp * 31) + file.lastModified();
+				stamp = (stamp * 31) + file.length();
+			}
+			catch (URISyntaxException urise) {
+			}
 		}
 
-		return serviceObject;
+		return stamp;
 	}
 
-	protected void unconfigureClassloader() {
-		if (previousClassLoader != null) {
-			Thread.currentThread().setContextClassLoader(previousClassLoader);
+	/**
+	 * Returns the current script state with the read lock held, rebuilding the
+	 * state first if the classpath stamp changed.
+	 */
+	private ScriptState _acquireScriptState() throws CoreException {
+		long stamp = getProxyClasspathStamp();
+
+		Lock readLock = _lock.readLock();
+
+		readLock.lock();
+
+		if ((_scriptState != null) && (_scriptState.stamp == stamp)) {
+			return _scriptState;
 		}
-		else {
-			Class<?> proxyClass = getClass();
 
-			Thread.currentThread().setContextClassLoader(proxyClass.getClassLoader());
+		readLock.unlock();
+
+		Lock writeLock = _lock.writeLock();
+
+		writeLock.lock();
+
+		try {
+			if ((_scriptState != null) && (_scriptState.stamp != stamp)) {
+				_scriptState.close();
+
+				_scriptState = null;
+			}
+
+			if (_scriptState == null) {
+				_scriptState = new ScriptState(createClassLoader(), stamp);
+			}
+
+			// downgrade to the read lock before releasing the write lock
+
+			readLock.lock();
+
+			return _scriptState;
+		}
+		finally {
+			writeLock.unlock();
 		}
 	}
 
-	protected ClassLoader previousClassLoader;
-	protected URLClassLoader proxyClassLoader;
-	protected Object serviceObject;
+	private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+	private ScriptState _scriptState;
+
+	protected class ScriptState {
+
+		public ScriptState(URLClassLoader classLoader, long stamp) {
+			this.classLoader = classLoader;
+			this.stamp = stamp;
+		}
+
+		public void close() {
+			_methods.clear();
+
+			try {
+				classLoader.close();
+			}
+			catch (IOException ioe) {
+			}
+		}
+
+		public synchronized Object getServiceObject() throws Exception {
+			if (_serviceObject == null) {
+				GroovyScriptingSupport groovyScriptingSupport = ScriptingCore.getGroovyScriptingSupport();
+
+				_serviceObject = groovyScriptingSupport.newInstanceFromFile(getGroovyFile());
+			}
+
+			return _serviceObject;
+		}
+
+		public Method getServiceMethod(String methodName, Class<?>[] parameterTypes) throws Exception {
+			String key = methodName + Arrays.toString(parameterTypes);
+
+			Method method = _methods.get(key);
+
+			if (method == null) {
+				Class<?> serviceClass = getServiceObject().getClass();
+
+				method = serviceClass.getMethod(methodName, parameterTypes);
+
+				_methods.put(key, method);
+			}
+
+			return method;
+		}
+
+		public final URLClassLoader classLoader;
+		public final long stamp;
+
+		private final Map<String, Method> _methods = new ConcurrentHashMap<>();
+		private Object _serviceObject;
+
+	}
 
 }
\ No newline at end of file
@@ -21,6 +21,8 @@ import com.intellij.openapi.Disposable;
 import com.intellij.openapi.module.ModuleType;
 import com.intellij.openapi.module.StdModuleTypes;
 import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectType;
 import com.intellij.openapi.roots.ModifiableRootModel;
@@ -236,7 +238,11 @@ public class LiferayModuleFragmentBuilder extends ModuleBuilder {
 		sb.append(projectRoot.getName());
 		sb.append("\" ");
 
-		BladeCLI.execute(sb.toString());
+		ProgressManager progressManager = ProgressManager.getInstance();
+
+		ProgressIndicator progressIndicator = progressManager.getProgressIndicator();
+
+		BladeCLI.execute(sb.toString(), (progressIndicator != null) ? progressIndicator::setText2 : null);
 	}
 
 	private File _getProjectFile(VirtualFile projectRoot, String path) {
@@ -25,12 +25,12 @@ import com.intellij.ui.treeStructure.Tree;
 
 import com.liferay.ide.idea.util.BladeCLI;
 import com.liferay.ide.idea.util.CoreUtil;
-import com.liferay.ide.idea.util.ServiceContainer;
+import com.liferay.ide.idea.util.ServiceIndex;
 import com.liferay.ide.idea.util.TargetPlatformUtil;
 
 import java.util.List;
-import java.util.stream.Stream;
 
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
@@ -46,6 +46,7 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Terry Jia
+ * @author agent
  */
 public class LiferayModuleWizardStep extends ModuleWizardStep {
 
@@ -97,13 +98,11 @@ public class LiferayModuleWizardStep extends ModuleWizardStep {
 					_servcieName.removeAllItems();
 
 					try {
-						ServiceContainer serviceContainer = TargetPlatformUtil.getServicesList();
+						ServiceIndex serviceIndex = TargetPlatformUtil.getServiceIndex();
 
-						List<String> services = serviceContainer.getServiceList();
+						List<String> serviceNames = serviceIndex.getServiceNames();
 
-						Stream<String> steam = services.stream();
-
-						steam.forEach(b -> _servcieName.addItem(b));
+						_servcieName.setModel(new DefaultComboBoxModel<>(serviceNames.toArray(new String[0])));
 					}
 					catch (Exception e) {
 						_servcieName.addItem("Unable to get services");
@@ -118,13 +117,11 @@ public class LiferayModuleWizardStep extends ModuleWizardStep {
 					_servcieName.removeAllItems();
 
 					try {
-						ServiceContainer serviceContainer = TargetPlatformUtil.getServiceWrapperList();
-
-						List<String> services = serviceContainer.getServiceList();
+						ServiceIndex serviceIndex = TargetPlatformUtil.getServiceWrapperIndex();
 
-						Stream<String> steam = services.stream();
+						List<String> serviceNames = serviceIndex.getServiceNames();
 
-						steam.forEach(b -> _servcieName.addItem(b));
+						_servcieName.setModel(new DefaultComboBoxModel<>(serviceNames.toArray(new String[0])));
 					}
 					catch (Exception e) {
 						_servcieName.addItem("Unable to get services");
@@ -20,6 +20,8 @@ import com.intellij.ide.util.projectWizard.SdkSettingsStep;
 import com.intellij.ide.util.projectWizard.SettingsStep;
 import com.intellij.openapi.module.ModuleType;
 import com.intellij.openapi.module.StdModuleTypes;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.projectRoots.SdkTypeId;
 import com.intellij.openapi.util.Condition;
@@ -74,7 +76,11 @@ public abstract class LiferayWorkspaceBuilder extends ModuleBuilder {
 			sb.append("maven");
 		}
 
-		BladeCLI.execute(sb.toString());
+		ProgressManager progressManager = ProgressManager.getInstance();
+
+		ProgressIndicator progressIndicator = progressManager.getProgressIndicator();
+
+		BladeCLI.execute(sb.toString(), (progressIndicator != null) ? progressIndicator::setText2 : null);
 	}
 
 	private String _liferayProjectType;
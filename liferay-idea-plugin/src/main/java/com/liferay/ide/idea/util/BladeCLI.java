@@ -14,23 +14,25 @@
 
 package com.liferay.ide.idea.util;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PrintStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 
 import java.net.JarURLConnection;
 import java.net.URL;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
-import java.util.Scanner;
+import java.util.function.Consumer;
 import java.util.jar.JarEntry;
 
-import org.apache.tools.ant.DefaultLogger;
-import org.apache.tools.ant.Project;
-import org.apache.tools.ant.taskdefs.Java;
+import org.apache.tools.ant.types.Commandline;
+import org.apache.tools.ant.util.JavaEnvUtils;
 
 /**
  * @author Terry Jia
@@ -38,110 +40,176 @@ import org.apache.tools.ant.taskdefs.Java;
 public class BladeCLI {
 
 	public static String[] execute(String args) {
-		Project project = new Project();
-		Java javaTask = new Java();
-
-		javaTask.setProject(project);
-		javaTask.setFork(true);
-		javaTask.setFailonerror(true);
+		return execute(args, null);
+	}
 
-		Properties properties = System.getProperties();
+	/**
+	 * Hands every line blade prints to the consumer as soon as it is read, so
+	 * that create and init can show their progress while they run.
+	 */
+	public static String[] execute(String args, Consumer<String> lineConsumer) {
+		try {
+			return _execute(args, lineConsumer);
+		}
+		catch (IOException ioe) {
+			return new String[0];
+		}
+	}
 
-		boolean needToCopy = true;
+	/**
+	 * The template list only changes with the blade jar, so it is kept until
+	 * the jar is replaced. Blade runs outside of the lock so that concurrent
+	 * callers only wait for the cache check and not for the fork.
+	 */
+	public static String[] getProjectTemplates() {
+		File bladeJar = _getBladeJar();
 
-		File temp = new File(properties.getProperty("user.home"), ".liferay-ide");
+		long bladeJarTimestamp = bladeJar.lastModified();
 
-		File bladeJar = new File(temp, "blade.jar");
+		synchronized (_projectTemplatesLock) {
+			if ((_projectTemplates != null) && (_projectTemplatesTimestamp == bladeJarTimestamp)) {
+				return _projectTemplates.clone();
+			}
+		}
 
-		ClassLoader bladeClassLoader = BladeCLI.class.getClassLoader();
+		String[] executeResult;
 
-		URL url = bladeClassLoader.getResource("/libs/blade.jar");
+		try {
+			executeResult = _execute("create -l", null);
+		}
+		catch (IOException ioe) {
 
-		try (InputStream in = bladeClassLoader.getResourceAsStream("/libs/blade.jar")) {
-			JarURLConnection jarUrlConnection = (JarURLConnection)url.openConnection();
+			// a failed run is not cached, the next call tries again
 
-			JarEntry jarEntry = jarUrlConnection.getJarEntry();
+			return new String[0];
+		}
 
-			Long bladeJarTimestamp = jarEntry.getTime();
+		List<String> templateNames = new ArrayList<>();
 
-			if (bladeJar.exists()) {
-				Long destTimestamp = bladeJar.lastModified();
+		for (String name : executeResult) {
+			String trimmedName = name.trim();
 
-				if (destTimestamp < bladeJarTimestamp) {
-					bladeJar.delete();
-				}
-				else {
-					needToCopy = false;
-				}
+			if (trimmedName.indexOf(" ") != -1) {
+				templateNames.add(name.substring(0, name.indexOf(" ")));
 			}
-
-			if (needToCopy) {
-				FileUtil.writeFile(bladeJar, in);
-				bladeJar.setLastModified(bladeJarTimestamp);
+			else {
+				templateNames.add(name);
 			}
 		}
-		catch (IOException ioe) {
+
+		if (templateNames.isEmpty()) {
+			return new String[0];
 		}
 
-		javaTask.setJar(bladeJar);
-		javaTask.setArgs(args);
+		String[] projectTemplates = templateNames.toArray(new String[0]);
 
-		DefaultLogger logger = new DefaultLogger();
+		synchronized (_projectTemplatesLock) {
+			_projectTemplates = projectTemplates;
+			_projectTemplatesTimestamp = bladeJarTimestamp;
+		}
+
+		return projectTemplates.clone();
+	}
 
-		project.addBuildListener(logger);
+	/**
+	 * Runs blade in a new JVM and returns its output once it exits.
+	 */
+	private static String[] _execute(String args, Consumer<String> lineConsumer) throws IOException {
+		List<String> command = new ArrayList<>();
 
-		StringBufferOutputStream out = new StringBufferOutputStream();
+		command.add(JavaEnvUtils.getJreExecutable("java"));
+		command.add("-jar");
+		command.add(_getBladeJar().getAbsolutePath());
 
-		logger.setOutputPrintStream(new PrintStream(out));
+		Collections.addAll(command, Commandline.translateCommandline(args));
 
-		logger.setMessageOutputLevel(Project.MSG_INFO);
+		ProcessBuilder processBuilder = new ProcessBuilder(command);
 
-		javaTask.executeJava();
+		processBuilder.redirectErrorStream(true);
 
 		List<String> lines = new ArrayList<>();
-		Scanner scanner = new Scanner(out.toString());
 
-		while (scanner.hasNextLine()) {
-			String nextLine = scanner.nextLine();
+		Process process = processBuilder.start();
 
-			lines.add(nextLine.replaceAll(".*\\[null\\] ", ""));
-		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			String line;
 
-		scanner.close();
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
 
-		boolean hasErrors = false;
+				if (lineConsumer != null) {
+					lineConsumer.accept(line);
+				}
+			}
+		}
 
-		StringBuilder errors = new StringBuilder();
+		try {
+			process.waitFor();
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
 
-		for (String line : lines) {
-			if (line.startsWith("Error")) {
-				hasErrors = true;
-			}
-			else if (hasErrors) {
-				errors.append(line);
-			}
+			throw new InterruptedIOException("Interrupted while running blade");
 		}
 
 		return lines.toArray(new String[0]);
 	}
 
-	public static synchronized String[] getProjectTemplates() {
-		List<String> templateNames = new ArrayList<>();
+	/**
+	 * Copies the blade jar shipped with the plugin to the user home once per
+	 * session, or again when the shipped jar is newer.
+	 */
+	private static synchronized File _getBladeJar() {
+		if ((_bladeJar != null) && _bladeJar.exists()) {
+			return _bladeJar;
+		}
 
-		String[] executeResult = execute("create -l");
+		Properties properties = System.getProperties();
 
-		for (String name : executeResult) {
-			String trimmedName = name.trim();
+		boolean needToCopy = true;
 
-			if (trimmedName.indexOf(" ") != -1) {
-				templateNames.add(name.substring(0, name.indexOf(" ")));
+		File temp = new File(properties.getProperty("user.home"), ".liferay-ide");
+
+		File bladeJar = new File(temp, "blade.jar");
+
+		ClassLoader bladeClassLoader = BladeCLI.class.getClassLoader();
+
+		URL url = bladeClassLoader.getResource("/libs/blade.jar");
+
+		try (InputStream in = bladeClassLoader.getResourceAsStream("/libs/blade.jar")) {
+			JarURLConnection jarUrlConnection = (JarURLConnection)url.openConnection();
+
+			JarEntry jarEntry = jarUrlConnection.getJarEntry();
+
+			Long bladeJarTimestamp = jarEntry.getTime();
+
+			if (bladeJar.exists()) {
+				Long destTimestamp = bladeJar.lastModified();
+
+				if (destTimestamp < bladeJarTimestamp) {
+					bladeJar.delete();
+				}
+				else {
+					needToCopy = false;
+				}
 			}
-			else {
-				templateNames.add(name);
+
+			if (needToCopy) {
+				FileUtil.writeFile(bladeJar, in);
+				bladeJar.setLastModified(bladeJarTimestamp);
 			}
 		}
+		catch (IOException ioe) {
+		}
 
-		return templateNames.toArray(new String[0]);
+		_bladeJar = bladeJar;
+
+		return bladeJar;
 	}
 
-}
\ No newline at end of file
+	private static File _bladeJar;
+	private static String[] _projectTemplates;
+	private static final Object _projectTemplatesLock = new Object();
+	private static long _projectTemplatesTimestamp;
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Read-only index of a target platform service catalogue, the json files that
+ * map each service name to its bundle group, name and version. Service names
+ * are kept in a sorted table, so lookups and prefix searches are binary
+ * searches and the parsed catalogue is shared by all callers.
+ *
+ * <p>
+ * Copy of com.liferay.ide.project.core.modules.ServiceIndex, this Gradle build
+ * cannot depend on Eclipse bundles. Keep both copies in step.
+ * </p>
+ *
+ * @author agent
+ */
+public class ServiceIndex {
+
+	public static ServiceIndex getIndex(File catalogue) throws IOException {
+		ServiceIndex index = _indexes.get(catalogue);
+
+		if (index == null) {
+			index = new ServiceIndex(catalogue);
+
+			ServiceIndex existing = _indexes.putIfAbsent(catalogue, index);
+
+			if (existing != null) {
+				index = existing;
+			}
+		}
+
+		return index;
+	}
+
+	public List<String> findByPrefix(String prefix) {
+		int start = Arrays.binarySearch(_names, prefix);
+
+		if (start < 0) {
+			start = -start - 1;
+		}
+
+		int end = start;
+
+		while ((end < _names.length) && _names[end].startsWith(prefix)) {
+			end++;
+		}
+
+		return _serviceNames.subList(start, end);
+	}
+
+	/**
+	 * Returns the services whose name contains the text, ignoring case.
+	 */
+	public List<String> findBySubstring(String text) {
+		String lowerCaseText = text.toLowerCase(Locale.ENGLISH);
+
+		List<String> services = new ArrayList<>();
+
+		for (int i = 0; i < _lowerCaseNames.length; i++) {
+			if (_lowerCaseNames[i].contains(lowerCaseText)) {
+				services.add(_names[i]);
+			}
+		}
+
+		return services;
+	}
+
+	/**
+	 * Returns the services offered for the text typed in a service name field.
+	 * A dotted text is matched as a qualified name prefix, anything else as a
+	 * part of the name. All services are returned when the text is empty or
+	 * nothing matches.
+	 */
+	public List<String> findServiceNames(String text) {
+		if ((text == null) || text.isEmpty()) {
+			return _serviceNames;
+		}
+
+		List<String> services;
+
+		if (text.indexOf('.') != -1) {
+			services = findByPrefix(text);
+		}
+		else {
+			services = findBySubstring(text);
+		}
+
+		if (services.isEmpty()) {
+			return _serviceNames;
+		}
+
+		return services;
+	}
+
+	public ServiceContainer getBundle(String serviceName) {
+		if (serviceName == null) {
+			return null;
+		}
+
+		int i = Arrays.binarySearch(_names, serviceName);
+
+		if (i < 0) {
+			return null;
+		}
+
+		String[] bundle = _bundles[i];
+
+		if (bundle == null) {
+			return null;
+		}
+
+		return new ServiceContainer(bundle[0], bundle[1], bundle[2]);
+	}
+
+	public List<String> getServiceNames() {
+		return _serviceNames;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ServiceIndex(File catalogue) throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+
+		Map<String, List<String>> map = mapper.readValue(catalogue, Map.class);
+
+		_names = map.keySet().toArray(new String[0]);
+
+		Arrays.sort(_names);
+
+		_bundles = new String[_names.length][];
+		_lowerCaseNames = new String[_names.length];
+
+		for (int i = 0; i < _names.length; i++) {
+			List<String> bundle = map.get(_names[i]);
+
+			if ((bundle != null) && (bundle.size() >= 3)) {
+				_bundles[i] = new String[] {bundle.get(0), bundle.get(1), bundle.get(2)};
+			}
+
+			_lowerCaseNames[i] = _names[i].toLowerCase(Locale.ENGLISH);
+		}
+
+		_serviceNames = Collections.unmodifiableList(Arrays.asList(_names));
+	}
+
+	private static final Map<File, ServiceIndex> _indexes = new ConcurrentHashMap<>();
+
+	private final String[][] _bundles;
+	private final String[] _lowerCaseNames;
+	private final String[] _names;
+	private final List<String> _serviceNames;
+
+}
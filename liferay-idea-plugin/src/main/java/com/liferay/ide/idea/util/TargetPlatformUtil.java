@@ -23,53 +23,35 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
-import java.util.Arrays;
-import java.util.Map;
-import java.util.Set;
-
-import org.codehaus.jackson.map.ObjectMapper;
-
 /**
  * @author Lovett Li
  */
 public class TargetPlatformUtil {
 
+	public static ServiceIndex getServiceIndex() throws Exception {
+		return ServiceIndex.getIndex(_checkCurrentTargetPlatform("service"));
+	}
+
 	public static ServiceContainer getServicesList() throws Exception {
-		if (_service == null) {
-			File tpIndexFile = _checkCurrentTargetPlatform("service");
+		ServiceIndex serviceIndex = getServiceIndex();
 
-			_service = _getServicesNameList(tpIndexFile);
-		}
+		return new ServiceContainer(serviceIndex.getServiceNames());
+	}
 
-		return _service;
+	public static ServiceIndex getServiceWrapperIndex() throws Exception {
+		return ServiceIndex.getIndex(_checkCurrentTargetPlatform("servicewrapper"));
 	}
 
 	public static ServiceContainer getServiceWrapperList() throws Exception {
-		if (_serviceWrapper == null) {
-			File tpIndexFile = _checkCurrentTargetPlatform("servicewrapper");
-
-			_serviceWrapper = _getServicesNameList(tpIndexFile);
-		}
+		ServiceIndex serviceWrapperIndex = getServiceWrapperIndex();
 
-		return _serviceWrapper;
+		return new ServiceContainer(serviceWrapperIndex.getServiceNames());
 	}
 
 	private static File _checkCurrentTargetPlatform(String type) throws IOException {
 		return _useSpecificTargetPlatform("ce-7.0-ga3", type);
 	}
 
-	private static ServiceContainer _getServicesNameList(File tpFile) throws Exception {
-		ObjectMapper mapper = new ObjectMapper();
-
-		Map<String, String[]> map = mapper.readValue(tpFile, Map.class);
-
-		Set<String> keySet = map.keySet();
-
-		String[] services = keySet.toArray(new String[0]);
-
-		return new ServiceContainer(Arrays.asList(services));
-	}
-
 	private static File _useSpecificTargetPlatform(String currentVersion, String type) throws IOException {
 		Path path = Paths.get(
 			LiferayIdeaUI.USER_TEMP_DIR.toString(), "target-platform", currentVersion,
@@ -92,7 +74,4 @@ public class TargetPlatformUtil {
 		return file;
 	}
 
-	private static ServiceContainer _service = null;
-	private static ServiceContainer _serviceWrapper = null;
-
-}
\ No newline at end of file
+}
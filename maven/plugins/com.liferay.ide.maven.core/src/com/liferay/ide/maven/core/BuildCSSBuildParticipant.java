@@ -19,12 +19,12 @@ import com.liferay.ide.core.util.CoreUtil;
 import java.io.File;
 
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
@@ -63,13 +63,27 @@ public class BuildCSSBuildParticipant extends ThemePluginBuildParticipant {
 
 		File themeResourcesDir = new File(projectDir, themeResourcesFolder.toOSString());
 
-		MavenUtil.setConfigValue(
-			config, ILiferayMavenConstants.PLUGIN_CONFIG_SASS_DIR_NAMES, themeResourcesDir.getAbsolutePath());
+		String sassDirNames = themeResourcesDir.getAbsolutePath();
 
-		// MavenUtil.setConfigValue(
-		// config, ILiferayMavenConstants.PLUGIN_CONFIG_SASS_DIR_NAMES,
-		// "/../m2e-liferay/theme-resources" );
+		// only compile the merged copies of the sass roots that have changed
 
+		Set<String> changedSassRoots = _getChangedSassRoots(facade);
+
+		if (!changedSassRoots.isEmpty()) {
+			StringBuilder sb = new StringBuilder();
+
+			for (String sassRoot : changedSassRoots) {
+				if (sb.length() > 0) {
+					sb.append(",");
+				}
+
+				sb.append(new File(themeResourcesDir, sassRoot).getAbsolutePath());
+			}
+
+			sassDirNames = sb.toString();
+		}
+
+		MavenUtil.setConfigValue(config, ILiferayMavenConstants.PLUGIN_CONFIG_SASS_DIR_NAMES, sassDirNames);
 	}
 
 	@Override
@@ -79,26 +93,55 @@ public class BuildCSSBuildParticipant extends ThemePluginBuildParticipant {
 
 	@Override
 	protected boolean shouldBuild(int kind, IMavenProjectFacade facade) {
-		boolean retval = false;
 
-		IResourceDelta delta = getDelta(facade.getProject());
+		// TODO IDE-1319
+		// return !_getChangedSassRoots(facade).isEmpty();
+
+		return false;
+	}
+
+	/**
+	 * Returns the war source relative folders containing the sass or css files
+	 * changed since the last build, or only <code>css</code> if a partial
+	 * changed.
+	 */
+	private Set<String> _getChangedSassRoots(IMavenProjectFacade facade) {
+		Set<String> changedSassRoots = new TreeSet<>();
 
 		String warSourceDirectory = MavenUtil.getWarSourceDirectory(facade);
 
-		if (!CoreUtil.isNullOrEmpty(warSourceDirectory)) {
-			IFolder folder = facade.getProject().getFolder(warSourceDirectory + "/css");
+		if (CoreUtil.isNullOrEmpty(warSourceDirectory)) {
+			return changedSassRoots;
+		}
+
+		IFolder warSourceFolder = facade.getProject().getFolder(warSourceDirectory);
 
-			IPath cssFolderPath = folder.getProjectRelativePath();
+		IPath warSourcePath = warSourceFolder.getProjectRelativePath();
 
-			if ((delta != null) && (delta.findMember(cssFolderPath) != null)) {
+		IPath cssPath = warSourcePath.append("css");
 
-				// TODO IDE-1319
-				// retval = true;
+		for (IPath changedFile : getChangedFiles(facade, cssPath)) {
+			String extension = changedFile.getFileExtension();
 
+			if (!"scss".equals(extension) && !"sass".equals(extension) && !"css".equals(extension)) {
+				continue;
 			}
+
+			// a partial may be imported from anywhere, so the whole css folder is compiled
+
+			if (changedFile.lastSegment().startsWith("_")) {
+				changedSassRoots.clear();
+				changedSassRoots.add("css");
+
+				break;
+			}
+
+			IPath relativePath = changedFile.makeRelativeTo(warSourcePath);
+
+			changedSassRoots.add(relativePath.removeLastSegments(1).toPortableString());
 		}
 
-		return retval;
+		return changedSassRoots;
 	}
 
 	private static class Msgs extends NLS {
@@ -15,14 +15,14 @@
 package com.liferay.ide.maven.core;
 
 import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.ListUtil;
 
 import java.util.Set;
 
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 
-import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
@@ -61,23 +61,17 @@ public class BuildThumbnailBuildParticipant extends ThemePluginBuildParticipant
 
 	@Override
 	protected boolean shouldBuild(int kind, IMavenProjectFacade facade) {
-		boolean retval = false;
-
-		IResourceDelta delta = getDelta(facade.getProject());
-
 		String warSourceDirectory = MavenUtil.getWarSourceDirectory(facade);
 
-		if (!CoreUtil.isNullOrEmpty(warSourceDirectory)) {
-			IFolder folder = facade.getProject().getFolder(warSourceDirectory + "/images/screenshot.png");
+		if (CoreUtil.isNullOrEmpty(warSourceDirectory)) {
+			return false;
+		}
 
-			IPath screenshotPath = folder.getProjectRelativePath();
+		IFile screenshotFile = facade.getProject().getFile(warSourceDirectory + "/images/screenshot.png");
 
-			if ((delta != null) && (delta.findMember(screenshotPath) != null)) {
-				retval = true;
-			}
-		}
+		IPath screenshotPath = screenshotFile.getProjectRelativePath();
 
-		return retval;
+		return ListUtil.isNotEmpty(getChangedFiles(facade, screenshotPath));
 	}
 
 	private static class Msgs extends NLS {
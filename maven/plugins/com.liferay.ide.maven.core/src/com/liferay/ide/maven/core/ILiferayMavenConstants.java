@@ -73,6 +73,8 @@ public interface ILiferayMavenConstants {
 
 	public String PLUGIN_CONFIG_API_BASE_DIR = "apiBaseDir";
 
+	public String PLUGIN_CONFIG_API_DIR = "apiDir";
+
 	public String PLUGIN_CONFIG_APP_SERVER_PORTAL_DIR = "appServerPortalDir";
 
 	public String PLUGIN_CONFIG_LIFERAY_VERSION = "liferayVersion";
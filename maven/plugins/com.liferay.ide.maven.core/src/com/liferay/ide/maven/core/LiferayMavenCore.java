@@ -26,6 +26,8 @@ import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 
 import org.osgi.framework.BundleContext;
 
@@ -147,6 +149,11 @@ public class LiferayMavenCore extends Plugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		_plugin = this;
+
+		IMavenProjectRegistry projectRegistry = MavenPlugin.getMavenProjectRegistry();
+
+		projectRegistry.addMavenProjectChangedListener(MavenPluginCache.getInstance());
+		projectRegistry.addMavenProjectChangedListener(MavenBundleCache.getInstance());
 	}
 
 	/*
@@ -155,6 +162,14 @@ public class LiferayMavenCore extends Plugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		IMavenProjectRegistry projectRegistry = MavenPlugin.getMavenProjectRegistry();
+
+		projectRegistry.removeMavenProjectChangedListener(MavenPluginCache.getInstance());
+		projectRegistry.removeMavenProjectChangedListener(MavenBundleCache.getInstance());
+
+		MavenPluginCache.getInstance().clear();
+		MavenBundleCache.getInstance().clear();
+
 		_plugin = null;
 		super.stop(context);
 	}
@@ -108,7 +108,7 @@ public class LiferayMavenModuleProjectProvider
 		sb.append("\" ");
 
 		try {
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), monitor::subTask);
 
 			ElementList<ProjectName> projectNames = op.getProjectNames();
 
@@ -65,7 +65,7 @@ public class LiferayMavenWorkspaceProjectProvider
 		sb.append("maven");
 
 		try {
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), monitor::subTask);
 		}
 		catch (BladeCLIException bclie) {
 			return ProjectCore.createErrorStatus(bclie);
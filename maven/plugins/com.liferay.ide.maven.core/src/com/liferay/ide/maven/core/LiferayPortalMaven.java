@@ -15,6 +15,7 @@
 package com.liferay.ide.maven.core;
 
 import com.liferay.ide.core.ILiferayPortal;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.server.util.LiferayPortalValueLoader;
@@ -66,6 +67,11 @@ public class LiferayPortalMaven implements ILiferayPortal {
 		return retval;
 	}
 
+	@Override
+	public PortalArtifactIndex getArtifactIndex() {
+		return PortalArtifactIndex.getIndex(getAppServerPortalDir());
+	}
+
 	@Override
 	public String[] getHookSupportedProperties() {
 		return new LiferayPortalValueLoader(
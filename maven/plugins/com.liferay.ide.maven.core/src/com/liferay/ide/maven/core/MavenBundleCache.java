@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.maven.core;
+
+import java.io.File;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+/**
+ * Remembers the input fingerprint of the bundle jar last assembled for each
+ * project, so an unchanged jar is published again without rebuilding it.
+ * Entries are dropped when m2e reports that the project changed, was closed or
+ * was deleted.
+ *
+ * @author agent
+ */
+public class MavenBundleCache implements IMavenProjectChangedListener {
+
+	public static MavenBundleCache getInstance() {
+		return _instance;
+	}
+
+	public void clear() {
+		_entries.clear();
+	}
+
+	public boolean isCurrent(IProject project, String fingerprint, File jarFile) {
+		Entry entry = _entries.get(project);
+
+		if ((entry == null) || (fingerprint == null) || !fingerprint.equals(entry.fingerprint)) {
+			return false;
+		}
+
+		if (!jarFile.equals(entry.jarFile) || (jarFile.lastModified() != entry.jarStamp)) {
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+		for (MavenProjectChangedEvent event : events) {
+			IFile pomFile = event.getSource();
+
+			if (pomFile != null) {
+				_entries.remove(pomFile.getProject());
+			}
+		}
+	}
+
+	public void put(IProject project, String fingerprint, File jarFile) {
+		_entries.put(project, new Entry(fingerprint, jarFile));
+	}
+
+	public void remove(IProject project) {
+		_entries.remove(project);
+	}
+
+	private MavenBundleCache() {
+	}
+
+	private static final MavenBundleCache _instance = new MavenBundleCache();
+
+	private final Map<IProject, Entry> _entries = new ConcurrentHashMap<>();
+
+	private static class Entry {
+
+		public Entry(String fingerprint, File jarFile) {
+			this.fingerprint = fingerprint;
+			this.jarFile = jarFile;
+
+			jarStamp = jarFile.lastModified();
+		}
+
+		public final String fingerprint;
+		public final File jarFile;
+		public final long jarStamp;
+
+	}
+
+}
@@ -14,6 +14,8 @@
 
 package com.liferay.ide.maven.core;
 
+import aQute.bnd.osgi.Processor;
+
 import com.liferay.ide.core.IBundleProject;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
@@ -25,6 +27,18 @@ import com.liferay.ide.server.remote.IRemoteServerPublisher;
 
 import java.io.File;
 
+import java.math.BigInteger;
+
+import java.nio.charset.StandardCharsets;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.core.resources.IFile;
@@ -44,6 +58,7 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
 
 /**
  * @author Gregory Amerson
+ * @author agent
  */
 @SuppressWarnings("restriction")
 public class MavenBundlePluginProject extends LiferayMavenProject implements IBundleProject {
@@ -95,64 +110,108 @@ public class MavenBundlePluginProject extends LiferayMavenProject implements IBu
 		return "jar";
 	}
 
+	/**
+	 * Returns the bundle jar of the project. The jar is reused as long as the
+	 * compiled classes, bnd.bnd with the files it includes, the pom and its
+	 * parents are unchanged since it was last assembled, otherwise the manifest
+	 * is regenerated by bnd-process and the jar is written in-process from the
+	 * classes folder with bnd. The jar mojo is only executed when no manifest
+	 * was generated or bnd fails.
+	 */
 	@Override
 	public IPath getOutputBundle(boolean cleanBuild, IProgressMonitor monitor) throws CoreException {
-		IPath outputJar = null;
+		IProject project = getProject();
 
-		IMavenProjectFacade projectFacade = MavenUtil.getProjectFacade(getProject(), monitor);
-		MavenProjectBuilder mavenProjectBuilder = new MavenProjectBuilder(getProject());
+		IMavenProjectFacade projectFacade = MavenUtil.getProjectFacade(project, monitor);
 
-		// IDE-3009 delete the MANIFEST.MF to ensure that it will be regenerated by
-		// bnd-process
+		MavenProject mavenProject = projectFacade.getMavenProject(monitor);
 
-		IFile manifest = getProject().getFile("target/classes/META-INF/MANIFEST.MF");
+		String targetName = mavenProject.getBuild().getFinalName() + "." + getBundleShape();
 
-		if (FileUtil.exists(manifest)) {
-			manifest.delete(true, monitor);
-		}
+		String buildDirectory = mavenProject.getBuild().getDirectory();
+		File baseDirectory = mavenProject.getBasedir();
+
+		IPath buildDirPath = new Path(buildDirectory);
+		IPath baseDirPath = new Path(baseDirectory.toString());
+
+		IPath relativePath = buildDirPath.makeRelativeTo(baseDirPath);
+
+		IFolder targetFolder = _getTargetFolder(project, relativePath);
+
+		IPath targetFile = targetFolder.getRawLocation().append(targetName);
+
+		File classesDir = new File(mavenProject.getBuild().getOutputDirectory());
+
+		IFile manifest = project.getFile(
+			new Path(classesDir.getPath()).makeRelativeTo(baseDirPath).append("META-INF/MANIFEST.MF"));
+
+		boolean fullBuild = false;
 
 		if (cleanBuild || !_isAutoBuild()) {
-			getProject().build(IncrementalProjectBuilder.CLEAN_BUILD, monitor);
-			getProject().build(IncrementalProjectBuilder.FULL_BUILD, monitor);
+			fullBuild = true;
+
+			// IDE-3009 delete the MANIFEST.MF to ensure that it will be regenerated by
+			// bnd-process
+
+			_deleteManifest(manifest, monitor);
+
+			project.build(IncrementalProjectBuilder.CLEAN_BUILD, monitor);
+			project.build(IncrementalProjectBuilder.FULL_BUILD, monitor);
 		}
 		else {
-			getProject().build(IncrementalProjectBuilder.INCREMENTAL_BUILD, monitor);
+			project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, monitor);
 		}
 
-		IMarker[] buildProblems = JavaBuilder.getProblemsFor(getProject());
+		if (_hasBuildProblems()) {
+			return null;
+		}
+
+		MavenBundleCache bundleCache = MavenBundleCache.getInstance();
+
+		String fingerprint = _getFingerprint(project, mavenProject, classesDir);
 
-		if (ListUtil.isNotEmpty(buildProblems)) {
-			return outputJar;
+		File jarFile = targetFile.toFile();
+
+		if (!fullBuild && bundleCache.isCurrent(project, fingerprint, jarFile)) {
+			return targetFile;
 		}
 
-		mavenProjectBuilder.execJarMojo(projectFacade, monitor);
+		bundleCache.remove(project);
 
-		MavenProject mavenProject = projectFacade.getMavenProject(monitor);
+		if (!fullBuild) {
 
-		String targetName = mavenProject.getBuild().getFinalName() + "." + getBundleShape();
+			// IDE-3009 delete the MANIFEST.MF to ensure that it will be regenerated by
+			// bnd-process
 
-		String buildDirectory = mavenProject.getBuild().getDirectory();
-		File baseDirectory = mavenProject.getBasedir();
+			_deleteManifest(manifest, monitor);
 
-		IPath buildDirPath = new Path(buildDirectory);
-		IPath baseDirPath = new Path(baseDirectory.toString());
+			project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, monitor);
 
-		IPath relativePath = buildDirPath.makeRelativeTo(baseDirPath);
+			if (_hasBuildProblems()) {
+				return null;
+			}
+		}
+
+		if (!MavenUtil.writeBundle(classesDir, jarFile)) {
+			MavenProjectBuilder mavenProjectBuilder = new MavenProjectBuilder(project);
 
-		IFolder targetFolder = _getTargetFolder(getProject(), relativePath);
+			mavenProjectBuilder.execJarMojo(projectFacade, monitor);
+		}
 
-		if (FileUtil.exists(targetFolder)) {
+		if (FileUtil.notExists(targetFolder) || !jarFile.exists()) {
+			return null;
+		}
 
-			// targetFolder.refreshLocal( IResource.DEPTH_ONE, monitor );
+		// bnd-process rewrites the manifest and OSGI-INF under the classes dir, so the fingerprint the next build
+		// compares against is taken once the bundle has been written
 
-			IPath targetFile = targetFolder.getRawLocation().append(targetName);
+		String bundleFingerprint = _getFingerprint(project, mavenProject, classesDir);
 
-			if (FileUtil.exists(targetFile)) {
-				outputJar = targetFile;
-			}
+		if (bundleFingerprint != null) {
+			bundleCache.put(project, bundleFingerprint, jarFile);
 		}
 
-		return outputJar;
+		return targetFile;
 	}
 
 	@Override
@@ -236,6 +295,99 @@ public class MavenBundlePluginProject extends LiferayMavenProject implements IBu
 		return false;
 	}
 
+	private void _addFingerprintEntries(File dir, String prefix, List<String> entries) {
+		File[] files = dir.listFiles();
+
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			String relativePath = prefix + file.getName();
+
+			if (file.isDirectory()) {
+				_addFingerprintEntries(file, relativePath + "/", entries);
+			}
+			else if (!relativePath.equals("META-INF/MANIFEST.MF")) {
+
+				// the manifest is regenerated by bnd-process, it is not an input
+
+				entries.add(relativePath + ":" + file.length() + ":" + file.lastModified());
+			}
+		}
+	}
+
+	private void _addFingerprintEntry(File file, List<String> entries) {
+		if (FileUtil.exists(file)) {
+			entries.add(file.getPath() + ":" + file.length() + ":" + file.lastModified());
+		}
+	}
+
+	private void _deleteManifest(IFile manifest, IProgressMonitor monitor) throws CoreException {
+		if (FileUtil.exists(manifest)) {
+			manifest.delete(true, monitor);
+		}
+	}
+
+	/**
+	 * Parents that m2e did not load are not listed here. The bundle cache is
+	 * cleared whenever m2e refreshes the project, which includes a change to a
+	 * workspace parent.
+	 */
+	private String _getFingerprint(IProject project, MavenProject mavenProject, File classesDir) {
+		List<String> entries = new ArrayList<>();
+
+		_addFingerprintEntry(mavenProject.getFile(), entries);
+
+		MavenProject parent = mavenProject.getParent();
+
+		while (parent != null) {
+			_addFingerprintEntry(parent.getFile(), entries);
+
+			parent = parent.getParent();
+		}
+
+		File bndFile = FileUtil.getFile(project.getFile("bnd.bnd"));
+
+		if (FileUtil.exists(bndFile)) {
+			_addFingerprintEntry(bndFile, entries);
+
+			try (Processor processor = new Processor()) {
+				processor.setProperties(bndFile);
+
+				Collection<File> includedFiles = processor.getIncluded();
+
+				if (includedFiles != null) {
+					for (File includedFile : includedFiles) {
+						_addFingerprintEntry(includedFile, entries);
+					}
+				}
+			}
+			catch (Exception e) {
+				LiferayMavenCore.logError("Unable to read " + bndFile, e);
+
+				return null;
+			}
+		}
+
+		_addFingerprintEntries(classesDir, "", entries);
+
+		Collections.sort(entries);
+
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+
+			for (String entry : entries) {
+				messageDigest.update(entry.getBytes(StandardCharsets.UTF_8));
+			}
+
+			return new BigInteger(1, messageDigest.digest()).toString(16);
+		}
+		catch (NoSuchAlgorithmException nsae) {
+			return null;
+		}
+	}
+
 	private IFolder _getTargetFolder(IProject project, IPath relativePath) {
 		IFolder targetFolder = project.getFolder(relativePath);
 
@@ -246,6 +398,12 @@ public class MavenBundlePluginProject extends LiferayMavenProject implements IBu
 		return targetFolder;
 	}
 
+	private boolean _hasBuildProblems() {
+		IMarker[] buildProblems = JavaBuilder.getProblemsFor(getProject());
+
+		return ListUtil.isNotEmpty(buildProblems);
+	}
+
 	private boolean _isAutoBuild() {
 		IWorkspace workspace = ResourcesPlugin.getWorkspace();
 
@@ -72,7 +72,7 @@ public class MavenModuleFragmentProjectProvider
 		sb.append("\" ");
 
 		try {
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), monitor::subTask);
 		}
 		catch (Exception e) {
 			return LiferayMavenCore.createErrorStatus("fail to create liferay module fragment project.", e);
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.maven.core;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+/**
+ * Remembers the plugins resolved for a project facade, including the ones
+ * declared in its parent hierarchy, so the liferay-maven-plugin, service
+ * builder, css builder and theme builder configurations are not looked up from
+ * the Maven project on every call. Entries are dropped when the pom changes or
+ * when m2e reports that the project was reloaded.
+ *
+ * @author agent
+ */
+public class MavenPluginCache implements IMavenProjectChangedListener {
+
+	public static MavenPluginCache getInstance() {
+		return _instance;
+	}
+
+	public void clear() {
+		_entries.clear();
+	}
+
+	public Plugin getPlugin(IMavenProjectFacade facade, String pluginKey, IProgressMonitor monitor)
+		throws CoreException {
+
+		IFile pomFile = facade.getPom();
+
+		long stamp = pomFile.getModificationStamp();
+
+		Entry entry = _entries.get(pomFile);
+
+		if ((entry == null) || (entry.facade != facade) || (entry.stamp != stamp)) {
+			entry = new Entry(facade, stamp);
+
+			_entries.put(pomFile, entry);
+		}
+
+		Optional<Plugin> plugin = entry.plugins.get(pluginKey);
+
+		if (plugin == null) {
+			plugin = Optional.ofNullable(_resolvePlugin(facade, pluginKey, monitor));
+
+			entry.plugins.put(pluginKey, plugin);
+		}
+
+		return plugin.orElse(null);
+	}
+
+	@Override
+	public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+		for (MavenProjectChangedEvent event : events) {
+			_entries.remove(event.getSource());
+		}
+	}
+
+	private MavenPluginCache() {
+	}
+
+	private Plugin _resolvePlugin(IMavenProjectFacade facade, String pluginKey, IProgressMonitor monitor)
+		throws CoreException {
+
+		Plugin retval = null;
+		boolean loadedParent = false;
+		MavenProject mavenProject = facade.getMavenProject(monitor);
+
+		if (mavenProject != null) {
+			retval = mavenProject.getPlugin(pluginKey);
+		}
+
+		if (retval == null) {
+
+			// look through all parents to find if the plugin has been declared
+
+			MavenProject parent = mavenProject.getParent();
+
+			if (parent == null) {
+				try {
+					if (MavenUtil.loadParentHierarchy(facade, monitor)) {
+						loadedParent = true;
+					}
+				}
+				catch (CoreException ce) {
+					LiferayMavenCore.logError("Error loading parent hierarchy", ce);
+				}
+			}
+
+			while ((parent != null) && (retval == null)) {
+				retval = parent.getPlugin(pluginKey);
+
+				parent = parent.getParent();
+			}
+		}
+
+		if (loadedParent) {
+			mavenProject.setParent(null);
+		}
+
+		return retval;
+	}
+
+	private static final MavenPluginCache _instance = new MavenPluginCache();
+
+	private final Map<IFile, Entry> _entries = new ConcurrentHashMap<>();
+
+	private static class Entry {
+
+		public Entry(IMavenProjectFacade facade, long stamp) {
+			this.facade = facade;
+			this.stamp = stamp;
+		}
+
+		public final IMavenProjectFacade facade;
+		public final Map<String, Optional<Plugin>> plugins = new ConcurrentHashMap<>();
+		public final long stamp;
+
+	}
+
+}
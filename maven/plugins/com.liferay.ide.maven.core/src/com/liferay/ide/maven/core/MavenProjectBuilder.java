@@ -45,6 +45,7 @@ import org.apache.maven.project.MavenProject;
 
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -339,7 +340,7 @@ public class MavenProjectBuilder extends AbstractProjectBuilder implements IWork
 	public void refreshSiblingProject(IMavenProjectFacade projectFacade, IProgressMonitor monitor)
 		throws CoreException {
 
-		// need to look up project configuration and refresh the *-service project
+		// need to look up project configuration and refresh the generated sources of the *-service project
 		// associated with this project
 
 		try {
@@ -351,16 +352,29 @@ public class MavenProjectBuilder extends AbstractProjectBuilder implements IWork
 
 				Xpp3Dom apiBaseDir = config.getChild(ILiferayMavenConstants.PLUGIN_CONFIG_API_BASE_DIR);
 
-				String apiBaseDirValue = apiBaseDir.getValue();
+				IPath apiBaseDirLocation = new Path(apiBaseDir.getValue());
 
-				IWorkspace workspace = ResourcesPlugin.getWorkspace();
+				Xpp3Dom apiDir = config.getChild(ILiferayMavenConstants.PLUGIN_CONFIG_API_DIR);
 
-				IFile apiBasePomFile = workspace.getRoot().getFileForLocation(
-					new Path(apiBaseDirValue).append(IMavenConstants.POM_FILE_NAME));
+				IPath apiDirLocation = null;
 
-				IMavenProjectFacade apiBaseFacade = this.projectManager.create(apiBasePomFile, true, monitor);
+				if (apiDir != null) {
+					apiDirLocation = new Path(apiDir.getValue());
+				}
+				else {
+					apiDirLocation = apiBaseDirLocation.append("src/main/java");
+				}
+
+				if (!_refreshContainer(apiDirLocation, monitor)) {
+					IWorkspace workspace = ResourcesPlugin.getWorkspace();
+
+					IFile apiBasePomFile = workspace.getRoot().getFileForLocation(
+						apiBaseDirLocation.append(IMavenConstants.POM_FILE_NAME));
 
-				apiBaseFacade.getProject().refreshLocal(IResource.DEPTH_INFINITE, monitor);
+					IMavenProjectFacade apiBaseFacade = this.projectManager.create(apiBasePomFile, true, monitor);
+
+					apiBaseFacade.getProject().refreshLocal(IResource.DEPTH_INFINITE, monitor);
+				}
 			}
 			else {
 				Plugin plugin7x = MavenUtil.getPlugin(
@@ -373,15 +387,21 @@ public class MavenProjectBuilder extends AbstractProjectBuilder implements IWork
 
 					String apiDirNameValue = apiDirName.getValue();
 
-					int startIndex = apiDirNameValue.indexOf("../");
-					int endIndex = apiDirNameValue.indexOf("/src/main/java");
+					IProject serviceProject = projectFacade.getProject();
+
+					IPath apiDirLocation = serviceProject.getLocation().append(apiDirNameValue);
 
-					String projectName = apiDirNameValue.substring(startIndex + 3, endIndex);
+					if (!_refreshContainer(apiDirLocation, monitor)) {
+						int startIndex = apiDirNameValue.indexOf("../");
+						int endIndex = apiDirNameValue.indexOf("/src/main/java");
 
-					IProject project = CoreUtil.getProject(projectName);
+						String projectName = apiDirNameValue.substring(startIndex + 3, endIndex);
 
-					if (project != null) {
-						project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+						IProject project = CoreUtil.getProject(projectName);
+
+						if (project != null) {
+							project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+						}
 					}
 				}
 			}
@@ -539,6 +559,27 @@ public class MavenProjectBuilder extends AbstractProjectBuilder implements IWork
 		}
 	}
 
+	/**
+	 * Refreshes only the workspace folder at the given location, returns
+	 * <code>false</code> if the location is not mapped to an accessible
+	 * folder of the workspace.
+	 */
+	private boolean _refreshContainer(IPath location, IProgressMonitor monitor) throws CoreException {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+
+		IContainer container = workspace.getRoot().getContainerForLocation(location);
+
+		if ((container == null) || (container.getType() == IResource.ROOT) ||
+			!container.getProject().isAccessible()) {
+
+			return false;
+		}
+
+		container.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+
+		return true;
+	}
+
 	private String _attrGoals = "M2_GOALS";
 	private String _attrPomDir = IJavaLaunchConfigurationConstants.ATTR_WORKING_DIRECTORY;
 	private String _attrProfiles = "M2_PROFILES";
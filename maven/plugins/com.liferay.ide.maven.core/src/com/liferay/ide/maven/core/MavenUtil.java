@@ -14,6 +14,8 @@
 
 package com.liferay.ide.maven.core;
 
+import aQute.bnd.osgi.Jar;
+
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.core.util.ListUtil;
@@ -365,43 +367,9 @@ public class MavenUtil {
 	public static Plugin getPlugin(IMavenProjectFacade facade, String pluginKey, IProgressMonitor monitor)
 		throws CoreException {
 
-		Plugin retval = null;
-		boolean loadedParent = false;
-		MavenProject mavenProject = facade.getMavenProject(monitor);
-
-		if (mavenProject != null) {
-			retval = mavenProject.getPlugin(pluginKey);
-		}
-
-		if (retval == null) {
-
-			// look through all parents to find if the plugin has been declared
-
-			MavenProject parent = mavenProject.getParent();
-
-			if (parent == null) {
-				try {
-					if (loadParentHierarchy(facade, monitor)) {
-						loadedParent = true;
-					}
-				}
-				catch (CoreException ce) {
-					LiferayMavenCore.logError("Error loading parent hierarchy", ce);
-				}
-			}
-
-			while ((parent != null) && (retval == null)) {
-				retval = parent.getPlugin(pluginKey);
-
-				parent = parent.getParent();
-			}
-		}
-
-		if (loadedParent) {
-			mavenProject.setParent(null);
-		}
+		MavenPluginCache pluginCache = MavenPluginCache.getInstance();
 
-		return retval;
+		return pluginCache.getPlugin(facade, pluginKey, monitor);
 	}
 
 	public static IMavenProjectFacade getProjectFacade(IProject project) {
@@ -592,6 +560,32 @@ public class MavenUtil {
 		childNode.setValue((value == null) ? null : value.toString());
 	}
 
+	/**
+	 * Writes the bundle jar from a classes folder whose manifest was generated
+	 * by bnd-process. Returns false when there is no manifest or the jar could
+	 * not be written.
+	 */
+	public static boolean writeBundle(File classesDir, File jarFile) {
+		File manifestFile = new File(classesDir, "META-INF/MANIFEST.MF");
+
+		if (!manifestFile.exists()) {
+			return false;
+		}
+
+		jarFile.getParentFile().mkdirs();
+
+		try (Jar jar = new Jar(jarFile.getName(), classesDir)) {
+			jar.write(jarFile);
+
+			return true;
+		}
+		catch (Exception e) {
+			LiferayMavenCore.logError("Unable to write bundle " + jarFile, e);
+
+			return false;
+		}
+	}
+
 	private static List<MavenProjectInfo> _filterProjects(List<MavenProjectInfo> mavenProjects) {
 		List<MavenProjectInfo> result = new ArrayList<>();
 
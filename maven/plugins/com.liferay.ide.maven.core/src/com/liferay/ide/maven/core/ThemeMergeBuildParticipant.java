@@ -15,12 +15,12 @@
 package com.liferay.ide.maven.core;
 
 import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.theme.core.ThemeCSSBuilder;
 
 import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -62,26 +62,23 @@ public class ThemeMergeBuildParticipant extends ThemePluginBuildParticipant {
 	}
 
 	protected boolean shouldBuild(int kind, IMavenProjectFacade facade) {
-		boolean retval = false;
-
-		IResourceDelta delta = getDelta(facade.getProject());
-
 		String warSourceDirectory = MavenUtil.getWarSourceDirectory(facade);
 
-		if (!CoreUtil.isNullOrEmpty(warSourceDirectory)) {
-			IProject project = facade.getProject();
+		if (CoreUtil.isNullOrEmpty(warSourceDirectory)) {
+			return false;
+		}
 
-			IPath warSourceProjectPath = project.getFolder(warSourceDirectory).getProjectRelativePath();
+		IProject project = facade.getProject();
 
-			if ((delta != null) &&
-				((delta.findMember(warSourceProjectPath) != null) ||
-				 (delta.findMember(new Path(IMavenConstants.POM_FILE_NAME)) != null))) {
+		IPath warSourceProjectPath = project.getFolder(warSourceDirectory).getProjectRelativePath();
 
-				retval = true;
-			}
+		if (ListUtil.isNotEmpty(getChangedFiles(facade, warSourceProjectPath)) ||
+			ListUtil.isNotEmpty(getChangedFiles(facade, new Path(IMavenConstants.POM_FILE_NAME)))) {
+
+			return true;
 		}
 
-		return retval;
+		return false;
 	}
 
 	private static class Msgs extends NLS {
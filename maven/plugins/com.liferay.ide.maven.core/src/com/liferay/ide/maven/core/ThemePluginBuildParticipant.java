@@ -29,10 +29,13 @@ import org.codehaus.plexus.util.xml.Xpp3DomUtils;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.embedder.ICallable;
@@ -42,6 +45,7 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 import org.eclipse.m2e.core.project.ResolverConfiguration;
 import org.eclipse.m2e.core.project.configurator.AbstractBuildParticipant;
+import org.eclipse.m2e.wtp.ProjectUtils;
 
 /**
  * @author Gregory Amerson
@@ -186,6 +190,57 @@ public abstract class ThemePluginBuildParticipant extends AbstractBuildParticipa
 		return retval;
 	}
 
+	/**
+	 * Returns the project relative paths of the files added, removed or edited
+	 * under the given project relative path since the last build. Derived
+	 * resources, sass caches and everything in the Maven build directory are
+	 * left out, so that the outputs of the theme mojos never trigger another
+	 * build.
+	 */
+	protected List<IPath> getChangedFiles(IMavenProjectFacade facade, IPath path) {
+		List<IPath> changedFiles = new ArrayList<>();
+
+		IResourceDelta delta = getDelta(facade.getProject());
+
+		if (delta == null) {
+			return changedFiles;
+		}
+
+		IResourceDelta memberDelta = delta.findMember(path);
+
+		if (memberDelta == null) {
+			return changedFiles;
+		}
+
+		IPath buildOutputPath = _getBuildOutputPath(facade);
+
+		try {
+			memberDelta.accept(
+				new IResourceDeltaVisitor() {
+
+					public boolean visit(IResourceDelta child) {
+						IResource resource = child.getResource();
+
+						if (_isGenerated(resource, buildOutputPath)) {
+							return false;
+						}
+
+						if ((resource.getType() == IResource.FILE) && _isContentChange(child)) {
+							changedFiles.add(resource.getProjectRelativePath());
+						}
+
+						return true;
+					}
+
+				});
+		}
+		catch (CoreException ce) {
+			LiferayMavenCore.logError(ce);
+		}
+
+		return changedFiles;
+	}
+
 	protected abstract String getGoal();
 
 	protected abstract boolean shouldBuild(int kind, IMavenProjectFacade facade);
@@ -193,4 +248,50 @@ public abstract class ThemePluginBuildParticipant extends AbstractBuildParticipa
 	protected IMaven maven = MavenPlugin.getMaven();
 	protected IMavenProjectRegistry projectManager = MavenPlugin.getMavenProjectRegistry();
 
+	private IPath _getBuildOutputPath(IMavenProjectFacade facade) {
+		MavenProject mavenProject = facade.getMavenProject();
+
+		if (mavenProject == null) {
+			return null;
+		}
+
+		String relativePath = ProjectUtils.getRelativePath(facade.getProject(), mavenProject.getBuild().getDirectory());
+
+		if (relativePath == null) {
+			return null;
+		}
+
+		return new Path(relativePath);
+	}
+
+	private boolean _isContentChange(IResourceDelta delta) {
+		int kind = delta.getKind();
+
+		if ((kind == IResourceDelta.ADDED) || (kind == IResourceDelta.REMOVED)) {
+			return true;
+		}
+
+		int flags = IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING;
+
+		if ((kind == IResourceDelta.CHANGED) && ((delta.getFlags() & flags) != 0)) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private boolean _isGenerated(IResource resource, IPath buildOutputPath) {
+		if (resource.isDerived() || ".sass-cache".equals(resource.getName())) {
+			return true;
+		}
+
+		if ((buildOutputPath != null) && (buildOutputPath.segmentCount() > 0) &&
+			buildOutputPath.isPrefixOf(resource.getProjectRelativePath())) {
+
+			return true;
+		}
+
+		return false;
+	}
+
 }
\ No newline at end of file
@@ -16,13 +16,25 @@
 package com.liferay.ide.maven.core.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import com.liferay.ide.maven.core.MavenUtil;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * @author Gregory Amerson
+ * @author agent
  */
 public class MavenUtilTests
 {
@@ -38,4 +50,56 @@ public class MavenUtilTests
     {
         assertEquals( "6.2.0", MavenUtil.getMajorMinorVersionOnly( "6.2.10.6" ) );
     }
+
+    @Test
+    public void testWriteBundle() throws Exception
+    {
+        File classesDir = tempFolder.newFolder( "classes" );
+
+        writeFile(
+            new File( classesDir, "META-INF/MANIFEST.MF" ),
+            "Manifest-Version: 1.0\nBundle-SymbolicName: com.example.test\nBundle-Version: 1.0.0\n\n" );
+        writeFile( new File( classesDir, "com/example/Test.class" ), "class" );
+        writeFile( new File( classesDir, "content/Language.properties" ), "key=value" );
+
+        File jarFile = new File( tempFolder.getRoot(), "target/com.example.test-1.0.0.jar" );
+
+        assertTrue( MavenUtil.writeBundle( classesDir, jarFile ) );
+
+        try( JarFile jar = new JarFile( jarFile ) )
+        {
+            assertEquals(
+                "com.example.test", jar.getManifest().getMainAttributes().getValue( "Bundle-SymbolicName" ) );
+
+            ZipEntry classEntry = jar.getEntry( "com/example/Test.class" );
+
+            assertNotNull( classEntry );
+            assertEquals( 5, classEntry.getSize() );
+            assertNotNull( jar.getEntry( "content/Language.properties" ) );
+        }
+    }
+
+    @Test
+    public void testWriteBundleWithoutManifest() throws Exception
+    {
+        File classesDir = tempFolder.newFolder( "classes" );
+
+        writeFile( new File( classesDir, "com/example/Test.class" ), "class" );
+
+        File jarFile = new File( tempFolder.getRoot(), "target/com.example.test-1.0.0.jar" );
+
+        assertFalse( MavenUtil.writeBundle( classesDir, jarFile ) );
+        assertFalse( jarFile.exists() );
+    }
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private void writeFile( File file, String content ) throws Exception
+    {
+        file.getParentFile().mkdirs();
+
+        Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
 }
@@ -19,11 +19,23 @@ import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.InterruptedIOException;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
@@ -53,14 +65,16 @@ public final class ZipUtil {
 	}
 
 	public static ZipEntry getZipEntry(ZipFile zip, String name) {
-		String lcasename = name.toLowerCase();
+		ZipEntry entry = zip.getEntry(name);
+
+		if (entry != null) {
+			return entry;
+		}
 
 		for (Enumeration<? extends ZipEntry> itr = zip.entries(); itr.hasMoreElements();) {
 			ZipEntry zipentry = itr.nextElement();
 
-			String entryName = zipentry.getName().toLowerCase();
-
-			if (entryName.equals(lcasename)) {
+			if (name.equalsIgnoreCase(zipentry.getName())) {
 				return zipentry;
 			}
 		}
@@ -95,13 +109,11 @@ public final class ZipUtil {
 		ZipFile zip = open(file);
 
 		try {
-			Enumeration<? extends ZipEntry> entries = zip.entries();
+			Path destPath = destdir.toPath().toAbsolutePath().normalize();
 
-			int totalWork = zip.size();
-
-			monitor.beginTask(Resources.progressUnzipping, totalWork);
-
-			int c = 0;
+			List<ZipEntry> fileEntries = new ArrayList<>();
+			List<Path> filePaths = new ArrayList<>();
+			Set<Path> dirPaths = new TreeSet<>();
 
 			boolean foundStartEntry = false;
 
@@ -109,11 +121,9 @@ public final class ZipUtil {
 				foundStartEntry = true;
 			}
 
-			while (entries.hasMoreElements()) {
-				if (monitor.isCanceled()) {
-					break;
-				}
+			Enumeration<? extends ZipEntry> entries = zip.entries();
 
+			while (entries.hasMoreElements()) {
 				ZipEntry entry = entries.nextElement();
 
 				if (!foundStartEntry) {
@@ -121,51 +131,41 @@ public final class ZipUtil {
 					continue;
 				}
 
-				monitor.worked(1);
-
-				String taskMsg = NLS.bind(Resources.progressUnzipped, new Object[] {file.getName(), c++, totalWork});
-
-				monitor.subTask(taskMsg);
-
-				String entryName = null;
-
-				if (entryToStart == null) {
-					entryName = entry.getName();
-				}
-				else {
-					entryName = entry.getName().replaceFirst(entryToStart, "");
-				}
+				Path path = _getTargetPath(destPath, _getEntryName(entry, entryToStart));
 
 				if (entry.isDirectory()) {
-					File emptyDir = new File(destdir, entryName);
-
-					_mkdir(emptyDir);
+					dirPaths.add(path);
 
 					continue;
 				}
 
-				File f = new File(destdir, entryName);
+				Path parent = path.getParent();
 
-				File dir = f.getParentFile();
-
-				_mkdir(dir);
-
-				try (InputStream in = zip.getInputStream(entry);
-					OutputStream out = Files.newOutputStream(f.toPath());) {
+				if (parent != null) {
+					dirPaths.add(parent);
+				}
 
-					byte[] bytes = new byte[1024];
+				fileEntries.add(entry);
+				filePaths.add(path);
+			}
 
-					int count = in.read(bytes);
+			int totalWork = dirPaths.size() + fileEntries.size();
 
-					while (count != -1) {
-						out.write(bytes, 0, count);
+			monitor.beginTask(Resources.progressUnzipping, totalWork);
 
-						count = in.read(bytes);
-					}
+			// create the directory tree up front so the workers only write files
 
-					out.flush();
+			for (Path dirPath : dirPaths) {
+				if (monitor.isCanceled()) {
+					return;
 				}
+
+				_mkdir(dirPath.toFile());
 			}
+
+			monitor.worked(dirPaths.size());
+
+			new Extraction(zip, fileEntries, filePaths).run(file.getName(), dirPaths.size(), totalWork, monitor);
 		}
 		finally {
 			try {
@@ -213,6 +213,36 @@ public final class ZipUtil {
 		}
 	}
 
+	private static String _getEntryName(ZipEntry entry, String entryToStart) {
+		String entryName = entry.getName();
+
+		if (entryToStart == null) {
+			return entryName;
+		}
+
+		int index = entryName.indexOf(entryToStart);
+
+		if (index == -1) {
+			return entryName;
+		}
+
+		return entryName.substring(0, index) + entryName.substring(index + entryToStart.length());
+	}
+
+	/**
+	 * Resolves an entry against the destination directory and rejects entries
+	 * that would be written outside of it, such as <code>../../evil.sh</code>.
+	 */
+	private static Path _getTargetPath(Path destPath, String entryName) throws IOException {
+		Path path = destPath.resolve(entryName).normalize();
+
+		if (!path.startsWith(destPath)) {
+			throw new IOException("Zip entry is outside of the target dir: " + entryName);
+		}
+
+		return path;
+	}
+
 	private static void _mkdir(File dir) throws IOException {
 		if (!dir.exists() && !dir.mkdirs()) {
 			String msg = "Could not create dir: " + dir.getPath();
@@ -276,6 +306,162 @@ public final class ZipUtil {
 	private ZipUtil() {
 	}
 
+	private static final int _MIN_PARALLEL_ENTRIES = 64;
+
+	private static final long _PROGRESS_INTERVAL = 200;
+
+	/**
+	 * Extracts the file entries of an archive on a pool of workers that take
+	 * the next entry from a shared index. Progress and cancellation are handled
+	 * on the calling thread only, at a fixed interval, since progress monitors
+	 * are not thread safe.
+	 */
+	private static class Extraction {
+
+		public Extraction(ZipFile zip, List<ZipEntry> entries, List<Path> paths) {
+			_zip = zip;
+			_entries = entries;
+			_paths = paths;
+		}
+
+		public void run(String fileName, int worked, int totalWork, IProgressMonitor monitor) throws IOException {
+			Runtime runtime = Runtime.getRuntime();
+
+			int threads = Math.min(runtime.availableProcessors(), _entries.size() / _MIN_PARALLEL_ENTRIES);
+
+			if (threads <= 1) {
+				for (int i = 0; i < _entries.size(); i++) {
+					if (monitor.isCanceled()) {
+						return;
+					}
+
+					_extract(i);
+
+					monitor.worked(1);
+				}
+
+				return;
+			}
+
+			ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+			List<Future<Void>> futures = new ArrayList<>();
+
+			try {
+				for (int i = 0; i < threads; i++) {
+					futures.add(executorService.submit(this::_extractAll));
+				}
+
+				executorService.shutdown();
+
+				int reported = 0;
+
+				while (true) {
+					boolean terminated = executorService.awaitTermination(_PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+
+					int extracted = _extracted.get();
+
+					monitor.worked(extracted - reported);
+
+					reported = extracted;
+
+					String taskMsg = NLS.bind(
+						Resources.progressUnzipped, new Object[] {fileName, worked + extracted, totalWork});
+
+					monitor.subTask(taskMsg);
+
+					if (terminated) {
+						break;
+					}
+
+					if (monitor.isCanceled()) {
+						_canceled = true;
+					}
+				}
+			}
+			catch (InterruptedException ie) {
+				_canceled = true;
+
+				Thread.currentThread().interrupt();
+
+				throw new InterruptedIOException("Interrupted while unzipping " + fileName);
+			}
+			finally {
+				executorService.shutdownNow();
+			}
+
+			for (Future<Void> future : futures) {
+				_checkFailure(future, fileName);
+			}
+		}
+
+		private void _checkFailure(Future<Void> future, String fileName) throws IOException {
+			try {
+				future.get();
+			}
+			catch (ExecutionException ee) {
+				Throwable cause = ee.getCause();
+
+				if (cause instanceof IOException) {
+					throw (IOException)cause;
+				}
+
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException)cause;
+				}
+
+				if (cause instanceof Error) {
+					throw (Error)cause;
+				}
+
+				throw new IOException("Could not unzip " + fileName, cause);
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+
+				throw new InterruptedIOException("Interrupted while unzipping " + fileName);
+			}
+		}
+
+		private void _extract(int index) throws IOException {
+			try (InputStream in = _zip.getInputStream(_entries.get(index))) {
+				Files.copy(in, _paths.get(index), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		private Void _extractAll() throws IOException {
+			int index = _next.getAndIncrement();
+
+			while (!_canceled && (index < _entries.size())) {
+				try {
+					_extract(index);
+				}
+				catch (IOException | RuntimeException e) {
+
+					// stop the other workers, the failure is rethrown from the future
+
+					_canceled = true;
+
+					throw e;
+				}
+
+				_extracted.incrementAndGet();
+
+				index = _next.getAndIncrement();
+			}
+
+			return null;
+		}
+
+		private volatile boolean _canceled;
+		private final List<ZipEntry> _entries;
+		private final AtomicInteger _extracted = new AtomicInteger();
+		private final AtomicInteger _next = new AtomicInteger();
+		private final List<Path> _paths;
+		private final ZipFile _zip;
+
+	}
+
 	private static final class Resources extends NLS {
 
 		public static String progressUnzipped;
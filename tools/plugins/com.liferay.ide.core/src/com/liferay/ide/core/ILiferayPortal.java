@@ -25,6 +25,8 @@ public interface ILiferayPortal {
 
 	public IPath getAppServerPortalDir();
 
+	public PortalArtifactIndex getArtifactIndex();
+
 	public String[] getHookSupportedProperties();
 
 	public Properties getPortletCategories();
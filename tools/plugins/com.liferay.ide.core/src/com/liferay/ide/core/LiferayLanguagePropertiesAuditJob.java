@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.core;
+
+import com.liferay.ide.core.util.CoreUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+/**
+ * Audits the encoding of the language properties files of the projects queued
+ * by {@link LiferayLanguagePropertiesListener}. Requests are coalesced, each
+ * queued project is walked once per run and its markers are updated under the
+ * project rule only, so audits never lock the whole workspace.
+ *
+ * @author agent
+ */
+public class LiferayLanguagePropertiesAuditJob extends WorkspaceJob {
+
+	public LiferayLanguagePropertiesAuditJob() {
+		super("Validate Liferay language properties encoding...");
+
+		setSystem(true);
+	}
+
+	public void addAllProjects() {
+		synchronized (_projects) {
+			Collections.addAll(_projects, CoreUtil.getAllProjects());
+		}
+
+		schedule(_DELAY);
+	}
+
+	public void addProject(IProject project) {
+		if (project == null) {
+			return;
+		}
+
+		synchronized (_projects) {
+			_projects.add(project);
+		}
+
+		schedule(_DELAY);
+	}
+
+	@Override
+	public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+		List<IProject> projects;
+
+		synchronized (_projects) {
+			projects = new ArrayList<>(_projects);
+
+			_projects.clear();
+		}
+
+		SubMonitor subMonitor = SubMonitor.convert(monitor, projects.size());
+
+		for (int i = 0; i < projects.size(); i++) {
+			if (subMonitor.isCanceled()) {
+				_addProjects(projects.subList(i, projects.size()));
+
+				return Status.CANCEL_STATUS;
+			}
+
+			IProject project = projects.get(i);
+
+			try {
+				LiferayLanguagePropertiesValidator.validateEncoding(project, subMonitor.split(1));
+			}
+			catch (CoreException ce) {
+				LiferayCore.logError("Unable to validate language properties encoding of " + project.getName(), ce);
+			}
+		}
+
+		return Status.OK_STATUS;
+	}
+
+	private void _addProjects(List<IProject> projects) {
+		synchronized (_projects) {
+			_projects.addAll(projects);
+		}
+	}
+
+	private static final long _DELAY = 500;
+
+	private final Set<IProject> _projects = new LinkedHashSet<>();
+
+}
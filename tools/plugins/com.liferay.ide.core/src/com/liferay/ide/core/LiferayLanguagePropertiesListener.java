@@ -16,7 +16,7 @@ package com.liferay.ide.core;
 
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
-import com.liferay.ide.core.util.ListUtil;
+import com.liferay.ide.core.util.LanguageFileRegistry;
 import com.liferay.ide.core.util.PropertiesUtil;
 
 import org.eclipse.core.resources.IFile;
@@ -26,34 +26,24 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
-import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 
 /**
  * @author Kuo Zhang
+ * @author agent
  */
 public class LiferayLanguagePropertiesListener implements IResourceChangeListener, IResourceDeltaVisitor {
 
 	public LiferayLanguagePropertiesListener() {
-		new WorkspaceJob("clear abondoned liferay language properties markers") {
 
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				LiferayLanguagePropertiesValidator.clearAbandonedMarkers();
+		// clear the markers left over from a workspace that was closed accidently
 
-				return Status.OK_STATUS;
-			}
-
-		}.schedule();
+		_auditJob.addAllProjects();
 	}
 
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
-		if (event == null) {
+		if ((event == null) || (event.getDelta() == null)) {
 			return;
 		}
 
@@ -68,10 +58,19 @@ public class LiferayLanguagePropertiesListener implements IResourceChangeListene
 	public boolean visit(IResourceDelta delta) throws CoreException {
 		switch (delta.getResource().getType()) {
 			case IResource.ROOT:
-			case IResource.PROJECT:
 			case IResource.FOLDER:
 				return true;
 
+			case IResource.PROJECT:
+				if ((delta.getKind() == IResourceDelta.REMOVED) ||
+					((delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) ||
+					_isLanguageFileRegistryChanged(delta)) {
+
+					LanguageFileRegistry.remove((IProject)delta.getResource());
+				}
+
+				return delta.getKind() != IResourceDelta.REMOVED;
+
 			case IResource.FILE:
 				processFile((IFile)delta.getResource());
 
@@ -86,70 +85,39 @@ public class LiferayLanguagePropertiesListener implements IResourceChangeListene
 			return;
 		}
 
-		if (PropertiesUtil.isLanguagePropertiesFile(file)) {
-			_validateLanguagePropertiesEncoding(new IFile[] {file}, null);
-
-			return;
-		}
-
 		String filename = file.getName();
 
-		if (filename.equals(ILiferayConstants.PORTLET_XML_FILE)) {
-			IWebProject webProject = LiferayCore.create(IWebProject.class, CoreUtil.getLiferayProject(file));
-
-			if (webProject != null) {
-				IFile portletXml = webProject.getDescriptorFile(ILiferayConstants.PORTLET_XML_FILE);
-
-				if ((portletXml != null) && file.equals(portletXml)) {
-					IFile[] files = PropertiesUtil.getLanguagePropertiesFromPortletXml(portletXml);
-
-					_validateLanguagePropertiesEncoding(files, CoreUtil.getLiferayProject(file));
-
-					return;
-				}
-			}
-		}
-
-		if (filename.equals(ILiferayConstants.LIFERAY_HOOK_XML_FILE)) {
-			IWebProject webProject = LiferayCore.create(IWebProject.class, CoreUtil.getLiferayProject(file));
-
-			if (webProject != null) {
-				IFile liferayHookXml = webProject.getDescriptorFile(ILiferayConstants.LIFERAY_HOOK_XML_FILE);
-
-				if (file.equals(liferayHookXml)) {
-					IFile[] files = PropertiesUtil.getLanguagePropertiesFromLiferayHookXml(liferayHookXml);
+		if (filename.equals(ILiferayConstants.PORTLET_XML_FILE) ||
+			filename.equals(ILiferayConstants.LIFERAY_HOOK_XML_FILE) || PropertiesUtil.isLanguagePropertiesFile(file)) {
 
-					_validateLanguagePropertiesEncoding(files, CoreUtil.getLiferayProject(file));
-
-					return;
-				}
-			}
+			_auditJob.addProject(CoreUtil.getLiferayProject(file));
 		}
 	}
 
-	private void _validateLanguagePropertiesEncoding(IFile[] files, IProject project) {
-		Job job = new WorkspaceJob("Validate Liferay language properties encoding...") {
+	private boolean _isLanguageFileRegistryChanged(IResourceDelta delta) {
+		IResource resource = delta.getResource();
 
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				if (ListUtil.isNotEmpty(files)) {
-					for (IFile file : files) {
-						LiferayLanguagePropertiesValidator.getValidator(file).validateEncoding();
-					}
-				}
+		if (resource.getType() == IResource.FILE) {
+			String filename = resource.getName();
 
-				if (project != null) {
-					LiferayLanguagePropertiesValidator.clearUnusedValidatorsAndMarkers(project);
-				}
+			if (filename.equals(ILiferayConstants.PORTLET_XML_FILE) ||
+				filename.equals(ILiferayConstants.LIFERAY_HOOK_XML_FILE) || filename.equals(".classpath")) {
 
-				return Status.OK_STATUS;
+				return true;
 			}
 
-		};
+			return false;
+		}
 
-		job.setRule(CoreUtil.getWorkspaceRoot());
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			if (_isLanguageFileRegistryChanged(child)) {
+				return true;
+			}
+		}
 
-		job.schedule();
+		return false;
 	}
 
-}
\ No newline at end of file
+	private final LiferayLanguagePropertiesAuditJob _auditJob = new LiferayLanguagePropertiesAuditJob();
+
+}
@@ -14,23 +14,22 @@
 
 package com.liferay.ide.core;
 
-import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.core.util.PropertiesUtil;
 
-import java.lang.ref.WeakReference;
-
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -49,173 +48,73 @@ public class LiferayLanguagePropertiesValidator {
 		Msgs.languagePropertiesEncodingNotDefault;
 
 	/**
-	 * This is for the case where the workspace is closed accidently, clear those alive but incorrect markers.
+	 * Audits the encoding of all language properties files of the project in
+	 * one pass and applies the resulting marker changes in a single workspace
+	 * operation scoped to the project, so only markers that are missing or no
+	 * longer apply are touched.
 	 */
-	public static void clearAbandonedMarkers() {
-		try {
-			IMarker[] markers = CoreUtil.getWorkspaceRoot().findMarkers(
-				LIFERAY_LANGUAGE_PROPERTIES_MARKER_TYPE, true, IResource.DEPTH_INFINITE);
-
-			for (IMarker marker : markers) {
-				if (FileUtil.notExists(marker.getResource())) {
-					marker.delete();
-				}
-				else {
-					if (marker.getResource().getType() == IResource.FILE) {
-						getValidator((IFile)marker.getResource()).validateEncoding();
-					}
-				}
-			}
-		}
-		catch (CoreException ce) {
-		}
-	}
-
-	public static void clearUnusedValidatorsAndMarkers(IProject project) throws CoreException {
-		synchronized (_filesAndValidators) {
-			Set<IFile> files = _filesAndValidators.keySet();
-
-			for (Iterator<IFile> iterator = files.iterator(); iterator.hasNext();) {
-				IFile file = iterator.next();
-
-				if (!PropertiesUtil.isLanguagePropertiesFile(file)) {
-					iterator.remove();
-				}
-			}
-
-			IWorkspaceRoot root = project.getWorkspace().getRoot();
-
-			IMarker[] markers = root.findMarkers(
-				LIFERAY_LANGUAGE_PROPERTIES_MARKER_TYPE, true, IResource.DEPTH_INFINITE);
-
-			for (IMarker marker : markers) {
-				if (FileUtil.notExists(marker.getResource())) {
-					marker.delete();
-				}
-				else {
-					if (marker.getResource().getType() == IResource.FILE) {
-						if (!files.contains((IFile)marker.getResource())) {
-							marker.delete();
-						}
-					}
-				}
-			}
+	public static void validateEncoding(IProject project, IProgressMonitor monitor) throws CoreException {
+		if ((project == null) || !project.isAccessible()) {
+			return;
 		}
-	}
 
-	public static LiferayLanguagePropertiesValidator getValidator(IFile file) {
-		synchronized (_filesAndValidators) {
-			try {
-				if (_filesAndValidators.get(file).get() != null) {
-					return _filesAndValidators.get(file).get();
-				}
-				else {
-					throw new NullPointerException();
-				}
-			}
-			catch (NullPointerException npe) {
-				LiferayLanguagePropertiesValidator validator = new LiferayLanguagePropertiesValidator(file);
+		Set<IFile> nonDefaultFiles = new HashSet<>();
 
-				_filesAndValidators.put(file, new WeakReference<LiferayLanguagePropertiesValidator>(validator));
+		for (IFile file : PropertiesUtil.getAllLanguagePropertiesFiles(project)) {
+			if (FileUtil.exists(file) &&
+				!ILiferayConstants.LANGUAGE_PROPERTIES_FILE_ENCODING_CHARSET.equals(file.getCharset())) {
 
-				return validator;
+				nonDefaultFiles.add(file);
 			}
 		}
-	}
 
-	public void validateEncoding() {
-		if (!PropertiesUtil.isLanguagePropertiesFile(_file)) {
-			_clearMarker(ID_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFAULT);
+		List<IMarker> staleMarkers = new ArrayList<>();
+		Set<IResource> markedFiles = new HashSet<>();
 
-			return;
-		}
+		IMarker[] markers = project.findMarkers(
+			LIFERAY_LANGUAGE_PROPERTIES_MARKER_TYPE, true, IResource.DEPTH_INFINITE);
 
-		try {
-			if (ILiferayConstants.LANGUAGE_PROPERTIES_FILE_ENCODING_CHARSET.equals(_file.getCharset())) {
-				_clearMarker(ID_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFAULT);
+		for (IMarker marker : markers) {
+			IResource resource = marker.getResource();
 
-				return;
+			if (nonDefaultFiles.contains(resource) && markedFiles.add(resource)) {
+				continue;
 			}
 
-			_setMarker(
-				LIFERAY_LANGUAGE_PROPERTIES_MARKER_TYPE, ID_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFAULT,
-				IMarker.SEVERITY_WARNING, LOCATION_ENCODING,
-				NLS.bind(MESSAGE_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFALUT, new Object[] {_file.getName()}));
-		}
-		catch (Exception e) {
-			LiferayCore.logError(e);
+			staleMarkers.add(marker);
 		}
-	}
 
-	private LiferayLanguagePropertiesValidator(IFile file) {
-		_file = file;
+		nonDefaultFiles.removeAll(markedFiles);
 
-		if (FileUtil.exists(file)) {
-			try {
-				IMarker[] markers =
-					file.findMarkers(LIFERAY_LANGUAGE_PROPERTIES_MARKER_TYPE, false, IResource.DEPTH_INFINITE);
-
-				for (IMarker marker : markers) {
-					if (ID_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFAULT.equals(marker.getAttribute(IMarker.SOURCE_ID))) {
-						_markers.add(marker);
-					}
-				}
-			}
-			catch (CoreException ce) {
-				LiferayCore.logError(ce);
-			}
+		if (staleMarkers.isEmpty() && nonDefaultFiles.isEmpty()) {
+			return;
 		}
-	}
 
-	private void _clearMarker(String markerSourceId) {
-		try {
-			synchronized (_markers) {
-				for (IMarker marker : _markers) {
-					if ((marker != null) && marker.exists() &&
-						markerSourceId.equals(marker.getAttribute(IMarker.SOURCE_ID))) {
+		IWorkspace workspace = project.getWorkspace();
 
-						_markers.remove(marker);
+		IWorkspaceRunnable runnable = new IWorkspaceRunnable() {
 
-						marker.delete();
-					}
-				}
-			}
-		}
-		catch (CoreException ce) {
-			LiferayCore.logError(ce);
-		}
-	}
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				workspace.deleteMarkers(staleMarkers.toArray(new IMarker[0]));
 
-	private void _setMarker(
-			String markerType, String markerSourceId, int markerSeverity, String location, String markerMsg)
-		throws CoreException, InterruptedException {
+				for (IFile file : nonDefaultFiles) {
+					IMarker marker = file.createMarker(LIFERAY_LANGUAGE_PROPERTIES_MARKER_TYPE);
 
-		synchronized (_markers) {
-			for (IMarker marker : _markers) {
-				if ((marker != null) && marker.exists() &&
-					markerSourceId.equals(marker.getAttribute(IMarker.SOURCE_ID))) {
-
-					return;
+					marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+					marker.setAttribute(
+						IMarker.MESSAGE,
+						NLS.bind(MESSAGE_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFALUT, new Object[] {file.getName()}));
+					marker.setAttribute(IMarker.SOURCE_ID, ID_LANGUAGE_PROPERTIES_ENCODING_NOT_DEFAULT);
+					marker.setAttribute(IMarker.LOCATION, LOCATION_ENCODING);
 				}
 			}
 
-			IMarker marker = _file.createMarker(markerType);
-
-			marker.setAttribute(IMarker.SEVERITY, markerSeverity);
-			marker.setAttribute(IMarker.MESSAGE, markerMsg);
-			marker.setAttribute(IMarker.SOURCE_ID, markerSourceId);
-			marker.setAttribute(IMarker.LOCATION, location);
+		};
 
-			_markers.add(marker);
-		}
+		workspace.run(runnable, project, IWorkspace.AVOID_UPDATE, monitor);
 	}
 
-	private static WeakHashMap<IFile, WeakReference<LiferayLanguagePropertiesValidator>> _filesAndValidators =
-		new WeakHashMap<>();
-
-	private IFile _file;
-	private Set<IMarker> _markers = new HashSet<>();
-
 	private static class Msgs extends NLS {
 
 		public static String languagePropertiesEncodingNotDefault;
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.core;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * A jar or tld shipped with the portal. Manifest metadata of jars is read on
+ * first access and kept until the modification time of the file changes.
+ *
+ * @author agent
+ */
+public class PortalArtifact {
+
+	public PortalArtifact(File file) {
+		_file = file;
+
+		_lastModified = file.lastModified();
+	}
+
+	public String getBundleSymbolicName() {
+		return _getManifestInfo().bundleSymbolicName;
+	}
+
+	public String getBundleVersion() {
+		return _getManifestInfo().bundleVersion;
+	}
+
+	public List<String> getExportedPackages() {
+		return _getManifestInfo().exportedPackages;
+	}
+
+	public File getFile() {
+		return _file;
+	}
+
+	public long getLastModified() {
+		return _lastModified;
+	}
+
+	public String getName() {
+		return _file.getName();
+	}
+
+	@Override
+	public String toString() {
+		return _file.getPath();
+	}
+
+	private static List<String> _parseExportPackage(String exportPackage) {
+		List<String> packages = new ArrayList<>();
+
+		boolean quoted = false;
+		int start = 0;
+
+		for (int i = 0; i <= exportPackage.length(); i++) {
+			char c = (i < exportPackage.length()) ? exportPackage.charAt(i) : ',';
+
+			if (c == '"') {
+				quoted = !quoted;
+			}
+			else if ((c == ',') && !quoted) {
+				String clause = exportPackage.substring(start, i);
+
+				int index = clause.indexOf(';');
+
+				if (index != -1) {
+					clause = clause.substring(0, index);
+				}
+
+				clause = clause.trim();
+
+				if (!clause.isEmpty()) {
+					packages.add(clause);
+				}
+
+				start = i + 1;
+			}
+		}
+
+		return packages;
+	}
+
+	private synchronized ManifestInfo _getManifestInfo() {
+		long stamp = _file.lastModified();
+
+		if ((_manifestInfo != null) && (_manifestInfo.stamp == stamp)) {
+			return _manifestInfo;
+		}
+
+		_manifestInfo = _readManifestInfo(stamp);
+
+		return _manifestInfo;
+	}
+
+	private ManifestInfo _readManifestInfo(long stamp) {
+		ManifestInfo manifestInfo = new ManifestInfo(stamp);
+
+		if (!_file.getName().endsWith(".jar")) {
+			return manifestInfo;
+		}
+
+		try (JarFile jarFile = new JarFile(_file)) {
+			Manifest manifest = jarFile.getManifest();
+
+			if (manifest == null) {
+				return manifestInfo;
+			}
+
+			Attributes attributes = manifest.getMainAttributes();
+
+			String bsn = attributes.getValue("Bundle-SymbolicName");
+
+			if (bsn != null) {
+				int index = bsn.indexOf(';');
+
+				manifestInfo.bundleSymbolicName = (index != -1) ? bsn.substring(0, index).trim() : bsn.trim();
+			}
+
+			manifestInfo.bundleVersion = attributes.getValue("Bundle-Version");
+
+			String exportPackage = attributes.getValue("Export-Package");
+
+			if (exportPackage != null) {
+				manifestInfo.exportedPackages = Collections.unmodifiableList(_parseExportPackage(exportPackage));
+			}
+		}
+		catch (IOException ioe) {
+			LiferayCore.logError("Unable to read manifest of " + _file, ioe);
+		}
+
+		return manifestInfo;
+	}
+
+	private final File _file;
+	private final long _lastModified;
+	private ManifestInfo _manifestInfo;
+
+	private static class ManifestInfo {
+
+		public ManifestInfo(long stamp) {
+			this.stamp = stamp;
+		}
+
+		public String bundleSymbolicName;
+		public String bundleVersion;
+		public List<String> exportedPackages = Collections.emptyList();
+		public final long stamp;
+
+	}
+
+}
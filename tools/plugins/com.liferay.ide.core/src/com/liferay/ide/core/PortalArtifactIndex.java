@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.core;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Index of the jars in <code>WEB-INF/lib</code> and the tlds in
+ * <code>WEB-INF/tld</code> of a portal. It is shared by everyone asking for
+ * the same portal directory and is rebuilt when either directory's
+ * modification time changes or when {@link #refresh()} is called.
+ *
+ * @author agent
+ */
+public class PortalArtifactIndex {
+
+	public static PortalArtifactIndex getIndex(IPath appServerPortalDir) {
+		if (appServerPortalDir == null) {
+			return null;
+		}
+
+		return _indexes.computeIfAbsent(appServerPortalDir, PortalArtifactIndex::new);
+	}
+
+	public PortalArtifact getJar(String name) {
+		return _getArtifacts(_jarsDir, _JAR_EXTENSION).get(name);
+	}
+
+	public List<PortalArtifact> getJars() {
+		return new ArrayList<>(_getArtifacts(_jarsDir, _JAR_EXTENSION).values());
+	}
+
+	public IPath getPortalDir() {
+		return _portalDir;
+	}
+
+	public PortalArtifact getTld(String name) {
+		return _getArtifacts(_tldsDir, _TLD_EXTENSION).get(name);
+	}
+
+	public List<PortalArtifact> getTlds() {
+		return new ArrayList<>(_getArtifacts(_tldsDir, _TLD_EXTENSION).values());
+	}
+
+	public synchronized void refresh() {
+		_artifacts.clear();
+		_stamps.clear();
+	}
+
+	private PortalArtifactIndex(IPath portalDir) {
+		_portalDir = portalDir;
+
+		_jarsDir = portalDir.append("WEB-INF/lib").toFile();
+		_tldsDir = portalDir.append("WEB-INF/tld").toFile();
+	}
+
+	private synchronized Map<String, PortalArtifact> _getArtifacts(File dir, String extension) {
+		long stamp = dir.lastModified();
+
+		Long indexedStamp = _stamps.get(dir);
+
+		Map<String, PortalArtifact> artifacts = _artifacts.get(dir);
+
+		if ((artifacts != null) && (indexedStamp != null) && (indexedStamp == stamp)) {
+			return artifacts;
+		}
+
+		Map<String, PortalArtifact> newArtifacts = new LinkedHashMap<>();
+
+		File[] files = dir.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				String name = file.getName();
+
+				if (file.isFile() && name.endsWith(extension)) {
+
+					// keep metadata that was already read for unchanged files
+
+					PortalArtifact artifact = (artifacts != null) ? artifacts.get(name) : null;
+
+					if ((artifact == null) || (artifact.getLastModified() != file.lastModified())) {
+						artifact = new PortalArtifact(file);
+					}
+
+					newArtifacts.put(name, artifact);
+				}
+			}
+		}
+
+		artifacts = Collections.unmodifiableMap(newArtifacts);
+
+		_artifacts.put(dir, artifacts);
+		_stamps.put(dir, stamp);
+
+		return artifacts;
+	}
+
+	private static final String _JAR_EXTENSION = ".jar";
+
+	private static final String _TLD_EXTENSION = ".tld";
+
+	private static final Map<IPath, PortalArtifactIndex> _indexes = new ConcurrentHashMap<>();
+
+	private final Map<File, Map<String, PortalArtifact>> _artifacts = new ConcurrentHashMap<>();
+	private final File _jarsDir;
+	private final IPath _portalDir;
+	private final Map<File, Long> _stamps = new ConcurrentHashMap<>();
+	private final File _tldsDir;
+
+}
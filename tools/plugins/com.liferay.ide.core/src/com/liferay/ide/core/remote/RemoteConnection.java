@@ -18,33 +18,48 @@ import com.liferay.ide.core.LiferayCore;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.StringPool;
 
+import java.io.IOException;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
-import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.conn.params.ConnRoutePNames;
-import org.apache.http.conn.scheme.PlainSocketFactory;
-import org.apache.http.conn.scheme.Scheme;
-import org.apache.http.conn.scheme.SchemeRegistry;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 
 import org.eclipse.core.net.proxy.IProxyData;
@@ -61,6 +76,8 @@ import org.json.JSONObject;
  */
 public class RemoteConnection implements IRemoteConnection {
 
+	public static final long DEFAULT_CACHE_TTL = 5000;
+
 	public String getHost() {
 		return _hostname;
 	}
@@ -77,42 +94,64 @@ public class RemoteConnection implements IRemoteConnection {
 		return _username;
 	}
 
-	public void releaseHttpClient() {
-		if (_httpClient == null) {
-			return;
-		}
+	public void clearResponseCache() {
+		_responseCache.clear();
+	}
+
+	/**
+	 * Drops the current client so the next request looks up the proxy again.
+	 * The connections stay in the pool shared by all remote connections, so
+	 * requests still running on the old client are not affected.
+	 */
+	public synchronized void releaseHttpClient() {
+		clearResponseCache();
 
-		_httpClient.getConnectionManager().shutdown();
 		_httpClient = null;
 	}
 
 	public void setHost(String host) {
-		_hostname = host;
+		if (!Objects.equals(_hostname, host)) {
+			releaseHttpClient();
+		}
 
-		releaseHttpClient();
+		_hostname = host;
 	}
 
 	public void setHttpPort(String httpPort) {
+		int port = -1;
+
 		if (httpPort != null) {
-			_httpPort = Integer.parseInt(httpPort);
+			port = Integer.parseInt(httpPort);
 		}
-		else {
-			_httpPort = -1;
+
+		if (_httpPort != port) {
+			releaseHttpClient();
 		}
 
-		releaseHttpClient();
+		_httpPort = port;
 	}
 
 	public void setPassword(String password) {
+
+		// credentials are sent with every request, the client only has to be rebuilt when the proxy lookup changes
+
+		if ((_password == null) != (password == null)) {
+			releaseHttpClient();
+		}
+
 		_password = password;
 
-		releaseHttpClient();
+		clearResponseCache();
 	}
 
 	public void setUsername(String username) {
+		if ((_username == null) != (username == null)) {
+			releaseHttpClient();
+		}
+
 		_username = username;
 
-		releaseHttpClient();
+		clearResponseCache();
 	}
 
 	protected Object deleteJSONAPI(Object... args) throws APIException {
@@ -125,6 +164,22 @@ public class RemoteConnection implements IRemoteConnection {
 		return httpJSONAPI(deleteAPIMethod, args);
 	}
 
+	/**
+	 * Same as {@link #getJSONAPI(Object...)} but answers from a per connection
+	 * cache while the cached response is younger than <code>ttl</code>
+	 * milliseconds. Older responses are revalidated with their ETag. Any non
+	 * GET request on this connection clears the cache.
+	 */
+	protected Object getCachedJSONAPI(long ttl, Object... args) throws APIException {
+		if (!(args[0] instanceof String)) {
+			throw new IllegalArgumentException("First argument must be a string.");
+		}
+
+		HttpGet getAPIMethod = new CachedHttpGet(ttl);
+
+		return httpJSONAPI(getAPIMethod, args);
+	}
+
 	protected String getHttpResponse(HttpUriRequest request) throws Exception {
 		if (!CoreUtil.isNullOrEmpty(getUsername()) && !CoreUtil.isNullOrEmpty(getPassword())) {
 			String encoding = getUsername() + ":" + getPassword();
@@ -132,21 +187,74 @@ public class RemoteConnection implements IRemoteConnection {
 			request.setHeader("Authorization", "Basic " + Base64.encodeBase64String(encoding.getBytes()));
 		}
 
-		HttpResponse response = _getHttpClient().execute(request);
+		String cacheKey = null;
+		CachedResponse cachedResponse = null;
 
-		int statusCode = response.getStatusLine().getStatusCode();
+		if (request instanceof HttpGet) {
+			if (request instanceof CachedHttpGet) {
+				long ttl = ((CachedHttpGet)request).ttl;
 
-		if (statusCode == HttpStatus.SC_OK) {
-			HttpEntity entity = response.getEntity();
+				cacheKey = request.getURI().toString();
 
-			String body = CoreUtil.readStreamToString(entity.getContent(), false);
+				cachedResponse = _responseCache.get(cacheKey);
 
-			EntityUtils.consume(entity);
+				if (cachedResponse != null) {
+					if ((System.currentTimeMillis() - cachedResponse.timestamp) < ttl) {
+						return cachedResponse.body;
+					}
 
-			return body;
+					if (cachedResponse.etag != null) {
+						request.setHeader("If-None-Match", cachedResponse.etag);
+					}
+				}
+			}
 		}
 		else {
-			return response.getStatusLine().getReasonPhrase();
+			clearResponseCache();
+		}
+
+		RemoteHttpClient remoteHttpClient = _getHttpClient();
+
+		HttpClientContext context = HttpClientContext.create();
+
+		if (remoteHttpClient.socksAddress != null) {
+			context.setAttribute(_SOCKS_ADDRESS_ATTRIBUTE, remoteHttpClient.socksAddress);
+		}
+
+		try (CloseableHttpResponse response = remoteHttpClient.httpClient.execute(request, context)) {
+
+			int statusCode = response.getStatusLine().getStatusCode();
+
+			if ((statusCode == HttpStatus.SC_NOT_MODIFIED) && (cachedResponse != null)) {
+				EntityUtils.consume(response.getEntity());
+
+				_responseCache.put(cacheKey, new CachedResponse(cachedResponse.body, cachedResponse.etag));
+
+				return cachedResponse.body;
+			}
+
+			if (statusCode == HttpStatus.SC_OK) {
+				HttpEntity entity = response.getEntity();
+
+				String body = CoreUtil.readStreamToString(entity.getContent(), false);
+
+				EntityUtils.consume(entity);
+
+				if (cacheKey != null) {
+					Header etagHeader = response.getFirstHeader("ETag");
+
+					String etag = (etagHeader != null) ? etagHeader.getValue() : null;
+
+					_responseCache.put(cacheKey, new CachedResponse(body, etag));
+				}
+
+				return body;
+			}
+			else {
+				EntityUtils.consume(response.getEntity());
+
+				return response.getStatusLine().getReasonPhrase();
+			}
 		}
 	}
 
@@ -160,6 +268,52 @@ public class RemoteConnection implements IRemoteConnection {
 		return httpJSONAPI(getAPIMethod, args);
 	}
 
+	/**
+	 * Runs {@link #getJSONAPI(Object...)} on a worker pool shared by all remote
+	 * connections.
+	 */
+	protected Future<Object> getJSONAPIAsync(Object... args) {
+		return _executor.submit(() -> getJSONAPI(args));
+	}
+
+	/**
+	 * Runs several GET requests concurrently over the pooled connections and
+	 * returns the responses in request order.
+	 */
+	protected List<Object> getJSONAPIs(List<Object[]> requests) throws APIException {
+		List<Future<Object>> futures = new ArrayList<>(requests.size());
+
+		for (Object[] args : requests) {
+			futures.add(getJSONAPIAsync(args));
+		}
+
+		List<Object> retval = new ArrayList<>(requests.size());
+
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				retval.add(futures.get(i).get());
+			}
+			catch (ExecutionException ee) {
+				Throwable cause = ee.getCause();
+
+				if (cause instanceof APIException) {
+					throw (APIException)cause;
+				}
+
+				Exception exception = (cause instanceof Exception) ? (Exception)cause : ee;
+
+				throw new APIException(String.valueOf(requests.get(i)[0]), exception);
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+
+				throw new APIException(String.valueOf(requests.get(i)[0]), ie);
+			}
+		}
+
+		return retval;
+	}
+
 	protected Object httpJSONAPI(Object... args) throws APIException {
 		if (!(args[0] instanceof HttpRequestBase)) {
 			throw new IllegalArgumentException("First argument must be a HttpRequestBase.");
@@ -276,12 +430,28 @@ public class RemoteConnection implements IRemoteConnection {
 		return httpJSONAPI(post, args);
 	}
 
-	private HttpClient _getHttpClient() {
-		if (_httpClient != null) {
-			return _httpClient;
-		}
+	private static PoolingHttpClientConnectionManager _createConnectionManager() {
+		RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.create();
+
+		registryBuilder.register("http", new SocksConnectionSocketFactory());
+		registryBuilder.register("https", SSLConnectionSocketFactory.getSocketFactory());
+
+		PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager(registryBuilder.build());
+
+		cm.setMaxTotal(_MAX_CONNECTIONS);
+
+		cm.setDefaultMaxPerRoute(_MAX_CONNECTIONS_PER_ROUTE);
+
+		return cm;
+	}
 
-		DefaultHttpClient newDefaultHttpClient = null;
+	private RemoteHttpClient _createHttpClient() {
+		HttpClientBuilder builder = HttpClientBuilder.create();
+
+		builder.setConnectionManager(_connectionManager);
+		builder.setConnectionManagerShared(true);
+
+		InetSocketAddress socksAddress = null;
 
 		if ((getUsername() != null) || (getPassword() != null)) {
 			try {
@@ -291,33 +461,21 @@ public class RemoteConnection implements IRemoteConnection {
 
 				IProxyData[] proxyDataForHost = proxyService.select(uri);
 
+				HttpHost proxy = null;
+
 				for (IProxyData data : proxyDataForHost) {
 					if ((data.getHost() == null) || (data.getPort() == 0)) {
 						continue;
 					}
 
-					SchemeRegistry schemeRegistry = new SchemeRegistry();
-
-					schemeRegistry.register(new Scheme("http", data.getPort(), PlainSocketFactory.getSocketFactory()));
-
-					PoolingClientConnectionManager cm = new PoolingClientConnectionManager(schemeRegistry);
-
-					cm.setMaxTotal(200);
-
-					cm.setDefaultMaxPerRoute(20);
-
-					DefaultHttpClient newHttpClient = new DefaultHttpClient(cm);
-
-					HttpHost proxy = new HttpHost(data.getHost(), data.getPort());
+					proxy = new HttpHost(data.getHost(), data.getPort());
 
-					newHttpClient.getParams().setParameter(ConnRoutePNames.DEFAULT_PROXY, proxy);
-
-					newDefaultHttpClient = newHttpClient;
+					builder.setProxy(proxy);
 
 					break;
 				}
 
-				if (newDefaultHttpClient == null) {
+				if (proxy == null) {
 					uri = new URI("SOCKS://" + getHost() + ":" + getHttpPort());
 
 					proxyDataForHost = proxyService.select(uri);
@@ -327,18 +485,7 @@ public class RemoteConnection implements IRemoteConnection {
 							continue;
 						}
 
-						DefaultHttpClient newHttpClient = new DefaultHttpClient();
-
-						newHttpClient.getParams().setParameter("socks.host", data.getHost());
-						newHttpClient.getParams().setParameter("socks.port", data.getPort());
-
-						SchemeRegistry registry = newHttpClient.getConnectionManager().getSchemeRegistry();
-
-						Scheme scheme = new Scheme("socks", data.getPort(), PlainSocketFactory.getSocketFactory());
-
-						registry.register(scheme);
-
-						newDefaultHttpClient = newHttpClient;
+						socksAddress = new InetSocketAddress(data.getHost(), data.getPort());
 
 						break;
 					}
@@ -347,18 +494,9 @@ public class RemoteConnection implements IRemoteConnection {
 			catch (URISyntaxException urise) {
 				LiferayCore.logError("Unable to read proxy data", urise);
 			}
-
-			if (newDefaultHttpClient == null) {
-				newDefaultHttpClient = new DefaultHttpClient();
-			}
-
-			_httpClient = newDefaultHttpClient;
-		}
-		else {
-			_httpClient = new DefaultHttpClient();
 		}
 
-		return _httpClient;
+		return new RemoteHttpClient(builder.build(), socksAddress);
 	}
 
 	private Object _getJSONResponse(String response) {
@@ -378,10 +516,92 @@ public class RemoteConnection implements IRemoteConnection {
 		return retval;
 	}
 
+	private synchronized RemoteHttpClient _getHttpClient() {
+		if (_httpClient == null) {
+			_httpClient = _createHttpClient();
+		}
+
+		return _httpClient;
+	}
+
+	private static final int _MAX_CONNECTIONS = 200;
+
+	private static final int _MAX_CONNECTIONS_PER_ROUTE = 20;
+
+	private static final String _SOCKS_ADDRESS_ATTRIBUTE = "liferay.ide.socks.address";
+
+	private static final PoolingHttpClientConnectionManager _connectionManager = _createConnectionManager();
+	private static final ExecutorService _executor = Executors.newFixedThreadPool(
+		_MAX_CONNECTIONS_PER_ROUTE,
+		runnable -> {
+			Thread thread = new Thread(runnable, "Liferay remote connection");
+
+			thread.setDaemon(true);
+
+			return thread;
+		});
+
 	private String _hostname;
-	private HttpClient _httpClient;
+	private RemoteHttpClient _httpClient;
 	private int _httpPort;
 	private String _password;
+	private final Map<String, CachedResponse> _responseCache = new ConcurrentHashMap<>();
 	private String _username;
 
+	private static class CachedHttpGet extends HttpGet {
+
+		public CachedHttpGet(long ttl) {
+			this.ttl = ttl;
+		}
+
+		public final long ttl;
+
+	}
+
+	private static class CachedResponse {
+
+		public CachedResponse(String body, String etag) {
+			this.body = body;
+			this.etag = etag;
+
+			timestamp = System.currentTimeMillis();
+		}
+
+		public final String body;
+		public final String etag;
+		public final long timestamp;
+
+	}
+
+	private static class RemoteHttpClient {
+
+		public RemoteHttpClient(CloseableHttpClient httpClient, InetSocketAddress socksAddress) {
+			this.httpClient = httpClient;
+			this.socksAddress = socksAddress;
+		}
+
+		public final CloseableHttpClient httpClient;
+		public final InetSocketAddress socksAddress;
+
+	}
+
+	/**
+	 * Opens plain sockets through the SOCKS proxy of the connection that runs
+	 * the request, if it has one.
+	 */
+	private static class SocksConnectionSocketFactory extends PlainConnectionSocketFactory {
+
+		@Override
+		public Socket createSocket(HttpContext context) throws IOException {
+			InetSocketAddress socksAddress = (InetSocketAddress)context.getAttribute(_SOCKS_ADDRESS_ATTRIBUTE);
+
+			if (socksAddress == null) {
+				return super.createSocket(context);
+			}
+
+			return new Socket(new Proxy(Proxy.Type.SOCKS, socksAddress));
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -20,9 +20,14 @@ import com.liferay.ide.core.util.ListUtil;
 import freemarker.template.Template;
 
 import java.io.ByteArrayInputStream;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
@@ -67,26 +72,26 @@ public class TemplateOperation implements ITemplateOperation {
 			return;
 		}
 
-		StringWriter writer = new StringWriter();
-
 		TemplateContext templateContext = (TemplateContext)getContext();
 
-		getTemplate().process(templateContext.getMap(), writer);
+		if (outputFile != null) {
+			ContentsOutputStream outputStream = new ContentsOutputStream();
 
-		String result = writer.toString();
+			try (Writer writer = new OutputStreamWriter(outputStream, _getCharset(outputFile))) {
+				getTemplate().process(templateContext.getMap(), writer);
+			}
 
-		if (outputFile != null) {
 			if (outputFile.exists()) {
-				outputFile.setContents(new ByteArrayInputStream(result.getBytes()), true, true, monitor);
+				outputFile.setContents(outputStream.toInputStream(), true, true, monitor);
 			}
 			else {
-				outputFile.create(new ByteArrayInputStream(result.getBytes()), true, monitor);
+				outputFile.create(outputStream.toInputStream(), true, monitor);
 			}
 		}
 		else if (outputBuffer != null) {
 			outputBuffer.delete(0, outputBuffer.length());
 
-			outputBuffer.append(result);
+			getTemplate().process(templateContext.getMap(), new StringBufferWriter(outputBuffer));
 		}
 	}
 
@@ -122,10 +127,59 @@ public class TemplateOperation implements ITemplateOperation {
 		return template;
 	}
 
+	private static String _getCharset(IFile file) {
+		try {
+			return file.getCharset();
+		}
+		catch (CoreException ce) {
+			return ResourcesPlugin.getEncoding();
+		}
+	}
+
 	protected ITemplateContext context;
 	protected TemplateModel model;
 	protected StringBuffer outputBuffer;
 	protected IFile outputFile;
 	protected Template template;
 
+	/**
+	 * Keeps the rendered bytes so they can be handed to the workspace without
+	 * being copied.
+	 */
+	private static class ContentsOutputStream extends ByteArrayOutputStream {
+
+		public InputStream toInputStream() {
+			return new ByteArrayInputStream(buf, 0, count);
+		}
+
+	}
+
+	private static class StringBufferWriter extends Writer {
+
+		public StringBufferWriter(StringBuffer buffer) {
+			_buffer = buffer;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			_buffer.append(cbuf, off, len);
+		}
+
+		@Override
+		public void write(String str, int off, int len) {
+			_buffer.append(str, off, off + len);
+		}
+
+		private final StringBuffer _buffer;
+
+	}
+
 }
\ No newline at end of file
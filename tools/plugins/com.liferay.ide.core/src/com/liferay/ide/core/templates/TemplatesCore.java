@@ -16,19 +16,18 @@ package com.liferay.ide.core.templates;
 
 import com.liferay.ide.core.LiferayCore;
 
+import freemarker.cache.URLTemplateLoader;
+
 import freemarker.template.Configuration;
 import freemarker.template.ObjectWrapper;
 
-import java.io.File;
-
 import java.net.URL;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.Platform;
@@ -82,11 +81,9 @@ public class TemplatesCore {
 				}
 			}
 
-			Configuration config = new Configuration();
-
 			TemplateVariable[] vars = paramList.toArray(new TemplateVariable[0]);
 
-			templateModel = new TemplateModel(pluginName, config, id, resource, templateFolder, vars);
+			templateModel = new TemplateModel(pluginName, null, id, resource, templateFolder, vars);
 		}
 		catch (Exception e) {
 			LiferayCore.logError(e);
@@ -155,9 +152,37 @@ public class TemplatesCore {
 		return _tplDefinitionElements;
 	}
 
-	private static void _initializeModel(TemplateModel templateModel) throws Exception {
-		Configuration config = templateModel.getConfig();
+	/**
+	 * Returns the configuration shared by all the templates of a folder of a
+	 * bundle. Templates are loaded from the bundle entries and, as they never
+	 * change, parsed only once.
+	 */
+	private static Configuration _getConfiguration(Bundle bundle, String templateFolder) {
+		String key = bundle.getSymbolicName() + "/" + templateFolder;
+
+		Configuration config = _configurations.get(key);
+
+		if (config != null) {
+			return config;
+		}
+
+		config = new Configuration();
+
+		config.setLocalizedLookup(false);
+		config.setObjectWrapper(ObjectWrapper.BEANS_WRAPPER);
+		config.setTemplateLoader(new BundleTemplateLoader(bundle, templateFolder));
+		config.setTemplateUpdateDelay(Integer.MAX_VALUE);
 
+		Configuration existing = _configurations.putIfAbsent(key, config);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		return config;
+	}
+
+	private static void _initializeModel(TemplateModel templateModel) throws Exception {
 		String bundleId = templateModel.getBundleId();
 
 		Bundle bundle = Platform.getBundle(bundleId);
@@ -166,13 +191,11 @@ public class TemplatesCore {
 			LiferayCore.logError("Could not initialize template model: could not find bundle " + bundleId);
 		}
 
-		URL loaderRoot = bundle.getEntry(templateModel.getTemplateFolder());
+		Configuration config = _getConfiguration(bundle, templateModel.getTemplateFolder());
 
-		URL fileUrl = FileLocator.toFileURL(loaderRoot);
+		// parse the template now so operations only have to process it
 
-		config.setDirectoryForTemplateLoading(new File(fileUrl.getFile().toString()));
-
-		config.setObjectWrapper(ObjectWrapper.BEANS_WRAPPER);
+		config.getTemplate(templateModel.getResource());
 
 		templateModel.setConfig(config);
 	}
@@ -180,8 +203,32 @@ public class TemplatesCore {
 	private TemplatesCore() {
 	}
 
+	private static final Map<String, Configuration> _configurations = new ConcurrentHashMap<>();
 	private static TemplatesCore _plugin;
-	private static Map<String, TemplateModel> _templateModels = new HashMap<>();
-	private static IConfigurationElement[] _tplDefinitionElements;
+	private static final Map<String, TemplateModel> _templateModels = new ConcurrentHashMap<>();
+	private static volatile IConfigurationElement[] _tplDefinitionElements;
+
+	private static class BundleTemplateLoader extends URLTemplateLoader {
+
+		public BundleTemplateLoader(Bundle bundle, String templateFolder) {
+			_bundle = bundle;
+
+			if (templateFolder.endsWith("/")) {
+				_templateFolder = templateFolder;
+			}
+			else {
+				_templateFolder = templateFolder + "/";
+			}
+		}
+
+		@Override
+		protected URL getURL(String name) {
+			return _bundle.getEntry(_templateFolder + name);
+		}
+
+		private final Bundle _bundle;
+		private final String _templateFolder;
+
+	}
 
 }
\ No newline at end of file
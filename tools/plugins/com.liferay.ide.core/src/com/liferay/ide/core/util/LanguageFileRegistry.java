@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.core.util;
+
+import com.liferay.ide.core.ILiferayConstants;
+import com.liferay.ide.core.IWebProject;
+import com.liferay.ide.core.LiferayCore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Language properties files of a project, as referenced by the
+ * <code>resource-bundle</code> and <code>supported-locale</code> elements of
+ * <code>portlet.xml</code> and the <code>language-properties</code> elements
+ * of <code>liferay-hook.xml</code>. The descriptors are parsed and the patterns
+ * compiled once per project. The language properties listener removes the
+ * registry of a project when it is closed or deleted, or when its descriptors
+ * or classpath change.
+ *
+ * @author agent
+ */
+public class LanguageFileRegistry {
+
+	/**
+	 * Returns the registry for the files of the project. The descriptors are
+	 * read from the Liferay project the files belong to, which may be nested in
+	 * the project.
+	 */
+	public static LanguageFileRegistry getRegistry(IProject project) {
+		if ((project == null) || !project.isAccessible()) {
+			return null;
+		}
+
+		LanguageFileRegistry registry = _registries.get(project);
+
+		if (registry == null) {
+			registry = new LanguageFileRegistry(CoreUtil.getLiferayProject(project));
+
+			_registries.put(project, registry);
+		}
+
+		return registry;
+	}
+
+	public static void remove(IProject project) {
+		_registries.remove(project);
+
+		Collection<LanguageFileRegistry> registries = _registries.values();
+
+		Iterator<LanguageFileRegistry> iterator = registries.iterator();
+
+		while (iterator.hasNext()) {
+			LanguageFileRegistry registry = iterator.next();
+
+			if (project.equals(registry._liferayProject)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	public boolean contains(IFile file) {
+		if ((file == null) || !file.getName().endsWith(PropertiesUtil.PROPERTIES_FILE_SUFFIX)) {
+			return false;
+		}
+
+		IPath location = file.getLocation();
+
+		if (location == null) {
+			return false;
+		}
+
+		for (IPath srcFolderLocation : _srcFolderLocations) {
+			if (!srcFolderLocation.isPrefixOf(location)) {
+				continue;
+			}
+
+			String relativePath = location.makeRelativeTo(srcFolderLocation).toString();
+
+			relativePath = relativePath.substring(
+				0, relativePath.length() - PropertiesUtil.PROPERTIES_FILE_SUFFIX.length());
+
+			if (_relativePaths.contains(relativePath)) {
+				return true;
+			}
+
+			for (Pattern pattern : _patterns) {
+				if (pattern.matcher(relativePath).matches()) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static IPath[] _getLocations(IFolder[] folders) {
+		if (folders == null) {
+			return new IPath[0];
+		}
+
+		List<IPath> locations = new ArrayList<>();
+
+		for (IFolder folder : folders) {
+			IPath location = folder.getLocation();
+
+			if (location != null) {
+				locations.add(location);
+			}
+		}
+
+		return locations.toArray(new IPath[0]);
+	}
+
+	private LanguageFileRegistry(IProject liferayProject) {
+		_liferayProject = liferayProject;
+
+		IWebProject webProject = null;
+
+		if (liferayProject != null) {
+			webProject = LiferayCore.create(IWebProject.class, liferayProject);
+		}
+
+		if (webProject == null) {
+			_patterns = new Pattern[0];
+			_relativePaths = Collections.emptySet();
+			_srcFolderLocations = new IPath[0];
+
+			return;
+		}
+
+		IFile portletXml = webProject.getDescriptorFile(ILiferayConstants.PORTLET_XML_FILE);
+		IFile liferayHookXml = webProject.getDescriptorFile(ILiferayConstants.LIFERAY_HOOK_XML_FILE);
+
+		List<String> values = new ArrayList<>();
+
+		if (FileUtil.exists(portletXml)) {
+			Collections.addAll(values, PropertiesUtil.getResourceBundlePatterns(portletXml));
+			Collections.addAll(values, PropertiesUtil.getSupportedLocalePatterns(portletXml));
+		}
+
+		if (FileUtil.exists(liferayHookXml)) {
+			Collections.addAll(values, PropertiesUtil.getLanguagePropertyPatterns(liferayHookXml));
+		}
+
+		Set<String> relativePaths = new HashSet<>();
+		List<Pattern> patterns = new ArrayList<>();
+
+		for (String value : values) {
+			if (value == null) {
+				continue;
+			}
+
+			if (_isLiteral(value)) {
+				relativePaths.add(value);
+
+				continue;
+			}
+
+			try {
+				patterns.add(Pattern.compile(value));
+			}
+			catch (PatternSyntaxException pse) {
+			}
+		}
+
+		_patterns = patterns.toArray(new Pattern[0]);
+		_relativePaths = relativePaths;
+		_srcFolderLocations = _getLocations(webProject.getSourceFolders());
+	}
+
+	private boolean _isLiteral(String value) {
+		for (char c : value.toCharArray()) {
+			if (_REGEX_CHARS.indexOf(c) != -1) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static final String _REGEX_CHARS = ".*+?^$|()[]{}\\";
+
+	private static final Map<IProject, LanguageFileRegistry> _registries = new ConcurrentHashMap<>();
+
+	private final IProject _liferayProject;
+	private final Pattern[] _patterns;
+	private final Set<String> _relativePaths;
+	private final IPath[] _srcFolderLocations;
+
+}
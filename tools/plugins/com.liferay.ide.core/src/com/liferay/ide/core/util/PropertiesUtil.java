@@ -45,6 +45,8 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceProxy;
 import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -84,17 +86,38 @@ public class PropertiesUtil {
 	public static final String PROPERTIES_FILE_SUFFIX = ".properties";
 
 	public static void encodeLanguagePropertiesFilesToDefault(IResource resource, IProgressMonitor monitor) {
-		if (resource.getType() == IResource.PROJECT) {
-			IFile[] languagePropertiesFiles = getAllLanguagePropertiesFiles((IProject)resource);
+		IFile[] files;
 
-			for (IFile file : languagePropertiesFiles) {
-				_encodeLanguagePropertyFile(file, monitor);
-			}
+		if (resource.getType() == IResource.PROJECT) {
+			files = getAllLanguagePropertiesFiles((IProject)resource);
 		}
 		else if (resource.getType() == IResource.FILE) {
-			IFile file = (IFile)resource;
+			files = new IFile[] {(IFile)resource};
+		}
+		else {
+			return;
+		}
+
+		// encode all files in one operation so listeners see a single resource delta
+
+		IWorkspaceRunnable runnable = new IWorkspaceRunnable() {
+
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				for (IFile file : files) {
+					_encodeLanguagePropertyFile(file, monitor);
+				}
+			}
+
+		};
+
+		try {
+			IWorkspace workspace = resource.getWorkspace();
 
-			_encodeLanguagePropertyFile(file, monitor);
+			workspace.run(runnable, resource.getProject(), IWorkspace.AVOID_UPDATE, monitor);
+		}
+		catch (CoreException ce) {
+			LiferayCore.logError(ce);
 		}
 	}
 
@@ -503,70 +526,13 @@ public class PropertiesUtil {
 			return false;
 		}
 
-		IProject project = CoreUtil.getLiferayProject(targetFile);
+		LanguageFileRegistry registry = LanguageFileRegistry.getRegistry(targetFile.getProject());
 
-		if (project == null) {
-			return false;
-		}
-
-		IWebProject webProject = LiferayCore.create(IWebProject.class, project);
-
-		if (webProject == null) {
+		if (registry == null) {
 			return false;
 		}
 
-		IFile portletXml = webProject.getDescriptorFile(ILiferayConstants.PORTLET_XML_FILE);
-		IFile liferayHookXml = webProject.getDescriptorFile(ILiferayConstants.LIFERAY_HOOK_XML_FILE);
-		IFolder[] srcFolders = webProject.getSourceFolders();
-
-		IPath targetFileLocation = targetFile.getLocation();
-
-		try {
-			if (FileUtil.exists(portletXml)) {
-				String[] resourceBundleValues = _getResourceNodeInfo(portletXml).getResourceBundlePatterns();
-
-				for (String resourceBundleValue : resourceBundleValues) {
-					for (IFolder srcFolder : srcFolders) {
-						String location = targetFileLocation.makeRelativeTo(srcFolder.getLocation()).toString();
-
-						if (location.replace(PROPERTIES_FILE_SUFFIX, "").matches(resourceBundleValue)) {
-							return true;
-						}
-					}
-				}
-
-				String[] supportedLocaleValues = _getResourceNodeInfo(portletXml).getSupportedLocalePatterns();
-
-				for (String suportedLocaleValue : supportedLocaleValues) {
-					for (IFolder srcFolder : srcFolders) {
-						String location = targetFileLocation.makeRelativeTo(srcFolder.getLocation()).toString();
-
-						if (location.replace(PROPERTIES_FILE_SUFFIX, "").matches(suportedLocaleValue)) {
-							return true;
-						}
-					}
-				}
-			}
-
-			if (FileUtil.exists(liferayHookXml)) {
-				String[] languagePropertyValues = _getLanguageFileInfo(liferayHookXml).getLanguagePropertyPatterns();
-
-				for (String languagePropertyValue : languagePropertyValues) {
-					for (IFolder srcFolder : srcFolders) {
-						String location = targetFileLocation.makeRelativeTo(srcFolder.getLocation()).toString();
-
-						if (location.replace(PROPERTIES_FILE_SUFFIX, "").matches(languagePropertyValue)) {
-							return true;
-						}
-					}
-				}
-			}
-		}
-		catch (Exception e) {
-			return false;
-		}
-
-		return false;
+		return registry.contains(targetFile);
 	}
 
 	public static Properties loadProperties(File f) {
@@ -611,6 +577,24 @@ public class PropertiesUtil {
 		return new IFile[0];
 	}
 
+	static String[] getLanguagePropertyPatterns(IFile liferayHookXml) {
+		LanguageFileInfo languageFileInfo = _getLanguageFileInfo(liferayHookXml);
+
+		return languageFileInfo.getLanguagePropertyPatterns();
+	}
+
+	static String[] getResourceBundlePatterns(IFile portletXml) {
+		ResourceNodeInfo resourceNodeInfo = _getResourceNodeInfo(portletXml);
+
+		return resourceNodeInfo.getResourceBundlePatterns();
+	}
+
+	static String[] getSupportedLocalePatterns(IFile portletXml) {
+		ResourceNodeInfo resourceNodeInfo = _getResourceNodeInfo(portletXml);
+
+		return resourceNodeInfo.getSupportedLocalePatterns();
+	}
+
 	private static void _encodeLanguagePropertyFile(IFile file, IProgressMonitor monitor) {
 		try {
 			String contents = CoreUtil.readStreamToString(file.getContents());
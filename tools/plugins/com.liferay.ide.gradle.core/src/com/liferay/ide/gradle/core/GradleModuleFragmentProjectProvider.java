@@ -83,7 +83,7 @@ public class GradleModuleFragmentProjectProvider
 		sb.append("\" ");
 
 		try {
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), monitor::subTask);
 		}
 		catch (Exception e) {
 			return GradleCore.createErrorStatus("Could not create module fragment project.", e);
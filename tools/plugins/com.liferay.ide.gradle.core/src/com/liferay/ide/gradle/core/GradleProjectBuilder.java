@@ -27,10 +27,15 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -39,9 +44,17 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.TextUtilities;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
 
 /**
  * @author Terry Jia
+ * @author agent
  */
 public class GradleProjectBuilder extends AbstractProjectBuilder implements IWorkspaceProjectBuilder {
 
@@ -90,28 +103,43 @@ public class GradleProjectBuilder extends AbstractProjectBuilder implements IWor
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Adds the missing dependencies to build.gradle with one edit. When the
+	 * file has unsaved changes in an editor the inserted lines are applied to
+	 * the editor document in its synchronization context and no synchronization
+	 * of the Gradle project is run, otherwise the file is written and the
+	 * Gradle project synchronized once.
+	 */
 	@Override
 	public IStatus updateProjectDependency(IProject project, List<String[]> dependencies) throws CoreException {
 		if (FileUtil.notExists(_gradleBuildFile)) {
 			return Status.OK_STATUS;
 		}
 
+		ITextFileBufferManager bufferManager = FileBuffers.getTextFileBufferManager();
+
+		ITextFileBuffer buffer = bufferManager.getTextFileBuffer(_gradleBuildFile.getFullPath(), LocationKind.IFILE);
+
+		if ((buffer != null) && buffer.isDirty()) {
+			return _updateDocument(bufferManager, buffer.getDocument(), dependencies);
+		}
+
 		try {
 			GradleDependencyUpdater updater = new GradleDependencyUpdater(FileUtil.getFile(_gradleBuildFile));
 
-			List<GradleDependency> existDependencies = updater.getAllDependencies();
+			List<GradleDependency> missingDependencies = _getMissingDependencies(updater, dependencies);
 
-			for (String[] dependency : dependencies) {
-				GradleDependency gd = new GradleDependency(dependency[0], dependency[1], dependency[2]);
+			if (missingDependencies.isEmpty()) {
+				return Status.OK_STATUS;
+			}
 
-				if (!existDependencies.contains(gd)) {
-					updater.insertDependency(gd);
+			updater.insertDependencies(missingDependencies);
 
-					FileUtils.writeLines(_gradleBuildFile.getLocation().toFile(), updater.getGradleFileContents());
+			FileUtils.writeLines(_gradleBuildFile.getLocation().toFile(), updater.getGradleFileContents());
 
-					GradleUtil.refreshGradleProject(project);
-				}
-			}
+			_gradleBuildFile.refreshLocal(IResource.DEPTH_ZERO, null);
+
+			GradleUtil.refreshGradleProject(project);
 		}
 		catch (IOException ioe) {
 			return GradleCore.createErrorStatus("Error updating gradle project dependency", ioe);
@@ -120,6 +148,50 @@ public class GradleProjectBuilder extends AbstractProjectBuilder implements IWor
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Returns the edit that turns the old text into the new one, it only spans
+	 * the lines inserted into the dependencies block so the caret and the undo
+	 * history of the editor are kept.
+	 */
+	private ReplaceEdit _createEdit(String oldText, String newText) {
+		int maxLength = Math.min(oldText.length(), newText.length());
+
+		int prefix = 0;
+
+		while ((prefix < maxLength) && (oldText.charAt(prefix) == newText.charAt(prefix))) {
+			prefix++;
+		}
+
+		int suffix = 0;
+
+		while ((suffix < (maxLength - prefix)) &&
+			(oldText.charAt(oldText.length() - suffix - 1) == newText.charAt(newText.length() - suffix - 1))) {
+
+			suffix++;
+		}
+
+		return new ReplaceEdit(
+			prefix, oldText.length() - prefix - suffix, newText.substring(prefix, newText.length() - suffix));
+	}
+
+	private List<GradleDependency> _getMissingDependencies(
+		GradleDependencyUpdater updater, List<String[]> dependencies) {
+
+		List<GradleDependency> existDependencies = updater.getAllDependencies();
+
+		List<GradleDependency> missingDependencies = new ArrayList<>();
+
+		for (String[] dependency : dependencies) {
+			GradleDependency gd = new GradleDependency(dependency[0], dependency[1], dependency[2]);
+
+			if (!existDependencies.contains(gd) && !missingDependencies.contains(gd)) {
+				missingDependencies.add(gd);
+			}
+		}
+
+		return missingDependencies;
+	}
+
 	private IStatus _runGradleTask(String task, IProgressMonitor monitor) {
 		if (FileUtil.notExists(_gradleBuildFile)) {
 			return GradleCore.createErrorStatus("No build.gradle file");
@@ -145,6 +217,72 @@ public class GradleProjectBuilder extends AbstractProjectBuilder implements IWor
 		return status;
 	}
 
+	private IStatus _updateDocument(
+		ITextFileBufferManager bufferManager, IDocument document, List<String[]> dependencies) {
+
+		String text = document.get();
+
+		long stamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+		if (document instanceof IDocumentExtension4) {
+			stamp = ((IDocumentExtension4)document).getModificationStamp();
+		}
+
+		GradleDependencyUpdater updater = new GradleDependencyUpdater(text);
+
+		List<GradleDependency> missingDependencies = _getMissingDependencies(updater, dependencies);
+
+		if (missingDependencies.isEmpty()) {
+			return Status.OK_STATUS;
+		}
+
+		updater.insertDependencies(missingDependencies);
+
+		String lineDelimiter = TextUtilities.getDefaultLineDelimiter(document);
+
+		String newText = String.join(lineDelimiter, updater.getGradleFileContents()) + lineDelimiter;
+
+		DocumentEdit documentEdit = new DocumentEdit(document, stamp, _createEdit(text, newText));
+
+		bufferManager.execute(documentEdit);
+
+		return documentEdit.status;
+	}
+
 	private IFile _gradleBuildFile;
 
+	private static class DocumentEdit implements Runnable {
+
+		public DocumentEdit(IDocument document, long stamp, TextEdit edit) {
+			_document = document;
+			_stamp = stamp;
+			_edit = edit;
+		}
+
+		@Override
+		public void run() {
+			if ((_document instanceof IDocumentExtension4) &&
+				(((IDocumentExtension4)_document).getModificationStamp() != _stamp)) {
+
+				status = GradleCore.createErrorStatus("build.gradle was modified while updating its dependencies");
+
+				return;
+			}
+
+			try {
+				_edit.apply(_document);
+			}
+			catch (BadLocationException | MalformedTreeException e) {
+				status = GradleCore.createErrorStatus("Error updating gradle project dependency", e);
+			}
+		}
+
+		public IStatus status = Status.OK_STATUS;
+
+		private final IDocument _document;
+		private final TextEdit _edit;
+		private final long _stamp;
+
+	}
+
 }
\ No newline at end of file
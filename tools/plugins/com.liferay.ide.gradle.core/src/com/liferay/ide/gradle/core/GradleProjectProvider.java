@@ -120,7 +120,7 @@ public class GradleProjectProvider
 		sb.append("\" ");
 
 		try {
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), monitor::subTask);
 
 			ElementList<ProjectName> projectNames = op.getProjectNames();
 
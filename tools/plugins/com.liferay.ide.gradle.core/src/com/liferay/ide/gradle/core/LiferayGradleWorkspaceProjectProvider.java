@@ -73,7 +73,7 @@ public class LiferayGradleWorkspaceProjectProvider
 		sb.append("init");
 
 		try {
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), monitor::subTask);
 		}
 		catch (BladeCLIException bclie) {
 			return ProjectCore.createErrorStatus(bclie);
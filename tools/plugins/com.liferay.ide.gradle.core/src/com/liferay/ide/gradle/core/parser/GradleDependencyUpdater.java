@@ -14,12 +14,14 @@
 
 package com.liferay.ide.gradle.core.parser;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.codehaus.groovy.ast.ASTNode;
@@ -27,8 +29,6 @@ import org.codehaus.groovy.ast.GroovyCodeVisitor;
 import org.codehaus.groovy.ast.builder.AstBuilder;
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
 
-import com.liferay.ide.core.util.CoreUtil;
-
 /**
  * @author Lovett Li
  * @author Simon Jiang
@@ -37,13 +37,14 @@ public class GradleDependencyUpdater {
 
 	public GradleDependencyUpdater(File file) throws IOException, MultipleCompilationErrorsException {
 		this(FileUtils.readFileToString(file, "UTF-8"));
-		_file = file;
 	}
 
 	public GradleDependencyUpdater(String scriptContents) throws MultipleCompilationErrorsException {
 		AstBuilder builder = new AstBuilder();
 
 		_nodes = builder.buildFromString(scriptContents);
+
+		_scriptContents = scriptContents;
 	}
 
 	public List<GradleDependency> getAllDependencies() {
@@ -58,72 +59,91 @@ public class GradleDependencyUpdater {
 		return _gradleFileContents;
 	}
 
-	public FindDependenciesVisitor insertDependency(GradleDependency gradleDependency) throws IOException {
-		StringBuilder sb = new StringBuilder();
+	/**
+	 * Inserts all the dependencies with a single edit of the script, the script
+	 * is only walked once whatever the number of dependencies.
+	 */
+	public FindDependenciesVisitor insertDependencies(List<GradleDependency> gradleDependencies) {
+		List<String> dependencies = new ArrayList<>();
 
-		sb.append("compile group: \"");
-		sb.append(gradleDependency.getGroup());
-		sb.append("\", name:\"");
-		sb.append(gradleDependency.getName());
-		sb.append("\", version:\"");
-		sb.append(gradleDependency.getVersion());
-		sb.append("\"");
+		for (GradleDependency gradleDependency : gradleDependencies) {
+			dependencies.add(_toDependencyLine(gradleDependency));
+		}
 
-		return insertDependency(sb.toString());
+		return _insertDependencies(dependencies);
+	}
+
+	public FindDependenciesVisitor insertDependency(GradleDependency gradleDependency) throws IOException {
+		return insertDependency(_toDependencyLine(gradleDependency));
 	}
 
 	public FindDependenciesVisitor insertDependency(String dependency) throws IOException {
+		return _insertDependencies(Collections.singletonList(dependency));
+	}
+
+	public void walkScript(GroovyCodeVisitor visitor) {
+		for (ASTNode node : _nodes) {
+			node.visit(visitor);
+		}
+	}
+
+	private FindDependenciesVisitor _insertDependencies(List<String> dependencies) {
 		FindDependenciesVisitor visitor = new FindDependenciesVisitor();
 
 		walkScript(visitor);
 
-		_gradleFileContents = FileUtils.readLines(_file);
+		BufferedReader reader = new BufferedReader(new StringReader(_scriptContents));
+
+		_gradleFileContents = reader.lines().collect(Collectors.toList());
+
+		List<String> dependencyLines = new ArrayList<>();
 
-		if (!dependency.startsWith("\t")) {
-			dependency = "\t" + dependency;
+		for (String dependency : dependencies) {
+			if (!dependency.startsWith("\t")) {
+				dependency = "\t" + dependency;
+			}
+
+			dependencyLines.add(dependency);
 		}
 
-		if (visitor.getDependenceLineNum() == -1) {
+		int dependenceLineNum = visitor.getDependenceLineNum();
+
+		if (dependenceLineNum == -1) {
 			_gradleFileContents.add("");
 			_gradleFileContents.add("dependencies {");
-			_gradleFileContents.add(dependency);
+			_gradleFileContents.addAll(dependencyLines);
 			_gradleFileContents.add("}");
 		}
-		else {
-			if (visitor.getColumnNum() != -1) {
-				_gradleFileContents = Files.readAllLines(Paths.get(_file.toURI()), StandardCharsets.UTF_8);
-
-				StringBuilder builder = new StringBuilder(_gradleFileContents.get(visitor.getDependenceLineNum() - 1));
-
-				builder.insert(visitor.getColumnNum() - 2, "\n" + dependency + "\n");
-				String dep = builder.toString();
+		else if (visitor.getColumnNum() != -1) {
+			StringBuilder builder = new StringBuilder(_gradleFileContents.get(dependenceLineNum - 1));
 
-				if (CoreUtil.isWindows()) {
-					dep.replace("\n", "\r\n");
-				}
-				else if (CoreUtil.isMac()) {
-					dep.replace("\n", "\r");
-				}
+			builder.insert(visitor.getColumnNum() - 2, "\n" + String.join("\n", dependencyLines) + "\n");
 
-				_gradleFileContents.remove(visitor.getDependenceLineNum() - 1);
-				_gradleFileContents.add(visitor.getDependenceLineNum() - 1, dep);
-			}
-			else {
-				_gradleFileContents.add(visitor.getDependenceLineNum() - 1, dependency);
-			}
+			_gradleFileContents.set(dependenceLineNum - 1, builder.toString());
+		}
+		else {
+			_gradleFileContents.addAll(dependenceLineNum - 1, dependencyLines);
 		}
 
 		return visitor;
 	}
 
-	public void walkScript(GroovyCodeVisitor visitor) {
-		for (ASTNode node : _nodes) {
-			node.visit(visitor);
-		}
+	private String _toDependencyLine(GradleDependency gradleDependency) {
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("compile group: \"");
+		sb.append(gradleDependency.getGroup());
+		sb.append("\", name:\"");
+		sb.append(gradleDependency.getName());
+		sb.append("\", version:\"");
+		sb.append(gradleDependency.getVersion());
+		sb.append("\"");
+
+		return sb.toString();
 	}
 
-	private File _file;
 	private List<String> _gradleFileContents;
 	private List<ASTNode> _nodes;
+	private final String _scriptContents;
 
 }
\ No newline at end of file
@@ -17,20 +17,14 @@ package com.liferay.ide.gradle.ui.quickfix;
 import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.gradle.core.GradleCore;
-import com.liferay.ide.gradle.core.GradleUtil;
-import com.liferay.ide.gradle.core.parser.GradleDependency;
-import com.liferay.ide.gradle.core.parser.GradleDependencyUpdater;
+import com.liferay.ide.gradle.core.GradleProjectBuilder;
 import com.liferay.ide.gradle.ui.GradleUI;
 import com.liferay.ide.project.core.modules.ServiceContainer;
 import com.liferay.ide.project.core.util.TargetPlatformUtil;
 import com.liferay.ide.ui.util.UIUtil;
 
-import java.io.File;
 import java.io.IOException;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -40,6 +34,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -112,25 +107,20 @@ public class QuickFixGradleDep implements IQuickFixProcessor {
 				@Override
 				public void apply(IDocument document) {
 					try {
-						GradleDependencyUpdater updater = new GradleDependencyUpdater(
-							_gradleFile.getLocation().toFile());
-
-						List<GradleDependency> existDependencies = updater.getAllDependencies();
+						IResource resource = context.getCompilationUnit().getResource();
 
-						GradleDependency gd = new GradleDependency(bundleGroup, bundleName, bundleVersion);
+						IProject project = resource.getProject();
 
-						if (!existDependencies.contains(gd)) {
-							updater.insertDependency(gd);
+						GradleProjectBuilder builder = new GradleProjectBuilder(project);
 
-							File gradleFile = _gradleFile.getLocation().toFile();
+						List<String[]> dependencies = new ArrayList<>();
 
-							Files.write(gradleFile.toPath(), updater.getGradleFileContents(), StandardCharsets.UTF_8);
+						dependencies.add(new String[] {bundleGroup, bundleName, bundleVersion});
 
-							IResource resource = context.getCompilationUnit().getResource();
+						IStatus status = builder.updateProjectDependency(project, dependencies);
 
-							IProject project = resource.getProject();
-
-							GradleUtil.refreshGradleProject(project);
+						if (!status.isOK()) {
+							GradleCore.logError("Gradle dependence got error", status.getException());
 						}
 					}
 					catch (Exception e) {
@@ -180,24 +170,20 @@ public class QuickFixGradleDep implements IQuickFixProcessor {
 		}
 
 		String importName = importDeclaration.getName().toString();
-		List<String> serviceWrapperList;
-		List<String> servicesList;
 		boolean depWrapperCanFixed = false;
 
 		try {
-			serviceWrapperList = TargetPlatformUtil.getServiceWrapperList().getServiceList();
-			servicesList = TargetPlatformUtil.getServicesList().getServiceList();
+			ServiceContainer wrapperBundle = TargetPlatformUtil.getServiceWrapperBundle(importName);
 
-			if (serviceWrapperList.contains(importName)) {
-				ServiceContainer bundle = TargetPlatformUtil.getServiceWrapperBundle(importName);
+			if (wrapperBundle != null) {
 				depWrapperCanFixed = true;
-				_createDepProposal(context, proposals, bundle);
+				_createDepProposal(context, proposals, wrapperBundle);
 			}
 
 			if (!depWrapperCanFixed) {
-				if (servicesList.contains(importName)) {
-					ServiceContainer bundle = TargetPlatformUtil.getServiceBundle(importName);
+				ServiceContainer bundle = TargetPlatformUtil.getServiceBundle(importName);
 
+				if (bundle != null) {
 					_createDepProposal(context, proposals, bundle);
 				}
 			}
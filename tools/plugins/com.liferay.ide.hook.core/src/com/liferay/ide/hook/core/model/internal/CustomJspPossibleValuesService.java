@@ -17,22 +17,18 @@ package com.liferay.ide.hook.core.model.internal;
 import com.liferay.ide.core.ILiferayPortal;
 import com.liferay.ide.core.ILiferayProject;
 import com.liferay.ide.core.LiferayCore;
-import com.liferay.ide.core.util.FileUtil;
-import com.liferay.ide.core.util.ListUtil;
+import com.liferay.ide.server.util.PortalJspCatalog;
 
-import java.io.File;
-import java.io.FileFilter;
-
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.sapphire.Element;
 import org.eclipse.sapphire.PossibleValuesService;
 import org.eclipse.sapphire.Value;
-import org.eclipse.sapphire.modeling.Path;
 import org.eclipse.sapphire.modeling.Status;
 
 /**
@@ -48,42 +44,60 @@ public class CustomJspPossibleValuesService extends PossibleValuesService {
 
 	@Override
 	protected void compute(final Set<String> values) {
-		if (_possibleValues == null) {
-			IProject project = project();
+		PortalJspCatalog catalog = _getCatalog();
+
+		if (catalog == null) {
+			return;
+		}
+
+		Set<String> jspPaths = catalog.getJspPaths();
+
+		if (jspPaths != null) {
+			values.addAll(jspPaths);
+
+			return;
+		}
 
-			ILiferayProject liferayProject = LiferayCore.create(project);
+		if (_refreshScheduled) {
+			return;
+		}
 
-			if (liferayProject != null) {
-				ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
+		_refreshScheduled = true;
 
-				if (portal != null) {
-					_portalDir = new Path(portal.getAppServerPortalDir().toPortableString());
+		Job buildJob = catalog.scheduleBuild();
 
-					if (_portalDir != null) {
-						File portalDirFile = _portalDir.toFile();
+		JobChangeAdapter listener = new JobChangeAdapter() {
 
-						File htmlDirFile = new File(portalDirFile, "html");
+			@Override
+			public void done(IJobChangeEvent event) {
+				event.getJob().removeJobChangeListener(this);
 
-						List<File> fileValues = new LinkedList<>();
+				_refreshScheduled = false;
 
-						if (FileUtil.exists(htmlDirFile)) {
-							_findJSPFiles(new File[] {htmlDirFile}, fileValues);
-						}
-						else {
-							File[] files = portalDirFile.listFiles(_jspfilter);
+				// a failed or cancelled scan yields nothing new, refreshing would only start another scan
 
-							_findJSPFiles(files, fileValues);
-						}
+				Set<String> builtPaths = catalog.getCurrentJspPaths();
 
-						_possibleValues = fileValues.toArray(new File[0]);
-					}
+				if ((builtPaths != null) && !builtPaths.isEmpty()) {
+					refresh();
 				}
 			}
-		}
 
-		if (_possibleValues != null) {
-			for (File file : _possibleValues) {
-				values.add(new Path(file.getAbsolutePath()).makeRelativeTo(_portalDir).toPortableString());
+		};
+
+		buildJob.addJobChangeListener(listener);
+
+		// the catalogue may have been loaded before the listener was added
+
+		if (buildJob.getState() == Job.NONE) {
+			buildJob.removeJobChangeListener(listener);
+
+			_refreshScheduled = false;
+
+			Set<String> builtPaths = catalog.getCurrentJspPaths();
+
+			if (builtPaths != null) {
+				values.addAll(builtPaths);
 			}
 		}
 	}
@@ -94,32 +108,22 @@ public class CustomJspPossibleValuesService extends PossibleValuesService {
 		return root.adapt(IFile.class).getProject();
 	}
 
-	private void _findJSPFiles(File[] files, List<File> fileValues) {
-		if (ListUtil.isNotEmpty(files)) {
-			for (File file : files) {
-				if (file.isDirectory()) {
-					_findJSPFiles(file.listFiles(_jspfilter), fileValues);
-				}
-				else {
-					fileValues.add(file);
-				}
-			}
+	private PortalJspCatalog _getCatalog() {
+		ILiferayProject liferayProject = LiferayCore.create(project());
+
+		if (liferayProject == null) {
+			return null;
 		}
-	}
 
-	private final FileFilter _jspfilter = new FileFilter() {
+		ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
 
-		public boolean accept(File pathname) {
-			if (pathname.isDirectory() || pathname.getName().endsWith(".jsp") || pathname.getName().endsWith(".jspf")) {
-				return true;
-			}
-
-			return false;
+		if (portal == null) {
+			return null;
 		}
 
-	};
+		return PortalJspCatalog.getCatalog(portal.getAppServerPortalDir());
+	}
 
-	private Path _portalDir;
-	private File[] _possibleValues;
+	private volatile boolean _refreshScheduled;
 
-}
\ No newline at end of file
+}
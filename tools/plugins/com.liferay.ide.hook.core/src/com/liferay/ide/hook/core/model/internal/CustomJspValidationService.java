@@ -21,11 +21,11 @@ import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.hook.core.HookCore;
 import com.liferay.ide.hook.core.model.Hook;
 import com.liferay.ide.hook.core.util.HookUtil;
+import com.liferay.ide.server.util.PortalJspCatalog;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.runtime.IPath;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.sapphire.Element;
 import org.eclipse.sapphire.Property;
@@ -70,8 +70,8 @@ public class CustomJspValidationService extends ValidationService {
 		return hook().adapt(IProject.class);
 	}
 
-	private IPath _getPortalDir() {
-		if (_portalDir == null) {
+	private PortalJspCatalog _getCatalog() {
+		if (_catalog == null) {
 			try {
 				Element element = context().find(Element.class);
 
@@ -84,8 +84,8 @@ public class CustomJspValidationService extends ValidationService {
 				if (liferayProject != null) {
 					ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
 
-					if (portal != null) {
-						_portalDir = portal.getAppServerPortalDir();
+					if ((portal != null) && (portal.getAppServerPortalDir() != null)) {
+						_catalog = PortalJspCatalog.getCatalog(portal.getAppServerPortalDir());
 					}
 				}
 			}
@@ -94,19 +94,17 @@ public class CustomJspValidationService extends ValidationService {
 			}
 		}
 
-		return _portalDir;
+		return _catalog;
 	}
 
 	private boolean _isValidPortalJsp(Value<?> value) {
-		String customJsp = value.content().toString();
-
-		IPath customJspPath = _getPortalDir().append(customJsp);
+		PortalJspCatalog catalog = _getCatalog();
 
-		if (FileUtil.exists(customJspPath)) {
-			return true;
+		if (catalog == null) {
+			return false;
 		}
 
-		return false;
+		return catalog.contains(value.content().toString());
 	}
 
 	private boolean _isValidProjectJsp(Value<?> value) {
@@ -133,7 +131,7 @@ public class CustomJspValidationService extends ValidationService {
 		return false;
 	}
 
-	private IPath _portalDir;
+	private PortalJspCatalog _catalog;
 
 	private static class Msgs extends NLS {
 
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.layouttpl.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line based difference between two layout template sources, used to patch a
+ * source document with only the ranges that changed.
+ *
+ * @author agent
+ */
+public class LayoutTplSourceDiff {
+
+	/**
+	 * Returns the edits as {offset, length, new start, new end}, ordered by
+	 * offset. Lines are matched with a longest common subsequence and each
+	 * differing block is trimmed down to the characters that changed.
+	 */
+	public static List<int[]> computeEdits(String oldSource, String newSource) {
+		int[] oldLines = _getLineOffsets(oldSource);
+		int[] newLines = _getLineOffsets(newSource);
+
+		int oldCount = oldLines.length - 1;
+		int newCount = newLines.length - 1;
+
+		int start = 0;
+
+		while ((start < oldCount) && (start < newCount) &&
+			_lineEquals(oldSource, oldLines, start, newSource, newLines, start)) {
+
+			start++;
+		}
+
+		int oldEnd = oldCount;
+		int newEnd = newCount;
+
+		while ((oldEnd > start) && (newEnd > start) &&
+			_lineEquals(oldSource, oldLines, oldEnd - 1, newSource, newLines, newEnd - 1)) {
+
+			oldEnd--;
+			newEnd--;
+		}
+
+		List<int[]> edits = new ArrayList<>();
+
+		int oldSize = oldEnd - start;
+		int newSize = newEnd - start;
+
+		if (((long)oldSize * newSize) > _MAX_DIFF_CELLS) {
+			_addEdit(edits, oldSource, oldLines, start, oldEnd, newSource, newLines, start, newEnd);
+
+			return edits;
+		}
+
+		int[][] lcs = new int[oldSize + 1][newSize + 1];
+
+		for (int i = oldSize - 1; i >= 0; i--) {
+			for (int j = newSize - 1; j >= 0; j--) {
+				if (_lineEquals(oldSource, oldLines, start + i, newSource, newLines, start + j)) {
+					lcs[i][j] = lcs[i + 1][j + 1] + 1;
+				}
+				else {
+					lcs[i][j] = Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+				}
+			}
+		}
+
+		int i = 0;
+		int j = 0;
+		int oldBlock = 0;
+		int newBlock = 0;
+
+		while ((i < oldSize) || (j < newSize)) {
+			if ((i < oldSize) && (j < newSize) &&
+				_lineEquals(oldSource, oldLines, start + i, newSource, newLines, start + j)) {
+
+				_addEdit(
+					edits, oldSource, oldLines, start + oldBlock, start + i, newSource, newLines, start + newBlock,
+					start + j);
+
+				i++;
+				j++;
+				oldBlock = i;
+				newBlock = j;
+			}
+			else if ((j < newSize) && ((i == oldSize) || (lcs[i][j + 1] >= lcs[i + 1][j]))) {
+				j++;
+			}
+			else {
+				i++;
+			}
+		}
+
+		_addEdit(
+			edits, oldSource, oldLines, start + oldBlock, start + oldSize, newSource, newLines, start + newBlock,
+			start + newSize);
+
+		return edits;
+	}
+
+	private static void _addEdit(
+		List<int[]> edits, String oldSource, int[] oldLines, int oldStartLine, int oldEndLine, String newSource,
+		int[] newLines, int newStartLine, int newEndLine) {
+
+		if ((oldStartLine == oldEndLine) && (newStartLine == newEndLine)) {
+			return;
+		}
+
+		int oldStart = oldLines[oldStartLine];
+		int oldEnd = oldLines[oldEndLine];
+		int newStart = newLines[newStartLine];
+		int newEnd = newLines[newEndLine];
+
+		while ((oldStart < oldEnd) && (newStart < newEnd) &&
+			(oldSource.charAt(oldStart) == newSource.charAt(newStart))) {
+
+			oldStart++;
+			newStart++;
+		}
+
+		while ((oldEnd > oldStart) && (newEnd > newStart) &&
+			(oldSource.charAt(oldEnd - 1) == newSource.charAt(newEnd - 1))) {
+
+			oldEnd--;
+			newEnd--;
+		}
+
+		edits.add(new int[] {oldStart, oldEnd - oldStart, newStart, newEnd});
+	}
+
+	/**
+	 * Returns the start offset of every line followed by the length of the
+	 * text, line delimiters are kept at the end of their line.
+	 */
+	private static int[] _getLineOffsets(String source) {
+		List<Integer> offsets = new ArrayList<>();
+
+		offsets.add(0);
+
+		for (int i = 0; i < source.length(); i++) {
+			char c = source.charAt(i);
+
+			if (c == '\n') {
+				offsets.add(i + 1);
+			}
+			else if ((c == '\r') && (((i + 1) == source.length()) || (source.charAt(i + 1) != '\n'))) {
+				offsets.add(i + 1);
+			}
+		}
+
+		if (offsets.get(offsets.size() - 1).intValue() != source.length()) {
+			offsets.add(source.length());
+		}
+
+		int[] retval = new int[offsets.size()];
+
+		for (int i = 0; i < retval.length; i++) {
+			retval[i] = offsets.get(i);
+		}
+
+		return retval;
+	}
+
+	private static boolean _lineEquals(
+		String oldSource, int[] oldLines, int oldLine, String newSource, int[] newLines, int newLine) {
+
+		int oldLength = oldLines[oldLine + 1] - oldLines[oldLine];
+
+		if (oldLength != (newLines[newLine + 1] - newLines[newLine])) {
+			return false;
+		}
+
+		return oldSource.regionMatches(oldLines[oldLine], newSource, newLines[newLine], oldLength);
+	}
+
+	private static final long _MAX_DIFF_CELLS = 4000000;
+
+}
@@ -164,6 +164,8 @@ public class LayoutTplEditor extends SapphireEditor implements IExecutableExtens
 
 			@Override
 			public void handle(Event event) {
+				_previewChanged = true;
+
 				setDesignPageChanged(true);
 				firePropertyChange(PROP_DIRTY);
 			}
@@ -221,6 +223,8 @@ public class LayoutTplEditor extends SapphireEditor implements IExecutableExtens
 
 				_sourceModel = (IDOMModel)StructuredModelManager.getModelManager().getExistingModelForEdit(doc);
 
+				_sourceSynchronizer = new LayoutTplSourceSynchronizer(_sourceModel);
+
 				_sourceModel.addModelStateListener(
 					new IModelStateListener() {
 
@@ -321,10 +325,18 @@ public class LayoutTplEditor extends SapphireEditor implements IExecutableExtens
 		model.copy(newElement);
 	}
 
+	/**
+	 * Refreshes the preview when the tab is switched to it, nothing is done
+	 * while the model is unchanged since the last refresh.
+	 */
 	protected void refreshPreviewPage() {
-		if (_previewPage != null) {
-			_previewPage.refreshVisualModel((LayoutTplElement)getModelElement());
+		if ((_previewPage == null) || !_previewChanged) {
+			return;
 		}
+
+		_previewChanged = false;
+
+		_previewPage.refreshVisualModel((LayoutTplElement)getModelElement());
 	}
 
 	protected void refreshSourceModel() {
@@ -335,9 +347,7 @@ public class LayoutTplEditor extends SapphireEditor implements IExecutableExtens
 		if (_sourceModel != null) {
 			String templateSource = LayoutTplUtil.getTemplateSource(modelElement);
 
-			_sourceModel.aboutToChangeModel();
-			_sourceModel.getStructuredDocument().setText(this, templateSource);
-			_sourceModel.changedModel();
+			_sourceSynchronizer.synchronize(this, templateSource);
 		}
 
 		setSourceModelChanged(false);
@@ -399,9 +409,11 @@ public class LayoutTplEditor extends SapphireEditor implements IExecutableExtens
 	private DefinitionLoader.Reference<EditorPageDef> _definition;
 	private boolean _designPageChanged;
 	private boolean _is62;
+	private boolean _previewChanged = true;
 	private LayoutTplPreviewEditor _previewPage;
 	private IDOMModel _sourceModel;
 	private boolean _sourceModelChanged;
 	private StructuredTextEditor _sourcePage;
+	private LayoutTplSourceSynchronizer _sourceSynchronizer;
 
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.layouttpl.ui.editor;
+
+import com.liferay.ide.layouttpl.core.util.LayoutTplSourceDiff;
+
+import java.util.List;
+
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMModel;
+
+/**
+ * Brings the source document of a layout template in line with the source
+ * rendered from the diagram model by replacing only the ranges that differ,
+ * usually the class attributes of the rows and columns that were changed, so
+ * the rest of the DOM is not rebuilt and the source page keeps its undo
+ * history.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class LayoutTplSourceSynchronizer {
+
+	public LayoutTplSourceSynchronizer(IDOMModel sourceModel) {
+		_sourceModel = sourceModel;
+	}
+
+	public void synchronize(Object requester, String source) {
+		IStructuredDocument document = _sourceModel.getStructuredDocument();
+
+		String currentSource = document.get();
+
+		if (currentSource.equals(source)) {
+			return;
+		}
+
+		List<int[]> edits = LayoutTplSourceDiff.computeEdits(currentSource, source);
+
+		_sourceModel.aboutToChangeModel();
+
+		try {
+			_sourceModel.beginRecording(requester, "Synchronize layout template source");
+
+			// apply the edits from the end of the document so the offsets stay valid
+
+			for (int i = edits.size() - 1; i >= 0; i--) {
+				int[] edit = edits.get(i);
+
+				document.replaceText(requester, edit[0], edit[1], source.substring(edit[2], edit[3]));
+			}
+		}
+		finally {
+			_sourceModel.endRecording(requester);
+			_sourceModel.changedModel();
+		}
+	}
+
+	private final IDOMModel _sourceModel;
+
+}
@@ -0,0 +1,339 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.portlet.core;
+
+import com.liferay.ide.core.ILiferayConstants;
+import com.liferay.ide.core.ILiferayPortal;
+import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.portlet.core.dd.LiferayDisplayDescriptorHelper;
+import com.liferay.ide.project.core.util.ProjectUtil;
+
+import java.io.File;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Keeps the portlet categories offered by the new portlet wizard in memory.
+ * Portal categories are remembered per portal directory until its
+ * portal-impl.jar changes. Categories declared in liferay-display.xml files are
+ * indexed per project and only read again after a resource delta touched the
+ * descriptor, the project facets or the project itself.
+ *
+ * @author agent
+ */
+public class PortletCategoryService implements IResourceChangeListener, IResourceDeltaVisitor {
+
+	public static PortletCategoryService getInstance() {
+		return _instance;
+	}
+
+	public synchronized void clear() {
+		_portals.clear();
+		_projectCategories = null;
+		_staleProjects.clear();
+	}
+
+	/**
+	 * Returns the categories declared in the liferay-display.xml files of all
+	 * portlet projects in the workspace, in project name order. Callers that
+	 * arrive while the first index is being built wait for it.
+	 */
+	public String[] getCustomCategories() {
+		Map<String, ProjectCategories> projectCategories;
+		Map<IProject, Long> staleProjects;
+
+		boolean indexing = false;
+
+		synchronized (this) {
+			while (true) {
+				if (_projectCategories == null) {
+					_projectCategories = new TreeMap<>();
+
+					for (IProject project : CoreUtil.getAllProjects()) {
+						_staleProjects.put(project, _generation);
+					}
+
+					_indexing = true;
+
+					indexing = true;
+
+					break;
+				}
+
+				if (!_indexing) {
+					break;
+				}
+
+				try {
+					wait();
+				}
+				catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+
+					return new String[0];
+				}
+			}
+
+			projectCategories = _projectCategories;
+			staleProjects = new HashMap<>(_staleProjects);
+
+			_staleProjects.clear();
+		}
+
+		try {
+
+			// descriptors are parsed without holding the lock the resource listener needs to mark projects stale
+
+			Map<String, ProjectCategories> readCategories = new HashMap<>();
+
+			for (Map.Entry<IProject, Long> entry : staleProjects.entrySet()) {
+				IProject project = entry.getKey();
+
+				readCategories.put(
+					project.getName(), new ProjectCategories(entry.getValue(), _readCategories(project)));
+			}
+
+			synchronized (this) {
+				for (Map.Entry<String, ProjectCategories> entry : readCategories.entrySet()) {
+					ProjectCategories current = projectCategories.get(entry.getKey());
+					ProjectCategories read = entry.getValue();
+
+					// another caller already stored what it read after a later change
+
+					if ((current != null) && (current.generation > read.generation)) {
+						continue;
+					}
+
+					projectCategories.put(entry.getKey(), read);
+				}
+
+				Set<String> retval = new LinkedHashSet<>();
+
+				for (ProjectCategories categories : projectCategories.values()) {
+					if (categories.categories != null) {
+						Collections.addAll(retval, categories.categories);
+					}
+				}
+
+				return retval.toArray(new String[0]);
+			}
+		}
+		finally {
+			if (indexing) {
+				synchronized (this) {
+
+					// a clear during the build may have started another one that is still running
+
+					if ((_projectCategories == null) || (_projectCategories == projectCategories)) {
+						_indexing = false;
+					}
+
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	public Properties getEntryCategories(ILiferayPortal portal) {
+		PortalCategories portalCategories = _getPortalCategories(portal);
+
+		if (portalCategories == null) {
+			return portal.getPortletEntryCategories();
+		}
+
+		return _copy(portalCategories.entryCategories);
+	}
+
+	public Properties getPortletCategories(ILiferayPortal portal) {
+		PortalCategories portalCategories = _getPortalCategories(portal);
+
+		if (portalCategories == null) {
+			return portal.getPortletCategories();
+		}
+
+		return _copy(portalCategories.categories);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if ((event == null) || (event.getDelta() == null) || (_projectCategories == null)) {
+			return;
+		}
+
+		try {
+			event.getDelta().accept(this);
+		}
+		catch (CoreException ce) {
+			PortletCore.logError(ce);
+		}
+	}
+
+	@Override
+	public boolean visit(IResourceDelta delta) throws CoreException {
+		if (_projectCategories == null) {
+			return false;
+		}
+
+		IResource resource = delta.getResource();
+
+		switch (resource.getType()) {
+			case IResource.ROOT:
+			case IResource.FOLDER:
+				return true;
+
+			case IResource.PROJECT:
+				if ((delta.getKind() != IResourceDelta.CHANGED) ||
+					((delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0)) {
+
+					_markStale(resource.getProject());
+
+					return false;
+				}
+
+				return true;
+
+			case IResource.FILE:
+				IPath projectRelativePath = resource.getProjectRelativePath();
+
+				if (ILiferayConstants.LIFERAY_DISPLAY_XML_FILE.equals(resource.getName()) ||
+					_FACETS_FILE.equals(projectRelativePath.toPortableString())) {
+
+					_markStale(resource.getProject());
+				}
+
+				return false;
+		}
+
+		return false;
+	}
+
+	private PortletCategoryService() {
+	}
+
+	private Properties _copy(Properties properties) {
+		if (properties == null) {
+			return null;
+		}
+
+		Properties retval = new Properties();
+
+		retval.putAll(properties);
+
+		return retval;
+	}
+
+	private PortalCategories _getPortalCategories(ILiferayPortal portal) {
+		IPath portalDir = portal.getAppServerPortalDir();
+
+		if (portalDir == null) {
+			return null;
+		}
+
+		File portalImplJar = portalDir.append("WEB-INF/lib/portal-impl.jar").toFile();
+
+		long stamp = portalImplJar.lastModified();
+
+		if (stamp == 0) {
+
+			// categories of this portal do not come from a portal-impl.jar we could watch
+
+			return null;
+		}
+
+		PortalCategories portalCategories = _portals.get(portalDir);
+
+		if ((portalCategories == null) || (portalCategories.stamp != stamp)) {
+			portalCategories = new PortalCategories(
+				stamp, portal.getPortletCategories(), portal.getPortletEntryCategories());
+
+			_portals.put(portalDir, portalCategories);
+		}
+
+		return portalCategories;
+	}
+
+	private synchronized void _markStale(IProject project) {
+		if (_projectCategories != null) {
+			_staleProjects.put(project, ++_generation);
+		}
+	}
+
+	private String[] _readCategories(IProject project) {
+		if (!project.isAccessible() || !ProjectUtil.isPortletProject(project)) {
+			return null;
+		}
+
+		LiferayDisplayDescriptorHelper liferayDisplayDH = new LiferayDisplayDescriptorHelper(project);
+
+		return liferayDisplayDH.getAllPortletCategories();
+	}
+
+	private static final String _FACETS_FILE = ".settings/org.eclipse.wst.common.project.facet.core.xml";
+
+	private static final PortletCategoryService _instance = new PortletCategoryService();
+
+	private long _generation;
+	private boolean _indexing;
+	private final Map<IPath, PortalCategories> _portals = new ConcurrentHashMap<>();
+	private volatile Map<String, ProjectCategories> _projectCategories;
+	private final Map<IProject, Long> _staleProjects = new HashMap<>();
+
+	private static class PortalCategories {
+
+		public PortalCategories(long stamp, Properties categories, Properties entryCategories) {
+			this.stamp = stamp;
+			this.categories = categories;
+			this.entryCategories = entryCategories;
+		}
+
+		public final Properties categories;
+		public final Properties entryCategories;
+		public final long stamp;
+
+	}
+
+	/**
+	 * The categories read for a project, null if it is not a portlet project,
+	 * with the generation the project was marked stale at before the read.
+	 */
+	private static class ProjectCategories {
+
+		public ProjectCategories(long generation, String[] categories) {
+			this.generation = generation;
+			this.categories = categories;
+		}
+
+		public final String[] categories;
+		public final long generation;
+
+	}
+
+}
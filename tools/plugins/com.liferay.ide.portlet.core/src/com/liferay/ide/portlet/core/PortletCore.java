@@ -14,9 +14,11 @@
 
 package com.liferay.ide.portlet.core;
 
+import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.portlet.core.job.BuildLanguageJob;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
@@ -114,6 +116,9 @@ public class PortletCore extends Plugin {
 		super.start(context);
 
 		_plugin = this;
+
+		CoreUtil.getWorkspace().addResourceChangeListener(
+			PortletCategoryService.getInstance(), IResourceChangeEvent.POST_CHANGE);
 	}
 
 	/*
@@ -122,6 +127,12 @@ public class PortletCore extends Plugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(BundleContext )
 	 */
 	public void stop(BundleContext context) throws Exception {
+		PortletCategoryService portletCategoryService = PortletCategoryService.getInstance();
+
+		CoreUtil.getWorkspace().removeResourceChangeListener(portletCategoryService);
+
+		portletCategoryService.clear();
+
 		_plugin = null;
 
 		super.stop(context);
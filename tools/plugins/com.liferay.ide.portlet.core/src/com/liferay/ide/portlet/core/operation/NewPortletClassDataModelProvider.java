@@ -22,11 +22,10 @@ import com.liferay.ide.core.LiferayCore;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.core.util.StringPool;
+import com.liferay.ide.portlet.core.PortletCategoryService;
 import com.liferay.ide.portlet.core.PortletCore;
-import com.liferay.ide.portlet.core.dd.LiferayDisplayDescriptorHelper;
 import com.liferay.ide.portlet.core.dd.PortletDescriptorHelper;
 import com.liferay.ide.project.core.IPluginWizardFragmentProperties;
-import com.liferay.ide.project.core.util.ProjectUtil;
 import com.liferay.ide.project.core.util.SearchFilesVisitor;
 import com.liferay.ide.server.util.ServerUtil;
 
@@ -270,11 +269,9 @@ public class NewPortletClassDataModelProvider
 
 			Object entryCategory = getProperty(ENTRY_CATEGORY);
 
-			if ((entryCategory != null) && (getEntryCategories() != null) &&
-				(getEntryCategories().get(entryCategory) != null)) {
-
-				Properties entryCategories = getEntryCategories();
+			Properties entryCategories = (entryCategory != null) ? getEntryCategories() : null;
 
+			if ((entryCategories != null) && (entryCategories.get(entryCategory) != null)) {
 				DataModelPropertyDescriptor descriptor = new DataModelPropertyDescriptor(
 					entryCategory, entryCategories.get(entryCategory).toString());
 
@@ -797,26 +794,13 @@ public class NewPortletClassDataModelProvider
 			ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
 
 			if (portal != null) {
-				categories = portal.getPortletCategories();
-
-				IWorkspace workspace = ResourcesPlugin.getWorkspace();
-
-				IProject[] workspaceProjects = workspace.getRoot().getProjects();
+				PortletCategoryService portletCategoryService = PortletCategoryService.getInstance();
 
-				for (IProject workspaceProject : workspaceProjects) {
-					if (ProjectUtil.isPortletProject(workspaceProject)) {
-						LiferayDisplayDescriptorHelper liferayDisplayDH = new LiferayDisplayDescriptorHelper(
-							workspaceProject);
+				categories = portletCategoryService.getPortletCategories(portal);
 
-						String[] portletCategories = liferayDisplayDH.getAllPortletCategories();
-
-						if (ListUtil.isNotEmpty(portletCategories)) {
-							for (String portletCategory : portletCategories) {
-								if (_findExistingCategory(portletCategory) == null) {
-									categories.put(portletCategory, portletCategory);
-								}
-							}
-						}
+				for (String portletCategory : portletCategoryService.getCustomCategories()) {
+					if (_findExistingCategory(portletCategory) == null) {
+						categories.put(portletCategory, portletCategory);
 					}
 				}
 			}
@@ -844,7 +828,9 @@ public class NewPortletClassDataModelProvider
 		ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
 
 		if (portal != null) {
-			return portal.getPortletEntryCategories();
+			PortletCategoryService portletCategoryService = PortletCategoryService.getInstance();
+
+			return portletCategoryService.getEntryCategories(portal);
 		}
 		else {
 			return null;
@@ -17,6 +17,7 @@ package com.liferay.ide.portlet.ui.editor;
 import com.liferay.ide.core.ILiferayPortal;
 import com.liferay.ide.core.ILiferayProject;
 import com.liferay.ide.core.LiferayCore;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.core.model.IModelChangedEvent;
 import com.liferay.ide.core.model.IModelChangedListener;
 import com.liferay.ide.portlet.core.PluginPackageModel;
@@ -103,6 +104,21 @@ public class PluginPackageEditor extends IDEFormEditor implements IModelChangedL
 		}
 	}
 
+	public PortalArtifactIndex getPortalArtifactIndex() {
+		try {
+			IFile file = getEditorInput().getFile();
+
+			ILiferayProject liferayProject = LiferayCore.create(file.getProject());
+
+			ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
+
+			return portal.getArtifactIndex();
+		}
+		catch (Exception e) {
+			return null;
+		}
+	}
+
 	public IPath getPortalDir() {
 		try {
 			IFile file = getEditorInput().getFile();
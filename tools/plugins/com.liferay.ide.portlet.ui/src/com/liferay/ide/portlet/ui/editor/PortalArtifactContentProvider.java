@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.portlet.ui.editor;
+
+import com.liferay.ide.core.PortalArtifact;
+import com.liferay.ide.core.PortalArtifactIndex;
+
+import java.io.File;
+
+import java.util.List;
+
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Lists the jars or tlds of a {@link PortalArtifactIndex} as a flat list of
+ * files, so the selection dialogs do not walk the portal directory.
+ *
+ * @author agent
+ */
+public class PortalArtifactContentProvider implements ITreeContentProvider {
+
+	public PortalArtifactContentProvider(boolean tlds) {
+		_tlds = tlds;
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	@Override
+	public Object[] getChildren(Object parentElement) {
+		return _empty;
+	}
+
+	@Override
+	public Object[] getElements(Object inputElement) {
+		if (!(inputElement instanceof PortalArtifactIndex)) {
+			return _empty;
+		}
+
+		PortalArtifactIndex index = (PortalArtifactIndex)inputElement;
+
+		List<PortalArtifact> artifacts = _tlds ? index.getTlds() : index.getJars();
+
+		File[] files = new File[artifacts.size()];
+
+		for (int i = 0; i < files.length; i++) {
+			PortalArtifact artifact = artifacts.get(i);
+
+			files[i] = artifact.getFile();
+		}
+
+		return files;
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		return null;
+	}
+
+	@Override
+	public boolean hasChildren(Object element) {
+		return false;
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+	}
+
+	private final Object[] _empty = new Object[0];
+	private final boolean _tlds;
+
+}
@@ -14,6 +14,8 @@
 
 package com.liferay.ide.portlet.ui.editor;
 
+import com.liferay.ide.core.PortalArtifact;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.core.model.IBaseModel;
 import com.liferay.ide.core.model.IModelChangedEvent;
 import com.liferay.ide.core.model.IModelChangedListener;
@@ -304,14 +306,14 @@ public class PortalJarsSection extends TableSection implements IModelChangedList
 
 		String[] portalJars = model.getPortalDependencyJars();
 
-		IPath portalDir = ((PluginPackageEditor)getPage().getEditor()).getPortalDir();
+		PortalArtifactIndex index = ((PluginPackageEditor)getPage().getEditor()).getPortalArtifactIndex();
 
-		if (portalDir != null) {
+		if (index != null) {
 			for (String portalJar : portalJars) {
-				File jarFile = new File(portalDir.append("WEB-INF/lib").toFile(), portalJar.trim());
+				PortalArtifact artifact = index.getJar(portalJar.trim());
 
-				if (jarFile.isFile() && jarFile.exists()) {
-					_fJars.add(jarFile);
+				if (artifact != null) {
+					_fJars.add(artifact.getFile());
 				}
 			}
 		}
@@ -388,16 +390,18 @@ public class PortalJarsSection extends TableSection implements IModelChangedList
 
 		PluginPackageEditor editor = (PluginPackageEditor)getPage().getEditor();
 
-		IPath portalDir = editor.getPortalDir();
+		PortalArtifactIndex index = editor.getPortalArtifactIndex();
+
+		if (index != null) {
+			IPath portalDir = index.getPortalDir();
 
-		if (portalDir != null) {
 			PortalJarViewerFilter filter = new PortalJarViewerFilter(
 				portalDir.toFile(), new String[] {"WEB-INF", "WEB-INF/lib"}, existingJars);
 
 			ExternalFileSelectionDialog dialog = new ExternalFileSelectionDialog(
-				getPage().getShell(), filter, true, false);
+				getPage().getShell(), new PortalArtifactContentProvider(false), filter, true, false);
 
-			dialog.setInput(portalDir.toFile());
+			dialog.setInput(index);
 
 			dialog.create();
 
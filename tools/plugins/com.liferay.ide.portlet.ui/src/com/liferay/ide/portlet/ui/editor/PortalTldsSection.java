@@ -14,6 +14,8 @@
 
 package com.liferay.ide.portlet.ui.editor;
 
+import com.liferay.ide.core.PortalArtifact;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.core.model.IBaseModel;
 import com.liferay.ide.core.model.IModelChangedEvent;
 import com.liferay.ide.core.model.IModelChangedListener;
@@ -309,14 +311,14 @@ public class PortalTldsSection extends TableSection implements IModelChangedList
 
 		String[] portalTlds = model.getPortalDependencyTlds();
 
-		IPath portalDir = ((PluginPackageEditor)getPage().getEditor()).getPortalDir();
+		PortalArtifactIndex index = ((PluginPackageEditor)getPage().getEditor()).getPortalArtifactIndex();
 
-		if (portalDir != null) {
+		if (index != null) {
 			for (String portalTld : portalTlds) {
-				File tldFile = new File(portalDir.append("WEB-INF/tld").toFile(), portalTld.trim());
+				PortalArtifact artifact = index.getTld(portalTld.trim());
 
-				if (tldFile.isFile() && tldFile.exists()) {
-					_fTlds.add(tldFile);
+				if (artifact != null) {
+					_fTlds.add(artifact.getFile());
 				}
 			}
 		}
@@ -391,16 +393,19 @@ public class PortalTldsSection extends TableSection implements IModelChangedList
 
 		PluginPackageEditor editor = (PluginPackageEditor)getPage().getEditor();
 
-		IPath portalDir = editor.getPortalDir();
+		PortalArtifactIndex index = editor.getPortalArtifactIndex();
 
-		if (portalDir != null) {
+		if (index != null) {
 			Shell shell = getPage().getShell();
+			IPath portalDir = index.getPortalDir();
+
 			PortalTldViewerFilter filter = new PortalTldViewerFilter(
 				portalDir.toFile(), new String[] {"WEB-INF", "WEB-INF/tld"}, existingTlds);
 
-			ExternalFileSelectionDialog dialog = new ExternalFileSelectionDialog(shell, filter, true, false);
+			ExternalFileSelectionDialog dialog = new ExternalFileSelectionDialog(
+				shell, new PortalArtifactContentProvider(true), filter, true, false);
 
-			dialog.setInput(portalDir.toFile());
+			dialog.setInput(index);
 			dialog.create();
 
 			if (dialog.open() == Window.OK) {
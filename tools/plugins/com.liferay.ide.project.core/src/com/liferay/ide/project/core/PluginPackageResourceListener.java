@@ -17,6 +17,8 @@ package com.liferay.ide.project.core;
 import com.liferay.ide.core.ILiferayConstants;
 import com.liferay.ide.core.IWebProject;
 import com.liferay.ide.core.LiferayCore;
+import com.liferay.ide.core.PortalArtifact;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.core.util.ListUtil;
@@ -221,19 +223,19 @@ public class PluginPackageResourceListener implements IResourceChangeListener, I
 
 		IFolder tldFolder = webroot.getFolder("WEB-INF/tld");
 
-		IPath portalDir = ServerUtil.getPortalDir(project);
+		PortalArtifactIndex index = PortalArtifactIndex.getIndex(ServerUtil.getPortalDir(project));
 
 		List<IPath> tldFilesToCopy = new ArrayList<>();
 
-		if (portalDir != null) {
+		if (index != null) {
 			for (String portalTld : portalTlds) {
 				IFile tldFile = tldFolder.getFile(portalTld);
 
 				if (!tldFile.exists()) {
-					IPath realPortalTld = portalDir.append("WEB-INF/tld/" + portalTld);
+					PortalArtifact realPortalTld = index.getTld(portalTld.trim());
 
-					if (realPortalTld.toFile().exists()) {
-						tldFilesToCopy.add(realPortalTld);
+					if (realPortalTld != null) {
+						tldFilesToCopy.add(new Path(realPortalTld.getFile().getPath()));
 					}
 				}
 			}
@@ -15,6 +15,7 @@
 package com.liferay.ide.project.core;
 
 import com.liferay.ide.core.ILiferayPortal;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.server.core.ILiferayRuntime;
 
 import java.util.Properties;
@@ -35,6 +36,11 @@ public class PluginsSDKPortal implements ILiferayPortal {
 		return _runtime.getAppServerPortalDir();
 	}
 
+	@Override
+	public PortalArtifactIndex getArtifactIndex() {
+		return PortalArtifactIndex.getIndex(getAppServerPortalDir());
+	}
+
 	@Override
 	public String[] getHookSupportedProperties() {
 		return _runtime.getHookSupportedProperties();
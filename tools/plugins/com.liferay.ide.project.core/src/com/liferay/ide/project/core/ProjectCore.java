@@ -23,6 +23,7 @@ import com.liferay.ide.project.core.modules.IComponentTemplate;
 import com.liferay.ide.project.core.modules.LiferayComponentTemplateReader;
 import com.liferay.ide.project.core.upgrade.ILiferayLegacyProjectUpdater;
 import com.liferay.ide.project.core.util.LiferayWorkspaceUtil;
+import com.liferay.ide.project.core.workspace.LiferayWorkspaceResourceListener;
 import com.liferay.ide.server.core.portal.PortalRuntime;
 import com.liferay.ide.server.util.ServerUtil;
 
@@ -282,6 +283,12 @@ public class ProjectCore extends Plugin {
 		log.log(new Status(IStatus.ERROR, PLUGIN_ID, t.getMessage(), t));
 	}
 
+	public static void logInfo(String msg) {
+		ILog log = getDefault().getLog();
+
+		log.log(new Status(IStatus.INFO, PLUGIN_ID, msg));
+	}
+
 	public static IStatus operate(IProject project, Class<? extends IDescriptorOperation> type, Object... params) {
 		IStatus status = Status.OK_STATUS;
 
@@ -299,6 +306,7 @@ public class ProjectCore extends Plugin {
 	}
 
 	public ProjectCore() {
+		_liferayWorkspaceResourceListener = new LiferayWorkspaceResourceListener();
 		_pluginPackageResourceListener = new PluginPackageResourceListener();
 		_sdkBuildPropertiesResourceListener = new SDKBuildPropertiesResourceListener();
 		_sdkProjectDeleteListener = new SDKProjectDeleteListener();
@@ -318,6 +326,9 @@ public class ProjectCore extends Plugin {
 
 		_liferayLegacyProjectUpdaterTracker.open();
 
+		CoreUtil.getWorkspace().addResourceChangeListener(
+			_liferayWorkspaceResourceListener, IResourceChangeEvent.POST_CHANGE);
+
 		CoreUtil.getWorkspace().addResourceChangeListener(
 			_pluginPackageResourceListener, IResourceChangeEvent.POST_CHANGE);
 
@@ -413,6 +424,10 @@ public class ProjectCore extends Plugin {
 
 		super.stop(context);
 
+		if (_liferayWorkspaceResourceListener != null) {
+			CoreUtil.getWorkspace().removeResourceChangeListener(_liferayWorkspaceResourceListener);
+		}
+
 		if (_pluginPackageResourceListener != null) {
 			CoreUtil.getWorkspace().removeResourceChangeListener(_pluginPackageResourceListener);
 		}
@@ -455,6 +470,7 @@ public class ProjectCore extends Plugin {
 	private static LiferayComponentTemplateReader _componentTemplateReader;
 	private static ServiceTracker<ILiferayLegacyProjectUpdater, ILiferayLegacyProjectUpdater>
 		_liferayLegacyProjectUpdaterTracker;
+	private static LiferayWorkspaceResourceListener _liferayWorkspaceResourceListener;
 	private static ProjectCore _plugin;
 	private static PluginPackageResourceListener _pluginPackageResourceListener;
 	private static IPortletFramework[] _portletFrameworks;
@@ -17,24 +17,26 @@ package com.liferay.ide.project.core.modules;
 import aQute.bnd.osgi.Domain;
 
 import com.liferay.ide.core.LiferayCore;
-import com.liferay.ide.core.StringBufferOutputStream;
 import com.liferay.ide.core.util.FileUtil;
+import com.liferay.ide.core.util.PropertiesUtil;
 import com.liferay.ide.project.core.ProjectCore;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.InputStreamReader;
 
 import java.net.URL;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Properties;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.tools.ant.DefaultLogger;
-import org.apache.tools.ant.Project;
-import org.apache.tools.ant.taskdefs.Java;
+import org.apache.tools.ant.types.Commandline;
+import org.apache.tools.ant.util.JavaEnvUtils;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
@@ -65,53 +67,72 @@ public class BladeCLI {
 	}
 
 	public static String[] execute(String args) throws BladeCLIException {
+		return execute(args, null);
+	}
+
+	/**
+	 * Runs blade with the given arguments and hands every line it prints to the
+	 * consumer as soon as it is read, so that long running commands like create
+	 * and init can report their progress.
+	 */
+	public static String[] execute(String args, Consumer<String> lineConsumer) throws BladeCLIException {
 		IPath bladeCLIPath = getBladeCLIPath();
 
 		if (FileUtil.notExists(bladeCLIPath)) {
 			throw new BladeCLIException("Could not get blade cli jar.");
 		}
 
-		Project project = new Project();
-		Java javaTask = new Java();
+		List<String> command = new ArrayList<>();
 
-		javaTask.setProject(project);
-		javaTask.setFork(true);
-		javaTask.setFailonerror(true);
-		javaTask.setJar(bladeCLIPath.toFile());
-		javaTask.setArgs(args);
+		command.add(JavaEnvUtils.getJreExecutable("java"));
+		command.add("-jar");
+		command.add(bladeCLIPath.toOSString());
 
-		DefaultLogger logger = new DefaultLogger();
+		Collections.addAll(command, Commandline.translateCommandline(args));
 
-		project.addBuildListener(logger);
+		ProcessBuilder processBuilder = new ProcessBuilder(command);
 
-		StringBufferOutputStream out = new StringBufferOutputStream();
+		processBuilder.redirectErrorStream(true);
 
-		logger.setOutputPrintStream(new PrintStream(out));
+		List<String> lines = new ArrayList<>();
 
-		logger.setMessageOutputLevel(Project.MSG_INFO);
+		boolean hasErrors = false;
 
-		int returnCode = javaTask.executeJava();
+		StringBuilder errors = new StringBuilder();
 
-		List<String> lines = new ArrayList<>();
-		Scanner scanner = new Scanner(out.toString());
+		int returnCode;
 
-		while (scanner.hasNextLine()) {
-			lines.add(scanner.nextLine().replaceAll(".*\\[null\\] ", ""));
-		}
+		try {
+			Process process = processBuilder.start();
 
-		scanner.close();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+				String line;
 
-		boolean hasErrors = false;
+				while ((line = reader.readLine()) != null) {
+					lines.add(line);
 
-		StringBuilder errors = new StringBuilder();
+					if (lineConsumer != null) {
+						lineConsumer.accept(line);
+					}
 
-		for (String line : lines) {
-			if (line.startsWith("Error")) {
-				hasErrors = true;
-			}
-			else if (hasErrors) {
-				errors.append(line);
+					if (line.startsWith("Error")) {
+						hasErrors = true;
+					}
+					else if (hasErrors) {
+						errors.append(line);
+					}
+				}
 			}
+
+			returnCode = process.waitFor();
+		}
+		catch (IOException ioe) {
+			throw new BladeCLIException("Could not run blade cli.", ioe);
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+
+			throw new BladeCLIException("Interrupted while running blade cli.", ie);
 		}
 
 		if ((returnCode != 0) || hasErrors) {
@@ -181,7 +202,31 @@ public class BladeCLI {
 		}
 	}
 
-	public static synchronized String[] getProjectTemplates() throws BladeCLIException {
+	/**
+	 * The template list only changes with the blade jar, so it is kept per jar
+	 * in memory and in the plugin state area. Blade itself runs outside of the
+	 * lock so that other callers are not blocked behind the fork.
+	 */
+	public static String[] getProjectTemplates() throws BladeCLIException {
+		String cacheKey = _getCacheKey(getBladeCLIPath());
+
+		synchronized (_projectTemplatesLock) {
+			if (cacheKey.equals(_projectTemplatesKey)) {
+				return _projectTemplates.clone();
+			}
+
+			Properties cache = _loadProjectTemplatesCache();
+
+			String cachedTemplates = cache.getProperty(cacheKey);
+
+			if ((cachedTemplates != null) && !cachedTemplates.isEmpty()) {
+				_projectTemplates = cachedTemplates.split(",");
+				_projectTemplatesKey = cacheKey;
+
+				return _projectTemplates.clone();
+			}
+		}
+
 		List<String> templateNames = new ArrayList<>();
 
 		String[] executeResult = execute("create -l");
@@ -201,7 +246,30 @@ public class BladeCLI {
 			}
 		}
 
-		return templateNames.toArray(new String[0]);
+		if (templateNames.isEmpty()) {
+			return new String[0];
+		}
+
+		String[] projectTemplates = templateNames.toArray(new String[0]);
+
+		synchronized (_projectTemplatesLock) {
+			if (cacheKey.equals(_projectTemplatesKey)) {
+				return _projectTemplates.clone();
+			}
+
+			_projectTemplates = projectTemplates;
+			_projectTemplatesKey = cacheKey;
+
+			// only the current blade jar is worth remembering
+
+			Properties cache = new Properties();
+
+			cache.setProperty(cacheKey, String.join(",", projectTemplates));
+
+			PropertiesUtil.saveProperties(cache, _projectTemplatesCacheFile);
+		}
+
+		return projectTemplates.clone();
 	}
 
 	public static synchronized void restoreOriginal() {
@@ -217,6 +285,12 @@ public class BladeCLI {
 		return new Path(bladeJarBundleFile.getCanonicalPath());
 	}
 
+	private static String _getCacheKey(IPath bladeCLIPath) {
+		File bladeJar = bladeCLIPath.toFile();
+
+		return bladeCLIPath.toPortableString() + "@" + bladeJar.lastModified() + "@" + bladeJar.length();
+	}
+
 	private static String _getRepoURL() {
 		String repoURL = Platform.getPreferencesService().get(BLADE_CLI_REPO_URL, null, new Preferences[] {
 			_instancePrefs, _defaultPrefs
@@ -229,6 +303,18 @@ public class BladeCLI {
 		return repoURL;
 	}
 
+	private static Properties _loadProjectTemplatesCache() {
+		if (FileUtil.exists(_projectTemplatesCacheFile)) {
+			Properties properties = PropertiesUtil.loadProperties(_projectTemplatesCacheFile);
+
+			if (properties != null) {
+				return properties;
+			}
+		}
+
+		return new Properties();
+	}
+
 	private static boolean _supportedVersion(String verisonValue) {
 		Version version = new Version(verisonValue);
 		Version lowVersion = new Version("2");
@@ -246,6 +332,11 @@ public class BladeCLI {
 	private static final IPath _bladeJarInstancePath = _bladeJarInstanceArea.append(BLADE_JAR_FILE_NAME);
 	private static final IEclipsePreferences _defaultPrefs = DefaultScope.INSTANCE.getNode(ProjectCore.PLUGIN_ID);
 	private static final IEclipsePreferences _instancePrefs = InstanceScope.INSTANCE.getNode(ProjectCore.PLUGIN_ID);
+	private static String[] _projectTemplates;
+	private static final File _projectTemplatesCacheFile = new File(
+		_bladeJarInstanceArea.toFile(), "project-templates.properties");
+	private static String _projectTemplatesKey;
+	private static final Object _projectTemplatesLock = new Object();
 	private static final File _repoCache = new File(settingsDir, "repoCache");
 
 	static {
@@ -29,6 +29,7 @@ import org.eclipse.sapphire.modeling.Status;
 /**
  * @author Simon Jiang
  * @author Lovett Li
+ * @author agent
  */
 public class NewLiferayComponentServicePossibleValuesService extends PossibleValuesService {
 
@@ -61,9 +62,9 @@ public class NewLiferayComponentServicePossibleValuesService extends PossibleVal
 		if (template.equals("ServiceHook")) {
 
 			try {
-				ServiceContainer allServicesWrapper = TargetPlatformUtil.getServiceWrapperList();;
+				ServiceIndex serviceWrapperIndex = TargetPlatformUtil.getServiceWrapperIndex();
 
-				values.addAll(allServicesWrapper.getServiceList());
+				values.addAll(serviceWrapperIndex.getServiceNames());
 			}
 			catch (Exception e) {
 				ProjectCore.logError("Get service wrapper list error.", e);
@@ -72,9 +73,9 @@ public class NewLiferayComponentServicePossibleValuesService extends PossibleVal
 		else if (template.equals("service")) {
 
 			try {
-				ServiceContainer allServices = TargetPlatformUtil.getServicesList();
+				ServiceIndex serviceIndex = TargetPlatformUtil.getServiceIndex();
 
-				values.addAll(allServices.getServiceList());
+				values.addAll(serviceIndex.getServiceNames());
 			}
 			catch (Exception e) {
 				ProjectCore.logError("Get services list error. ", e);
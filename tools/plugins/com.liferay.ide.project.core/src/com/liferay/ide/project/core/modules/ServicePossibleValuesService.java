@@ -29,6 +29,7 @@ import org.eclipse.sapphire.modeling.Status;
 /**
  * @author Simon Jiang
  * @author Lovett Li
+ * @author agent
  */
 public class ServicePossibleValuesService extends PossibleValuesService {
 
@@ -59,9 +60,9 @@ public class ServicePossibleValuesService extends PossibleValuesService {
 		if (template.equals("service-wrapper")) {
 
 			try {
-				ServiceContainer allServicesWrapper = TargetPlatformUtil.getServiceWrapperList();
+				ServiceIndex serviceWrapperIndex = TargetPlatformUtil.getServiceWrapperIndex();
 
-				values.addAll(allServicesWrapper.getServiceList());
+				values.addAll(serviceWrapperIndex.getServiceNames());
 			}
 			catch (Exception e) {
 				ProjectCore.logError("Get service wrapper list error.", e);
@@ -70,9 +71,9 @@ public class ServicePossibleValuesService extends PossibleValuesService {
 		else if (template.equals("service")) {
 
 			try {
-				ServiceContainer allServices = TargetPlatformUtil.getServicesList();
+				ServiceIndex serviceIndex = TargetPlatformUtil.getServiceIndex();
 
-				values.addAll(allServices.getServiceList());
+				values.addAll(serviceIndex.getServiceNames());
 			}
 			catch (Exception e) {
 				ProjectCore.logError("Get services list error. ", e);
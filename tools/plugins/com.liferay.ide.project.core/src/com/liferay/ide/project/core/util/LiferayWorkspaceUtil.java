@@ -18,6 +18,7 @@ import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.core.util.PropertiesUtil;
 import com.liferay.ide.project.core.ProjectCore;
+import com.liferay.ide.project.core.workspace.LiferayWorkspaceModel;
 import com.liferay.ide.sdk.core.SDK;
 import com.liferay.ide.sdk.core.SDKUtil;
 import com.liferay.ide.server.core.LiferayServerCore;
@@ -29,6 +30,7 @@ import java.io.IOException;
 
 import java.nio.file.Files;
 
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -119,6 +121,12 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static String getGradleProperty(String projectLocation, String key, String defaultValue) {
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
+
+		if (model.isWorkspaceLocation(projectLocation)) {
+			return model.getGradleProperty(key, defaultValue);
+		}
+
 		File gradleProperties = new File(projectLocation, "gradle.properties");
 
 		String retVal = null;
@@ -133,6 +141,12 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static String getHomeDir(String location) {
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
+
+		if (model.isWorkspaceLocation(location)) {
+			return model.getHomeDir();
+		}
+
 		String result = getGradleProperty(location, LIFERAY_WORKSPACE_HOME_DIR, "bundles");
 
 		if (CoreUtil.empty(result)) {
@@ -181,6 +195,12 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static String[] getModulesDirArray(IProject project) {
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
+
+		if (model.isWorkspaceProject(project)) {
+			return model.getModulesDirs();
+		}
+
 		String[] retval = null;
 
 		if (project != null) {
@@ -212,6 +232,12 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static String getThemesDir(IProject project) {
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
+
+		if (model.isWorkspaceProject(project)) {
+			return model.getThemesDir();
+		}
+
 		String retval = null;
 
 		if (project != null) {
@@ -230,6 +256,12 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static String[] getWarsDirs(IProject project) {
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
+
+		if (model.isWorkspaceProject(project)) {
+			return model.getWarsDirs();
+		}
+
 		String[] retval = null;
 
 		if (project != null) {
@@ -254,15 +286,9 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static IProject getWorkspaceProject() {
-		IProject[] projects = CoreUtil.getAllProjects();
-
-		for (IProject project : projects) {
-			if (isValidWorkspace(project)) {
-				return project;
-			}
-		}
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
 
-		return null;
+		return model.getProject();
 	}
 
 	public static String getWorkspaceType(String location) {
@@ -293,15 +319,11 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static boolean hasGradleWorkspace() throws CoreException {
-		IProject[] projects = CoreUtil.getAllProjects();
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
 
-		int count = 0;
+		List<IProject> projects = model.getGradleWorkspaceProjects();
 
-		for (IProject project : projects) {
-			if (_isValidGradleWorkspace(project)) {
-				++count;
-			}
-		}
+		int count = projects.size();
 
 		if (count == 1) {
 			return true;
@@ -314,15 +336,11 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static boolean hasMavenWorkspace() throws CoreException {
-		IProject[] projects = CoreUtil.getAllProjects();
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
 
-		int count = 0;
+		List<IProject> projects = model.getMavenWorkspaceProjects();
 
-		for (IProject project : projects) {
-			if (_isValidMavenWorkspace(project)) {
-				++count;
-			}
-		}
+		int count = projects.size();
 
 		if (count == 1) {
 			return true;
@@ -335,15 +353,11 @@ public class LiferayWorkspaceUtil {
 	}
 
 	public static boolean hasWorkspace() throws CoreException {
-		IProject[] projects = CoreUtil.getAllProjects();
+		LiferayWorkspaceModel model = LiferayWorkspaceModel.getInstance();
 
-		int count = 0;
+		List<IProject> projects = model.getWorkspaceProjects();
 
-		for (IProject project : projects) {
-			if (isValidWorkspace(project)) {
-				++count;
-			}
-		}
+		int count = projects.size();
 
 		if (count == 1) {
 			return true;
@@ -455,26 +469,6 @@ public class LiferayWorkspaceUtil {
 		return new String(Files.readAllBytes(file.toPath()));
 	}
 
-	private static boolean _isValidGradleWorkspace(IProject project) {
-		if ((project != null) && (project.getLocation() != null) &&
-			isValidGradleWorkspaceLocation(project.getLocation().toOSString())) {
-
-			return true;
-		}
-
-		return false;
-	}
-
-	private static boolean _isValidMavenWorkspace(IProject project) {
-		if ((project != null) && (project.getLocation() != null) &&
-			isValidMavenWorkspaceLocation(project.getLocation().toOSString())) {
-
-			return true;
-		}
-
-		return false;
-	}
-
 	private static final String _BUILD_GRADLE_FILE_NAME = "build.gradle";
 
 	private static final String _GRADLE_PROPERTIES_FILE_NAME = "gradle.properties";
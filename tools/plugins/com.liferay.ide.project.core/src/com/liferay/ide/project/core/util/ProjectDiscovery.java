@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.project.core.util;
+
+import com.liferay.ide.project.core.ProjectCore;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Searches a directory tree for projects. Directories with a pruned name are
+ * never entered, and the first levels of the tree are scanned in parallel.
+ * Projects are reported to the listener as soon as they are found, from the
+ * scanning threads.
+ *
+ * @author agent
+ */
+public class ProjectDiscovery {
+
+	public static final Set<String> DEFAULT_PRUNED_DIRECTORIES = Collections.unmodifiableSet(
+		new HashSet<>(
+			Arrays.asList(
+				".git", ".gradle", ".hg", ".idea", ".sass-cache", ".settings", ".svn", "bower_components", "build",
+				"bundles", "node_modules", "target", ProjectUtil.METADATA_FOLDER)));
+
+	public ProjectDiscovery() {
+		this(DEFAULT_PRUNED_DIRECTORIES);
+	}
+
+	public ProjectDiscovery(Set<String> prunedDirectories) {
+		_prunedDirectories = prunedDirectories;
+	}
+
+	/**
+	 * Reports every <code>.project</code> file below the directory, including
+	 * the ones of nested projects.
+	 */
+	public boolean findProjectDescriptions(File directory, Listener listener, IProgressMonitor monitor) {
+		return _discover(directory, false, true, listener, monitor);
+	}
+
+	/**
+	 * Reports the Plugins SDK projects below the directory, together with their
+	 * <code>.project</code> file if they have one. The directory itself is never
+	 * reported and SDK projects are not searched for nested projects. When
+	 * <code>recurse</code> is false only the children of the directory are
+	 * checked.
+	 */
+	public boolean findSDKProjects(File directory, boolean recurse, Listener listener, IProgressMonitor monitor) {
+		return _discover(directory, true, recurse, listener, monitor);
+	}
+
+	public Set<String> getPrunedDirectories() {
+		return _prunedDirectories;
+	}
+
+	public interface Listener {
+
+		public void projectFound(File projectDir, File projectDescription);
+
+	}
+
+	private boolean _discover(
+		File directory, boolean sdkProjects, boolean recurse, Listener listener, IProgressMonitor monitor) {
+
+		if ((directory == null) || !directory.isDirectory()) {
+			return false;
+		}
+
+		if (monitor == null) {
+			monitor = new NullProgressMonitor();
+		}
+
+		Path root = directory.toPath();
+
+		Scan scan = new Scan(sdkProjects, recurse ? Integer.MAX_VALUE : 1, listener, monitor);
+
+		try {
+			scan.visitedLinks.add(root.toRealPath());
+		}
+		catch (IOException ioe) {
+			ProjectCore.logError(ioe.getLocalizedMessage(), ioe);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool();
+
+		try {
+			pool.invoke(new ScanTask(scan, root, 0));
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		return !monitor.isCanceled();
+	}
+
+	private static final int _PARALLEL_DEPTH = 2;
+
+	private final Set<String> _prunedDirectories;
+
+	private class Scan {
+
+		public Scan(boolean sdkProjects, int maxDepth, Listener listener, IProgressMonitor monitor) {
+			this.sdkProjects = sdkProjects;
+			this.maxDepth = maxDepth;
+			this.listener = listener;
+			this.monitor = monitor;
+		}
+
+		public final Listener listener;
+		public final int maxDepth;
+		public final IProgressMonitor monitor;
+		public final boolean sdkProjects;
+		public final Set<Path> visitedLinks = ConcurrentHashMap.newKeySet();
+
+	}
+
+	private class ScanTask extends RecursiveAction {
+
+		public ScanTask(Scan scan, Path dir, int depth) {
+			_scan = scan;
+			_dir = dir;
+			_depth = depth;
+		}
+
+		@Override
+		protected void compute() {
+			if (_scan.monitor.isCanceled()) {
+				return;
+			}
+
+			List<ScanTask> subtasks = new ArrayList<>();
+
+			try {
+				Files.walkFileTree(
+					_dir,
+					new SimpleFileVisitor<Path>() {
+
+						@Override
+						public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+							if (_scan.monitor.isCanceled()) {
+								return FileVisitResult.TERMINATE;
+							}
+
+							int depth = _getDepth(dir);
+
+							if (!dir.equals(_dir)) {
+								if (_prunedDirectories.contains(String.valueOf(dir.getFileName()))) {
+									return FileVisitResult.SKIP_SUBTREE;
+								}
+
+								if ((depth <= _PARALLEL_DEPTH) && (depth < _scan.maxDepth)) {
+									subtasks.add(new ScanTask(_scan, dir, depth));
+
+									return FileVisitResult.SKIP_SUBTREE;
+								}
+							}
+
+							if (_scan.sdkProjects && (depth > 0) && ProjectUtil.isLiferaySDKProjectDir(dir.toFile())) {
+								File projectDir = dir.toFile();
+
+								File projectDescription = new File(
+									projectDir, IProjectDescription.DESCRIPTION_FILE_NAME);
+
+								_scan.listener.projectFound(
+									projectDir, projectDescription.exists() ? projectDescription : null);
+
+								return FileVisitResult.SKIP_SUBTREE;
+							}
+
+							if (depth >= _scan.maxDepth) {
+								return FileVisitResult.SKIP_SUBTREE;
+							}
+
+							return FileVisitResult.CONTINUE;
+						}
+
+						@Override
+						public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+							if (attrs.isSymbolicLink()) {
+								_followLink(file, subtasks);
+
+								return FileVisitResult.CONTINUE;
+							}
+
+							String fileName = String.valueOf(file.getFileName());
+
+							if (!_scan.sdkProjects && fileName.equals(IProjectDescription.DESCRIPTION_FILE_NAME)) {
+								File projectDescription = file.toFile();
+
+								_scan.listener.projectFound(projectDescription.getParentFile(), projectDescription);
+							}
+
+							return FileVisitResult.CONTINUE;
+						}
+
+						@Override
+						public FileVisitResult visitFileFailed(Path file, IOException exc) {
+							return FileVisitResult.CONTINUE;
+						}
+
+					});
+			}
+			catch (IOException ioe) {
+				ProjectCore.logError(ioe.getLocalizedMessage(), ioe);
+			}
+
+			invokeAll(subtasks);
+		}
+
+		/**
+		 * Links to directories are scanned once per target, which also stops
+		 * links that point back to one of their parents.
+		 */
+		private void _followLink(Path link, List<ScanTask> subtasks) {
+			int depth = _getDepth(link);
+
+			if (!Files.isDirectory(link) || (depth > _scan.maxDepth) ||
+				_prunedDirectories.contains(String.valueOf(link.getFileName()))) {
+
+				return;
+			}
+
+			try {
+				Path target = link.toRealPath();
+
+				if (_scan.visitedLinks.add(target)) {
+					subtasks.add(new ScanTask(_scan, target, depth));
+				}
+			}
+			catch (IOException ioe) {
+			}
+		}
+
+		private int _getDepth(Path path) {
+			if (path.equals(_dir)) {
+				return _depth;
+			}
+
+			return _depth + _dir.relativize(path).getNameCount();
+		}
+
+		private static final long serialVersionUID = 1L;
+
+		private final int _depth;
+		private final Path _dir;
+		private final Scan _scan;
+
+	}
+
+}
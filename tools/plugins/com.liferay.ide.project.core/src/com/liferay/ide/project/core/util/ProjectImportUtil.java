@@ -36,7 +36,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -46,16 +49,22 @@ import org.apache.commons.io.filefilter.WildcardFileFilter;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.wst.common.project.facet.core.runtime.IRuntime;
 import org.eclipse.wst.common.project.facet.core.runtime.internal.BridgedRuntime;
+import org.eclipse.wst.validation.ValidationFramework;
 
 /**
  * @author <a href="mailto:kamesh.sampath@hotmail.com">Kamesh Sampath</a>
@@ -246,7 +255,11 @@ public class ProjectImportUtil {
 	}
 
 	/**
-	 * This will create the Eclipse Workspace projects
+	 * This will create the Eclipse Workspace projects. All projects are created
+	 * in a single workspace operation with validation suspended. Existing
+	 * projects are created first, their facets are installed next and their
+	 * plugin classpath containers are initialized once every project exists.
+	 * The workspace is then built once if auto-build is on.
 	 *
 	 * @param monitor
 	 * @throws CoreException
@@ -255,34 +268,133 @@ public class ProjectImportUtil {
 			Object[] projects, IRuntime runtime, String sdkLocation, IProgressMonitor monitor)
 		throws CoreException {
 
-		List<IProject> createdProjects = new ArrayList<>();
+		if (ListUtil.isEmpty(projects)) {
+			return;
+		}
 
-		monitor.beginTask(Msgs.creatingSDKWorkspaceProjects, projects.length);
+		SubMonitor subMonitor = SubMonitor.convert(monitor, Msgs.creatingSDKWorkspaceProjects, projects.length * 4);
 
-		if (ListUtil.isNotEmpty(projects)) {
-			SDK sdk = SDKManager.getInstance().getSDK(new Path(sdkLocation));
+		long start = System.nanoTime();
 
-			// need to add the SDK to workspace if not already available.
+		SDK sdk = SDKManager.getInstance().getSDK(new Path(sdkLocation));
 
-			if (sdk == null) {
-				sdk = SDKUtil.createSDKFromLocation(new Path(sdkLocation));
-			}
+		// need to add the SDK to workspace if not already available.
 
-			if ((sdk != null) && sdk.isValid() && !(SDKManager.getInstance().containsSDK(sdk))) {
-				SDKManager.getInstance().addSDK(sdk);
-			}
+		if (sdk == null) {
+			sdk = SDKUtil.createSDKFromLocation(new Path(sdkLocation));
+		}
+
+		if ((sdk != null) && sdk.isValid() && !(SDKManager.getInstance().containsSDK(sdk))) {
+			SDKManager.getInstance().addSDK(sdk);
 		}
 
-		for (int i = 0; i < projects.length; i++) {
-			if (projects[i] instanceof ProjectRecord) {
-				IProject project = importProject((ProjectRecord)projects[i], runtime, sdkLocation, monitor);
+		long[] times = new long[_PHASES.length];
+
+		times[0] = System.nanoTime() - start;
+
+		List<IProject> createdProjects = new ArrayList<>();
+
+		IWorkspaceRunnable runnable = new IWorkspaceRunnable() {
+
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				SubMonitor runMonitor = SubMonitor.convert(monitor, projects.length * 3);
+
+				long phaseStart = System.nanoTime();
+
+				Map<IProject, ProjectRecord> existingProjects = new LinkedHashMap<>();
+
+				try {
+					for (Object project : projects) {
+						if (!(project instanceof ProjectRecord)) {
+							runMonitor.worked(1);
+
+							continue;
+						}
+
+						ProjectRecord projectRecord = (ProjectRecord)project;
+
+						IProject createdProject = null;
+
+						if (projectRecord.projectSystemFile != null) {
+							createdProject = ProjectUtil.openExistingProject(projectRecord, runMonitor.split(1));
+
+							existingProjects.put(createdProject, projectRecord);
+						}
+						else if (projectRecord.liferayProjectDir != null) {
+
+							// new SDK projects are created and configured in one data model operation
+
+							createdProject = ProjectUtil.createNewSDKProject(
+								projectRecord, runtime, sdkLocation, null, runMonitor.split(1));
+						}
+						else {
+							runMonitor.worked(1);
+						}
+
+						if (createdProject != null) {
+							createdProjects.add(createdProject);
+						}
+					}
+
+					times[1] = System.nanoTime() - phaseStart;
+
+					phaseStart = System.nanoTime();
+
+					runMonitor.setWorkRemaining(existingProjects.size() * 2);
+
+					for (Map.Entry<IProject, ProjectRecord> entry : existingProjects.entrySet()) {
+						ProjectUtil.installExistingProjectFacets(
+							entry.getKey(), entry.getValue(), runtime, sdkLocation, runMonitor.split(1));
+					}
+
+					times[2] = System.nanoTime() - phaseStart;
 
-				if (project != null) {
-					createdProjects.add(project);
-					monitor.worked(createdProjects.size());
+					phaseStart = System.nanoTime();
+
+					for (IProject existingProject : existingProjects.keySet()) {
+						ProjectUtil.initializePluginClasspathContainer(existingProject);
+
+						runMonitor.worked(1);
+					}
+
+					times[3] = System.nanoTime() - phaseStart;
+				}
+				catch (CoreException ce) {
+					throw new CoreException(ProjectCore.createErrorStatus(ce));
 				}
 			}
+
+		};
+
+		ValidationFramework validationFramework = ValidationFramework.getDefault();
+
+		boolean validationSuspended = validationFramework.isSuspended();
+
+		IWorkspace workspace = CoreUtil.getWorkspace();
+
+		try {
+			validationFramework.suspendAllValidation(true);
+
+			workspace.run(
+				runnable, workspace.getRoot(), IWorkspace.AVOID_UPDATE, subMonitor.split(projects.length * 3));
+		}
+		finally {
+			validationFramework.suspendAllValidation(validationSuspended);
 		}
+
+		start = System.nanoTime();
+
+		// building right away instead of leaving it to the auto-build job lets the build be timed, auto-build then
+		// finds nothing left to do
+
+		if (workspace.isAutoBuilding() && !createdProjects.isEmpty()) {
+			workspace.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, subMonitor.split(projects.length));
+		}
+
+		times[4] = System.nanoTime() - start;
+
+		_logTimings(createdProjects.size(), times);
 	}
 
 	public static String getConfigFileLocation(String configFile) {
@@ -548,6 +660,32 @@ public class ProjectImportUtil {
 		return sdk.validate(true);
 	}
 
+	private static void _logTimings(int count, long[] times) {
+		if (!Boolean.parseBoolean(Platform.getDebugOption(_DEBUG_IMPORT))) {
+			return;
+		}
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("Imported ");
+		sb.append(count);
+		sb.append(" SDK projects:");
+
+		for (int i = 0; i < _PHASES.length; i++) {
+			sb.append(" ");
+			sb.append(_PHASES[i]);
+			sb.append("=");
+			sb.append(TimeUnit.NANOSECONDS.toMillis(times[i]));
+			sb.append("ms");
+		}
+
+		ProjectCore.logInfo(sb.toString());
+	}
+
+	private static final String _DEBUG_IMPORT = ProjectCore.PLUGIN_ID + "/debug/import";
+
+	private static final String[] _PHASES = {"sdk", "create", "facet", "classpath", "build"};
+
 	private static class Msgs extends NLS {
 
 		public static String checking;
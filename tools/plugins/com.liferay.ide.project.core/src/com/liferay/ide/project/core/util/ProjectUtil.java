@@ -43,16 +43,15 @@ import com.liferay.ide.server.util.ServerUtil;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.WordUtils;
@@ -119,124 +118,94 @@ public class ProjectUtil {
 	public static final String METADATA_FOLDER = ".metadata";
 
 	public static void collectProjectsFromDirectory(List<IProject> result, File location) {
-		File[] children = location.listFiles();
+		IWorkspace workspace = CoreUtil.getWorkspace();
 
-		if (children == null) {
-			return;
-		}
-
-		for (File child : children) {
-			if (child.isFile() && child.getName().equals(IProjectDescription.DESCRIPTION_FILE_NAME)) {
-				IWorkspace workspace = CoreUtil.getWorkspace();
-				IProjectDescription projectDescription;
+		ProjectDiscovery.Listener listener = new ProjectDiscovery.Listener() {
 
+			public void projectFound(File projectDir, File projectDescriptionFile) {
 				try {
-					projectDescription = workspace.loadProjectDescription(new Path(child.getAbsolutePath()));
+					IProjectDescription projectDescription = workspace.loadProjectDescription(
+						new Path(projectDescriptionFile.getAbsolutePath()));
 
 					IProject project = workspace.getRoot().getProject(projectDescription.getName());
 
 					if (FileUtil.exists(project)) {
-						result.add(project);
+						synchronized (result) {
+							result.add(project);
+						}
 					}
 				}
 				catch (CoreException ce) {
 					ProjectCore.logError("loadProjectDescription error", ce);
 				}
 			}
-			else {
-				collectProjectsFromDirectory(result, child);
-			}
-		}
+
+		};
+
+		new ProjectDiscovery().findProjectDescriptions(location, listener, new NullProgressMonitor());
 	}
 
+	/**
+	 * Collects the <code>.project</code> files of the Plugins SDK projects in
+	 * the directory, and the SDK project directories without one.
+	 */
 	public static boolean collectSDKProjectsFromDirectory(
-		Collection<File> eclipseProjectFiles, Collection<File> liferayProjectDirs, File directory,
-		Set<String> directoriesVisited, boolean recurse, IProgressMonitor monitor) {
-
-		if (monitor.isCanceled()) {
-			return false;
-		}
+		Collection<File> eclipseProjectFiles, Collection<File> liferayProjectDirs, File directory, boolean recurse,
+		IProgressMonitor monitor) {
 
-		monitor.subTask(NLS.bind(Msgs.checking, directory.getPath()));
+		return collectSDKProjectsFromDirectory(
+			eclipseProjectFiles, liferayProjectDirs, directory, recurse, null, monitor);
+	}
 
-		File[] contents = directory.listFiles();
+	/**
+	 * Same as above, also passing every project to the given listener as soon
+	 * as it is found so that callers can show them while the search goes on.
+	 */
+	public static boolean collectSDKProjectsFromDirectory(
+		Collection<File> eclipseProjectFiles, Collection<File> liferayProjectDirs, File directory, boolean recurse,
+		ProjectDiscovery.Listener listener, IProgressMonitor monitor) {
 
-		if (contents == null) {
+		if (monitor.isCanceled()) {
 			return false;
 		}
 
-		// Initialize recursion guard for recursive symbolic links
-
-		if (directoriesVisited == null) {
-			directoriesVisited = new HashSet<>();
-
-			try {
-				directoriesVisited.add(directory.getCanonicalPath());
-			}
-			catch (IOException ioe) {
-				ProjectCore.logError(ioe.getLocalizedMessage(), ioe);
-			}
-		}
-
-		// first look for project description files
-
-		String dotProject = IProjectDescription.DESCRIPTION_FILE_NAME;
-
-		for (int i = 0; i < contents.length; i++) {
-			File file = contents[i];
-
-			if (isLiferaySDKProjectDir(file)) {
-
-				// recurse to see if it has project file
-
-				int currentSize = eclipseProjectFiles.size();
+		monitor.subTask(NLS.bind(Msgs.checking, directory.getPath()));
 
-				collectSDKProjectsFromDirectory(
-					eclipseProjectFiles, liferayProjectDirs, contents[i], directoriesVisited, false, monitor);
+		Set<File> projectFiles = new TreeSet<>();
+		Set<File> projectDirs = new TreeSet<>();
 
-				int newSize = eclipseProjectFiles.size();
+		ProjectDiscovery.Listener collector = new ProjectDiscovery.Listener() {
 
-				if (newSize == currentSize) {
-					liferayProjectDirs.add(file);
+			public void projectFound(File projectDir, File projectDescription) {
+				synchronized (projectFiles) {
+					if (projectDescription != null) {
+						projectFiles.add(projectDescription);
+					}
+					else {
+						projectDirs.add(projectDir);
+					}
 				}
-			}
-			else if (file.isFile() && file.getName().equals(dotProject)) {
-				if (!eclipseProjectFiles.contains(file) && isLiferaySDKProjectDir(file.getParentFile())) {
-					eclipseProjectFiles.add(file);
 
-					// don't search sub-directories since we can't have nested projects
-
-					return true;
+				if (listener != null) {
+					listener.projectFound(projectDir, projectDescription);
 				}
 			}
-		}
-
-		// no project description found, so recurse into sub-directories
-
-		for (int i = 0; i < contents.length; i++) {
-			if (contents[i].isDirectory()) {
-				if (!contents[i].getName().equals(METADATA_FOLDER)) {
-					try {
-						String canonicalPath = contents[i].getCanonicalPath();
 
-						if (!directoriesVisited.add(canonicalPath)) {
+		};
 
-							// already been here --> do not recurse
-
-							continue;
-						}
-					}
-					catch (IOException ioe) {
-						ProjectCore.logError(ioe.getLocalizedMessage(), ioe);
-					}
+		if (!new ProjectDiscovery().findSDKProjects(directory, recurse, collector, monitor)) {
+			return false;
+		}
 
-					// dont recurse directories that we have already determined are Liferay projects
+		for (File projectFile : projectFiles) {
+			if (!eclipseProjectFiles.contains(projectFile)) {
+				eclipseProjectFiles.add(projectFile);
+			}
+		}
 
-					if (!liferayProjectDirs.contains(contents[i]) && recurse) {
-						collectSDKProjectsFromDirectory(
-							eclipseProjectFiles, liferayProjectDirs, contents[i], directoriesVisited, recurse, monitor);
-					}
-				}
+		for (File projectDir : projectDirs) {
+			if (!liferayProjectDirs.contains(projectDir)) {
+				liferayProjectDirs.add(projectDir);
 			}
 		}
 
@@ -425,76 +394,16 @@ public class ProjectUtil {
 			ProjectRecord record, IRuntime runtime, String sdkLocation, IProgressMonitor monitor)
 		throws CoreException {
 
-		String projectName = record.getProjectName();
-
-		IWorkspace workspace = ResourcesPlugin.getWorkspace();
-
-		IProject project = workspace.getRoot().getProject(projectName);
-
-		if (record.description == null) {
-
-			// error case
-
-			record.description = workspace.newProjectDescription(projectName);
-
-			IPath locationPath = new Path(record.projectSystemFile.getAbsolutePath());
-
-			// If it is under the root use the default location
-
-			if (Platform.getLocation().isPrefixOf(locationPath)) {
-				record.description.setLocation(null);
-			}
-			else {
-				record.description.setLocation(locationPath);
-			}
-		}
-		else {
-			record.description.setName(projectName);
-		}
-
-		monitor.beginTask(Msgs.importingProject, 100);
-
-		project.create(record.description, CoreUtil.newSubMonitor(monitor, 30));
-
-		project.open(IResource.FORCE, CoreUtil.newSubMonitor(monitor, 70));
-
-		// need to check to see if we an ext project with source folders with incorrect parent attributes
-
-		if (project.getName().endsWith(ISDKConstants.EXT_PLUGIN_PROJECT_SUFFIX)) {
-			_fixExtProjectClasspathEntries(project);
-		}
-
-		IFacetedProject fProject = ProjectFacetsManager.create(project, true, monitor);
-
-		FacetedProjectWorkingCopy fpwc = new FacetedProjectWorkingCopy(fProject);
-
-		String pluginType = guessPluginType(fpwc);
+		IProject project = openExistingProject(record, monitor);
 
-		SDKPluginFacetUtil.configureProjectAsRuntimeProject(fpwc, runtime, pluginType, sdkLocation, record);
-
-		fpwc.commitChanges(monitor);
-
-		IJavaProject javaProject = JavaCore.create(fProject.getProject());
+		installExistingProjectFacets(project, record, runtime, sdkLocation, monitor);
 
 		CoreUtil.getWorkspace().run(
 			new IWorkspaceRunnable() {
 
 				@Override
 				public void run(IProgressMonitor monitor) throws CoreException {
-					for (IClasspathEntry entry : javaProject.getRawClasspath()) {
-						String segment = entry.getPath().segment(0);
-
-						if ((entry.getEntryKind() == IClasspathEntry.CPE_CONTAINER) &&
-							segment.equals(PluginClasspathContainerInitializer.ID)) {
-
-							ClasspathContainerInitializer initializer = JavaCore.getClasspathContainerInitializer(
-								PluginClasspathContainerInitializer.ID);
-
-							initializer.initialize(entry.getPath(), javaProject);
-
-							break;
-						}
-					}
+					initializePluginClasspathContainer(project);
 
 					monitor.done();
 				}
@@ -1110,6 +1019,48 @@ public class ProjectUtil {
 		return retval;
 	}
 
+	/**
+	 * Initializes the plugin classpath container of the project, bulk imports
+	 * call this once every imported project exists.
+	 */
+	public static void initializePluginClasspathContainer(IProject project) throws CoreException {
+		IJavaProject javaProject = JavaCore.create(project);
+
+		for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+			String segment = entry.getPath().segment(0);
+
+			if ((entry.getEntryKind() == IClasspathEntry.CPE_CONTAINER) &&
+				segment.equals(PluginClasspathContainerInitializer.ID)) {
+
+				ClasspathContainerInitializer initializer = JavaCore.getClasspathContainerInitializer(
+					PluginClasspathContainerInitializer.ID);
+
+				initializer.initialize(entry.getPath(), javaProject);
+
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Installs the facets of a project opened by
+	 * {@link #openExistingProject(ProjectRecord, IProgressMonitor)}.
+	 */
+	public static void installExistingProjectFacets(
+			IProject project, ProjectRecord record, IRuntime runtime, String sdkLocation, IProgressMonitor monitor)
+		throws CoreException {
+
+		IFacetedProject fProject = ProjectFacetsManager.create(project, true, monitor);
+
+		FacetedProjectWorkingCopy fpwc = new FacetedProjectWorkingCopy(fProject);
+
+		String pluginType = guessPluginType(fpwc);
+
+		SDKPluginFacetUtil.configureProjectAsRuntimeProject(fpwc, runtime, pluginType, sdkLocation, record);
+
+		fpwc.commitChanges(monitor);
+	}
+
 	public static boolean is7xServerDeployableProject(IProject project) {
 		ILiferayProject liferayProject = LiferayCore.create(project);
 
@@ -1435,6 +1386,53 @@ public class ProjectUtil {
 		return false;
 	}
 
+	/**
+	 * Creates and opens the workspace project of an existing SDK project,
+	 * without installing any facet.
+	 */
+	public static IProject openExistingProject(ProjectRecord record, IProgressMonitor monitor) throws CoreException {
+		String projectName = record.getProjectName();
+
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+
+		IProject project = workspace.getRoot().getProject(projectName);
+
+		if (record.description == null) {
+
+			// error case
+
+			record.description = workspace.newProjectDescription(projectName);
+
+			IPath locationPath = new Path(record.projectSystemFile.getAbsolutePath());
+
+			// If it is under the root use the default location
+
+			if (Platform.getLocation().isPrefixOf(locationPath)) {
+				record.description.setLocation(null);
+			}
+			else {
+				record.description.setLocation(locationPath);
+			}
+		}
+		else {
+			record.description.setName(projectName);
+		}
+
+		monitor.beginTask(Msgs.importingProject, 100);
+
+		project.create(record.description, CoreUtil.newSubMonitor(monitor, 30));
+
+		project.open(IResource.FORCE, CoreUtil.newSubMonitor(monitor, 70));
+
+		// need to check to see if we an ext project with source folders with incorrect parent attributes
+
+		if (project.getName().endsWith(ISDKConstants.EXT_PLUGIN_PROJECT_SUFFIX)) {
+			_fixExtProjectClasspathEntries(project);
+		}
+
+		return project;
+	}
+
 	public static String removePluginSuffix(String string) {
 		if (string == null) {
 			return null;
@@ -18,6 +18,7 @@ import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.project.core.ITargetPlatformConstant;
 import com.liferay.ide.project.core.ProjectCore;
 import com.liferay.ide.project.core.modules.ServiceContainer;
+import com.liferay.ide.project.core.modules.ServiceIndex;
 
 import java.io.File;
 import java.io.FilenameFilter;
@@ -26,7 +27,6 @@ import java.io.IOException;
 import java.net.URL;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -67,27 +67,35 @@ public class TargetPlatformUtil {
 	}
 
 	public static ServiceContainer getServiceBundle(String serviceName) throws Exception {
-		File tpIndexFile = _checkCurrentTargetPlatform("service");
+		ServiceIndex serviceIndex = getServiceIndex();
 
-		return _getBundleAndVersion(tpIndexFile, serviceName);
+		return serviceIndex.getBundle(serviceName);
+	}
+
+	public static ServiceIndex getServiceIndex() throws Exception {
+		return ServiceIndex.getIndex(_checkCurrentTargetPlatform("service"));
 	}
 
 	public static ServiceContainer getServicesList() throws Exception {
-		File tpIndexFile = _checkCurrentTargetPlatform("service");
+		ServiceIndex serviceIndex = getServiceIndex();
 
-		return _getServicesNameList(tpIndexFile);
+		return new ServiceContainer(serviceIndex.getServiceNames());
 	}
 
 	public static ServiceContainer getServiceWrapperBundle(String servicewrapperName) throws Exception {
-		File tpIndexFile = _checkCurrentTargetPlatform("servicewrapper");
+		ServiceIndex serviceWrapperIndex = getServiceWrapperIndex();
+
+		return serviceWrapperIndex.getBundle(servicewrapperName);
+	}
 
-		return _getBundleAndVersion(tpIndexFile, servicewrapperName);
+	public static ServiceIndex getServiceWrapperIndex() throws Exception {
+		return ServiceIndex.getIndex(_checkCurrentTargetPlatform("servicewrapper"));
 	}
 
 	public static ServiceContainer getServiceWrapperList() throws Exception {
-		File tpIndexFile = _checkCurrentTargetPlatform("servicewrapper");
+		ServiceIndex serviceWrapperIndex = getServiceWrapperIndex();
 
-		return _getServicesNameList(tpIndexFile);
+		return new ServiceContainer(serviceWrapperIndex.getServiceNames());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -123,32 +131,6 @@ public class TargetPlatformUtil {
 		return _useSpecificTargetPlatform(currentVersion, type);
 	}
 
-	@SuppressWarnings("unchecked")
-	private static ServiceContainer _getBundleAndVersion(File tpFile, String serviceName) throws Exception {
-		ObjectMapper mapper = new ObjectMapper();
-
-		Map<String, List<String>> map = mapper.readValue(tpFile, Map.class);
-
-		List<String> serviceBundle = map.get(serviceName);
-
-		if (ListUtil.isNotEmpty(serviceBundle)) {
-			return new ServiceContainer(serviceBundle.get(0), serviceBundle.get(1), serviceBundle.get(2));
-		}
-
-		return null;
-	}
-
-	@SuppressWarnings("unchecked")
-	private static ServiceContainer _getServicesNameList(File tpFile) throws Exception {
-		ObjectMapper mapper = new ObjectMapper();
-
-		Map<String, String[]> map = mapper.readValue(tpFile, Map.class);
-
-		String[] services = map.keySet().toArray(new String[0]);
-
-		return new ServiceContainer(Arrays.asList(services));
-	}
-
 	private static File _useSpecificTargetPlatform(String currentVersion, String type) throws IOException {
 		Bundle bundle = ProjectCore.getDefault().getBundle();
 
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.project.core.workspace;
+
+import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.FileUtil;
+import com.liferay.ide.core.util.PropertiesUtil;
+import com.liferay.ide.project.core.util.LiferayWorkspaceUtil;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Snapshot of the Liferay Workspace projects of the Eclipse workspace and of
+ * the <code>gradle.properties</code> of the workspace project. The snapshot is
+ * immutable, it is built on first use and dropped by
+ * {@link LiferayWorkspaceResourceListener} when a project is added, removed,
+ * opened or closed or when one of the build files at a project root changes.
+ *
+ * @author agent
+ */
+public class LiferayWorkspaceModel {
+
+	public static LiferayWorkspaceModel getInstance() {
+		LiferayWorkspaceModel model = _instance;
+
+		if (model != null) {
+			return model;
+		}
+
+		int generation;
+
+		synchronized (_lock) {
+			if (_instance != null) {
+				return _instance;
+			}
+
+			generation = _generation;
+		}
+
+		// build outside of the lock so that invalidate never waits for a scan
+
+		model = new LiferayWorkspaceModel();
+
+		synchronized (_lock) {
+
+			// do not keep a model that was invalidated while it was being built
+
+			if (generation != _generation) {
+				return model;
+			}
+
+			if (_instance == null) {
+				_instance = model;
+			}
+
+			return _instance;
+		}
+	}
+
+	public static void invalidate() {
+		synchronized (_lock) {
+			_generation++;
+
+			_instance = null;
+		}
+	}
+
+	public String getGradleProperty(String key, String defaultValue) {
+		if (_gradleProperties == null) {
+			return null;
+		}
+
+		return _gradleProperties.getProperty(key, defaultValue);
+	}
+
+	public List<IProject> getGradleWorkspaceProjects() {
+		return _gradleWorkspaceProjects;
+	}
+
+	public String getHomeDir() {
+		return _homeDir;
+	}
+
+	public IPath getLocation() {
+		return _location;
+	}
+
+	public List<IProject> getMavenWorkspaceProjects() {
+		return _mavenWorkspaceProjects;
+	}
+
+	public String[] getModulesDirs() {
+		return _modulesDirs.clone();
+	}
+
+	public IProject getProject() {
+		return _project;
+	}
+
+	public String getThemesDir() {
+		return _themesDir;
+	}
+
+	public String getType() {
+		return _type;
+	}
+
+	public String[] getWarsDirs() {
+		return _warsDirs.clone();
+	}
+
+	public List<IProject> getWorkspaceProjects() {
+		return _workspaceProjects;
+	}
+
+	public boolean isWorkspaceLocation(String location) {
+		if ((_location == null) || (location == null)) {
+			return false;
+		}
+
+		return _location.equals(new Path(location));
+	}
+
+	public boolean isWorkspaceProject(IProject project) {
+		if ((_project == null) || (project == null)) {
+			return false;
+		}
+
+		return _project.equals(project);
+	}
+
+	private LiferayWorkspaceModel() {
+		List<IProject> gradleWorkspaceProjects = new ArrayList<>();
+		List<IProject> mavenWorkspaceProjects = new ArrayList<>();
+		List<IProject> workspaceProjects = new ArrayList<>();
+
+		for (IProject project : CoreUtil.getAllProjects()) {
+			IPath projectLocation = project.getLocation();
+
+			if (projectLocation == null) {
+				continue;
+			}
+
+			String location = projectLocation.toOSString();
+
+			boolean gradleWorkspace = LiferayWorkspaceUtil.isValidGradleWorkspaceLocation(location);
+			boolean mavenWorkspace = LiferayWorkspaceUtil.isValidMavenWorkspaceLocation(location);
+
+			if (gradleWorkspace) {
+				gradleWorkspaceProjects.add(project);
+			}
+
+			if (mavenWorkspace) {
+				mavenWorkspaceProjects.add(project);
+			}
+
+			if (gradleWorkspace || mavenWorkspace) {
+				workspaceProjects.add(project);
+			}
+		}
+
+		_gradleWorkspaceProjects = Collections.unmodifiableList(gradleWorkspaceProjects);
+		_mavenWorkspaceProjects = Collections.unmodifiableList(mavenWorkspaceProjects);
+		_workspaceProjects = Collections.unmodifiableList(workspaceProjects);
+
+		if (workspaceProjects.isEmpty()) {
+			_project = null;
+			_location = null;
+			_type = null;
+			_gradleProperties = null;
+		}
+		else {
+			_project = workspaceProjects.get(0);
+			_location = _project.getLocation();
+
+			File pomFile = new File(_location.toFile(), "pom.xml");
+
+			if (FileUtil.exists(pomFile)) {
+				_type = "maven-liferay-workspace";
+			}
+			else {
+				_type = "gradle-liferay-workspace";
+			}
+
+			File gradlePropertiesFile = new File(_location.toFile(), "gradle.properties");
+
+			if (FileUtil.exists(gradlePropertiesFile)) {
+				_gradleProperties = PropertiesUtil.loadProperties(gradlePropertiesFile);
+			}
+			else {
+				_gradleProperties = null;
+			}
+		}
+
+		_homeDir = _getNotEmptyProperty(LiferayWorkspaceUtil.LIFERAY_WORKSPACE_HOME_DIR, "bundles");
+		_modulesDirs = _getNotEmptyProperty(LiferayWorkspaceUtil.LIFERAY_WORKSPACE_MODULES_DIR, "modules").split(",");
+		_themesDir = _getNotEmptyProperty(LiferayWorkspaceUtil.LIFERAY_WORKSPACE_THEMES_DIR, "themes");
+		_warsDirs = _getNotEmptyProperty(LiferayWorkspaceUtil.LIFERAY_WORKSPACE_WARS_DIR, "wars").split(",");
+	}
+
+	private String _getNotEmptyProperty(String key, String defaultValue) {
+		String value = getGradleProperty(key, defaultValue);
+
+		if (CoreUtil.empty(value)) {
+			return defaultValue;
+		}
+
+		return value;
+	}
+
+	private static int _generation;
+	private static volatile LiferayWorkspaceModel _instance;
+	private static final Object _lock = new Object();
+
+	private final Properties _gradleProperties;
+	private final List<IProject> _gradleWorkspaceProjects;
+	private final String _homeDir;
+	private final IPath _location;
+	private final List<IProject> _mavenWorkspaceProjects;
+	private final String[] _modulesDirs;
+	private final IProject _project;
+	private final String _themesDir;
+	private final String _type;
+	private final String[] _warsDirs;
+	private final List<IProject> _workspaceProjects;
+
+}
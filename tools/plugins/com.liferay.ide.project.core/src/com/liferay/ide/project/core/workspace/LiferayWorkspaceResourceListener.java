@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.project.core.workspace;
+
+import com.liferay.ide.project.core.ProjectCore;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * @author agent
+ */
+public class LiferayWorkspaceResourceListener implements IResourceChangeListener, IResourceDeltaVisitor {
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+
+		if (delta == null) {
+			return;
+		}
+
+		try {
+			delta.accept(this);
+		}
+		catch (CoreException ce) {
+			ProjectCore.logError("Liferay Workspace resource listener failed.", ce);
+
+			LiferayWorkspaceModel.invalidate();
+		}
+	}
+
+	@Override
+	public boolean visit(IResourceDelta delta) throws CoreException {
+		IResource resource = delta.getResource();
+
+		switch (resource.getType()) {
+			case IResource.ROOT:
+				return true;
+
+			case IResource.PROJECT:
+				if ((delta.getKind() != IResourceDelta.CHANGED) || ((delta.getFlags() & _PROJECT_FLAGS) != 0)) {
+					LiferayWorkspaceModel.invalidate();
+
+					return false;
+				}
+
+				return true;
+
+			case IResource.FILE:
+				if (_buildFileNames.contains(resource.getName())) {
+					LiferayWorkspaceModel.invalidate();
+				}
+
+				return false;
+
+			default:
+				return false;
+		}
+	}
+
+	private static final int _PROJECT_FLAGS =
+		IResourceDelta.OPEN | IResourceDelta.DESCRIPTION | IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO |
+			IResourceDelta.LOCAL_CHANGED;
+
+	private static final Set<String> _buildFileNames = new HashSet<>(
+		Arrays.asList("build.gradle", "gradle.properties", "pom.xml", "settings.gradle"));
+
+}
@@ -183,25 +183,19 @@ public class LiferayDependencyQuickFix implements IQuickFixProcessor {
 		}
 
 		String importName = importDeclaration.getName().toString();
-		List<String> serviceWrapperList;
-		List<String> servicesList;
 		List<IJavaCompletionProposal> proposals = new ArrayList<>();
 
 		try {
-			serviceWrapperList = TargetPlatformUtil.getServiceWrapperList().getServiceList();
-
-			servicesList = TargetPlatformUtil.getServicesList().getServiceList();
-
-			if (serviceWrapperList.contains(importName)) {
-				ServiceContainer bundle = TargetPlatformUtil.getServiceWrapperBundle(importName);
+			ServiceContainer wrapperBundle = TargetPlatformUtil.getServiceWrapperBundle(importName);
 
-				proposals.add(_createDepProposal(context, bundle));
+			if (wrapperBundle != null) {
+				proposals.add(_createDepProposal(context, wrapperBundle));
 			}
 
-			if (servicesList.contains(importName)) {
-				ServiceContainer bundle = TargetPlatformUtil.getServiceBundle(importName);
+			ServiceContainer serviceBundle = TargetPlatformUtil.getServiceBundle(importName);
 
-				proposals.add(_createDepProposal(context, bundle));
+			if (serviceBundle != null) {
+				proposals.add(_createDepProposal(context, serviceBundle));
 			}
 
 			if (TargetPlatformUtil.getThirdPartyBundleList(importName) != null) {
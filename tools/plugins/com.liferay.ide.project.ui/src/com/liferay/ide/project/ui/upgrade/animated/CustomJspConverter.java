@@ -26,6 +26,7 @@ import com.liferay.ide.project.core.modules.ImportLiferayModuleProjectOpMethods;
 import com.liferay.ide.project.core.util.ProjectUtil;
 import com.liferay.ide.project.ui.ProjectUI;
 import com.liferay.ide.server.core.ILiferayRuntime;
+import com.liferay.ide.server.util.PortalJspCatalog;
 import com.liferay.ide.server.util.ServerUtil;
 import com.liferay.ide.ui.util.UIUtil;
 
@@ -50,6 +51,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -63,6 +65,7 @@ import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.MessageDialog;
@@ -337,6 +340,12 @@ public class CustomJspConverter {
 
 			ILiferayRuntime liferayRuntime = ServerUtil.getLiferayRuntime(getLiferay70Runtime());
 
+			IPath appServerPortalDir = liferayRuntime.getAppServerPortalDir();
+
+			PortalJspCatalog portalJspCatalog = PortalJspCatalog.getCatalog(appServerPortalDir);
+
+			Set<String> portalJsps = portalJspCatalog.getJspPaths(new NullProgressMonitor());
+
 			for (File dir : dirs) {
 				if (dir != null) {
 
@@ -353,12 +362,20 @@ public class CustomJspConverter {
 					for (String fileRelativizePath : fileRelativizePaths) {
 						File original62File = new File(_get62HtmlDir() + dir.getName() + "/" + fileRelativizePath);
 
-						IPath appServerPortalDir = liferayRuntime.getAppServerPortalDir().removeLastSegments(1);
+						String original70Jsp = "html/" + dir.getName() + "/" + fileRelativizePath;
+
+						File original70File = appServerPortalDir.append(original70Jsp).toFile();
 
-						File original70File = appServerPortalDir.append(
-							"ROOT/html/" + dir.getName() + "/" + fileRelativizePath).toFile();
+						boolean original70Exists = false;
+
+						if (original70Jsp.endsWith(".jsp") || original70Jsp.endsWith(".jspf")) {
+							original70Exists = portalJsps.contains(original70Jsp);
+						}
+						else {
+							original70Exists = original70File.exists();
+						}
 
-						if (original62File.exists() && original70File.exists()) {
+						if (original62File.exists() && original70Exists) {
 							File target62File = new File(
 								ignoreFolder, "html/" + dir.getName() + "/" + fileRelativizePath + ".62");
 							File target70File = new File(
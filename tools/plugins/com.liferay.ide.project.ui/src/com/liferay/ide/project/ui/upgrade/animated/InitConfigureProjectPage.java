@@ -913,7 +913,7 @@ public class InitConfigureProjectPage extends Page implements IServerLifecycleLi
 			sb.append("init -u");
 
 			progress.worked(30);
-			BladeCLI.execute(sb.toString());
+			BladeCLI.execute(sb.toString(), progress::subTask);
 			progress.worked(100);
 		}
 		catch (BladeCLIException bclie) {
@@ -1128,7 +1128,7 @@ public class InitConfigureProjectPage extends Page implements IServerLifecycleLi
 		Collection<File> liferayProjectDirs = new ArrayList<>();
 
 		if (ProjectUtil.collectSDKProjectsFromDirectory(
-			eclipseProjectFiles, liferayProjectDirs, targetSDKLocation.toFile(), null, true, monitor
+			eclipseProjectFiles, liferayProjectDirs, targetSDKLocation.toFile(), true, monitor
 		)) {
 
 			for (File project : liferayProjectDirs) {
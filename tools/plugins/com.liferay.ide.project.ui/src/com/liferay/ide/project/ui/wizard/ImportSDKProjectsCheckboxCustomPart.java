@@ -265,7 +265,7 @@ public class ImportSDKProjectsCheckboxCustomPart extends ProjectsCheckboxCustomP
 
 			if (dirSelected && directory.isDirectory()) {
 				if (!ProjectUtil.collectSDKProjectsFromDirectory(
-						eclipseProjectFiles, liferayProjectDirs, directory, null, true, new NullProgressMonitor())) {
+						eclipseProjectFiles, liferayProjectDirs, directory, true, new NullProgressMonitor())) {
 
 					return null;
 				}
@@ -19,6 +19,7 @@ import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.core.util.StringPool;
 import com.liferay.ide.project.core.ISDKProjectsImportDataModelProperties;
 import com.liferay.ide.project.core.ProjectRecord;
+import com.liferay.ide.project.core.util.ProjectDiscovery;
 import com.liferay.ide.project.core.util.ProjectUtil;
 import com.liferay.ide.project.ui.ProjectUI;
 import com.liferay.ide.sdk.core.SDK;
@@ -137,6 +138,8 @@ public class SDKProjectsImportWizardPage
 
 		final boolean dirSelected = true;
 
+		final int generation = searchGeneration;
+
 		try {
 			getContainer().run(
 				true, true,
@@ -160,8 +163,38 @@ public class SDKProjectsImportWizardPage
 						monitor.worked(10);
 
 						if (dirSelected && directory.isDirectory()) {
+
+							// show the projects while the search is still running
+
+							ProjectDiscovery.Listener listener = new ProjectDiscovery.Listener() {
+
+								public void projectFound(File projectDir, File projectDescription) {
+									ProjectRecord record = (projectDescription != null) ?
+										new ProjectRecord(projectDescription) : new ProjectRecord(projectDir);
+
+									Display display = projectsList.getControl().getDisplay();
+
+									display.asyncExec(
+										new Runnable() {
+
+											public void run() {
+
+												// adds queued by an earlier search must not follow its final refresh
+
+												if ((generation == searchGeneration) &&
+													!projectsList.getControl().isDisposed()) {
+
+													projectsList.add(projectsList.getInput(), record);
+												}
+											}
+
+										});
+								}
+
+							};
+
 							if (!ProjectUtil.collectSDKProjectsFromDirectory(
-									eclipseProjectFiles, liferayProjectDirs, directory, null, true, monitor)) {
+									eclipseProjectFiles, liferayProjectDirs, directory, true, listener, monitor)) {
 
 								return;
 							}
@@ -198,6 +231,8 @@ public class SDKProjectsImportWizardPage
 		catch (InterruptedException ie) {
 		}
 
+		searchGeneration++;
+
 		projectsList.refresh(true);
 
 		Object[] projects = getProjectRecords();
@@ -645,6 +680,7 @@ public class SDKProjectsImportWizardPage
 	protected CheckboxTreeViewer projectsList;
 	protected Text sdkLocation;
 	protected Text sdkVersion;
+	protected int searchGeneration;
 	protected Object[] selectedProjects = new ProjectRecord[0];
 	protected Combo serverTargetCombo;
 	protected IProject[] wsProjects;
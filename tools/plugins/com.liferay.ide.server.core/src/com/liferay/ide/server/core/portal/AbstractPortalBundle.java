@@ -15,6 +15,7 @@
 package com.liferay.ide.server.core.portal;
 
 import com.liferay.ide.core.ILiferayConstants;
+import com.liferay.ide.core.PortalArtifactIndex;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.FileListing;
 import com.liferay.ide.core.util.FileUtil;
@@ -132,6 +133,12 @@ public abstract class AbstractPortalBundle implements PortalBundle
 
     protected abstract int getDefaultJMXRemotePort();
 
+    @Override
+    public PortalArtifactIndex getArtifactIndex()
+    {
+        return PortalArtifactIndex.getIndex( getAppServerPortalDir() );
+    }
+
     @Override
     public String[] getHookSupportedProperties()
     {
@@ -132,7 +132,7 @@ public class ServerManagerConnection extends RemoteConnection implements IServer
 
         try
         {
-            response = getJSONAPI( getPluginsAPI() );
+            response = getCachedJSONAPI( DEFAULT_CACHE_TTL, getPluginsAPI() );
         }
         catch( APIException e1 )
         {
@@ -0,0 +1,484 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.server.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the values of the static fields of a class file without loading the
+ * class: the <code>ConstantValue</code> attributes of its fields, plus the
+ * strings and string arrays that its static initializer stores straight into
+ * its own static fields (e.g. <code>static String name = "..."</code> or
+ * <code>static final String[] NAMES = { "a", "b" }</code>). Values computed at
+ * runtime are not available.
+ *
+ * @author agent
+ */
+public class ClassConstantsReader
+{
+
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_UTF8 = 1;
+
+    private static final int AASTORE = 0x53;
+    private static final int ANEWARRAY = 0xbd;
+    private static final int BIPUSH = 0x10;
+    private static final int DUP = 0x59;
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_5 = 0x08;
+    private static final int IINC = 0x84;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int SIPUSH = 0x11;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int WIDE = 0xc4;
+
+    /**
+     * Length of each instruction with a fixed length, 0 for unknown opcodes.
+     */
+    private static final int[] INSTRUCTION_LENGTHS = new int[256];
+
+    static
+    {
+        for( int i = 0x00; i <= 0xc9; i++ )
+        {
+            INSTRUCTION_LENGTHS[i] = 1;
+        }
+
+        setLength( 2, 0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36, 0x37, 0x38, 0x39, 0x3a, 0xa9, 0xbc );
+        setLength( 3, 0x11, 0x13, 0x14, 0x84, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xbb, 0xbd, 0xc0, 0xc1,
+            0xc6, 0xc7 );
+
+        for( int i = 0x99; i <= 0xa8; i++ )
+        {
+            INSTRUCTION_LENGTHS[i] = 3;
+        }
+
+        setLength( 4, 0xc5 );
+        setLength( 5, 0xb9, 0xba, 0xc8, 0xc9 );
+    }
+
+    private static void setLength( int length, int... opcodes )
+    {
+        for( int opcode : opcodes )
+        {
+            INSTRUCTION_LENGTHS[opcode] = length;
+        }
+    }
+
+    private int[] refs1;
+    private int[] refs2;
+    private final Map<String, Object> staticValues = new HashMap<String, Object>();
+    private int[] tags;
+    private String thisClassName;
+    private Object[] values;
+
+    public ClassConstantsReader( InputStream inputStream ) throws IOException
+    {
+        final DataInputStream in = new DataInputStream( new BufferedInputStream( inputStream ) );
+
+        if( in.readInt() != 0xcafebabe )
+        {
+            throw new IOException( "Not a class file" ); //$NON-NLS-1$
+        }
+
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        readConstantPool( in );
+
+        in.readUnsignedShort();
+
+        thisClassName = getUtf8( refs1[in.readUnsignedShort()] );
+
+        in.readUnsignedShort();
+
+        final int interfacesCount = in.readUnsignedShort();
+
+        for( int i = 0; i < interfacesCount; i++ )
+        {
+            in.readUnsignedShort();
+        }
+
+        final int fieldsCount = in.readUnsignedShort();
+
+        for( int i = 0; i < fieldsCount; i++ )
+        {
+            readField( in );
+        }
+
+        final int methodsCount = in.readUnsignedShort();
+
+        for( int i = 0; i < methodsCount; i++ )
+        {
+            final byte[] code = readMethod( in );
+
+            if( code != null )
+            {
+                readStaticInitializer( code );
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the first static field whose name matches one of
+     * the given names, ignoring case and leading underscores.
+     */
+    public Object getValue( String... names )
+    {
+        for( String name : names )
+        {
+            for( Map.Entry<String, Object> entry : staticValues.entrySet() )
+            {
+                if( normalize( entry.getKey() ).equalsIgnoreCase( normalize( name ) ) )
+                {
+                    return entry.getValue();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private Object getConstant( int index )
+    {
+        if( tags[index] == CONSTANT_STRING )
+        {
+            return getUtf8( refs1[index] );
+        }
+
+        return values[index];
+    }
+
+    /**
+     * Returns the name of the field referenced by a Fieldref constant if the
+     * field belongs to this class, <code>null</code> otherwise.
+     */
+    private String getOwnFieldName( int index )
+    {
+        if( tags[index] != CONSTANT_FIELDREF )
+        {
+            return null;
+        }
+
+        final int classIndex = refs1[index];
+
+        if( ( tags[classIndex] != CONSTANT_CLASS ) || !thisClassName.equals( getUtf8( refs1[classIndex] ) ) )
+        {
+            return null;
+        }
+
+        return getUtf8( refs1[refs2[index]] );
+    }
+
+    private String getUtf8( int index )
+    {
+        return (String) values[index];
+    }
+
+    private String normalize( String name )
+    {
+        int start = 0;
+
+        while( ( start < name.length() ) && ( name.charAt( start ) == '_' ) )
+        {
+            start++;
+        }
+
+        return name.substring( start );
+    }
+
+    private void readConstantPool( DataInputStream in ) throws IOException
+    {
+        final int count = in.readUnsignedShort();
+
+        tags = new int[count];
+        refs1 = new int[count];
+        refs2 = new int[count];
+        values = new Object[count];
+
+        for( int i = 1; i < count; i++ )
+        {
+            final int tag = in.readUnsignedByte();
+
+            tags[i] = tag;
+
+            switch( tag )
+            {
+                case CONSTANT_UTF8:
+                    values[i] = in.readUTF();
+                    break;
+
+                case CONSTANT_INTEGER:
+                    values[i] = in.readInt();
+                    break;
+
+                case CONSTANT_FLOAT:
+                    values[i] = in.readFloat();
+                    break;
+
+                case CONSTANT_LONG:
+                    values[i++] = in.readLong();
+                    break;
+
+                case CONSTANT_DOUBLE:
+                    values[i++] = in.readDouble();
+                    break;
+
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    refs1[i] = in.readUnsignedShort();
+                    break;
+
+                case 15: // MethodHandle
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+
+                case CONSTANT_FIELDREF:
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    refs1[i] = in.readUnsignedShort();
+                    refs2[i] = in.readUnsignedShort();
+                    break;
+
+                default:
+                    throw new IOException( "Unknown constant pool tag " + tag ); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private void readField( DataInputStream in ) throws IOException
+    {
+        in.readUnsignedShort();
+
+        final String name = getUtf8( in.readUnsignedShort() );
+
+        in.readUnsignedShort();
+
+        final int attributesCount = in.readUnsignedShort();
+
+        for( int i = 0; i < attributesCount; i++ )
+        {
+            final String attributeName = getUtf8( in.readUnsignedShort() );
+            final int length = in.readInt();
+
+            if( "ConstantValue".equals( attributeName ) ) //$NON-NLS-1$
+            {
+                staticValues.put( name, getConstant( in.readUnsignedShort() ) );
+            }
+            else
+            {
+                in.skipBytes( length );
+            }
+        }
+    }
+
+    /**
+     * Returns the code of the static initializer, skips any other method.
+     */
+    private byte[] readMethod( DataInputStream in ) throws IOException
+    {
+        in.readUnsignedShort();
+
+        final String name = getUtf8( in.readUnsignedShort() );
+
+        in.readUnsignedShort();
+
+        byte[] code = null;
+
+        final int attributesCount = in.readUnsignedShort();
+
+        for( int i = 0; i < attributesCount; i++ )
+        {
+            final String attributeName = getUtf8( in.readUnsignedShort() );
+            final int length = in.readInt();
+
+            if( "<clinit>".equals( name ) && "Code".equals( attributeName ) ) //$NON-NLS-1$ //$NON-NLS-2$
+            {
+                in.readUnsignedShort();
+                in.readUnsignedShort();
+
+                code = new byte[in.readInt()];
+
+                in.readFully( code );
+
+                in.skipBytes( length - 8 - code.length );
+            }
+            else
+            {
+                in.skipBytes( length );
+            }
+        }
+
+        return code;
+    }
+
+    /**
+     * Walks the static initializer and records the string, or the array of
+     * strings, that was pushed right before each store into a static field
+     * of this class.
+     */
+    private void readStaticInitializer( byte[] code )
+    {
+        Object pending = null;
+        List<String> array = null;
+
+        int offset = 0;
+
+        while( offset < code.length )
+        {
+            final int opcode = code[offset] & 0xff;
+
+            switch( opcode )
+            {
+                case LDC:
+                    pending = getConstant( code[offset + 1] & 0xff );
+                    break;
+
+                case LDC_W:
+                    pending = getConstant( readUnsignedShort( code, offset + 1 ) );
+                    break;
+
+                case ANEWARRAY:
+                    array = new ArrayList<String>();
+                    pending = null;
+                    break;
+
+                case AASTORE:
+                    if( ( array != null ) && ( pending instanceof String ) )
+                    {
+                        array.add( (String) pending );
+                    }
+                    else
+                    {
+                        array = null;
+                    }
+
+                    pending = null;
+                    break;
+
+                case PUTSTATIC:
+                    final String fieldName = getOwnFieldName( readUnsignedShort( code, offset + 1 ) );
+
+                    if( fieldName != null )
+                    {
+                        if( array != null )
+                        {
+                            staticValues.put( fieldName, array.toArray( new String[array.size()] ) );
+                        }
+                        else if( pending != null )
+                        {
+                            staticValues.put( fieldName, pending );
+                        }
+                    }
+
+                    pending = null;
+                    array = null;
+                    break;
+
+                default:
+                    pending = null;
+
+                    // an array element is stored with dup, the index push, ldc and aastore
+
+                    if( !isArrayElementOperand( opcode ) )
+                    {
+                        array = null;
+                    }
+            }
+
+            final int length = getInstructionLength( code, offset );
+
+            if( length <= 0 )
+            {
+                return;
+            }
+
+            offset += length;
+        }
+    }
+
+    private int getInstructionLength( byte[] code, int offset )
+    {
+        final int opcode = code[offset] & 0xff;
+
+        if( opcode == WIDE )
+        {
+            return ( ( code[offset + 1] & 0xff ) == IINC ) ? 6 : 4;
+        }
+
+        if( ( opcode != TABLESWITCH ) && ( opcode != LOOKUPSWITCH ) )
+        {
+            return INSTRUCTION_LENGTHS[opcode];
+        }
+
+        final int padding = 3 - ( offset % 4 );
+
+        final int operands = offset + 1 + padding;
+
+        if( opcode == TABLESWITCH )
+        {
+            final int low = readInt( code, operands + 4 );
+            final int high = readInt( code, operands + 8 );
+
+            return 1 + padding + 12 + ( ( high - low + 1 ) * 4 );
+        }
+
+        final int pairs = readInt( code, operands + 4 );
+
+        return 1 + padding + 8 + ( pairs * 8 );
+    }
+
+    private boolean isArrayElementOperand( int opcode )
+    {
+        return ( opcode == DUP ) || ( ( opcode >= ICONST_0 ) && ( opcode <= ICONST_5 ) ) || ( opcode == BIPUSH ) ||
+            ( opcode == SIPUSH );
+    }
+
+    private int readInt( byte[] code, int offset )
+    {
+        return ( ( code[offset] & 0xff ) << 24 ) | ( ( code[offset + 1] & 0xff ) << 16 ) |
+            ( ( code[offset + 2] & 0xff ) << 8 ) | ( code[offset + 3] & 0xff );
+    }
+
+    private int readUnsignedShort( byte[] code, int offset )
+    {
+        return ( ( code[offset] & 0xff ) << 8 ) | ( code[offset + 1] & 0xff );
+    }
+
+}
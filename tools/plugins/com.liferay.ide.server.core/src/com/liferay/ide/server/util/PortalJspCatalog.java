@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.server.util;
+
+import com.liferay.ide.server.core.LiferayServerCore;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Catalogue of the jsp and jspf files of a portal, relative to the portal
+ * directory (e.g. <code>html/common/init.jsp</code>). The catalogue is built
+ * once, persisted in the server core state location and reused for as long as
+ * the modification time of the scanned root directory is unchanged.
+ *
+ * @author agent
+ */
+public class PortalJspCatalog
+{
+
+    private static final Map<IPath, PortalJspCatalog> catalogs = new ConcurrentHashMap<IPath, PortalJspCatalog>();
+
+    public static PortalJspCatalog getCatalog( IPath appServerPortalDir )
+    {
+        return catalogs.computeIfAbsent( appServerPortalDir, PortalJspCatalog::new );
+    }
+
+    private final Object buildLock = new Object();
+    private Job buildJob;
+    private volatile Set<String> jspPaths;
+    private final IPath portalDir;
+    private volatile long stamp;
+
+    private PortalJspCatalog( IPath portalDir )
+    {
+        this.portalDir = portalDir;
+    }
+
+    /**
+     * Checks the catalogue when it is available and falls back to the file
+     * system otherwise, so callers never wait for the scan.
+     */
+    public boolean contains( String relativePath )
+    {
+        final Set<String> paths = getJspPaths();
+
+        if( paths != null )
+        {
+            String path = relativePath.replace( '\\', '/' );
+
+            while( path.startsWith( "/" ) ) //$NON-NLS-1$
+            {
+                path = path.substring( 1 );
+            }
+
+            return paths.contains( path );
+        }
+
+        return portalDir.append( relativePath ).toFile().exists();
+    }
+
+    /**
+     * Returns the catalogue if it is up to date, without scheduling a build.
+     */
+    public Set<String> getCurrentJspPaths()
+    {
+        final Set<String> paths = jspPaths;
+
+        if( paths != null && stamp == getRootDir().lastModified() )
+        {
+            return paths;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the catalogue if it is up to date, otherwise schedules a build
+     * and returns <code>null</code>.
+     */
+    public Set<String> getJspPaths()
+    {
+        final Set<String> paths = getCurrentJspPaths();
+
+        if( paths == null )
+        {
+            scheduleBuild();
+        }
+
+        return paths;
+    }
+
+    /**
+     * Returns the catalogue, building it in the calling thread when needed. A
+     * scan that fails or is cancelled is not remembered, so the next call scans
+     * again, and an empty set is returned for it.
+     */
+    public Set<String> getJspPaths( IProgressMonitor monitor )
+    {
+        synchronized( buildLock )
+        {
+            final File rootDir = getRootDir();
+
+            final long rootStamp = rootDir.lastModified();
+
+            if( jspPaths != null && stamp == rootStamp )
+            {
+                return jspPaths;
+            }
+
+            Set<String> paths = load( rootStamp );
+
+            if( paths == null )
+            {
+                paths = scan( rootDir, monitor );
+
+                if( paths == null )
+                {
+                    return Collections.emptySet();
+                }
+
+                store( rootStamp, paths );
+            }
+
+            stamp = rootStamp;
+            jspPaths = Collections.unmodifiableSet( paths );
+
+            return jspPaths;
+        }
+    }
+
+    /**
+     * Schedules a background build of the catalogue. Returns the job so
+     * callers can be notified when it is done.
+     */
+    public synchronized Job scheduleBuild()
+    {
+        if( buildJob == null )
+        {
+            buildJob = new Job( "Indexing portal jsp files in " + portalDir.toOSString() ) //$NON-NLS-1$
+            {
+                @Override
+                protected IStatus run( IProgressMonitor monitor )
+                {
+                    getJspPaths( monitor );
+
+                    return Status.OK_STATUS;
+                }
+            };
+
+            buildJob.setSystem( true );
+        }
+
+        if( buildJob.getState() == Job.NONE )
+        {
+            buildJob.schedule();
+        }
+
+        return buildJob;
+    }
+
+    private File getCatalogFile()
+    {
+        final String name = Integer.toHexString( portalDir.toPortableString().hashCode() ) + ".jsps"; //$NON-NLS-1$
+
+        return LiferayServerCore.getDefault().getStateLocation().append( "jspCatalogs" ).append( name ).toFile(); //$NON-NLS-1$
+    }
+
+    private File getRootDir()
+    {
+        final File htmlDir = portalDir.append( "html" ).toFile(); //$NON-NLS-1$
+
+        if( htmlDir.exists() )
+        {
+            return htmlDir;
+        }
+
+        return portalDir.toFile();
+    }
+
+    private Set<String> load( long rootStamp )
+    {
+        final File catalogFile = getCatalogFile();
+
+        if( !catalogFile.exists() )
+        {
+            return null;
+        }
+
+        try( BufferedReader reader = Files.newBufferedReader( catalogFile.toPath(), StandardCharsets.UTF_8 ) )
+        {
+            final String dir = reader.readLine();
+            final String storedStamp = reader.readLine();
+
+            if( !portalDir.toPortableString().equals( dir ) || !Long.toString( rootStamp ).equals( storedStamp ) )
+            {
+                return null;
+            }
+
+            final Set<String> paths = new HashSet<String>();
+
+            String line = null;
+
+            while( ( line = reader.readLine() ) != null )
+            {
+                paths.add( line );
+            }
+
+            return paths;
+        }
+        catch( IOException e )
+        {
+            return null;
+        }
+    }
+
+    private Set<String> scan( File rootDir, IProgressMonitor monitor )
+    {
+        if( !rootDir.exists() )
+        {
+            return null;
+        }
+
+        final java.nio.file.Path portalPath = portalDir.toFile().toPath();
+
+        final Set<String> paths = new HashSet<String>();
+
+        try
+        {
+            Files.walkFileTree( rootDir.toPath(), new SimpleFileVisitor<java.nio.file.Path>()
+            {
+                @Override
+                public FileVisitResult preVisitDirectory( java.nio.file.Path dir, BasicFileAttributes attrs )
+                {
+                    if( monitor != null && monitor.isCanceled() )
+                    {
+                        return FileVisitResult.TERMINATE;
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile( java.nio.file.Path file, BasicFileAttributes attrs )
+                {
+                    final String fileName = file.getFileName().toString();
+
+                    if( fileName.endsWith( ".jsp" ) || fileName.endsWith( ".jspf" ) ) //$NON-NLS-1$ //$NON-NLS-2$
+                    {
+                        paths.add( portalPath.relativize( file ).toString().replace( File.separatorChar, '/' ) );
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed( java.nio.file.Path file, IOException exc )
+                {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        catch( IOException e )
+        {
+            LiferayServerCore.logError( "Unable to index jsp files of " + portalDir, e ); //$NON-NLS-1$
+
+            return null;
+        }
+
+        if( monitor != null && monitor.isCanceled() )
+        {
+            return null;
+        }
+
+        return paths;
+    }
+
+    private void store( long rootStamp, Set<String> paths )
+    {
+        final File catalogFile = getCatalogFile();
+
+        catalogFile.getParentFile().mkdirs();
+
+        try( BufferedWriter writer = Files.newBufferedWriter( catalogFile.toPath(), StandardCharsets.UTF_8 ) )
+        {
+            writer.write( portalDir.toPortableString() );
+            writer.newLine();
+            writer.write( Long.toString( rootStamp ) );
+            writer.newLine();
+
+            for( String path : paths )
+            {
+                writer.write( path );
+                writer.newLine();
+            }
+        }
+        catch( IOException e )
+        {
+            LiferayServerCore.logError( "Unable to store jsp catalog of " + portalDir, e ); //$NON-NLS-1$
+        }
+    }
+
+}
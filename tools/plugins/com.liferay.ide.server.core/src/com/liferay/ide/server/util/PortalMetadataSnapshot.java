@@ -0,0 +1,720 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.server.util;
+
+import com.liferay.ide.core.PortalArtifact;
+import com.liferay.ide.core.PortalArtifactIndex;
+import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.ListUtil;
+import com.liferay.ide.server.core.LiferayServerCore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.core.runtime.IPath;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+/**
+ * Metadata of a portal that used to be read by loading portal classes: the
+ * properties a hook may override, the release info, the portlet categories of
+ * <code>content/Language.properties</code> and the names of the portal servlet
+ * filters. Classes are read as bytecode, nothing is loaded or initialized. The
+ * snapshot is taken in one pass over the portal jars, persisted in the server
+ * core state location and reused for as long as the size and modification
+ * time of every file it was read from are unchanged. There is one snapshot per
+ * portal directory, extra libraries asked for later are added to it. Without a
+ * portal directory a snapshot only covers the exact libraries it was read from.
+ *
+ * @author agent
+ */
+public class PortalMetadataSnapshot
+{
+
+    private static final String HOOK_LISTENER_CLASS =
+        "com/liferay/portal/deploy/hot/HookHotDeployListener.class"; //$NON-NLS-1$
+    private static final String LANGUAGE_PROPERTIES = "content/Language.properties"; //$NON-NLS-1$
+    private static final String RELEASE_INFO_CLASS = "com/liferay/portal/kernel/util/ReleaseInfo.class"; //$NON-NLS-1$
+
+    // the portal jars that usually hold the classes we are looking for are read first
+
+    private static final List<String> PORTAL_JARS =
+        Arrays.asList( "portal-impl.jar", "portal-kernel.jar", "portal-service.jar" );
+
+    private static final String KEY_CATEGORY_PREFIX = "category."; //$NON-NLS-1$
+    private static final String KEY_FILTER_NAMES = "snapshot.filterNames"; //$NON-NLS-1$
+    private static final String KEY_HOOK_PROPERTIES = "snapshot.hookProperties"; //$NON-NLS-1$
+    private static final String KEY_ID = "snapshot.id"; //$NON-NLS-1$
+    private static final String KEY_LAST_MODIFIED = ".lastModified"; //$NON-NLS-1$
+    private static final String KEY_LENGTH = ".length"; //$NON-NLS-1$
+    private static final String KEY_LIB = "snapshot.lib."; //$NON-NLS-1$
+    private static final String KEY_SERVER_INFO = "snapshot.serverInfo"; //$NON-NLS-1$
+    private static final String KEY_SOURCE = "snapshot.source."; //$NON-NLS-1$
+    private static final String KEY_VERSION = "snapshot.version"; //$NON-NLS-1$
+
+    private static final Map<String, PortalMetadataSnapshot> snapshots =
+        new ConcurrentHashMap<String, PortalMetadataSnapshot>();
+
+    /**
+     * Returns the snapshot of the portal in the given directory, reading the
+     * given extra libraries as well (e.g. the <code>lib/ext</code> jars of the
+     * app server). Either argument may be <code>null</code>.
+     */
+    public static PortalMetadataSnapshot getSnapshot( IPath portalDir, IPath[] extraLibs )
+    {
+        final List<File> libs = getLibs( extraLibs );
+        final String id = getId( portalDir, libs );
+
+        PortalMetadataSnapshot snapshot = snapshots.get( id );
+
+        if( snapshot != null && snapshot.isCurrent( libs ) )
+        {
+            return snapshot;
+        }
+
+        synchronized( snapshots )
+        {
+            snapshot = snapshots.get( id );
+
+            if( snapshot == null )
+            {
+                snapshot = load( id );
+            }
+
+            if( snapshot == null || !snapshot.isCurrent( libs ) )
+            {
+                // keep the libraries an earlier caller asked for, so callers passing different libraries share one
+                // snapshot instead of taking turns replacing it
+
+                final Set<File> allLibs = new LinkedHashSet<File>( libs );
+
+                if( snapshot != null )
+                {
+                    allLibs.addAll( snapshot.libs );
+                }
+
+                snapshot = new PortalMetadataSnapshot( id );
+
+                snapshot.read( portalDir, allLibs );
+                snapshot.store();
+            }
+
+            snapshots.put( id, snapshot );
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Servlet filters are read from <code>liferay-web.xml</code>, or from
+     * <code>web.xml</code> if the portal does not have one.
+     */
+    private static List<File> getFiltersXmls( IPath portalDir )
+    {
+        final List<File> filtersXmls = new ArrayList<File>();
+
+        if( portalDir != null )
+        {
+            filtersXmls.add( portalDir.append( "WEB-INF/liferay-web.xml" ).toFile() ); //$NON-NLS-1$
+            filtersXmls.add( portalDir.append( "WEB-INF/web.xml" ).toFile() ); //$NON-NLS-1$
+        }
+
+        return filtersXmls;
+    }
+
+    /**
+     * Snapshots of a portal directory are shared by all its callers, without a
+     * portal directory the libraries are all that tells portals apart.
+     */
+    private static String getId( IPath portalDir, List<File> libs )
+    {
+        if( portalDir != null )
+        {
+            return portalDir.toPortableString();
+        }
+
+        final StringBuilder sb = new StringBuilder();
+
+        for( File lib : libs )
+        {
+            sb.append( File.pathSeparatorChar );
+            sb.append( lib.getPath() );
+        }
+
+        return sb.toString();
+    }
+
+    private static List<File> getJars( IPath portalDir, Set<File> libs )
+    {
+        final List<File> jars = new ArrayList<File>();
+
+        final PortalArtifactIndex artifactIndex = PortalArtifactIndex.getIndex( portalDir );
+
+        if( artifactIndex != null )
+        {
+            for( PortalArtifact jar : artifactIndex.getJars() )
+            {
+                jars.add( jar.getFile() );
+            }
+        }
+
+        for( File lib : libs )
+        {
+            if( lib.isFile() && !jars.contains( lib ) )
+            {
+                jars.add( lib );
+            }
+        }
+
+        final List<File> portalJars = new ArrayList<File>();
+
+        for( File jar : jars )
+        {
+            if( PORTAL_JARS.contains( jar.getName() ) )
+            {
+                portalJars.add( jar );
+            }
+        }
+
+        jars.removeAll( portalJars );
+        jars.addAll( 0, portalJars );
+
+        return jars;
+    }
+
+    private static List<File> getLibs( IPath[] extraLibs )
+    {
+        final List<File> libs = new ArrayList<File>();
+
+        if( ListUtil.isNotEmpty( extraLibs ) )
+        {
+            for( IPath extraLib : extraLibs )
+            {
+                final File lib = extraLib.toFile();
+
+                if( lib.isFile() )
+                {
+                    libs.add( lib );
+                }
+            }
+        }
+
+        return libs;
+    }
+
+    private static File getSnapshotFile( String id )
+    {
+        final String name = CoreUtil.createStringDigest( id ) + ".properties"; //$NON-NLS-1$
+
+        final IPath stateLocation = LiferayServerCore.getDefault().getStateLocation();
+
+        return stateLocation.append( "portalMetadata" ).append( name ).toFile(); //$NON-NLS-1$
+    }
+
+    private static String join( String[] values )
+    {
+        final StringBuilder sb = new StringBuilder();
+
+        for( String value : values )
+        {
+            if( sb.length() > 0 )
+            {
+                sb.append( ',' );
+            }
+
+            sb.append( value );
+        }
+
+        return sb.toString();
+    }
+
+    private static PortalMetadataSnapshot load( String id )
+    {
+        final File snapshotFile = getSnapshotFile( id );
+
+        if( !snapshotFile.exists() )
+        {
+            return null;
+        }
+
+        final Properties properties = new Properties();
+
+        try( InputStream in = Files.newInputStream( snapshotFile.toPath() ) )
+        {
+            properties.load( in );
+        }
+        catch( IOException e )
+        {
+            return null;
+        }
+
+        if( !id.equals( properties.getProperty( KEY_ID ) ) )
+        {
+            return null;
+        }
+
+        final PortalMetadataSnapshot snapshot = new PortalMetadataSnapshot( id );
+
+        for( int i = 0; properties.getProperty( KEY_SOURCE + i ) != null; i++ )
+        {
+            final File source = new File( properties.getProperty( KEY_SOURCE + i ) );
+
+            try
+            {
+                final long length = Long.parseLong( properties.getProperty( KEY_SOURCE + i + KEY_LENGTH ) );
+                final long lastModified =
+                    Long.parseLong( properties.getProperty( KEY_SOURCE + i + KEY_LAST_MODIFIED ) );
+
+                snapshot.sources.add( new Source( source, length, lastModified ) );
+            }
+            catch( NumberFormatException e )
+            {
+                return null;
+            }
+        }
+
+        for( int i = 0; properties.getProperty( KEY_LIB + i ) != null; i++ )
+        {
+            snapshot.libs.add( new File( properties.getProperty( KEY_LIB + i ) ) );
+        }
+
+        snapshot.hookProperties = split( properties.getProperty( KEY_HOOK_PROPERTIES ) );
+        snapshot.serverInfo = properties.getProperty( KEY_SERVER_INFO );
+        snapshot.version = properties.getProperty( KEY_VERSION );
+        snapshot.filterNames = split( properties.getProperty( KEY_FILTER_NAMES ) );
+
+        final Enumeration<?> names = properties.propertyNames();
+
+        while( names.hasMoreElements() )
+        {
+            final String name = names.nextElement().toString();
+
+            if( name.startsWith( KEY_CATEGORY_PREFIX ) )
+            {
+                if( snapshot.categories == null )
+                {
+                    snapshot.categories = new Properties();
+                }
+
+                snapshot.categories.put( name, properties.getProperty( name ) );
+            }
+        }
+
+        return snapshot;
+    }
+
+    private static String[] split( String value )
+    {
+        if( value == null )
+        {
+            return null;
+        }
+
+        if( value.isEmpty() )
+        {
+            return new String[0];
+        }
+
+        return value.split( "," ); //$NON-NLS-1$
+    }
+
+    private Properties categories;
+    private String[] filterNames;
+    private String[] hookProperties;
+    private final String id;
+    private final Set<File> libs = new LinkedHashSet<File>();
+    private String serverInfo;
+    private final List<Source> sources = new ArrayList<Source>();
+    private String version;
+
+    private PortalMetadataSnapshot( String id )
+    {
+        this.id = id;
+    }
+
+    /**
+     * Returns the <code>category.*</code> entries of the portal
+     * <code>Language.properties</code>, or <code>null</code> if the portal
+     * does not have one.
+     */
+    public Properties getCategories()
+    {
+        if( categories == null )
+        {
+            return null;
+        }
+
+        final Properties retval = new Properties();
+
+        retval.putAll( categories );
+
+        return retval;
+    }
+
+    public String[] getHookSupportedProperties()
+    {
+        if( hookProperties == null )
+        {
+            return new String[0];
+        }
+
+        return hookProperties.clone();
+    }
+
+    public String getServerInfo()
+    {
+        return serverInfo;
+    }
+
+    public String[] getServletFilterNames()
+    {
+        if( filterNames == null )
+        {
+            return new String[0];
+        }
+
+        return filterNames.clone();
+    }
+
+    public String getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Returns whether none of the files the snapshot was read from changed
+     * and the given extra libraries were read too.
+     */
+    private boolean isCurrent( List<File> extraLibs )
+    {
+        if( !libs.containsAll( extraLibs ) )
+        {
+            return false;
+        }
+
+        for( Source source : sources )
+        {
+            if( !source.isCurrent() )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void read( IPath portalDir, Set<File> allLibs )
+    {
+        libs.addAll( allLibs );
+
+        final List<File> jars = getJars( portalDir, libs );
+
+        for( File jar : jars )
+        {
+            if( hookProperties != null && serverInfo != null && categories != null )
+            {
+                break;
+            }
+
+            try( ZipFile zipFile = new ZipFile( jar ) )
+            {
+                boolean used = false;
+
+                final ZipEntry hookEntry = hookProperties == null ? zipFile.getEntry( HOOK_LISTENER_CLASS ) : null;
+
+                if( hookEntry != null )
+                {
+                    try( InputStream in = zipFile.getInputStream( hookEntry ) )
+                    {
+                        final ClassConstantsReader hookListener = new ClassConstantsReader( in );
+
+                        final Object value = hookListener.getValue( "SUPPORTED_PROPERTIES" ); //$NON-NLS-1$
+
+                        if( value instanceof String[] )
+                        {
+                            hookProperties = (String[]) value;
+                            used = true;
+                        }
+                    }
+                }
+
+                final ZipEntry releaseInfoEntry = serverInfo == null ? zipFile.getEntry( RELEASE_INFO_CLASS ) : null;
+
+                if( releaseInfoEntry != null )
+                {
+                    try( InputStream in = zipFile.getInputStream( releaseInfoEntry ) )
+                    {
+                        readReleaseInfo( new ClassConstantsReader( in ) );
+                        used = true;
+                    }
+                }
+
+                final ZipEntry languageEntry = categories == null ? zipFile.getEntry( LANGUAGE_PROPERTIES ) : null;
+
+                if( languageEntry != null )
+                {
+                    try( InputStream in = zipFile.getInputStream( languageEntry ) )
+                    {
+                        readCategories( in );
+                        used = true;
+                    }
+                }
+
+                if( used )
+                {
+                    sources.add( new Source( jar ) );
+                }
+            }
+            catch( IOException e )
+            {
+                LiferayServerCore.logError( "Unable to read portal metadata from " + jar, e ); //$NON-NLS-1$
+            }
+        }
+
+        // jars that did not provide anything are tracked too, so a snapshot missing values is taken again if
+        // the portal libraries get replaced
+
+        if( hookProperties == null || serverInfo == null || categories == null )
+        {
+            for( File jar : jars )
+            {
+                final Source source = new Source( jar );
+
+                if( !sources.contains( source ) )
+                {
+                    sources.add( source );
+                }
+            }
+        }
+
+        // extra libraries can be replaced by the user, they are tracked whether they provided anything or not
+
+        for( File lib : libs )
+        {
+            final Source source = new Source( lib );
+
+            if( !sources.contains( source ) )
+            {
+                sources.add( source );
+            }
+        }
+
+        // missing descriptors are tracked as well, so that adding one takes the snapshot again
+
+        for( File filtersXml : getFiltersXmls( portalDir ) )
+        {
+            if( filterNames == null && filtersXml.exists() )
+            {
+                readFilterNames( filtersXml );
+            }
+
+            sources.add( new Source( filtersXml ) );
+        }
+    }
+
+    private void readCategories( InputStream in ) throws IOException
+    {
+        final Properties properties = new Properties();
+
+        properties.load( in );
+
+        categories = new Properties();
+
+        final Enumeration<?> names = properties.propertyNames();
+
+        while( names.hasMoreElements() )
+        {
+            final String name = names.nextElement().toString();
+
+            if( name.startsWith( KEY_CATEGORY_PREFIX ) )
+            {
+                categories.put( name, properties.getProperty( name ) );
+            }
+        }
+    }
+
+    private void readFilterNames( File filtersXml )
+    {
+        final List<String> names = new ArrayList<String>();
+
+        try
+        {
+            final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse( filtersXml );
+
+            final NodeList filterNameElements = document.getElementsByTagName( "filter-name" ); //$NON-NLS-1$
+
+            for( int i = 0; i < filterNameElements.getLength(); i++ )
+            {
+                final String content = filterNameElements.item( i ).getTextContent();
+
+                if( !CoreUtil.isNullOrEmpty( content ) )
+                {
+                    names.add( content.trim() );
+                }
+            }
+        }
+        catch( Exception e )
+        {
+            LiferayServerCore.logError( "Unable to read servlet filter names from " + filtersXml, e ); //$NON-NLS-1$
+        }
+
+        filterNames = names.toArray( new String[names.size()] );
+    }
+
+    /**
+     * Older portals keep the release info in non final fields and build the
+     * server info at runtime, it is rebuilt here the same way.
+     */
+    private void readReleaseInfo( ClassConstantsReader releaseInfo )
+    {
+        final Object name = releaseInfo.getValue( "name" ); //$NON-NLS-1$
+        final Object versionValue = releaseInfo.getValue( "version" ); //$NON-NLS-1$
+        final Object serverInfoValue = releaseInfo.getValue( "serverInfo" ); //$NON-NLS-1$
+
+        if( versionValue instanceof String )
+        {
+            version = (String) versionValue;
+        }
+
+        if( serverInfoValue instanceof String )
+        {
+            serverInfo = (String) serverInfoValue;
+        }
+        else if( name instanceof String && version != null )
+        {
+            serverInfo = name + " / " + version; //$NON-NLS-1$
+        }
+    }
+
+    private void store()
+    {
+        final Properties properties = new Properties();
+
+        properties.setProperty( KEY_ID, id );
+
+        int lib = 0;
+
+        for( File file : libs )
+        {
+            properties.setProperty( KEY_LIB + lib++, file.getPath() );
+        }
+
+        for( int i = 0; i < sources.size(); i++ )
+        {
+            final Source source = sources.get( i );
+
+            properties.setProperty( KEY_SOURCE + i, source.file.getPath() );
+            properties.setProperty( KEY_SOURCE + i + KEY_LENGTH, Long.toString( source.length ) );
+            properties.setProperty( KEY_SOURCE + i + KEY_LAST_MODIFIED, Long.toString( source.lastModified ) );
+        }
+
+        if( hookProperties != null )
+        {
+            properties.setProperty( KEY_HOOK_PROPERTIES, join( hookProperties ) );
+        }
+
+        if( serverInfo != null )
+        {
+            properties.setProperty( KEY_SERVER_INFO, serverInfo );
+        }
+
+        if( version != null )
+        {
+            properties.setProperty( KEY_VERSION, version );
+        }
+
+        if( filterNames != null )
+        {
+            properties.setProperty( KEY_FILTER_NAMES, join( filterNames ) );
+        }
+
+        if( categories != null )
+        {
+            for( String name : categories.stringPropertyNames() )
+            {
+                properties.setProperty( name, categories.getProperty( name ) );
+            }
+        }
+
+        final File snapshotFile = getSnapshotFile( id );
+
+        snapshotFile.getParentFile().mkdirs();
+
+        try( OutputStream out = Files.newOutputStream( snapshotFile.toPath() ) )
+        {
+            properties.store( out, null );
+        }
+        catch( IOException e )
+        {
+            LiferayServerCore.logError( "Unable to store portal metadata of " + id, e ); //$NON-NLS-1$
+        }
+    }
+
+    private static class Source
+    {
+
+        private final File file;
+        private final long lastModified;
+        private final long length;
+
+        public Source( File file )
+        {
+            this( file, file.length(), file.lastModified() );
+        }
+
+        public Source( File file, long length, long lastModified )
+        {
+            this.file = file;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            return obj instanceof Source && file.equals( ( (Source) obj ).file );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return file.hashCode();
+        }
+
+        public boolean isCurrent()
+        {
+            return file.length() == length && file.lastModified() == lastModified;
+        }
+
+    }
+
+}
@@ -54,8 +54,6 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-
 import org.apache.commons.configuration.PropertiesConfiguration;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
@@ -87,9 +85,6 @@ import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.IServerWorkingCopy;
 import org.eclipse.wst.server.core.ServerCore;
 import org.osgi.framework.Version;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * @author Gregory Amerson
@@ -219,40 +214,7 @@ public class ServerUtil
 
     public static Properties getAllCategories( IPath portalDir )
     {
-        Properties retval = null;
-
-        File implJar = portalDir.append( "WEB-INF/lib/portal-impl.jar" ).toFile(); //$NON-NLS-1$
-
-        if( implJar.exists() )
-        {
-            try
-            {
-                JarFile jar = new JarFile( implJar );
-                Properties categories = new Properties();
-                Properties props = new Properties();
-                props.load( jar.getInputStream( jar.getEntry( "content/Language.properties" ) ) ); //$NON-NLS-1$
-                Enumeration<?> names = props.propertyNames();
-
-                while( names.hasMoreElements() )
-                {
-                    String name = names.nextElement().toString();
-
-                    if( name.startsWith( "category." ) ) //$NON-NLS-1$
-                    {
-                        categories.put( name, props.getProperty( name ) );
-                    }
-                }
-
-                retval = categories;
-                jar.close();
-            }
-            catch( IOException e )
-            {
-                LiferayServerCore.logError( e );
-            }
-        }
-
-        return retval;
+        return PortalMetadataSnapshot.getSnapshot( portalDir, null ).getCategories();
     }
 
     public static IPath getAppServerDir( org.eclipse.wst.common.project.facet.core.runtime.IRuntime serverRuntime )
@@ -963,35 +925,7 @@ public class ServerUtil
 
     public static String[] getServletFilterNames( IPath portalDir ) throws Exception
     {
-        List<String> retval = new ArrayList<>();
-
-        File filtersWebXmlFile = portalDir.append( "WEB-INF/liferay-web.xml" ).toFile(); //$NON-NLS-1$
-
-        if( !filtersWebXmlFile.exists() )
-        {
-            filtersWebXmlFile = portalDir.append( "WEB-INF/web.xml" ).toFile(); //$NON-NLS-1$
-        }
-
-        if( filtersWebXmlFile.exists() )
-        {
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse( filtersWebXmlFile );
-
-            NodeList filterNameElements = document.getElementsByTagName( "filter-name" ); //$NON-NLS-1$
-
-            for( int i = 0; i < filterNameElements.getLength(); i++ )
-            {
-                Node filterNameElement = filterNameElements.item( i );
-
-                String content = filterNameElement.getTextContent();
-
-                if( !CoreUtil.isNullOrEmpty( content ) )
-                {
-                    retval.add( content.trim() );
-                }
-            }
-        }
-
-        return retval.toArray( new String[0] );
+        return PortalMetadataSnapshot.getSnapshot( portalDir, null ).getServletFilterNames();
     }
 
     public static IServer getServer( String name )
@@ -180,7 +180,7 @@ public class LiferayTomcatRuntime extends TomcatRuntime implements ILiferayTomca
     @Override
     public String[] getHookSupportedProperties()
     {
-        return new LiferayPortalValueLoader( getUserLibs() ).loadHookPropertiesFromClass();
+        return new LiferayPortalValueLoader( getAppServerPortalDir(), getUserLibs() ).loadHookPropertiesFromClass();
     }
 
     @Override
@@ -245,8 +245,10 @@ public class LiferayTomcatRuntime extends TomcatRuntime implements ILiferayTomca
                 {
                     try
                     {
-                        serverInfo =
-                            new LiferayPortalValueLoader( getUserLibs() ).loadServerInfoFromClass();
+                        final LiferayPortalValueLoader loader =
+                            new LiferayPortalValueLoader( getAppServerPortalDir(), getUserLibs() );
+
+                        serverInfo = loader.loadServerInfoFromClass();
                     }
                     catch( Exception e )
                     {
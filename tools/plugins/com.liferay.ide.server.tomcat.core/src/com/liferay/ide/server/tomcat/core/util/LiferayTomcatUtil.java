@@ -548,7 +548,8 @@ public class LiferayTomcatUtil
 
             if( version == null )
             {
-                final LiferayPortalValueLoader loader = new LiferayPortalValueLoader( runtime.getUserLibs() );
+                final LiferayPortalValueLoader loader =
+                    new LiferayPortalValueLoader( runtime.getAppServerPortalDir(), runtime.getUserLibs() );
 
                 final Version loadedVersion = loader.loadVersionFromClass();
 
@@ -16,96 +16,241 @@ package com.liferay.ide.service.core.job;
 
 import com.liferay.ide.core.ILiferayProject;
 import com.liferay.ide.core.LiferayCore;
+import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.project.core.IProjectBuilder;
+import com.liferay.ide.project.core.SDKProjectBuilder;
 import com.liferay.ide.service.core.ServiceCore;
+import com.liferay.ide.service.core.util.ServiceBuilderFingerprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.osgi.util.NLS;
 
 /**
+ * Runs Service Builder for one or more projects. Unless the build is forced,
+ * projects whose Service Builder inputs are unchanged since their last
+ * successful build are skipped and reported as up to date. The others are
+ * built in parallel, each one locking only its own project and the api project
+ * it generates into. All of them are refreshed once at the end.
+ *
  * @author Gregory Amerson
  * @author Simon Jiang
  */
 public class BuildServiceJob extends Job {
 
 	public BuildServiceJob(IProject project) {
+		this(new IProject[] {project}, true);
+	}
+
+	/**
+	 * @param force <code>true</code> to build every project even if its
+	 *        Service Builder inputs are unchanged
+	 */
+	public BuildServiceJob(IProject[] projects, boolean force) {
 		super(Msgs.buildServices);
 
-		this.project = project;
+		this.projects = projects;
+		this.force = force;
+
+		if (ListUtil.isNotEmpty(projects)) {
+			project = projects[0];
+		}
 
 		setUser(true);
 	}
 
+	@Override
+	public boolean belongsTo(Object family) {
+		return BuildServiceJob.class.equals(family);
+	}
+
+	protected ISchedulingRule getBuildRule(IProject project, IProjectBuilder builder) {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+
+		// SDK builds run an incremental build of the workspace once the sources are generated
+
+		if ((builder instanceof SDKProjectBuilder) || (project.getLocation() == null)) {
+			return workspace.getRoot();
+		}
+
+		return MultiRule.combine(getWrittenProjects(project));
+	}
+
+	/**
+	 * Returns the fingerprint of the inputs of the build, or <code>null</code>
+	 * if the project must be built every time.
+	 */
+	protected String getFingerprint(IProject project) {
+		return ServiceBuilderFingerprint.compute(project);
+	}
+
 	protected IProject getProject() {
 		return project;
 	}
 
-	protected IProjectBuilder getProjectBuilder() throws CoreException {
-		ILiferayProject liferayProject = LiferayCore.create(getProject());
+	protected IProjectBuilder getProjectBuilder(IProject project) throws CoreException {
+		ILiferayProject liferayProject = LiferayCore.create(project);
 
 		if (liferayProject == null) {
 			throw new CoreException(
-				ServiceCore.createErrorStatus(NLS.bind(Msgs.couldNotCreateLiferayProject, getProject())));
+				ServiceCore.createErrorStatus(NLS.bind(Msgs.couldNotCreateLiferayProject, project)));
 		}
 
 		IProjectBuilder builder = liferayProject.adapt(IProjectBuilder.class);
 
 		if (builder == null) {
 			throw new CoreException(
-				ServiceCore.createErrorStatus(NLS.bind(Msgs.couldNotCreateProjectBuilder, getProject())));
+				ServiceCore.createErrorStatus(NLS.bind(Msgs.couldNotCreateProjectBuilder, project)));
 		}
 
 		return builder;
 	}
 
+	/**
+	 * Returns the project together with the <code>-api</code> project Service
+	 * Builder writes the api sources of a <code>-service</code> project into.
+	 */
+	protected IProject[] getWrittenProjects(IProject project) {
+		IPath apiLocation = ServiceBuilderFingerprint.getApiLocation(project);
+
+		if (apiLocation != null) {
+			for (IProject workspaceProject : CoreUtil.getAllProjects()) {
+				if (apiLocation.equals(workspaceProject.getLocation())) {
+					return new IProject[] {project, workspaceProject};
+				}
+			}
+		}
+
+		return new IProject[] {project};
+	}
+
+	protected boolean isBuildRequired(IProject project, String fingerprint) {
+		if (force) {
+			return true;
+		}
+
+		return !ServiceBuilderFingerprint.isUpToDate(project, fingerprint);
+	}
+
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		IStatus retval = null;
-
-		if (getProject() == null) {
+		if ((getProject() == null) || ListUtil.isEmpty(projects)) {
 			return ServiceCore.createErrorStatus(Msgs.useLiferayProjectImportWizard);
 		}
 
-		monitor.beginTask(Msgs.buildingLiferayServices, 100);
+		monitor.beginTask(Msgs.buildingLiferayServices, projects.length + 1);
 
-		IWorkspaceRunnable workspaceRunner = new IWorkspaceRunnable() {
+		List<ProjectBuildJob> buildJobs = new ArrayList<>();
+		Set<IProject> refreshProjects = new LinkedHashSet<>();
+		List<IStatus> upToDateStatuses = new ArrayList<>();
 
-			public void run(IProgressMonitor monitor) throws CoreException {
-				runBuild(monitor);
+		for (IProject project : projects) {
+			String fingerprint = getFingerprint(project);
+
+			if (!isBuildRequired(project, fingerprint)) {
+				upToDateStatuses.add(
+					new Status(IStatus.INFO, ServiceCore.PLUGIN_ID, NLS.bind(Msgs.servicesUpToDate, project.getName())));
+
+				monitor.worked(1);
+
+				continue;
 			}
 
-		};
+			IProjectBuilder builder = null;
+
+			try {
+				builder = getProjectBuilder(project);
+			}
+			catch (CoreException ce) {
+				return ServiceCore.createErrorStatus(ce);
+			}
+
+			ProjectBuildJob buildJob = new ProjectBuildJob(project, builder, fingerprint);
+
+			buildJob.setRule(getBuildRule(project, builder));
+
+			buildJobs.add(buildJob);
+
+			if (project.getLocation() != null) {
+				Collections.addAll(refreshProjects, getWrittenProjects(project));
+			}
+		}
+
+		for (ProjectBuildJob buildJob : buildJobs) {
+			buildJob.schedule();
+		}
+
+		MultiStatus retval = new MultiStatus(ServiceCore.PLUGIN_ID, 0, Msgs.buildingLiferayServices, null);
+
+		for (ProjectBuildJob buildJob : buildJobs) {
+			try {
+				buildJob.join();
+			}
+			catch (InterruptedException ie) {
+				return Status.CANCEL_STATUS;
+			}
+
+			IStatus result = buildJob.getResult();
+
+			if (result != null) {
+				retval.add(result);
+			}
+
+			monitor.worked(1);
+		}
 
 		try {
-			ResourcesPlugin.getWorkspace().run(workspaceRunner, monitor);
+			_refresh(refreshProjects, monitor);
 		}
 		catch (CoreException ce) {
-			retval = ServiceCore.createErrorStatus(ce);
+			retval.add(ServiceCore.createErrorStatus(ce));
 		}
 
-		if ((retval == null) || retval.isOK()) {
-			return Status.OK_STATUS;
+		monitor.done();
+
+		if (retval.isOK()) {
+			if (upToDateStatuses.isEmpty()) {
+				return Status.OK_STATUS;
+			}
+
+			for (IStatus upToDateStatus : upToDateStatuses) {
+				retval.add(upToDateStatus);
+			}
+		}
+
+		if (retval.getChildren().length == 1) {
+			return retval.getChildren()[0];
 		}
 
 		return retval;
 	}
 
-	protected void runBuild(IProgressMonitor monitor) throws CoreException {
-		IProjectBuilder builder = getProjectBuilder();
-
+	protected void runBuild(IProject project, IProjectBuilder builder, IProgressMonitor monitor) throws CoreException {
 		monitor.worked(50);
 
 		IStatus retval = builder.buildService(monitor);
 
 		if (retval == null) {
-			retval = ServiceCore.createErrorStatus(NLS.bind(Msgs.errorRunningBuildService, getProject()));
+			retval = ServiceCore.createErrorStatus(NLS.bind(Msgs.errorRunningBuildService, project));
 		}
 
 		if ((retval == null) || !retval.isOK()) {
@@ -115,15 +260,43 @@ public class BuildServiceJob extends Job {
 		monitor.worked(90);
 	}
 
+	private void _refresh(Set<IProject> refreshProjects, IProgressMonitor monitor) throws CoreException {
+		if (refreshProjects.isEmpty()) {
+			return;
+		}
+
+		IWorkspaceRunnable refreshRunnable = new IWorkspaceRunnable() {
+
+			public void run(IProgressMonitor monitor) throws CoreException {
+				for (IProject refreshProject : refreshProjects) {
+					if (refreshProject.isAccessible()) {
+						refreshProject.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+					}
+				}
+			}
+
+		};
+
+		IProject[] rule = refreshProjects.toArray(new IProject[0]);
+
+		ResourcesPlugin.getWorkspace().run(refreshRunnable, MultiRule.combine(rule), IWorkspace.AVOID_UPDATE, monitor);
+
+		monitor.worked(1);
+	}
+
+	protected boolean force;
 	protected IProject project;
+	protected IProject[] projects;
 
 	protected static class Msgs extends NLS {
 
 		public static String buildingLiferayServices;
 		public static String buildServices;
+		public static String buildServicesFor;
 		public static String couldNotCreateLiferayProject;
 		public static String couldNotCreateProjectBuilder;
 		public static String errorRunningBuildService;
+		public static String servicesUpToDate;
 		public static String useConvertLiferayProject;
 		public static String useLiferayProjectImportWizard;
 
@@ -133,4 +306,50 @@ public class BuildServiceJob extends Job {
 
 	}
 
-}
\ No newline at end of file
+	private class ProjectBuildJob extends Job {
+
+		public ProjectBuildJob(IProject project, IProjectBuilder builder, String fingerprint) {
+			super(NLS.bind(Msgs.buildServicesFor, project.getName()));
+
+			_project = project;
+			_builder = builder;
+			_fingerprint = fingerprint;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return BuildServiceJob.class.equals(family);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			monitor.beginTask(getName(), 100);
+
+			try {
+				if (_fingerprint != null) {
+					ServiceBuilderFingerprint.clear(_project);
+				}
+
+				runBuild(_project, _builder, monitor);
+
+				if (_fingerprint != null) {
+					ServiceBuilderFingerprint.store(_project, _fingerprint);
+				}
+			}
+			catch (CoreException ce) {
+				return ServiceCore.createErrorStatus(ce);
+			}
+			finally {
+				monitor.done();
+			}
+
+			return Status.OK_STATUS;
+		}
+
+		private final IProjectBuilder _builder;
+		private final String _fingerprint;
+		private final IProject _project;
+
+	}
+
+}
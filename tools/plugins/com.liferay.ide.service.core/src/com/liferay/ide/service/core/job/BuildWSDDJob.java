@@ -30,22 +30,31 @@ import org.eclipse.osgi.util.NLS;
 public class BuildWSDDJob extends BuildServiceJob {
 
 	public BuildWSDDJob(IProject project) {
-		super(project);
+		this(new IProject[] {project});
+	}
+
+	public BuildWSDDJob(IProject[] projects) {
+		super(projects, true);
 
 		setName(Msgs.buildWSDD);
 		setUser(true);
 	}
 
 	@Override
-	protected void runBuild(IProgressMonitor monitor) throws CoreException {
-		IProjectBuilder builder = getProjectBuilder();
+	protected String getFingerprint(IProject project) {
+		return null;
+	}
+
+	@Override
+	protected void runBuild(IProject project, IProjectBuilder builder, IProgressMonitor monitor)
+		throws CoreException {
 
 		monitor.worked(50);
 
 		IStatus retval = builder.buildWSDD(monitor);
 
 		if (retval == null) {
-			retval = ServiceCore.createErrorStatus(NLS.bind(Msgs.errorRunningBuildWSDD, getProject()));
+			retval = ServiceCore.createErrorStatus(NLS.bind(Msgs.errorRunningBuildWSDD, project));
 		}
 
 		if ((retval == null) || !retval.isOK()) {
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.service.core.util;
+
+import com.liferay.ide.core.ILiferayConstants;
+import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.FileUtil;
+import com.liferay.ide.service.core.ServiceCore;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.QualifiedName;
+
+/**
+ * Digest of the Service Builder inputs of a project: its
+ * <code>service.xml</code> files, the files they include through
+ * <code>service-builder-import</code>, <code>service-ext.properties</code>, the
+ * build files that configure Service Builder and the custom templates those
+ * build files point to. The digest of the last successful build is kept as a
+ * persistent property of the project.
+ *
+ * @author agent
+ */
+public class ServiceBuilderFingerprint {
+
+	public static void clear(IProject project) {
+		_setStoredFingerprint(project, null);
+	}
+
+	/**
+	 * Returns the digest of the current inputs, or <code>null</code> if the
+	 * project has no <code>service.xml</code>.
+	 */
+	public static String compute(IProject project) {
+		Set<File> inputs = new LinkedHashSet<>();
+
+		for (File serviceXml : _getServiceXmlFiles(project)) {
+			_addInputs(serviceXml, inputs);
+		}
+
+		if (inputs.isEmpty()) {
+			return null;
+		}
+
+		File projectDir = project.getLocation().toFile();
+
+		for (String path : _SERVICE_EXT_PROPERTIES_PATHS) {
+			inputs.add(new File(projectDir, path));
+		}
+
+		for (String buildFileName : _BUILD_FILE_NAMES) {
+			File buildFile = new File(projectDir, buildFileName);
+
+			inputs.add(buildFile);
+
+			_addTemplates(buildFile, inputs);
+		}
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+
+			for (File input : inputs) {
+				digest.update(input.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+
+				if (input.isFile()) {
+					digest.update(Files.readAllBytes(input.toPath()));
+				}
+				else {
+					digest.update((byte)0);
+				}
+			}
+
+			StringBuilder sb = new StringBuilder();
+
+			for (byte b : digest.digest()) {
+				sb.append(String.format("%02x", b & 0xff));
+			}
+
+			return sb.toString();
+		}
+		catch (IOException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the location of the api sources generated for a
+	 * <code>-service</code> project, which by default are written into the
+	 * <code>-api</code> project next to it, or <code>null</code> if the project
+	 * does not follow that layout.
+	 */
+	public static IPath getApiLocation(IProject project) {
+		IPath location = project.getLocation();
+
+		String name = project.getName();
+
+		if ((location == null) || !name.endsWith(_SERVICE_SUFFIX)) {
+			return null;
+		}
+
+		String apiName = name.substring(0, name.length() - _SERVICE_SUFFIX.length()) + "-api";
+
+		return location.removeLastSegments(1).append(apiName);
+	}
+
+	/**
+	 * Returns <code>true</code> if the inputs are unchanged since the last
+	 * successful build stored with {@link #store(IProject, String)} and the
+	 * sources generated by that build are still there.
+	 */
+	public static boolean isUpToDate(IProject project, String fingerprint) {
+		if ((fingerprint == null) || !fingerprint.equals(_getStoredFingerprint(project))) {
+			return false;
+		}
+
+		return _hasGeneratedSources(project);
+	}
+
+	public static void store(IProject project, String fingerprint) {
+		_setStoredFingerprint(project, fingerprint);
+	}
+
+	private static void _addInputs(File file, Set<File> inputs) {
+		if (!inputs.add(file) || !file.isFile()) {
+			return;
+		}
+
+		String content = FileUtil.readContents(file);
+
+		if (content == null) {
+			return;
+		}
+
+		Matcher matcher = _importPattern.matcher(content);
+
+		while (matcher.find()) {
+			_addInputs(new File(file.getParentFile(), matcher.group(1)), inputs);
+		}
+	}
+
+	private static void _addTemplates(File buildFile, Set<File> inputs) {
+		if (!buildFile.isFile()) {
+			return;
+		}
+
+		String content = FileUtil.readContents(buildFile);
+
+		if (content == null) {
+			return;
+		}
+
+		Matcher matcher = _templatePattern.matcher(content);
+
+		while (matcher.find()) {
+			File template = new File(matcher.group(1));
+
+			if (!template.isAbsolute()) {
+				template = new File(buildFile.getParentFile(), matcher.group(1));
+			}
+
+			inputs.add(template);
+		}
+	}
+
+	private static List<File> _getServiceXmlFiles(IProject project) {
+		List<File> files = new ArrayList<>();
+
+		IPath location = project.getLocation();
+
+		if (location == null) {
+			return files;
+		}
+
+		File serviceXml = location.append(ILiferayConstants.SERVICE_XML_FILE).toFile();
+
+		if (serviceXml.exists()) {
+			files.add(serviceXml);
+		}
+
+		IFolder docroot = CoreUtil.getDefaultDocrootFolder(project);
+
+		if (FileUtil.exists(docroot)) {
+			IPath docrootLocation = docroot.getLocation();
+
+			File docrootServiceXml = docrootLocation.append("WEB-INF/" + ILiferayConstants.SERVICE_XML_FILE).toFile();
+
+			if (docrootServiceXml.exists()) {
+				files.add(docrootServiceXml);
+			}
+		}
+
+		return files;
+	}
+
+	private static String _getStoredFingerprint(IProject project) {
+		try {
+			return project.getPersistentProperty(_FINGERPRINT_KEY);
+		}
+		catch (CoreException ce) {
+			return null;
+		}
+	}
+
+	private static boolean _hasGeneratedSources(IProject project) {
+		IPath location = project.getLocation();
+
+		boolean serviceProperties = false;
+
+		for (String path : _SERVICE_PROPERTIES_PATHS) {
+			if (FileUtil.exists(location.append(path).toFile())) {
+				serviceProperties = true;
+
+				break;
+			}
+		}
+
+		if (!serviceProperties) {
+			return false;
+		}
+
+		IPath apiLocation = getApiLocation(project);
+
+		if ((apiLocation == null) || !FileUtil.exists(apiLocation.toFile())) {
+			return true;
+		}
+
+		return FileUtil.exists(apiLocation.append("src/main/java").toFile());
+	}
+
+	private static void _setStoredFingerprint(IProject project, String fingerprint) {
+		try {
+			if (project.isAccessible()) {
+				project.setPersistentProperty(_FINGERPRINT_KEY, fingerprint);
+			}
+		}
+		catch (CoreException ce) {
+			ServiceCore.logError(ce);
+		}
+	}
+
+	private static final String[] _BUILD_FILE_NAMES = {"build.gradle", "build.properties", "build.xml", "pom.xml"};
+
+	private static final QualifiedName _FINGERPRINT_KEY = new QualifiedName(
+		ServiceCore.PLUGIN_ID, "serviceBuilderFingerprint");
+
+	private static final String[] _SERVICE_EXT_PROPERTIES_PATHS = {
+		"service-ext.properties", "src/main/resources/service-ext.properties",
+		"docroot/WEB-INF/src/service-ext.properties"
+	};
+
+	private static final String[] _SERVICE_PROPERTIES_PATHS = {
+		"src/main/resources/service.properties", "docroot/WEB-INF/src/service.properties"
+	};
+
+	private static final String _SERVICE_SUFFIX = "-service";
+
+	private static final Pattern _importPattern = Pattern.compile(
+		"<service-builder-import\\s+file\\s*=\\s*\"([^\"]+)\"");
+	private static final Pattern _templatePattern = Pattern.compile("[\"'>]([^\"'<>\\s]+\\.ftl)[\"'<]");
+
+}
@@ -20,6 +20,9 @@ import com.liferay.ide.core.util.FileUtil;
 import com.liferay.ide.service.core.ServiceCore;
 import com.liferay.ide.service.core.job.BuildServiceJob;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -47,46 +50,52 @@ public class BuildServiceHandler extends AbstractHandler {
 
 	public Object execute(ExecutionEvent event) throws ExecutionException {
 		IStatus retval = null;
-		IProject project = null;
+		Set<IProject> projects = new LinkedHashSet<>();
 
 		ISelection selection = HandlerUtil.getCurrentSelection(event);
 
 		if (selection instanceof IStructuredSelection) {
 			IStructuredSelection structuredSelection = (IStructuredSelection)selection;
 
-			Object selected = structuredSelection.getFirstElement();
+			for (Object selected : structuredSelection.toList()) {
+				IProject project = _getProject(selected);
 
-			if (selected instanceof IResource) {
-				project = ((IResource)selected).getProject();
-			}
-			else if (selected instanceof IJavaElement) {
-				project = ((IJavaElement)selected).getJavaProject().getProject();
-			}
-			else if (selected instanceof PackageFragmentRootContainer) {
-				project = ((PackageFragmentRootContainer)selected).getJavaProject().getProject();
+				if (project != null) {
+					projects.add(project);
+				}
 			}
 		}
 
-		if (project == null) {
+		if (projects.isEmpty()) {
 			IEditorInput editorInput = HandlerUtil.getActiveEditorInput(event);
 
 			if ((editorInput != null) && (editorInput.getAdapter(IResource.class) != null)) {
-				project = ((IResource)editorInput.getAdapter(IResource.class)).getProject();
+				projects.add(((IResource)editorInput.getAdapter(IResource.class)).getProject());
 			}
 		}
 
-		if (project != null) {
-			retval = executeServiceBuild(project);
+		if (!projects.isEmpty()) {
+			retval = executeServiceBuild(projects.toArray(new IProject[0]));
 		}
 
 		return retval;
 	}
 
 	protected IStatus executeServiceBuild(IProject project) {
+		return executeServiceBuild(new IProject[] {project});
+	}
+
+	/**
+	 * Builds the services of all given projects in one job, so that they can
+	 * run in parallel and share the final refresh. A single project is always
+	 * built, out of several selected projects those whose Service Builder
+	 * inputs are unchanged are skipped.
+	 */
+	protected IStatus executeServiceBuild(IProject[] projects) {
 		IStatus retval = null;
 
 		try {
-			new BuildServiceJob(project).schedule();
+			new BuildServiceJob(projects, projects.length == 1).schedule();
 
 			retval = Status.OK_STATUS;
 		}
@@ -113,4 +122,18 @@ public class BuildServiceHandler extends AbstractHandler {
 		return null;
 	}
 
+	private IProject _getProject(Object selected) {
+		if (selected instanceof IResource) {
+			return ((IResource)selected).getProject();
+		}
+		else if (selected instanceof IJavaElement) {
+			return ((IJavaElement)selected).getJavaProject().getProject();
+		}
+		else if (selected instanceof PackageFragmentRootContainer) {
+			return ((PackageFragmentRootContainer)selected).getJavaProject().getProject();
+		}
+
+		return null;
+	}
+
 }
\ No newline at end of file
@@ -27,11 +27,11 @@ import org.eclipse.core.runtime.Status;
 public class BuildWSDDHandler extends BuildServiceHandler {
 
 	@Override
-	protected IStatus executeServiceBuild(IProject project) {
+	protected IStatus executeServiceBuild(IProject[] projects) {
 		IStatus retval = null;
 
 		try {
-			new BuildWSDDJob(project).schedule();
+			new BuildWSDDJob(projects).schedule();
 			retval = Status.OK_STATUS;
 		}
 		catch (Exception e) {
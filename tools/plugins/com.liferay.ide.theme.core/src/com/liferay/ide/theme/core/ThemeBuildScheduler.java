@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.theme.core;
+
+import com.liferay.ide.core.ILiferayPortal;
+import com.liferay.ide.core.ILiferayProject;
+import com.liferay.ide.core.IWebProject;
+import com.liferay.ide.core.LiferayCore;
+import com.liferay.ide.core.util.CoreUtil;
+import com.liferay.ide.core.util.ListUtil;
+import com.liferay.ide.project.core.facet.IPluginProjectDataModelProperties;
+import com.liferay.ide.theme.core.util.BuildHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Coalesces theme builds of a single project. Requests that arrive while the
+ * debounce window is open restart it, and requests that arrive while a build
+ * is running are folded into one follow-up run. Changes to <code>_diffs</code>
+ * compile the theme unless they only touch static assets such as images and
+ * fonts, which are merged into the docroot without running the SDK theme
+ * compile.
+ *
+ * @author agent
+ */
+public class ThemeBuildScheduler {
+
+	public static final long DEBOUNCE_DELAY = 500;
+
+	public static ThemeBuildScheduler getScheduler(IProject project) {
+		synchronized (_schedulers) {
+			ThemeBuildScheduler scheduler = _schedulers.get(project);
+
+			if (scheduler == null) {
+				scheduler = new ThemeBuildScheduler(project);
+
+				_schedulers.put(project, scheduler);
+			}
+
+			return scheduler;
+		}
+	}
+
+	public static void removeScheduler(IProject project) {
+		ThemeBuildScheduler scheduler = null;
+
+		synchronized (_schedulers) {
+			scheduler = _schedulers.remove(project);
+		}
+
+		if (scheduler != null) {
+			scheduler._job.cancel();
+		}
+	}
+
+	public void scheduleDiffsChange(IResourceDelta delta) {
+		boolean compile = requiresCompile(delta);
+
+		synchronized (this) {
+			if (compile) {
+				_compileRequested = true;
+			}
+			else {
+
+				// the resource listener and the builder may report the same change, keep it once
+
+				_pendingDeltas.put(delta.getFullPath(), delta);
+			}
+		}
+
+		_reschedule();
+	}
+
+	public void scheduleFullBuild() {
+		synchronized (this) {
+			_compileRequested = true;
+		}
+
+		_reschedule();
+	}
+
+	protected IPath[] getRestorePaths() {
+		ILiferayProject liferayProject = LiferayCore.create(_project);
+
+		if (liferayProject == null) {
+			return null;
+		}
+
+		ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
+
+		if (portal == null) {
+			return null;
+		}
+
+		String themeParent = liferayProject.getProperty("theme.parent", "_styled");
+
+		IPath themesPath = portal.getAppServerPortalDir().append("html/themes");
+
+		List<IPath> restorePaths = new ArrayList<>();
+
+		for (String parent : IPluginProjectDataModelProperties.THEME_PARENTS) {
+			if (parent.equals(themeParent) || ListUtil.isNotEmpty(restorePaths)) {
+				restorePaths.add(themesPath.append(parent));
+			}
+		}
+
+		return restorePaths.toArray(new IPath[0]);
+	}
+
+	protected void mergeDiffs(IResourceDelta[] deltas, IProgressMonitor monitor) {
+		IWebProject webproject = LiferayCore.create(IWebProject.class, _project);
+
+		if ((webproject == null) || (webproject.getDefaultDocrootFolder() == null)) {
+			return;
+		}
+
+		IPath[] restorePaths = getRestorePaths();
+
+		if (restorePaths == null) {
+			return;
+		}
+
+		IFolder docroot = webproject.getDefaultDocrootFolder();
+
+		IStatus[] status = _buildHelper.publishDelta(
+			deltas, CoreUtil.getResourceLocation(docroot), restorePaths, monitor);
+
+		for (IStatus s : status) {
+			ThemeCore.getDefault().getLog().log(s);
+		}
+
+		try {
+			docroot.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+		}
+		catch (Exception e) {
+			ThemeCore.logError(e);
+		}
+	}
+
+	protected boolean requiresCompile(IResourceDelta delta) {
+		boolean[] compile = {false};
+
+		try {
+			delta.accept(
+				new IResourceDeltaVisitor() {
+
+					public boolean visit(IResourceDelta child) {
+						IResource resource = child.getResource();
+
+						if ((resource instanceof IFile) && !_staticExtensions.contains(resource.getFileExtension())) {
+							compile[0] = true;
+						}
+
+						return !compile[0];
+					}
+
+				});
+		}
+		catch (CoreException ce) {
+			return true;
+		}
+
+		return compile[0];
+	}
+
+	private ThemeBuildScheduler(IProject project) {
+		_project = project;
+
+		_job = new ThemeBuildJob();
+	}
+
+	private void _reschedule() {
+		synchronized (_job) {
+			if (_job.getState() == Job.SLEEPING) {
+				_job.cancel();
+			}
+
+			// a running job is scheduled once more when it finishes, so requests made meanwhile share one run
+
+			_job.schedule(DEBOUNCE_DELAY);
+		}
+	}
+
+	private static final Map<IProject, ThemeBuildScheduler> _schedulers = new HashMap<>();
+	private static final Set<String> _staticExtensions = new HashSet<>(
+		Arrays.asList("eot", "gif", "ico", "jpeg", "jpg", "png", "svg", "ttf", "woff", "woff2"));
+
+	private final BuildHelper _buildHelper = new BuildHelper();
+	private boolean _compileRequested;
+	private final Job _job;
+	private final Map<IPath, IResourceDelta> _pendingDeltas = new LinkedHashMap<>();
+	private final IProject _project;
+
+	private static class Msgs extends NLS {
+
+		public static String compilingTheme;
+
+		static {
+			initializeMessages(ThemeBuildScheduler.class.getName(), Msgs.class);
+		}
+
+	}
+
+	private class ThemeBuildJob extends WorkspaceJob {
+
+		public ThemeBuildJob() {
+			super(NLS.bind(Msgs.compilingTheme, _project.getName()));
+
+			setRule(_project);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return ThemeBuildScheduler.class.equals(family);
+		}
+
+		@Override
+		public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+			boolean compile;
+			IResourceDelta[] deltas;
+
+			synchronized (ThemeBuildScheduler.this) {
+				compile = _compileRequested;
+				deltas = _pendingDeltas.values().toArray(new IResourceDelta[0]);
+
+				_compileRequested = false;
+				_pendingDeltas.clear();
+			}
+
+			if (!_project.isAccessible()) {
+				return Status.OK_STATUS;
+			}
+
+			// a full compile already merges every _diffs file, so pending deltas are dropped
+
+			if (compile) {
+				return ThemeCSSBuilder.compileTheme(_project);
+			}
+
+			if (deltas.length > 0) {
+				mergeDiffs(deltas, monitor);
+			}
+
+			return Status.OK_STATUS;
+		}
+
+	}
+
+}
@@ -22,18 +22,14 @@ import com.liferay.ide.core.LiferayCore;
 import com.liferay.ide.core.util.CoreUtil;
 import com.liferay.ide.core.util.ListUtil;
 import com.liferay.ide.core.util.StringPool;
-import com.liferay.ide.project.core.facet.IPluginProjectDataModelProperties;
 import com.liferay.ide.sdk.core.ISDKConstants;
 import com.liferay.ide.sdk.core.SDK;
 import com.liferay.ide.sdk.core.SDKUtil;
 import com.liferay.ide.theme.core.operation.ThemeDescriptorHelper;
-import com.liferay.ide.theme.core.util.BuildHelper;
 
 import java.io.IOException;
 import java.io.InputStream;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -50,8 +46,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 
 /**
  * @author Gregory Amerson
@@ -158,59 +152,10 @@ public class ThemeCSSBuilder extends IncrementalProjectBuilder {
 		}
 	}
 
-	public ThemeCSSBuilder() {
-		_buildHelper = new BuildHelper();
-	}
-
 	protected void applyDiffsDeltaToDocroot(IResourceDelta delta, IContainer docroot, IProgressMonitor monitor) {
-		int deltaKind = delta.getKind();
-
-		switch (deltaKind) {
-			case IResourceDelta.REMOVED_PHANTOM:
-				break;
-		}
-
-		IPath path = CoreUtil.getResourceLocation(docroot);
-
-		ILiferayProject liferayProject = LiferayCore.create(getProject());
+		ThemeBuildScheduler scheduler = ThemeBuildScheduler.getScheduler(getProject());
 
-		String themeParent = liferayProject.getProperty("theme.parent", "_styled");
-
-		ILiferayPortal portal = liferayProject.adapt(ILiferayPortal.class);
-
-		if (portal != null) {
-			IPath themesPath = portal.getAppServerPortalDir().append("html/themes");
-			List<IPath> restorePaths = new ArrayList<>();
-
-			for (int i = 0; i < IPluginProjectDataModelProperties.THEME_PARENTS.length; i++) {
-				if (IPluginProjectDataModelProperties.THEME_PARENTS[i].equals(themeParent)) {
-					restorePaths.add(themesPath.append(IPluginProjectDataModelProperties.THEME_PARENTS[i]));
-				}
-				else {
-					if (ListUtil.isNotEmpty(restorePaths)) {
-						restorePaths.add(themesPath.append(IPluginProjectDataModelProperties.THEME_PARENTS[i]));
-					}
-				}
-			}
-
-			new Job("publish theme delta") {
-
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					_buildHelper.publishDelta(delta, path, restorePaths.toArray(new IPath[0]), monitor);
-
-					try {
-						docroot.refreshLocal(IResource.DEPTH_INFINITE, monitor);
-					}
-					catch (Exception e) {
-						ThemeCore.logError(e);
-					}
-
-					return Status.OK_STATUS;
-				}
-
-			}.schedule();
-		}
+		scheduler.scheduleDiffsChange(delta);
 	}
 
 	@Override
@@ -290,12 +235,10 @@ public class ThemeCSSBuilder extends IncrementalProjectBuilder {
 								IPath relPath = resource.getProjectRelativePath();
 
 								if ((relPath != null) && (relPath.segmentCount() == 1)) {
-									try {
-										compileTheme(resource.getProject());
-									}
-									catch (CoreException ce) {
-										ThemeCore.logError("Error compiling theme.", ce);
-									}
+									ThemeBuildScheduler scheduler = ThemeBuildScheduler.getScheduler(
+										resource.getProject());
+
+									scheduler.scheduleFullBuild();
 								}
 							}
 						}
@@ -339,6 +282,4 @@ public class ThemeCSSBuilder extends IncrementalProjectBuilder {
 		return false;
 	}
 
-	private BuildHelper _buildHelper;
-
 }
\ No newline at end of file
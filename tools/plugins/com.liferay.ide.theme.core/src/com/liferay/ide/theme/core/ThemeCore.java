@@ -14,11 +14,16 @@
 
 package com.liferay.ide.theme.core;
 
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -91,21 +96,44 @@ public class ThemeCore extends Plugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		_plugin = this;
+
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+
+		workspace.addResourceChangeListener(
+			_projectListener, IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+
+		workspace.removeResourceChangeListener(_projectListener);
+
+		Job.getJobManager().cancel(ThemeBuildScheduler.class);
+
 		_plugin = null;
 		super.stop(context);
 
 		if (_themeDiffResourceListener != null) {
-			IWorkspace workspace = ResourcesPlugin.getWorkspace();
-
 			workspace.removeResourceChangeListener(_themeDiffResourceListener);
 		}
 	}
 
 	private static ThemeCore _plugin;
+
+	private static final IResourceChangeListener _projectListener = new IResourceChangeListener() {
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IResource resource = event.getResource();
+
+			if (resource instanceof IProject) {
+				ThemeBuildScheduler.removeScheduler((IProject)resource);
+			}
+		}
+
+	};
+
 	private static ThemeDiffResourceListener _themeDiffResourceListener;
 
 }
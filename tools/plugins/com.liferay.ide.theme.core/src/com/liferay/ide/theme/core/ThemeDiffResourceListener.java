@@ -14,41 +14,22 @@
 
 package com.liferay.ide.theme.core;
 
-import com.liferay.ide.core.ILiferayConstants;
-import com.liferay.ide.core.ILiferayPortal;
-import com.liferay.ide.core.ILiferayProject;
 import com.liferay.ide.core.IWebProject;
 import com.liferay.ide.core.LiferayCore;
-import com.liferay.ide.core.util.CoreUtil;
-import com.liferay.ide.core.util.StringPool;
 import com.liferay.ide.project.core.util.ProjectUtil;
-import com.liferay.ide.sdk.core.ISDKConstants;
-import com.liferay.ide.sdk.core.SDK;
-import com.liferay.ide.sdk.core.SDKUtil;
-import com.liferay.ide.theme.core.operation.ThemeDescriptorHelper;
-
-import java.io.IOException;
-
-import java.util.Properties;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.osgi.util.NLS;
 
 /**
  * @author Greg Amerson
@@ -96,96 +77,11 @@ public class ThemeDiffResourceListener implements IResourceChangeListener {
 	}
 
 	protected void processResourceChanged(IResourceDelta delta) throws CoreException {
-		new WorkspaceJob(Msgs.compilingTheme) {
-
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				IProject project = delta.getResource().getProject();
-
-				SDK sdk = SDKUtil.getSDK(project);
-
-				if (sdk == null) {
-					throw new CoreException(
-						ThemeCore.createErrorStatus("No SDK for project configured. Could not deploy theme module"));
-				}
-
-				IStatus status = sdk.compileThemePlugin(project, null);
-
-				if (!status.isOK()) {
-					throw new CoreException(status);
-				}
-
-				IWebProject webproject = LiferayCore.create(IWebProject.class, project);
-
-				if (webproject == null) {
-					return status;
-				}
-
-				// IDE-110 IDE-648
+		IProject project = delta.getResource().getProject();
 
-				IResource res = webproject.findDocrootResource(
-					new Path("WEB-INF/" + ILiferayConstants.LIFERAY_LOOK_AND_FEEL_XML_FILE));
+		ThemeBuildScheduler scheduler = ThemeBuildScheduler.getScheduler(project);
 
-				IFile lookAndFeelFile = null;
-
-				if ((res != null) && res.exists()) {
-					lookAndFeelFile = (IFile)res;
-				}
-
-				if (lookAndFeelFile == null) {
-					String id = project.getName().replaceAll(
-						ISDKConstants.THEME_PLUGIN_PROJECT_SUFFIX, StringPool.EMPTY);
-
-					IResource propsRes = webproject.findDocrootResource(
-						new Path("WEB-INF/" + ILiferayConstants.LIFERAY_PLUGIN_PACKAGE_PROPERTIES_FILE));
-
-					String name = id;
-
-					if (propsRes instanceof IFile && propsRes.exists()) {
-						Properties props = new Properties();
-
-						try {
-							props.load(((IFile)propsRes).getContents());
-							String nameValue = props.getProperty("name");
-
-							if (!CoreUtil.isNullOrEmpty(nameValue)) {
-								name = nameValue;
-							}
-						}
-						catch (IOException ioe) {
-							ThemeCore.logError("Unable to load plugin package properties.", ioe);
-						}
-					}
-
-					ThemeDescriptorHelper themeDescriptorHelper = new ThemeDescriptorHelper(project);
-
-					ILiferayProject lProject = LiferayCore.create(project);
-
-					String type = lProject.getProperty("theme.type", "vm");
-
-					String version = "6.2.0";
-
-					ILiferayPortal portal = lProject.adapt(ILiferayPortal.class);
-
-					if (portal != null) {
-						version = portal.getVersion();
-					}
-
-					themeDescriptorHelper.createDefaultFile(
-						webproject.getDefaultDocrootFolder(), version, id, name, type);
-
-					try {
-						webproject.getDefaultDocrootFolder().refreshLocal(IResource.DEPTH_INFINITE, null);
-					}
-					catch (Exception e) {
-						ThemeCore.logError(e);
-					}
-				}
-
-				return Status.OK_STATUS;
-			}
-
-		}.schedule();
+		scheduler.scheduleDiffsChange(delta);
 	}
 
 	protected boolean shouldProcessResourceChangedEvent(IResourceChangeEvent event) {
@@ -228,14 +124,4 @@ public class ThemeDiffResourceListener implements IResourceChangeListener {
 		return root.getFile(path);
 	}
 
-	private static class Msgs extends NLS {
-
-		public static String compilingTheme;
-
-		static {
-			initializeMessages(ThemeDiffResourceListener.class.getName(), Msgs.class);
-		}
-
-	}
-
 }
\ No newline at end of file
@@ -41,6 +41,21 @@ import org.eclipse.ui.dialogs.ISelectionStatusValidator;
 @SuppressWarnings("restriction")
 public class ExternalFileSelectionDialog extends FilteredElementTreeSelectionDialog {
 
+	public ExternalFileSelectionDialog(
+		Shell parent, ITreeContentProvider contentProvider, ViewerFilter filter, boolean multiSelect,
+		boolean acceptFolders) {
+
+		super(parent, new FileLabelProvider(), contentProvider, true);
+
+		setComparator(new FileViewerComparator());
+
+		addFilter(filter);
+
+		setValidator(new FileSelectionValidator(multiSelect, acceptFolders));
+
+		setHelpAvailable(false);
+	}
+
 	public ExternalFileSelectionDialog(Shell parent, ViewerFilter filter, boolean multiSelect, boolean acceptFolders) {
 		super(parent, new FileLabelProvider(), new FileContentProvider(), true);
 
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.liferay.ide.core.util.ZipUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Extracts an archive shaped like a portal bundle, tens of thousands of small
+ * files in a few hundred directories, with ZipUtil and with a plain serial
+ * loop over the entries, and compares the time and the extracted trees.
+ *
+ * @author agent
+ */
+public class ZipUtilBenchmarkTests
+{
+
+    private static final String BUNDLE_ROOT = "liferay-ce-portal-7.0-ga3/";
+
+    private static final int FILE_COUNT = 30000;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File createBundleArchive() throws IOException
+    {
+        final File archive = tempFolder.newFile( "bundle.zip" );
+
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( archive.toPath() ) ) )
+        {
+            out.putNextEntry( new ZipEntry( BUNDLE_ROOT ) );
+            out.closeEntry();
+
+            for( int i = 0; i < FILE_COUNT; i++ )
+            {
+                out.putNextEntry( new ZipEntry( BUNDLE_ROOT + getEntryName( i ) ) );
+                out.write( getContents( i ) );
+                out.closeEntry();
+            }
+        }
+
+        return archive;
+    }
+
+    private byte[] getContents( final int i )
+    {
+        final StringBuilder sb = new StringBuilder();
+
+        for( int j = 0; j < ( i % 50 ); j++ )
+        {
+            sb.append( "file " + i + " line " + j + "\n" );
+        }
+
+        return sb.toString().getBytes( StandardCharsets.UTF_8 );
+    }
+
+    private String getEntryName( final int i )
+    {
+        return "osgi/modules/module" + ( i % 300 ) + "/META-INF/resources/file" + i + ".txt";
+    }
+
+    /**
+     * The single threaded extraction ZipUtil used before entries were handed
+     * to workers: one entry at a time, creating the parent dir of each file.
+     */
+    private void unzipSerially( File file, String entryToStart, File destdir ) throws IOException
+    {
+        try( ZipFile zip = new ZipFile( file ) )
+        {
+            boolean foundStartEntry = false;
+
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+
+            while( entries.hasMoreElements() )
+            {
+                final ZipEntry entry = entries.nextElement();
+
+                if( !foundStartEntry )
+                {
+                    foundStartEntry = entryToStart.equals( entry.getName() );
+                    continue;
+                }
+
+                final File f = new File( destdir, entry.getName().substring( entryToStart.length() ) );
+
+                if( entry.isDirectory() )
+                {
+                    f.mkdirs();
+
+                    continue;
+                }
+
+                f.getParentFile().mkdirs();
+
+                try( InputStream in = zip.getInputStream( entry );
+                     OutputStream out = Files.newOutputStream( f.toPath() ) )
+                {
+                    final byte[] bytes = new byte[1024];
+
+                    int count = in.read( bytes );
+
+                    while( count != -1 )
+                    {
+                        out.write( bytes, 0, count );
+
+                        count = in.read( bytes );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unzipBundleAgainstSerialExtraction() throws Exception
+    {
+        final File archive = createBundleArchive();
+
+        // warm up both paths so the first measurement does not pay for class loading
+
+        ZipUtil.unzip( archive, BUNDLE_ROOT, tempFolder.newFolder( "warmup-parallel" ), new NullProgressMonitor() );
+        unzipSerially( archive, BUNDLE_ROOT, tempFolder.newFolder( "warmup-serial" ) );
+
+        final File serialDir = tempFolder.newFolder( "serial" );
+
+        long start = System.currentTimeMillis();
+
+        unzipSerially( archive, BUNDLE_ROOT, serialDir );
+
+        final long serialTime = System.currentTimeMillis() - start;
+
+        final File parallelDir = tempFolder.newFolder( "parallel" );
+
+        start = System.currentTimeMillis();
+
+        ZipUtil.unzip( archive, BUNDLE_ROOT, parallelDir, new NullProgressMonitor() );
+
+        final long parallelTime = System.currentTimeMillis() - start;
+
+        System.out.println( "Extracted " + FILE_COUNT + " entries serially in " + serialTime + " ms, with ZipUtil in " +
+            parallelTime + " ms on " + Runtime.getRuntime().availableProcessors() + " processors" );
+
+        for( int i = 0; i < FILE_COUNT; i++ )
+        {
+            final String name = getEntryName( i );
+
+            final byte[] serialContents = Files.readAllBytes( new File( serialDir, name ).toPath() );
+
+            assertArrayEquals( serialContents, Files.readAllBytes( new File( parallelDir, name ).toPath() ) );
+        }
+
+        try( Stream<Path> paths = Files.walk( parallelDir.toPath() ) )
+        {
+            assertEquals( FILE_COUNT, paths.filter( Files::isRegularFile ).count() );
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import com.liferay.ide.core.util.ZipUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class ZipUtilTests
+{
+
+    private static final String BUNDLE_ROOT = "liferay-ce-portal-7.0-ga3/";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File createBundleArchive( final int fileCount ) throws IOException
+    {
+        final File archive = tempFolder.newFile( "bundle.zip" );
+
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( archive.toPath() ) ) )
+        {
+            out.putNextEntry( new ZipEntry( BUNDLE_ROOT ) );
+            out.closeEntry();
+
+            for( int i = 0; i < fileCount; i++ )
+            {
+                out.putNextEntry( new ZipEntry( BUNDLE_ROOT + getEntryName( i ) ) );
+                out.write( getContents( i ) );
+                out.closeEntry();
+            }
+        }
+
+        return archive;
+    }
+
+    private byte[] getContents( final int i )
+    {
+        final StringBuilder sb = new StringBuilder();
+
+        for( int j = 0; j < ( i % 50 ); j++ )
+        {
+            sb.append( "file " + i + " line " + j + "\n" );
+        }
+
+        return sb.toString().getBytes( StandardCharsets.UTF_8 );
+    }
+
+    private String getEntryName( final int i )
+    {
+        return "tomcat/webapps/module" + ( i % 100 ) + "/WEB-INF/classes/file" + i + ".txt";
+    }
+
+    @Test
+    public void getZipEntryIgnoresCase() throws Exception
+    {
+        final File archive = createBundleArchive( 1 );
+
+        try( ZipFile zip = new ZipFile( archive ) )
+        {
+            assertNotNull( ZipUtil.getZipEntry( zip, BUNDLE_ROOT + getEntryName( 0 ) ) );
+            assertNotNull( ZipUtil.getZipEntry( zip, ( BUNDLE_ROOT + getEntryName( 0 ) ).toUpperCase() ) );
+            assertEquals( null, ZipUtil.getZipEntry( zip, "missing.txt" ) );
+        }
+    }
+
+    @Test
+    public void unzipBundle() throws Exception
+    {
+        final int fileCount = 2000;
+
+        final File archive = createBundleArchive( fileCount );
+        final File destdir = tempFolder.newFolder( "bundle" );
+
+        ZipUtil.unzip( archive, BUNDLE_ROOT, destdir, new NullProgressMonitor() );
+
+        assertEquals( false, new File( destdir, BUNDLE_ROOT ).exists() );
+
+        for( int i = 0; i < fileCount; i++ )
+        {
+            final File file = new File( destdir, getEntryName( i ) );
+
+            assertArrayEquals( getContents( i ), Files.readAllBytes( file.toPath() ) );
+        }
+
+        try( Stream<Path> paths = Files.walk( destdir.toPath() ) )
+        {
+            assertEquals( fileCount, paths.filter( Files::isRegularFile ).count() );
+        }
+
+        assertEquals( 100, new File( destdir, "tomcat/webapps" ).list().length );
+    }
+
+    @Test
+    public void unzipBundleRejectsEntriesOutsideOfTarget() throws Exception
+    {
+        final File archive = tempFolder.newFile( "evil-bundle.zip" );
+
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( archive.toPath() ) ) )
+        {
+            out.putNextEntry( new ZipEntry( BUNDLE_ROOT ) );
+            out.closeEntry();
+
+            for( int i = 0; i < 1000; i++ )
+            {
+                out.putNextEntry( new ZipEntry( BUNDLE_ROOT + getEntryName( i ) ) );
+                out.write( getContents( i ) );
+                out.closeEntry();
+            }
+
+            out.putNextEntry( new ZipEntry( BUNDLE_ROOT + "../../evil.sh" ) );
+            out.write( "evil".getBytes( StandardCharsets.UTF_8 ) );
+            out.closeEntry();
+        }
+
+        final File destdir = tempFolder.newFolder( "bundle", "nested" );
+
+        try
+        {
+            ZipUtil.unzip( archive, BUNDLE_ROOT, destdir, new NullProgressMonitor() );
+
+            fail( "Expected zip entry outside of the target dir to be rejected" );
+        }
+        catch( IOException ioe )
+        {
+        }
+
+        assertEquals( false, new File( destdir.getParentFile().getParentFile(), "evil.sh" ).exists() );
+        assertEquals( 0, destdir.list().length );
+    }
+
+    @Test
+    public void unzipRejectsEntriesOutsideOfTarget() throws Exception
+    {
+        final File archive = tempFolder.newFile( "evil.zip" );
+
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( archive.toPath() ) ) )
+        {
+            out.putNextEntry( new ZipEntry( "../../evil.sh" ) );
+            out.write( "evil".getBytes( StandardCharsets.UTF_8 ) );
+            out.closeEntry();
+        }
+
+        final File destdir = tempFolder.newFolder( "target", "nested" );
+
+        try
+        {
+            ZipUtil.unzip( archive, destdir );
+
+            fail( "Expected zip entry outside of the target dir to be rejected" );
+        }
+        catch( IOException ioe )
+        {
+        }
+
+        assertEquals( false, new File( destdir.getParentFile().getParentFile(), "evil.sh" ).exists() );
+    }
+
+}
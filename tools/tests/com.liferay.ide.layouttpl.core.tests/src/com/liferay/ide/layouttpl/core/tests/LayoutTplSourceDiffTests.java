@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.layouttpl.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.liferay.ide.layouttpl.core.util.LayoutTplSourceDiff;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class LayoutTplSourceDiffTests
+{
+
+    @Test
+    public void columnWeightChangeOnlyReplacesDigits() throws Exception
+    {
+        String oldSource =
+            "<div class=\"columns-2\">\n" +
+            "\t<div class=\"col-md-6\">\n\t</div>\n" +
+            "\t<div class=\"col-md-6\">\n\t</div>\n" +
+            "</div>\n";
+        String newSource = oldSource.replaceFirst( "col-md-6", "col-md-4" ).replaceFirst( "col-md-6\"", "col-md-8\"" );
+
+        List<int[]> edits = LayoutTplSourceDiff.computeEdits( oldSource, newSource );
+
+        assertEquals( 2, edits.size() );
+
+        for( int[] edit : edits )
+        {
+            assertEquals( 1, edit[1] );
+            assertEquals( 1, edit[3] - edit[2] );
+        }
+
+        assertEquals( newSource, apply( oldSource, newSource, edits ) );
+    }
+
+    @Test
+    public void emptyAndIdenticalSources() throws Exception
+    {
+        assertTrue( LayoutTplSourceDiff.computeEdits( "a\nb\n", "a\nb\n" ).isEmpty() );
+
+        assertEquals( "a\nb", apply( "", "a\nb", LayoutTplSourceDiff.computeEdits( "", "a\nb" ) ) );
+        assertEquals( "", apply( "a\nb", "", LayoutTplSourceDiff.computeEdits( "a\nb", "" ) ) );
+    }
+
+    @Test
+    public void insertedAndRemovedRows() throws Exception
+    {
+        String oldSource = "<div>\n<row1/>\n<row2/>\n<row3/>\n</div>\n";
+        String newSource = "<div>\n<row0/>\n<row1/>\n<row3/>\n<row4/>\n</div>\n";
+
+        List<int[]> edits = LayoutTplSourceDiff.computeEdits( oldSource, newSource );
+
+        assertEquals( newSource, apply( oldSource, newSource, edits ) );
+
+        int previousEnd = -1;
+
+        for( int[] edit : edits )
+        {
+            assertTrue( edit[0] >= previousEnd );
+
+            previousEnd = edit[0] + edit[1];
+        }
+    }
+
+    @Test
+    public void mixedLineDelimiters() throws Exception
+    {
+        String oldSource = "a\r\nb\rc\nd";
+        String newSource = "a\r\nB\rc\nd\n";
+
+        List<int[]> edits = LayoutTplSourceDiff.computeEdits( oldSource, newSource );
+
+        assertEquals( newSource, apply( oldSource, newSource, edits ) );
+    }
+
+    private String apply( String oldSource, String newSource, List<int[]> edits )
+    {
+        StringBuilder sb = new StringBuilder( oldSource );
+
+        for( int i = edits.size() - 1; i >= 0; i-- )
+        {
+            int[] edit = edits.get( i );
+
+            sb.replace( edit[0], edit[0] + edit[1], newSource.substring( edit[2], edit[3] ) );
+        }
+
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.layouttpl.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.liferay.ide.core.templates.ITemplateOperation;
+import com.liferay.ide.core.templates.TemplateModel;
+import com.liferay.ide.core.templates.TemplateOperation;
+import com.liferay.ide.core.templates.TemplatesCore;
+import com.liferay.ide.core.tests.BaseTests;
+import com.liferay.ide.core.util.FileUtil;
+import com.liferay.ide.layouttpl.core.model.LayoutTplElement;
+import com.liferay.ide.layouttpl.core.util.LayoutTplUtil;
+
+import freemarker.template.Configuration;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Covers the template engine shared by all layout templates, the checks only
+ * depend on the bootstrap templates so they run once rather than per style.
+ *
+ * @author agent
+ */
+public class LayoutTplTemplateEngineTests extends BaseTests
+{
+
+    private static final String BOOTSTRAP_TEMPLATE_ID = "com.liferay.ide.layouttpl.core.layoutTemplate.bootstrap";
+
+    private static final String LEGACY_TEMPLATE_ID = "com.liferay.ide.layouttpl.core.layoutTemplate.legacy";
+
+    private static final String TPL_NAME = "1_3_2_nest_columns.tpl";
+
+    private IProject project;
+
+    @Before
+    public void createTestProject() throws Exception
+    {
+        deleteProject( "templates" );
+        this.project = createProject( "templates" );
+    }
+
+    private LayoutTplElement createModel()
+    {
+        return new LayoutTplTestsBootstrap().createModel_132_nest( true, "columns-1-3-2-nest", true );
+    }
+
+    private TemplateModel getTemplateModel( ITemplateOperation op ) throws Exception
+    {
+        final Field field = TemplateOperation.class.getDeclaredField( "model" );
+
+        field.setAccessible( true );
+
+        return (TemplateModel) field.get( op );
+    }
+
+    private String readReferenceSource() throws Exception
+    {
+        final IFile refTplFile = createFile(
+            this.project, TPL_NAME, getClass().getResourceAsStream( "bootstrap/files/" + TPL_NAME ) );
+
+        return stripWhitespace( FileUtil.readContents( refTplFile.getLocation().toFile(), true ) );
+    }
+
+    private String stripWhitespace( String source )
+    {
+        return source.replaceAll( "\\s", "" );
+    }
+
+    @Test
+    public void renderTemplatesConcurrently() throws Exception
+    {
+        final String referenceSource = readReferenceSource();
+
+        final int threads = 8;
+        final int count = 50;
+
+        final ExecutorService executor = Executors.newFixedThreadPool( threads );
+
+        try
+        {
+            final List<Future<List<String>>> futures = new ArrayList<>();
+
+            final long start = System.currentTimeMillis();
+
+            for( int i = 0; i < threads; i++ )
+            {
+                futures.add( executor.submit( () -> {
+                    final LayoutTplElement layoutTpl = createModel();
+
+                    final List<String> sources = new ArrayList<>();
+
+                    for( int j = 0; j < count; j++ )
+                    {
+                        sources.add( LayoutTplUtil.getTemplateSource( layoutTpl ) );
+                    }
+
+                    return sources;
+                } ) );
+            }
+
+            for( Future<List<String>> future : futures )
+            {
+                for( String source : future.get() )
+                {
+                    assertEquals( referenceSource, stripWhitespace( source ) );
+                }
+            }
+
+            final long elapsed = System.currentTimeMillis() - start;
+
+            System.out.println( "Rendered " + ( threads * count ) + " layout templates on " + threads +
+                " threads in " + elapsed + " ms" );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void renderTemplatesInBulk() throws Exception
+    {
+        final String referenceSource = readReferenceSource();
+
+        final LayoutTplElement layoutTpl = createModel();
+
+        final int count = 500;
+
+        final long start = System.currentTimeMillis();
+
+        for( int i = 0; i < count; i++ )
+        {
+            final IFile file = this.project.getFile( "bulk_" + i + ".tpl" );
+
+            LayoutTplUtil.saveToFile( layoutTpl, file, new NullProgressMonitor() );
+        }
+
+        final long elapsed = System.currentTimeMillis() - start;
+
+        System.out.println( "Generated " + count + " layout templates in " + elapsed + " ms" );
+
+        for( int i = 0; i < count; i += 50 )
+        {
+            final IFile file = this.project.getFile( "bulk_" + i + ".tpl" );
+
+            assertTrue( file.exists() );
+
+            final String contents = FileUtil.readContents( file.getLocation().toFile(), true );
+
+            assertEquals( referenceSource, stripWhitespace( contents ) );
+        }
+    }
+
+    @Test
+    public void templateConfigurationIsShared() throws Exception
+    {
+        final TemplateModel bootstrap = getTemplateModel( TemplatesCore.getTemplateOperation( BOOTSTRAP_TEMPLATE_ID ) );
+        final TemplateModel legacy = getTemplateModel( TemplatesCore.getTemplateOperation( LEGACY_TEMPLATE_ID ) );
+
+        final Configuration config = bootstrap.getConfig();
+
+        assertSame( config, legacy.getConfig() );
+        assertSame( config.getTemplate( bootstrap.getResource() ), config.getTemplate( bootstrap.getResource() ) );
+
+        final String referenceSource = readReferenceSource();
+
+        assertEquals( referenceSource, stripWhitespace( LayoutTplUtil.getTemplateSource( createModel() ) ) );
+        assertEquals( referenceSource, stripWhitespace( LayoutTplUtil.getTemplateSource( createModel() ) ) );
+
+        assertSame(
+            config, getTemplateModel( TemplatesCore.getTemplateOperation( BOOTSTRAP_TEMPLATE_ID ) ).getConfig() );
+    }
+
+}
@@ -17,9 +17,11 @@ package com.liferay.ide.project.core.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import com.liferay.ide.server.core.ILiferayRuntime;
 import com.liferay.ide.server.util.LiferayPortalValueLoader;
+import com.liferay.ide.server.util.PortalMetadataSnapshot;
 import com.liferay.ide.server.util.ServerUtil;
 
 import org.eclipse.wst.server.core.IRuntime;
@@ -69,6 +71,32 @@ public class LiferayPortalValueLoaderTests extends ProjectCoreBase
         assertEquals( 142, props.length );
     }
 
+    @Test
+    public void loadPortalMetadataSnapshot() throws Exception
+    {
+        if( shouldSkipBundleTests() ) return;
+
+        setupPluginsSDKAndRuntime();
+
+        final IRuntime runtime = ServerCore.getRuntimes()[0];
+
+        final ILiferayRuntime liferayRuntime = ServerUtil.getLiferayRuntime( runtime );
+
+        final PortalMetadataSnapshot snapshot =
+            PortalMetadataSnapshot.getSnapshot( liferayRuntime.getAppServerPortalDir(), liferayRuntime.getUserLibs() );
+
+        assertEquals( 142, snapshot.getHookSupportedProperties().length );
+        assertEquals( "Liferay Portal Community Edition / 6.2.5", snapshot.getServerInfo() );
+        assertEquals( "6.2.5", snapshot.getVersion() );
+        assertNotNull( snapshot.getCategories().getProperty( "category.my" ) );
+        assertEquals( true, snapshot.getServletFilterNames().length > 0 );
+
+        assertSame(
+            snapshot,
+            PortalMetadataSnapshot.getSnapshot( liferayRuntime.getAppServerPortalDir(), liferayRuntime.getUserLibs() ) );
+        assertSame( snapshot, PortalMetadataSnapshot.getSnapshot( liferayRuntime.getAppServerPortalDir(), null ) );
+    }
+
     @Test
     public void loadServerInfoFromClass() throws Exception
     {
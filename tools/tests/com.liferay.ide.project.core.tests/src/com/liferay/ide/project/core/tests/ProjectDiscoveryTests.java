@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.project.core.tests;
+
+import com.liferay.ide.project.core.util.ProjectDiscovery;
+import com.liferay.ide.project.core.util.ProjectUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class ProjectDiscoveryTests {
+
+	@Test
+	public void findProjectDescriptionsSkipsPrunedDirectories() throws Exception {
+		File root = tempFolder.getRoot();
+
+		_createFile(root, "modules/foo/.project");
+		_createFile(root, "modules/foo/nested/bar/.project");
+		_createFile(root, "node_modules/baz/.project");
+		_createFile(root, "modules/foo/build/qux/.project");
+
+		Set<File> found = ConcurrentHashMap.newKeySet();
+
+		ProjectDiscovery.Listener listener = new ProjectDiscovery.Listener() {
+
+			public void projectFound(File projectDir, File projectDescription) {
+				found.add(projectDir);
+			}
+
+		};
+
+		new ProjectDiscovery().findProjectDescriptions(root, listener, new NullProgressMonitor());
+
+		Assert.assertEquals(2, found.size());
+		Assert.assertTrue(found.contains(new File(root, "modules/foo")));
+		Assert.assertTrue(found.contains(new File(root, "modules/foo/nested/bar")));
+	}
+
+	@Test
+	public void findSDKProjects() throws Exception {
+		File root = tempFolder.getRoot();
+
+		_createSDKProject(root, "portlets/sample-portlet", true);
+		_createSDKProject(root, "hooks/sample-hook", false);
+		_createSDKProject(root, "portlets/sample-portlet/nested-portlet", false);
+		_createSDKProject(root, "portlets/node_modules/ignored-portlet", false);
+
+		Collection<File> eclipseProjectFiles = new ArrayList<>();
+		Collection<File> liferayProjectDirs = new ArrayList<>();
+
+		Assert.assertTrue(
+			ProjectUtil.collectSDKProjectsFromDirectory(
+				eclipseProjectFiles, liferayProjectDirs, root, true, new NullProgressMonitor()));
+
+		Assert.assertEquals(1, eclipseProjectFiles.size());
+		Assert.assertTrue(eclipseProjectFiles.contains(new File(root, "portlets/sample-portlet/.project")));
+
+		Assert.assertEquals(1, liferayProjectDirs.size());
+		Assert.assertTrue(liferayProjectDirs.contains(new File(root, "hooks/sample-hook")));
+	}
+
+	@Test
+	public void findSDKProjectsSkipsSelectedDirectory() throws Exception {
+		File root = tempFolder.getRoot();
+
+		_createSDKProject(root, "", false);
+		_createSDKProject(root, "sample-portlet", false);
+
+		Collection<File> eclipseProjectFiles = new ArrayList<>();
+		Collection<File> liferayProjectDirs = new ArrayList<>();
+
+		Assert.assertTrue(
+			ProjectUtil.collectSDKProjectsFromDirectory(
+				eclipseProjectFiles, liferayProjectDirs, root, true, new NullProgressMonitor()));
+
+		Assert.assertEquals(0, eclipseProjectFiles.size());
+		Assert.assertEquals(1, liferayProjectDirs.size());
+		Assert.assertTrue(liferayProjectDirs.contains(new File(root, "sample-portlet")));
+	}
+
+	@Test
+	public void findSDKProjectsWithoutRecursion() throws Exception {
+		File root = tempFolder.getRoot();
+
+		_createSDKProject(root, "sample-portlet", false);
+		_createSDKProject(root, "portlets/other-portlet", false);
+
+		Collection<File> eclipseProjectFiles = new ArrayList<>();
+		Collection<File> liferayProjectDirs = new ArrayList<>();
+
+		Assert.assertTrue(
+			ProjectUtil.collectSDKProjectsFromDirectory(
+				eclipseProjectFiles, liferayProjectDirs, root, false, new NullProgressMonitor()));
+
+		Assert.assertEquals(0, eclipseProjectFiles.size());
+		Assert.assertEquals(1, liferayProjectDirs.size());
+		Assert.assertTrue(liferayProjectDirs.contains(new File(root, "sample-portlet")));
+	}
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private void _createFile(File root, String path) throws IOException {
+		File file = new File(root, path);
+
+		file.getParentFile().mkdirs();
+
+		file.createNewFile();
+	}
+
+	private void _createSDKProject(File root, String path, boolean eclipseProject) throws IOException {
+		File projectDir = new File(root, path);
+
+		new File(projectDir, "docroot").mkdirs();
+
+		_createFile(projectDir, "build.xml");
+
+		if (eclipseProject) {
+			_createFile(projectDir, ".project");
+		}
+	}
+
+}
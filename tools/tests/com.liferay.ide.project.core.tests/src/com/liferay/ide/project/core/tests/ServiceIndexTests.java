@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.project.core.tests;
+
+import com.liferay.ide.project.core.modules.ServiceContainer;
+import com.liferay.ide.project.core.modules.ServiceIndex;
+
+import java.io.File;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class ServiceIndexTests {
+
+	@Test
+	public void findByPrefixAndSubstring() throws Exception {
+		ServiceIndex serviceIndex = ServiceIndex.getIndex(_createCatalogue());
+
+		Assert.assertEquals(
+			Arrays.asList(
+				"com.liferay.portal.kernel.service.UserLocalService", "com.liferay.portal.kernel.service.UserService"),
+			serviceIndex.findByPrefix("com.liferay.portal.kernel.service.User"));
+
+		Assert.assertTrue(serviceIndex.findByPrefix("org.").isEmpty());
+
+		List<String> services = serviceIndex.findBySubstring("localservice");
+
+		Assert.assertEquals(2, services.size());
+		Assert.assertTrue(services.contains("com.liferay.blogs.kernel.service.BlogsEntryLocalService"));
+	}
+
+	@Test
+	public void findServiceNames() throws Exception {
+		ServiceIndex serviceIndex = ServiceIndex.getIndex(_createCatalogue());
+
+		Assert.assertEquals(
+			Arrays.asList("com.liferay.portal.kernel.service.UserLocalService"),
+			serviceIndex.findServiceNames("com.liferay.portal.kernel.service.UserLocal"));
+
+		Assert.assertEquals(
+			Arrays.asList(
+				"com.liferay.blogs.kernel.service.BlogsEntryLocalService",
+				"com.liferay.portal.kernel.service.UserLocalService"),
+			serviceIndex.findServiceNames("LocalService"));
+
+		Assert.assertEquals(serviceIndex.getServiceNames(), serviceIndex.findServiceNames(""));
+		Assert.assertEquals(serviceIndex.getServiceNames(), serviceIndex.findServiceNames("Missing"));
+	}
+
+	@Test
+	public void getBundle() throws Exception {
+		ServiceIndex serviceIndex = ServiceIndex.getIndex(_createCatalogue());
+
+		ServiceContainer bundle = serviceIndex.getBundle("com.liferay.portal.kernel.service.UserService");
+
+		Assert.assertEquals("com.liferay.portal", bundle.getBundleGroup());
+		Assert.assertEquals("com.liferay.portal.kernel", bundle.getBundleName());
+		Assert.assertEquals("2.0.0", bundle.getBundleVersion());
+
+		Assert.assertNull(serviceIndex.getBundle("com.liferay.portal.kernel.service.Missing"));
+		Assert.assertEquals(3, serviceIndex.getServiceNames().size());
+	}
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private File _createCatalogue() throws Exception {
+		File catalogue = tempFolder.newFile("services.json");
+
+		String bundle = "[\"com.liferay.portal\",\"com.liferay.portal.kernel\",\"2.0.0\"]";
+
+		String json =
+			"{\"com.liferay.portal.kernel.service.UserService\":" + bundle +
+				",\"com.liferay.blogs.kernel.service.BlogsEntryLocalService\":" + bundle +
+					",\"com.liferay.portal.kernel.service.UserLocalService\":" + bundle + "}";
+
+		Files.write(catalogue.toPath(), json.getBytes(StandardCharsets.UTF_8));
+
+		return catalogue;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.server.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.liferay.ide.server.util.ClassConstantsReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class ClassConstantsReaderTests
+{
+
+    private ClassConstantsReader readFixture() throws IOException
+    {
+        final String resource = "/" + ReleaseInfoFixture.class.getName().replace( '.', '/' ) + ".class";
+
+        try( InputStream in = ClassConstantsReaderTests.class.getResourceAsStream( resource ) )
+        {
+            return new ClassConstantsReader( in );
+        }
+    }
+
+    @Test
+    public void readConstantValues() throws Exception
+    {
+        final ClassConstantsReader reader = readFixture();
+
+        assertEquals( "Liferay Portal Community Edition", reader.getValue( "name" ) );
+        assertEquals( 6205, reader.getValue( "BUILD_NUMBER" ) );
+        assertEquals( 1234567890123L, reader.getValue( "TIMESTAMP" ) );
+    }
+
+    @Test
+    public void readStaticInitializerValues() throws Exception
+    {
+        final ClassConstantsReader reader = readFixture();
+
+        assertEquals( "6.2.5", reader.getValue( "version" ) );
+        assertEquals( "Liferay Portal Community Edition / 6.2.5", reader.getValue( "serverInfo" ) );
+
+        assertArrayEquals(
+            new String[] { "auth.forward.by.last.path", "auth.forward.by.redirect", "company.default.locale",
+                "layout.types", "login.events.post", "logout.events.pre", "session.timeout" },
+            (String[]) reader.getValue( "SUPPORTED_PROPERTIES" ) );
+    }
+
+    @Test
+    public void runtimeValuesAreNotRead() throws Exception
+    {
+        final ClassConstantsReader reader = readFixture();
+
+        assertNull( reader.getValue( "STARTUP_TIME" ) );
+        assertNull( reader.getValue( "missing" ) );
+        assertEquals( "6.2.5", reader.getValue( "missing", "_VERSION" ) );
+    }
+
+    @Test
+    public void rejectNonClassFiles() throws Exception
+    {
+        try
+        {
+            new ClassConstantsReader( new ByteArrayInputStream( "not a class".getBytes( StandardCharsets.UTF_8 ) ) );
+
+            fail( "Expected a stream that is not a class file to be rejected" );
+        }
+        catch( IOException ioe )
+        {
+        }
+    }
+
+    /**
+     * Shaped like the ReleaseInfo and HookHotDeployListener classes of a
+     * portal, the reader gets the compiled class file of this fixture.
+     */
+    public static class ReleaseInfoFixture
+    {
+
+        public static final int BUILD_NUMBER = 6205;
+
+        public static final String NAME = "Liferay Portal Community Edition";
+
+        public static final long STARTUP_TIME = System.currentTimeMillis();
+
+        public static final String[] SUPPORTED_PROPERTIES =
+        {
+            "auth.forward.by.last.path", "auth.forward.by.redirect", "company.default.locale", "layout.types",
+            "login.events.post", "logout.events.pre", "session.timeout"
+        };
+
+        public static final long TIMESTAMP = 1234567890123L;
+
+        private static String _serverInfo = "Liferay Portal Community Edition / 6.2.5";
+
+        private static String _version = "6.2.5";
+
+    }
+
+}
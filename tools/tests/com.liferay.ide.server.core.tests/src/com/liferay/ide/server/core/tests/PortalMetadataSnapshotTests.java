@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ *******************************************************************************/
+
+package com.liferay.ide.server.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.liferay.ide.server.util.PortalMetadataSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class PortalMetadataSnapshotTests
+{
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File createExtLib() throws IOException
+    {
+        final File extLib = tempFolder.newFile( "ext.jar" );
+
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( extLib.toPath() ) ) )
+        {
+            out.putNextEntry( new ZipEntry( "ext.properties" ) );
+            out.closeEntry();
+        }
+
+        return extLib;
+    }
+
+    private File createPortal( String name, Class<?> releaseInfo, String category ) throws IOException
+    {
+        final File portalDir = tempFolder.newFolder( name );
+        final File portalImplJar = new File( portalDir, "WEB-INF/lib/portal-impl.jar" );
+
+        portalImplJar.getParentFile().mkdirs();
+
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( portalImplJar.toPath() ) ) )
+        {
+            out.putNextEntry( new ZipEntry( "com/liferay/portal/kernel/util/ReleaseInfo.class" ) );
+
+            final String resource = "/" + releaseInfo.getName().replace( '.', '/' ) + ".class";
+
+            try( InputStream in = PortalMetadataSnapshotTests.class.getResourceAsStream( resource ) )
+            {
+                copy( in, out );
+            }
+
+            out.closeEntry();
+
+            out.putNextEntry( new ZipEntry( "content/Language.properties" ) );
+            out.write( ( "category." + category + "=" + category ).getBytes( StandardCharsets.UTF_8 ) );
+            out.closeEntry();
+        }
+
+        return portalDir;
+    }
+
+    private void copy( InputStream in, OutputStream out ) throws IOException
+    {
+        final byte[] buffer = new byte[8192];
+
+        int count = in.read( buffer );
+
+        while( count != -1 )
+        {
+            out.write( buffer, 0, count );
+
+            count = in.read( buffer );
+        }
+    }
+
+    private IPath[] libs( File portalDir, File extLib )
+    {
+        return new IPath[] { new Path( portalDir.getPath() ).append( "WEB-INF/lib/portal-impl.jar" ),
+            new Path( extLib.getPath() ) };
+    }
+
+    @Test
+    public void runtimesWithoutPortalDirDoNotShareSnapshots() throws Exception
+    {
+        final File portalA = createPortal( "a", ReleaseInfoA.class, "a" );
+        final File portalB = createPortal( "b", ReleaseInfoB.class, "b" );
+        final File extLib = createExtLib();
+
+        final PortalMetadataSnapshot snapshotA = PortalMetadataSnapshot.getSnapshot( null, libs( portalA, extLib ) );
+        final PortalMetadataSnapshot snapshotB = PortalMetadataSnapshot.getSnapshot( null, libs( portalB, extLib ) );
+
+        assertNotSame( snapshotA, snapshotB );
+
+        assertEquals( "6.2.5", snapshotA.getVersion() );
+        assertEquals( "Liferay Portal Community Edition / 6.2.5", snapshotA.getServerInfo() );
+        assertEquals( "a", snapshotA.getCategories().getProperty( "category.a" ) );
+
+        assertEquals( "7.0.4", snapshotB.getVersion() );
+        assertEquals( "Liferay Community Edition Portal / 7.0.4", snapshotB.getServerInfo() );
+        assertEquals( "b", snapshotB.getCategories().getProperty( "category.b" ) );
+
+        assertSame( snapshotA, PortalMetadataSnapshot.getSnapshot( null, libs( portalA, extLib ) ) );
+        assertEquals( "6.2.5", PortalMetadataSnapshot.getSnapshot( null, libs( portalA, extLib ) ).getVersion() );
+    }
+
+    @Test
+    public void runtimesWithPortalDirShareTheirOwnSnapshot() throws Exception
+    {
+        final File portalA = createPortal( "a", ReleaseInfoA.class, "a" );
+        final File portalB = createPortal( "b", ReleaseInfoB.class, "b" );
+        final File extLib = createExtLib();
+
+        final IPath portalDirA = new Path( portalA.getPath() );
+        final IPath portalDirB = new Path( portalB.getPath() );
+
+        final PortalMetadataSnapshot snapshotA = PortalMetadataSnapshot.getSnapshot( portalDirA, null );
+        final PortalMetadataSnapshot snapshotB = PortalMetadataSnapshot.getSnapshot( portalDirB, null );
+
+        assertEquals( "6.2.5", snapshotA.getVersion() );
+        assertEquals( "7.0.4", snapshotB.getVersion() );
+
+        final PortalMetadataSnapshot snapshotAWithLibs =
+            PortalMetadataSnapshot.getSnapshot( portalDirA, libs( portalA, extLib ) );
+
+        assertEquals( "6.2.5", snapshotAWithLibs.getVersion() );
+        assertSame( snapshotAWithLibs, PortalMetadataSnapshot.getSnapshot( portalDirA, null ) );
+        assertSame( snapshotB, PortalMetadataSnapshot.getSnapshot( portalDirB, null ) );
+    }
+
+    public static class ReleaseInfoA
+    {
+
+        private static String _name = "Liferay Portal Community Edition";
+
+        private static String _version = "6.2.5";
+
+    }
+
+    public static class ReleaseInfoB
+    {
+
+        private static String _name = "Liferay Community Edition Portal";
+
+        private static String _version = "7.0.4";
+
+    }
+
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2000-present Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.ide.ui.kaleo.tests;
+
+import com.liferay.ide.kaleo.core.model.Position;
+import com.liferay.ide.kaleo.core.model.State;
+import com.liferay.ide.kaleo.core.model.Transition;
+import com.liferay.ide.kaleo.core.model.WorkflowDefinition;
+import com.liferay.ide.kaleo.core.model.WorkflowNodeMetadata;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.sapphire.modeling.xml.RootXmlResource;
+import org.eclipse.sapphire.modeling.xml.XmlResourceStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Synthetic benchmark that loads a workflow with a few hundred nodes and
+ * transitions into the workflow model and edits it the way the diagram does,
+ * without opening an editor.
+ *
+ * @author agent
+ */
+public class LargeKaleoWorkflowModelTests {
+
+	@Test
+	public void loadAndEditLargeKaleoWorkflow() throws Exception {
+		byte[] contents = _createWorkflow().getBytes(StandardCharsets.UTF_8);
+
+		long start = System.currentTimeMillis();
+
+		XmlResourceStore store = new XmlResourceStore(new ByteArrayInputStream(contents));
+
+		WorkflowDefinition workflow = WorkflowDefinition.TYPE.instantiate(
+			new RootXmlResource(store)).nearest(WorkflowDefinition.class);
+
+		Assert.assertEquals(_NODE_COUNT, workflow.getStates().size());
+		Assert.assertEquals(_NODE_COUNT, workflow.getDiagramNodes().size());
+
+		_report("load", start);
+
+		start = System.currentTimeMillis();
+
+		int transitions = 0;
+
+		for (State state : workflow.getStates()) {
+			for (Transition transition : state.getTransitions()) {
+				Assert.assertNotNull(transition.getTarget().target());
+
+				transitions++;
+			}
+		}
+
+		Assert.assertEquals((_NODE_COUNT - 1) * 2, transitions);
+
+		_report("resolve " + transitions + " transitions", start);
+
+		State last = workflow.getStates().get(_NODE_COUNT - 1);
+
+		start = System.currentTimeMillis();
+
+		for (int i = 0; i < _EDIT_COUNT; i++) {
+			WorkflowNodeMetadata metadata = last.getMetadata().content(true);
+
+			Position position = metadata.getPosition();
+
+			position.setX(position.getX().content() + 1);
+			position.setY(position.getY().content() + 1);
+		}
+
+		_report("move a node " + _EDIT_COUNT + " times", start);
+
+		State first = workflow.getStates().get(0);
+
+		start = System.currentTimeMillis();
+
+		first.setName("renamed");
+
+		for (State state : workflow.getStates()) {
+			for (Transition transition : state.getTransitions()) {
+				if ("state0".equals(transition.getTarget().text())) {
+					transition.setTarget("renamed");
+				}
+			}
+		}
+
+		_report("rename the initial node", start);
+
+		start = System.currentTimeMillis();
+
+		for (int i = 0; i < _EDIT_COUNT; i++) {
+			Transition transition = workflow.getStates().get(i).getTransitions().insert();
+
+			transition.setName("shortcut" + i);
+			transition.setTarget("state" + (_NODE_COUNT - 1));
+		}
+
+		_report("add " + _EDIT_COUNT + " transitions", start);
+
+		start = System.currentTimeMillis();
+
+		workflow.resource().save();
+
+		_report("save", start);
+
+		Position position = last.getMetadata().content(true).getPosition();
+
+		Assert.assertEquals(_lastX() + _EDIT_COUNT, (int)position.getX().content());
+		Assert.assertEquals(_lastY() + _EDIT_COUNT, (int)position.getY().content());
+
+		for (State state : workflow.getStates()) {
+			for (Transition transition : state.getTransitions()) {
+				Assert.assertNotNull(transition.getName().content(), transition.getTarget().target());
+			}
+		}
+
+		Assert.assertSame(first, workflow.getStates().get(1).getTransitions().get(1).getTarget().target());
+		Assert.assertSame(last, workflow.getStates().get(0).getTransitions().get(1).getTarget().target());
+
+		String saved = new String(store.getContents(), StandardCharsets.UTF_8);
+
+		Assert.assertTrue(saved.contains("<target>renamed</target>"));
+		Assert.assertFalse(saved.contains("<target>state0</target>"));
+
+		workflow.dispose();
+	}
+
+	/**
+	 * Creates a chain of states where every state also transitions back to the
+	 * first one.
+	 */
+	private String _createWorkflow() {
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("<?xml version=\"1.0\"?>\n");
+		sb.append("<workflow-definition xmlns=\"urn:liferay.com:liferay-workflow_7.0.0\" ");
+		sb.append("xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" ");
+		sb.append("xsi:schemaLocation=\"urn:liferay.com:liferay-workflow_7.0.0 ");
+		sb.append("http://www.liferay.com/dtd/liferay-workflow-definition_7_0_0.xsd\">\n");
+		sb.append("<name>Large Workflow</name>\n");
+		sb.append("<version>1</version>\n");
+
+		for (int i = 0; i < _NODE_COUNT; i++) {
+			int x = (i % 20) * 120;
+			int y = (i / 20) * 120;
+
+			sb.append("<state>\n");
+			sb.append("<name>state" + i + "</name>\n");
+			sb.append("<metadata><![CDATA[{\"xy\":[" + x + "," + y + "]}]]></metadata>\n");
+
+			if (i == 0) {
+				sb.append("<initial>true</initial>\n");
+			}
+
+			sb.append("<transitions>\n");
+
+			if (i < (_NODE_COUNT - 1)) {
+				sb.append("<transition><name>next" + i + "</name><target>state" + (i + 1) + "</target>");
+				sb.append("<default>true</default></transition>\n");
+			}
+
+			if (i > 0) {
+				sb.append("<transition><name>restart" + i + "</name><target>state0</target>");
+				sb.append("<default>false</default></transition>\n");
+			}
+
+			sb.append("</transitions>\n");
+			sb.append("</state>\n");
+		}
+
+		sb.append("</workflow-definition>\n");
+
+		return sb.toString();
+	}
+
+	private int _lastX() {
+		return ((_NODE_COUNT - 1) % 20) * 120;
+	}
+
+	private int _lastY() {
+		return ((_NODE_COUNT - 1) / 20) * 120;
+	}
+
+	private void _report(String phase, long start) {
+		long time = System.currentTimeMillis() - start;
+
+		System.out.println(_NODE_COUNT + " node workflow model " + phase + ": " + time + "ms");
+	}
+
+	private static final int _EDIT_COUNT = 50;
+
+	private static final int _NODE_COUNT = 300;
+
+}